@@ -76,6 +76,15 @@ public class ClientOptions implements Writable {
                         + "invoked for this client. Use functional options on operation call to modify this "
                         + "list for per operation behavior."
         );
+        if (ctx.settings().cacheOperationStacks()) {
+            apiOptionsDocs = ChainWritable.of(
+                    apiOptionsDocs,
+                    goTemplate("//"),
+                    goDocTemplate("Each operation's middleware stack is built from these options once per client, "
+                            + "and reused by calls that pass no functional options. A call that passes any "
+                            + "functional options builds a stack of its own, whether or not they modify this list.")
+            ).compose(false);
+        }
         return goTemplate("""
                 $protocolTypes:W
 
@@ -162,6 +171,10 @@ public class ClientOptions implements Writable {
 
                 $8W
                 AuthSchemePreference []string
+
+                // selects among resolved auth options, built from AuthSchemes and
+                // AuthSchemePreference when the client is created
+                authSchemeSelector *authSchemeSelector
                 """,
                 goDocTemplate("The HTTP client to invoke API calls with. "
                         + "Defaults to client's default HTTP implementation if nil."),
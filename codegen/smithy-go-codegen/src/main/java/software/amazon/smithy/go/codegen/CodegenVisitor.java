@@ -19,13 +19,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import software.amazon.smithy.build.FileManifest;
@@ -72,7 +73,6 @@ import software.amazon.smithy.model.traits.StreamingTrait;
 import software.amazon.smithy.model.transform.ModelTransformer;
 import software.amazon.smithy.utils.OptionalUtils;
 import software.amazon.smithy.utils.SmithyInternalApi;
-import software.amazon.smithy.utils.StringUtils;
 
 /**
  * Orchestrates Go client generation.
@@ -97,6 +97,9 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
     private final EventStreamGenerator eventStreamGenerator;
     private final GoCodegenContext ctx;
 
+    // Per-shape writes queued while visiting shapes in parallel; null when generating sequentially.
+    private List<Supplier<Runnable>> pendingWrites;
+
     CodegenVisitor(PluginContext context) {
         // Load all integrations.
         ClassLoader loader = context.getPluginClassLoader().orElse(getClass().getClassLoader());
@@ -217,9 +220,7 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
         LOGGER.fine("Walking shapes from " + service.getId() + " to find shapes to generate");
         Set<Shape> serviceShapes = new TreeSet<>(new Walker(modelWithoutTraitShapes).walkShapes(service));
 
-        for (Shape shape : serviceShapes) {
-            shape.accept(this);
-        }
+        visitShapes(serviceShapes);
 
         // Generate any required types and functions need to support protocol documents.
         protocolDocumentGenerator.generateDocumentSupport();
@@ -297,63 +298,8 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
 
             ctx.writerDelegator().useFileWriter("type_registry.go", settings.getModuleName(), new TypeRegistry(ctx));
 
-            ctx.writerDelegator().useFileWriter("schemas/schemas.go", settings.getModuleName() + "/schemas", writer -> {
-                var operations = TopDownIndex.of(model).getContainedOperations(service);
-                for (OperationShape op : operations) {
-                    new SchemaGenerator(ctx, op).accept(writer);
-                }
-
-                // Generate the service schema: first the underlying *Schema
-                // (which carries traits like xmlNamespace), then wrap it in
-                // NewServiceSchema with the service version.
-                new SchemaGenerator(ctx, service).accept(writer);
-                writer.addUseImports(SmithyGoDependency.SMITHY);
-                writer.write("var $L = smithy.NewServiceSchema($L, $S)",
-                        StringUtils.capitalize(service.getId().getName(service)),
-                        SchemaGenerator.getSchemaName(service, service),
-                        service.getVersion());
-                writer.write("");
-
-                // Generate all shape schemas upfront. For synthetic shapes
-                // (input/output), pass the synthetic itself so that any
-                // members added by preprocessModel (e.g. presign URL members)
-                // are included. SchemaGenerator.modelShapeID() resolves the
-                // archetype for naming.
-                var resolved = new ArrayList<Shape>();
-                var seen = new HashSet<ShapeId>();
-                for (Shape s : shapes) {
-                    if (CodegenUtils.isStubSynthetic(s)) {
-                        continue;
-                    }
-                    ShapeId id = s.getId();
-                    if (id.getNamespace().equals(CodegenUtils.getSyntheticTypeNamespace())) {
-                        id = s.getTrait(Synthetic.class).get().getArchetype().get();
-                    }
-                    if (seen.add(id)) {
-                        new SchemaGenerator(ctx, s).accept(writer);
-                        resolved.add(s);
-                    }
-                }
-
-                writer.write("");
-                writer.writeDocs("Initialize schema members after all schemas are declared to avoid initialization cycles");
-                writer.openBlock("func init() {", "}", () -> {
-                    var shapeIds = new HashSet<ShapeId>();
-                    for (Shape s : resolved) {
-                        shapeIds.add(s.getId());
-                    }
-
-                    var sorted = new ArrayList<Shape>();
-                    var visited = new HashSet<ShapeId>();
-                    for (Shape s : resolved) {
-                        topoVisit(s, model, shapeIds, visited, sorted);
-                    }
-
-                    for (Shape shape : sorted) {
-                        new SchemaGenerator(ctx, shape).acceptMembersInit(writer);
-                    }
-                });
-            });
+            ctx.writerDelegator().useFileWriter("schemas/schemas.go", settings.getModuleName() + "/schemas",
+                    new SchemaTableGenerator(ctx, shapes));
             var lists = ctx.serdeShapes(ListShape.class);
             var maps = ctx.serdeShapes(MapShape.class);
             var unionSerdes = ctx.serdeShapes(UnionShape.class).stream()
@@ -438,6 +384,60 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
         ManifestWriter.writeManifest(settings, model, fileManifest, goModuleInfo);
     }
 
+    /**
+     * Visits the given shapes in order. In parallel mode, the per-shape writes are rendered on detached writers on the
+     * common fork-join pool, then applied to the delegator in visiting order so that the output matches a sequential
+     * run. The service shape is not rendered in parallel since its generators share writers. See
+     * {@link GoSettings#parallelShapeCodegen()} for what the generators rendered in parallel may share.
+     */
+    private void visitShapes(Set<Shape> shapes) {
+        if (!settings.parallelShapeCodegen()) {
+            for (Shape shape : shapes) {
+                shape.accept(this);
+            }
+            return;
+        }
+
+        var pending = new ArrayList<Supplier<Runnable>>();
+        pendingWrites = pending;
+        for (Shape shape : shapes) {
+            if (shape.isServiceShape()) {
+                pending.add(() -> () -> shape.accept(this));
+            } else {
+                shape.accept(this);
+            }
+        }
+        pendingWrites = null;
+
+        pending.parallelStream()
+                .map(Supplier::get)
+                .toList()
+                .forEach(Runnable::run);
+    }
+
+    private void useShapeWriter(Shape shape, Consumer<GoWriter> writerConsumer) {
+        if (pendingWrites == null) {
+            writers.useShapeWriter(shape, writerConsumer);
+            return;
+        }
+        pendingWrites.add(() -> {
+            var rendered = GoWriter.prerender(symbolProvider.toSymbol(shape).getNamespace(), writerConsumer);
+            return () -> writers.useShapeWriter(shape, rendered);
+        });
+    }
+
+    private void useShapeExportedTestWriter(Shape shape, Consumer<GoWriter> writerConsumer) {
+        if (pendingWrites == null) {
+            writers.useShapeExportedTestWriter(shape, writerConsumer);
+            return;
+        }
+        pendingWrites.add(() -> {
+            var namespace = symbolProvider.toSymbol(shape).getNamespace() + "_test";
+            var rendered = GoWriter.prerender(namespace, writerConsumer);
+            return () -> writers.useShapeExportedTestWriter(shape, rendered);
+        });
+    }
+
     @Override
     protected Void getDefault(Shape shape) {
         return null;
@@ -448,7 +448,7 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
         if (shape.getId().getNamespace().equals(CodegenUtils.getSyntheticTypeNamespace())) {
             return null;
         }
-        writers.useShapeWriter(shape, writer ->
+        useShapeWriter(shape, writer ->
                 new StructureGenerator(ctx, writer, shape, protocolGenerator).run());
 
         return null;
@@ -457,7 +457,7 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
     @Override
     public Void stringShape(StringShape shape) {
         if (shape.hasTrait(EnumTrait.class)) {
-            writers.useShapeWriter(shape, writer -> new EnumGenerator(symbolProvider, writer, shape).run());
+            useShapeWriter(shape, writer -> new EnumGenerator(symbolProvider, writer, shape).run());
         }
         return null;
     }
@@ -465,8 +465,8 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
     @Override
     public Void unionShape(UnionShape shape) {
         UnionGenerator generator = new UnionGenerator(ctx, model, symbolProvider, shape);
-        writers.useShapeWriter(shape, generator::generateUnion);
-        writers.useShapeExportedTestWriter(shape, generator::generateUnionExamples);
+        useShapeWriter(shape, generator::generateUnion);
+        useShapeExportedTestWriter(shape, generator::generateUnionExamples);
 
         return null;
     }
@@ -530,27 +530,7 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
 
     @Override
     public Void intEnumShape(IntEnumShape shape) {
-        writers.useShapeWriter(shape, writer -> new IntEnumGenerator(symbolProvider, writer, shape).run());
+        useShapeWriter(shape, writer -> new IntEnumGenerator(symbolProvider, writer, shape).run());
         return null;
     }
-
-    private static void topoVisit(
-            Shape shape,
-            Model model,
-            Set<ShapeId> inSet,
-            Set<ShapeId> visited,
-            List<Shape> result
-    ) {
-        if (visited.contains(shape.getId())) {
-            return;
-        }
-        visited.add(shape.getId());
-        for (var member : shape.members()) {
-            var targetId = member.getTarget();
-            if (inSet.contains(targetId)) {
-                topoVisit(model.expectShape(targetId), model, inSet, visited, result);
-            }
-        }
-        result.add(shape);
-    }
 }
@@ -135,6 +135,15 @@ public final class EventStreamGenerator {
                         .writeDocs("The writer's Close method must allow multiple concurrent calls.");
                 writer.openBlock("type $L interface {", "}", readerInterfaceName, () -> {
                     writer.write("Events() <-chan $T", symbolProvider.toSymbol(shape));
+                    if (!settings.useLegacySerde()) {
+                        writer.writeDocs("Next reads the next event on the calling goroutine, returning io.EOF once "
+                                + "the stream has ended. It can't be mixed with Events.");
+                        writer.write("Next($T) ($T, error)", context, symbolProvider.toSymbol(shape));
+                        writer.writeDocs("All returns an iterator over the events read with Next. A non-EOF error "
+                                + "is yielded once, after which iteration stops.");
+                        writer.write("All($T) $T[$T, error]", context,
+                                SmithyGoDependency.ITER.valueSymbol("Seq2"), symbolProvider.toSymbol(shape));
+                    }
                     writer.write("Close() error");
                     writer.write("Err() error");
                 });
@@ -171,6 +180,7 @@ public final class EventStreamGenerator {
                 var _ $iface:L = (*$impl:L)(nil)
 
                 func (w *$impl:L) Send(ctx $context:T, event $union:T) error {
+                    $unionSchema:L // sets the variant schemas, if not yet built
                     var variant $schema:P
                     switch event.(type) {
                     $cases:W
@@ -201,6 +211,7 @@ public final class EventStreamGenerator {
                         "schema", SmithyGoDependency.SMITHY.pointableSymbol("Schema"),
                         "serializable", SmithyGoDependency.SMITHY.valueSymbol("Serializable"),
                         "fmtErrorf", SymbolUtils.createValueSymbolBuilder("Errorf", SmithyGoDependency.FMT).build(),
+                        "unionSchema", SchemaGenerator.getSchemaRef(union, serviceShape),
                         "cases", (Writable) (GoWriter w) -> {
                             for (var member : members) {
                                 var variantSymbol = SymbolUtils.createPointableSymbolBuilder(
@@ -225,30 +236,27 @@ public final class EventStreamGenerator {
 
         writer.writeGoTemplate("""
                 type $impl:L struct {
-                    reader $esReader:P
-                    ch     chan $union:T
-                    done   chan struct{}
+                    reader   $esReader:P
+                    ch       chan $union:T
+                    done     chan struct{}
+                    pipeOnce $once:T
                 }
 
                 var _ $iface:L = (*$impl:L)(nil)
 
                 func $newImpl:L(reader $esReader:P) *$impl:L {
-                    r := &$impl:L{
+                    return &$impl:L{
                         reader: reader,
                         ch:     make(chan $union:T),
                         done:   make(chan struct{}),
                     }
-                    go r.pipe()
-                    return r
                 }
 
                 func (r *$impl:L) pipe() {
                     defer close(r.ch)
                     for event := range r.reader.Events() {
-                        var ev $union:T
-                        switch v := event.(type) {
-                        $cases:W
-                        default:
+                        ev, ok := r.convert(event)
+                        if !ok {
                             continue
                         }
                         select {
@@ -259,10 +267,45 @@ public final class EventStreamGenerator {
                     }
                 }
 
+                func (r *$impl:L) convert(event $deserializable:T) ($union:T, bool) {
+                    switch v := event.(type) {
+                    $cases:W
+                    default:
+                        return nil, false
+                    }
+                }
+
                 func (r *$impl:L) Events() <-chan $union:T {
+                    r.pipeOnce.Do(func() { go r.pipe() })
                     return r.ch
                 }
 
+                func (r *$impl:L) Next(ctx $context:T) ($union:T, error) {
+                    for {
+                        event, err := r.reader.Next(ctx)
+                        if err != nil {
+                            return nil, err
+                        }
+                        if ev, ok := r.convert(event); ok {
+                            return ev, nil
+                        }
+                    }
+                }
+
+                func (r *$impl:L) All(ctx $context:T) $seq2:T[$union:T, error] {
+                    return func(yield func($union:T, error) bool) {
+                        for {
+                            ev, err := r.Next(ctx)
+                            if err == $eof:T {
+                                return
+                            }
+                            if !yield(ev, err) || err != nil {
+                                return
+                            }
+                        }
+                    }
+                }
+
                 func (r *$impl:L) Close() error {
                     close(r.done)
                     return r.reader.Close()
@@ -272,28 +315,35 @@ public final class EventStreamGenerator {
                     return r.reader.Err()
                 }
                 """,
-                MapUtils.of(
-                        "impl", implName,
-                        "iface", ifaceName,
-                        "newImpl", "new" + StringUtils.capitalize(implName),
-                        "esReader", SmithyGoDependency.SMITHY_HTTP_TRANSPORT.pointableSymbol("EventStreamReader"),
-                        "union", unionSymbol,
-                        "cases", (Writable) (GoWriter w) -> {
+                Map.ofEntries(
+                        Map.entry("impl", implName),
+                        Map.entry("iface", ifaceName),
+                        Map.entry("newImpl", "new" + StringUtils.capitalize(implName)),
+                        Map.entry("esReader",
+                                SmithyGoDependency.SMITHY_HTTP_TRANSPORT.pointableSymbol("EventStreamReader")),
+                        Map.entry("union", unionSymbol),
+                        Map.entry("once", SmithyGoDependency.SYNC.valueSymbol("Once")),
+                        Map.entry("deserializable", SmithyGoDependency.SMITHY.valueSymbol("Deserializable")),
+                        Map.entry("context",
+                                SymbolUtils.createValueSymbolBuilder("Context", SmithyGoDependency.CONTEXT).build()),
+                        Map.entry("seq2", SmithyGoDependency.ITER.valueSymbol("Seq2")),
+                        Map.entry("eof", SmithyGoDependency.IO.valueSymbol("EOF")),
+                        Map.entry("cases", (Writable) (GoWriter w) -> {
                             for (var member : members) {
                                 var targetSymbol = symbolProvider.toSymbol(model.expectShape(member.getTarget()));
                                 var variantSymbol = SymbolUtils.createPointableSymbolBuilder(
                                         symbolProvider.toMemberName(member),
                                         unionSymbol.getNamespace()).build();
                                 w.write("case $P:", targetSymbol);
-                                w.write("    ev = &$T{Value: *v}", variantSymbol);
+                                w.write("    return &$T{Value: *v}, true", variantSymbol);
                             }
                             var esUnknown = SmithyGoDependency.SMITHY_EVENTSTREAM
                                     .pointableSymbol("UnknownUnionMember");
                             var typesUnknown = SymbolUtils.createPointableSymbolBuilder(
                                     "UnknownUnionMember", unionSymbol.getNamespace()).build();
                             w.write("case $P:", esUnknown);
-                            w.write("    ev = &$T{Tag: v.Tag, Value: v.Value}", typesUnknown);
-                        }
+                            w.write("    return &$T{Tag: v.Tag, Value: v.Value}, true", typesUnknown);
+                        })
                 ));
     }
 
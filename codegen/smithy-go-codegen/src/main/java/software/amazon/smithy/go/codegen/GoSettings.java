@@ -50,6 +50,8 @@ public final class GoSettings {
             Ec2QueryTrait.ID
     );
 
+    private static final long DEFAULT_MAX_ERROR_BODY_SIZE = 1 << 20;
+
     private static final String SERVICE = "service";
     private static final String MODULE_NAME = "module";
     private static final String MODULE_DESCRIPTION = "moduleDescription";
@@ -57,6 +59,14 @@ public final class GoSettings {
     private static final String GENERATE_GO_MOD = "generateGoMod";
     private static final String USE_LEGACY_SERDE = "useLegacySerde";
     private static final String GO_DIRECTIVE = "goDirective";
+    private static final String INLINE_DESERIALIZER_LOOPS = "inlineDeserializerLoops";
+    private static final String PARALLEL_SHAPE_CODEGEN = "parallelShapeCodegen";
+    private static final String STREAMING_CBOR_DESERIALIZERS = "streamingCborDeserializers";
+    private static final String DIRECT_CBOR_SERIALIZERS = "directCborSerializers";
+    private static final String CACHE_OPERATION_STACKS = "cacheOperationStacks";
+    private static final String POOLED_ERROR_BUFFERS = "pooledErrorBuffers";
+    private static final String MAX_ERROR_BODY_SIZE = "maxErrorBodySize";
+    private static final String BATCHED_WAITERS = "batchedWaiters";
 
     private ShapeId service;
     private String moduleName;
@@ -64,6 +74,14 @@ public final class GoSettings {
     private String moduleVersion;
     private Boolean generateGoMod = false;
     private Boolean useLegacySerde = false;
+    private Boolean inlineDeserializerLoops = false;
+    private Boolean parallelShapeCodegen = false;
+    private Boolean streamingCborDeserializers = false;
+    private Boolean directCborSerializers = false;
+    private Boolean cacheOperationStacks = false;
+    private Boolean pooledErrorBuffers = false;
+    private long maxErrorBodySize = DEFAULT_MAX_ERROR_BODY_SIZE;
+    private Boolean batchedWaiters = false;
     private String goDirective = GoModuleInfo.DEFAULT_GO_DIRECTIVE;
     private ShapeId protocol;
     private ArtifactType artifactType;
@@ -88,7 +106,10 @@ public final class GoSettings {
     public static GoSettings from(ObjectNode config, ArtifactType artifactType) {
         GoSettings settings = new GoSettings();
         config.warnIfAdditionalProperties(
-            Arrays.asList(SERVICE, MODULE_NAME, MODULE_DESCRIPTION, MODULE_VERSION, GENERATE_GO_MOD, USE_LEGACY_SERDE, GO_DIRECTIVE));
+            Arrays.asList(SERVICE, MODULE_NAME, MODULE_DESCRIPTION, MODULE_VERSION, GENERATE_GO_MOD, USE_LEGACY_SERDE, GO_DIRECTIVE,
+                    INLINE_DESERIALIZER_LOOPS, PARALLEL_SHAPE_CODEGEN, STREAMING_CBOR_DESERIALIZERS,
+                    DIRECT_CBOR_SERIALIZERS, CACHE_OPERATION_STACKS, POOLED_ERROR_BUFFERS, MAX_ERROR_BODY_SIZE,
+                    BATCHED_WAITERS));
         settings.setArtifactType(artifactType);
         settings.setService(config.expectStringMember(SERVICE).expectShapeId());
         settings.setModuleName(config.expectStringMember(MODULE_NAME).getValue());
@@ -97,6 +118,16 @@ public final class GoSettings {
         settings.setModuleVersion(config.getStringMemberOrDefault(MODULE_VERSION, null));
         settings.setGenerateGoMod(config.getBooleanMemberOrDefault(GENERATE_GO_MOD, false));
         settings.setUseLegacySerde(config.getBooleanMemberOrDefault(USE_LEGACY_SERDE, false));
+        settings.setInlineDeserializerLoops(config.getBooleanMemberOrDefault(INLINE_DESERIALIZER_LOOPS, false));
+        settings.setParallelShapeCodegen(config.getBooleanMemberOrDefault(PARALLEL_SHAPE_CODEGEN, false));
+        settings.setStreamingCborDeserializers(
+                config.getBooleanMemberOrDefault(STREAMING_CBOR_DESERIALIZERS, false));
+        settings.setDirectCborSerializers(config.getBooleanMemberOrDefault(DIRECT_CBOR_SERIALIZERS, false));
+        settings.setCacheOperationStacks(config.getBooleanMemberOrDefault(CACHE_OPERATION_STACKS, false));
+        settings.setPooledErrorBuffers(config.getBooleanMemberOrDefault(POOLED_ERROR_BUFFERS, false));
+        settings.setMaxErrorBodySize(
+                config.getNumberMemberOrDefault(MAX_ERROR_BODY_SIZE, DEFAULT_MAX_ERROR_BODY_SIZE).longValue());
+        settings.setBatchedWaiters(config.getBooleanMemberOrDefault(BATCHED_WAITERS, false));
         settings.setGoDirective(config.getStringMemberOrDefault(GO_DIRECTIVE, GoModuleInfo.DEFAULT_GO_DIRECTIVE));
         return settings;
     }
@@ -228,6 +259,135 @@ public final class GoSettings {
         this.useLegacySerde = Objects.requireNonNull(value);
     }
 
+    /**
+     * Gets whether serde2 deserializers read structures, lists and maps with
+     * inline loops over the ShapeDeserializer rather than through the
+     * closure-based smithy.ReadStruct / ReadList / ReadMap helpers.
+     *
+     * @return Returns if deserializer read loops are inlined.
+     */
+    public Boolean inlineDeserializerLoops() {
+        return inlineDeserializerLoops;
+    }
+
+    public void setInlineDeserializerLoops(Boolean value) {
+        this.inlineDeserializerLoops = Objects.requireNonNull(value);
+    }
+
+    /**
+     * Gets whether the per-shape types (structures, enums and unions) are
+     * rendered concurrently. The output is identical to a sequential run.
+     *
+     * <p>The structure, enum and union generators for different shapes then
+     * run concurrently, each on its own detached writer. They must only write
+     * to the writer they're given, and only read from the model, the symbol
+     * provider and the protocol generator. This requires the symbol provider,
+     * including any decorations from integrations, and the protocol
+     * generator's error codes to be safe for concurrent use.
+     *
+     * @return Returns if per-shape codegen runs in parallel.
+     */
+    public Boolean parallelShapeCodegen() {
+        return parallelShapeCodegen;
+    }
+
+    public void setParallelShapeCodegen(Boolean value) {
+        this.parallelShapeCodegen = Objects.requireNonNull(value);
+    }
+
+    /**
+     * Gets whether legacy RPCv2 CBOR clients decode successful responses
+     * directly off of the response body rather than reading it into memory
+     * and decoding it to a generic value tree first.
+     *
+     * @return Returns if CBOR response deserializers stream.
+     */
+    public Boolean streamingCborDeserializers() {
+        return streamingCborDeserializers;
+    }
+
+    public void setStreamingCborDeserializers(Boolean value) {
+        this.streamingCborDeserializers = Objects.requireNonNull(value);
+    }
+
+    /**
+     * Gets whether legacy RPCv2 CBOR clients encode requests directly into a
+     * pooled buffer rather than building a generic value tree and encoding
+     * that.
+     *
+     * @return Returns if CBOR request serializers write directly.
+     */
+    public Boolean directCborSerializers() {
+        return directCborSerializers;
+    }
+
+    public void setDirectCborSerializers(Boolean value) {
+        this.directCborSerializers = Objects.requireNonNull(value);
+    }
+
+    /**
+     * Gets whether clients build each operation's middleware stack once and
+     * reuse it for calls that don't pass per-call options, rather than
+     * building it for every call.
+     *
+     * @return Returns if operation stacks are cached.
+     */
+    public Boolean cacheOperationStacks() {
+        return cacheOperationStacks;
+    }
+
+    public void setCacheOperationStacks(Boolean value) {
+        this.cacheOperationStacks = Objects.requireNonNull(value);
+    }
+
+    /**
+     * Gets whether operation error dispatchers read error response bodies into
+     * buffers borrowed from a shared pool, of at most {@link #getMaxErrorBodySize()}
+     * bytes, rather than into a new unbounded buffer per error.
+     *
+     * @return Returns if error response bodies are read into pooled buffers.
+     */
+    public Boolean pooledErrorBuffers() {
+        return pooledErrorBuffers;
+    }
+
+    public void setPooledErrorBuffers(Boolean value) {
+        this.pooledErrorBuffers = Objects.requireNonNull(value);
+    }
+
+    /**
+     * Gets the number of bytes of an error response body read by pooled error
+     * dispatchers. Bodies past it are drained and discarded, and the dispatcher
+     * returns a deserialization error rather than deserializing a truncated body.
+     *
+     * @return Returns the maximum error body size.
+     */
+    public long getMaxErrorBodySize() {
+        return maxErrorBodySize;
+    }
+
+    public void setMaxErrorBodySize(long value) {
+        if (value <= 0) {
+            throw new CodegenException(MAX_ERROR_BODY_SIZE + " must be positive");
+        }
+        this.maxErrorBodySize = value;
+    }
+
+    /**
+     * Gets whether batch waiters are generated for waiters of operations which
+     * accept a list of resource identifiers, coalescing concurrent waits on
+     * single resources into shared requests.
+     *
+     * @return Returns if batch waiters are generated.
+     */
+    public Boolean batchedWaiters() {
+        return batchedWaiters;
+    }
+
+    public void setBatchedWaiters(Boolean value) {
+        this.batchedWaiters = Objects.requireNonNull(value);
+    }
+
     /**
      * Gets the optional Go directive for the module that will be generated.
      *
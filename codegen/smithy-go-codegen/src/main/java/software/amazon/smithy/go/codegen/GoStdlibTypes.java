@@ -25,6 +25,7 @@ public final class GoStdlibTypes {
 
     public static final class Bytes {
         public static final Symbol NewReader = SmithyGoDependency.BYTES.valueSymbol("NewReader");
+        public static final Symbol Clone = SmithyGoDependency.BYTES.valueSymbol("Clone");
     }
 
     public static final class Context {
@@ -39,6 +40,8 @@ public final class GoStdlibTypes {
     public static final class Encoding {
         public static final class Json {
             public static final Symbol NewDecoder = SmithyGoDependency.JSON.valueSymbol("NewDecoder");
+            public static final Symbol Decoder = SmithyGoDependency.JSON.pointableSymbol("Decoder");
+            public static final Symbol Delim = SmithyGoDependency.JSON.valueSymbol("Delim");
             public static final Symbol Number = SmithyGoDependency.JSON.valueSymbol("Number");
         }
 
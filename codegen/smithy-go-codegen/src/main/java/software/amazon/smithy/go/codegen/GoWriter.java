@@ -843,6 +843,28 @@ public final class GoWriter extends SymbolWriter<GoWriter, ImportDeclarations> {
         write("$W", w);
     }
 
+    /**
+     * Renders the given writer consumer into a detached writer for the package, returning a Writable that writes the
+     * rendered contents, along with the imports and dependencies they use, to another writer for the same package.
+     * Rendering doesn't touch any shared writer, so this can be called concurrently.
+     *
+     * @param fullPackageName The package of the writer the result will be written to.
+     * @param consumer The consumer to render.
+     * @return The rendered contents.
+     */
+    public static Writable prerender(String fullPackageName, Consumer<GoWriter> consumer) {
+        var detached = new GoWriter(fullPackageName, true);
+        consumer.accept(detached);
+        var contents = detached.toString();
+        return (GoWriter w) -> {
+            w.addImports(detached);
+            w.addDependencies(detached);
+            if (!contents.isBlank()) {
+                w.writeInlineWithNoFormatting(contents);
+            }
+        };
+    }
+
     public GoWriter addBuildTag(String tag) {
         if (!buildTags.contains(tag)) {
             buildTags.add(tag);
@@ -3,8 +3,13 @@ package software.amazon.smithy.go.codegen;
 import static software.amazon.smithy.go.codegen.GoWriter.emptyGoTemplate;
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.go.codegen.util.ShapeUtil;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.shapes.MemberShape;
@@ -19,10 +24,12 @@ import software.amazon.smithy.utils.StringUtils;
 public class SchemaGenerator implements Writable {
     private final GoCodegenContext ctx;
     private final Shape shape;
+    private final int index;
 
-    public SchemaGenerator(GoCodegenContext ctx, Shape shape) {
+    public SchemaGenerator(GoCodegenContext ctx, Shape shape, int index) {
         this.ctx = ctx;
         this.shape = shape;
+        this.index = index;
     }
 
     public static String getSchemaName(Shape shape, ServiceShape service) {
@@ -39,6 +46,22 @@ public class SchemaGenerator implements Writable {
         return String.format("%s_%s", getSchemaName(shape, service), member.getMemberName());
     }
 
+    // Returns the dense ordinals assigned to the member schemas of a shape, by
+    // member name, which deserializers switch on instead of comparing member
+    // schema pointers. Ordinals follow member name order so that they're stable
+    // regardless of how the member list was assembled (e.g. mixins).
+    public static Map<String, Integer> getMemberIndices(Shape shape) {
+        var names = shape.members().stream()
+                .map(MemberShape::getMemberName)
+                .sorted()
+                .toList();
+        var indices = new HashMap<String, Integer>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            indices.put(names.get(i), i);
+        }
+        return indices;
+    }
+
     // modelShapeID returns the original model shape ID, preferring the
     // Synthetic trait's archetype (if any) so that synthetic clones of Input /
     // Output inline shapes carry the Smithy model's shape ID rather than the
@@ -62,9 +85,14 @@ public class SchemaGenerator implements Writable {
         if (Prelude.isPublicPreludeShape(shape)) {
             return getSchemaName(shape, service);
         }
-        return "schemas." + getSchemaName(shape, service);
+        return "schemas." + getSchemaName(shape, service) + "()";
     }
 
+    // Returns the member schema reference for use outside the schemas package.
+    // Member schemas are package variables, set when their parent's schema is
+    // first built, so they're a plain load on the (de)serializer hot path. They
+    // may only be read once the parent's schema (or a schema that reaches it)
+    // has been requested.
     public static String getMemberSchemaRef(Shape shape, MemberShape member, ServiceShape service) {
         if (Prelude.isPublicPreludeShape(shape)) {
             return getSchemaName(shape, service) + "_" + member.getMemberName();
@@ -78,81 +106,103 @@ public class SchemaGenerator implements Writable {
             return;
         }
         var service = ctx.service();
-        var modelID = modelShapeID(shape);
         writer.addUseImports(SmithyGoDependency.SMITHY);
         writer.writeGoTemplate("""
-                        var $ident:L = smithy.NewSchema(smithy.ShapeID{
-                            Namespace: $namespace:S,
-                            Name: $name:S,
-                        }, smithy.ShapeType$type:L, $numMembers:L$traits:W)
-                        $memberVarDecls:W
+                        func $ident:L() *smithy.Schema { return $table:L.Schema($index:L) }
+                        $memberVars:W
                         """,
                 Map.of(
                         "ident", getSchemaName(shape, service),
-                        "namespace", modelID.getNamespace(),
-                        "name", modelID.getName(),
-                        "type", StringUtils.capitalize(shape.getType().toString()),
-                        "numMembers", shape.members().size(),
-                        "traits", renderVariadicTraits(shape.getAllTraits().values()),
-                        "memberVarDecls", Writable.map(shape.members(), this::renderMemberVarDecl, true)
+                        "table", SchemaTableGenerator.TABLE,
+                        "index", index,
+                        "memberVars", Writable.map(sortedMembers(), this::renderMemberVar, true)
                 ));
     }
 
-    public void acceptMembersInit(GoWriter writer) {
-        if (shape.members().isEmpty() || Prelude.isPublicPreludeShape(shape)) {
-            return;
-        }
-        writer.writeGoTemplate("""
-                        $memberAddAndAssign:W
+    // Renders the shape's entry in the static schema table. indices maps the
+    // schema name of every shape in the table to its position.
+    public Writable renderDef(Map<String, Integer> indices) {
+        var modelID = modelShapeID(shape);
+        return goTemplate("""
+                        { // $index:L
+                            ID: smithy.ShapeID{Namespace: $namespace:S, Name: $name:S},
+                            Type: smithy.ShapeType$type:L,
+                            $traits:W
+                            $members:W
+                        },
                         """,
                 Map.of(
-                        "memberAddAndAssign", Writable.map(shape.members(), this::renderMemberAddAndAssign, true)
+                        "index", indices.get(getSchemaName(shape, ctx.service())),
+                        "namespace", modelID.getNamespace(),
+                        "name", modelID.getName(),
+                        "type", StringUtils.capitalize(shape.getType().toString()),
+                        "traits", renderTraits(shape.getAllTraits().values(), "Traits: []smithy.Trait{$W},"),
+                        "members", shape.members().isEmpty()
+                                ? emptyGoTemplate()
+                                : goTemplate("""
+                                        Members: []smithy.SchemaMemberDef{
+                                            $W
+                                        },""",
+                                        Writable.map(sortedMembers(), it -> renderMemberDef(it, indices), true))
                 ));
     }
 
-    private Writable renderMemberVarDecl(MemberShape member) {
-        return goTemplate("""
-                        var $ident:L *smithy.Schema
-                        """,
-                Map.of("ident", getMemberSchemaName(shape, member, ctx.service())));
+    private List<MemberShape> sortedMembers() {
+        return shape.members().stream()
+                .sorted(Comparator.comparing(MemberShape::getMemberName))
+                .toList();
+    }
+
+    private Writable renderMemberVar(MemberShape member) {
+        return goTemplate("var $L *smithy.Schema", getMemberSchemaName(shape, member, ctx.service()));
     }
 
-    private Writable renderMemberAddAndAssign(MemberShape member) {
+    // Most members only carry traits with no runtime representation (docs, validation, etc.), in which case the
+    // Traits field is left out entirely and the member shares its target's trait set at runtime.
+    private Writable renderMemberDef(MemberShape member, Map<String, Integer> indices) {
         var target = ctx.model().expectShape(member.getTarget());
-        var service = ctx.service();
-        var memberTraits = member.getAllTraits().values();
+        var targetName = getSchemaName(target, ctx.service());
+        var memberVar = getMemberSchemaName(shape, member, ctx.service());
+        var traits = renderTraits(member.getAllTraits().values(), ", Traits: []smithy.Trait{$W}");
 
         if (Prelude.isPublicPreludeShape(target)) {
             return goTemplate("""
-                            $preludeImport:D$ident:L = $schema:L.AddMember($name:S, $target:L$traits:W)
+                            {Name: $name:S, TargetVar: &$preludeImport:D$target:L, Var: &$var:L$traits:W},
                             """,
                     Map.of(
                             "preludeImport", SmithyGoDependency.SMITHY_PRELUDE,
-                            "ident", getMemberSchemaName(shape, member, service),
-                            "schema", getSchemaName(shape, service),
                             "name", member.getMemberName(),
-                            "target", getSchemaName(target, service),
-                            "traits", renderVariadicTraits(memberTraits)
+                            "target", targetName,
+                            "var", memberVar,
+                            "traits", traits
                     ));
         }
 
+        var targetIndex = indices.get(targetName);
+        if (targetIndex == null) {
+            throw new CodegenException("member " + member.getId() + " targets shape with no schema: " + targetName);
+        }
         return goTemplate("""
-                        $ident:L = $schema:L.AddMember($name:S, $target:L$traits:W)
+                        {Name: $name:S, Target: $target:L, Var: &$var:L$traits:W},
                         """,
                 Map.of(
-                        "ident", getMemberSchemaName(shape, member, service),
-                        "schema", getSchemaName(shape, service),
                         "name", member.getMemberName(),
-                        "target", getSchemaName(target, service),
-                        "traits", renderVariadicTraits(memberTraits)
+                        "target", targetIndex,
+                        "var", memberVar,
+                        "traits", traits
                 ));
     }
 
-    private Writable renderVariadicTraits(java.util.Collection<Trait> traits) {
-        if (traits.isEmpty()) {
+    // Renders the traits that have a runtime representation into the given
+    // template, or nothing at all if there are none.
+    private Writable renderTraits(Collection<Trait> traits, String template) {
+        var rendered = traits.stream()
+                .filter(it -> DefaultTraitGenerators.forTrait(it.toShapeId()) != null)
+                .toList();
+        if (rendered.isEmpty()) {
             return emptyGoTemplate();
         }
-        return goTemplate(", $W", Writable.map(traits, this::renderVariadicTrait));
+        return goTemplate(template, Writable.map(rendered, this::renderVariadicTrait));
     }
 
     private Writable renderTraitMapEntry(Trait trait) {
@@ -0,0 +1,93 @@
+package software.amazon.smithy.go.codegen;
+
+import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
+import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.utils.SmithyInternalApi;
+import software.amazon.smithy.utils.StringUtils;
+
+/**
+ * Generates the schemas package: a static table describing every schema in the service, which the runtime
+ * materializes lazily (see smithy.SchemaTable), plus an accessor function per schema, and a variable per member
+ * schema which is set when its parent is first built.
+ */
+@SmithyInternalApi
+public class SchemaTableGenerator implements Writable {
+    public static final String TABLE = "schemaTable";
+
+    private final GoCodegenContext ctx;
+    private final Collection<Shape> shapes;
+
+    public SchemaTableGenerator(GoCodegenContext ctx, Collection<Shape> shapes) {
+        this.ctx = ctx;
+        this.shapes = shapes;
+    }
+
+    @Override
+    public void accept(GoWriter writer) {
+        var service = ctx.service();
+        var entries = collect();
+        var indices = new LinkedHashMap<String, Integer>();
+        for (var shape : entries) {
+            indices.put(SchemaGenerator.getSchemaName(shape, service), indices.size());
+        }
+
+        writer.addUseImports(SmithyGoDependency.SMITHY);
+        writer.addUseImports(SmithyGoDependency.SYNC);
+        writer.writeGoTemplate("""
+                        var $table:L = &smithy.SchemaTable{
+                            Defs: []smithy.SchemaDef{
+                                $defs:W
+                            },
+                        }
+
+                        $accessors:W
+
+                        var $service:L = sync.OnceValue(func() *smithy.ServiceSchema {
+                            return smithy.NewServiceSchema($serviceSchema:L(), $version:S)
+                        })
+                        """,
+                Map.of(
+                        "table", TABLE,
+                        "defs", Writable.map(entries,
+                                it -> new SchemaGenerator(ctx, it, indices.get(nameOf(it))).renderDef(indices), true),
+                        "accessors", Writable.map(entries,
+                                it -> new SchemaGenerator(ctx, it, indices.get(nameOf(it))), true),
+                        "service", StringUtils.capitalize(service.getId().getName(service)),
+                        "serviceSchema", SchemaGenerator.getSchemaName(service, service),
+                        "version", service.getVersion()
+                ));
+    }
+
+    private String nameOf(Shape shape) {
+        return SchemaGenerator.getSchemaName(shape, ctx.service());
+    }
+
+    // Every shape that gets a schema, in table order: operations, then the service, then the serde shapes.
+    //
+    // Synthetic input/output shapes are included as themselves so that any members added by preprocessModel (e.g.
+    // presign URL members) are present, but their schema name resolves to the archetype, so a shape and its synthetic
+    // clone only get one entry.
+    private List<Shape> collect() {
+        var service = ctx.service();
+        var candidates = new ArrayList<Shape>(TopDownIndex.of(ctx.model()).getContainedOperations(service));
+        candidates.add(service);
+        candidates.addAll(shapes);
+
+        var byName = new LinkedHashMap<String, Shape>();
+        for (var shape : candidates) {
+            if (CodegenUtils.isStubSynthetic(shape) || Prelude.isPublicPreludeShape(shape)) {
+                continue;
+            }
+            byName.putIfAbsent(nameOf(shape), shape);
+        }
+        return new ArrayList<>(byName.values());
+    }
+}
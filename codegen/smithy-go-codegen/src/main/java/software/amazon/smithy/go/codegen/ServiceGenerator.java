@@ -159,11 +159,19 @@ final class ServiceGenerator implements Runnable {
                     options $L
 
                     $W
+
+                    $W
                 }
                 """,
                 generateClientDocs(),
                 symbolProvider.toSymbol(service),
                 CONFIG_NAME,
+                settings.cacheOperationStacks()
+                        ? goTemplate("""
+                                // compiled middleware stacks by operation ID, see resolveOperationStack
+                                operationStacks $P
+                                """, SmithyGoDependency.SYNC.struct("Map"))
+                        : emptyGoTemplate(),
                 ChainWritable.of(
                         getAllClientMembers().stream()
                                 .map(this::generateClientMember)
@@ -225,6 +233,8 @@ final class ServiceGenerator implements Runnable {
                         options: options,
                     }
 
+                    $operationStacks:W
+
                     $withClientFinalizers:W
 
                     $clientMemberResolvers:W
@@ -262,6 +272,10 @@ final class ServiceGenerator implements Runnable {
                                         .toList()
                         ).compose(),
                     "experimentalSerdeResolvers", !settings.useLegacySerde()? generateExperimentalSerdeResolvers() : emptyGoTemplate()
+                ), MapUtils.of(
+                        "operationStacks", settings.cacheOperationStacks()
+                                ? goTemplate("client.operationStacks = &$T{}", SmithyGoDependency.SYNC.struct("Map"))
+                                : emptyGoTemplate()
                 ));
     }
 
@@ -280,7 +294,7 @@ final class ServiceGenerator implements Runnable {
                 .findFirst()
                 .get();
 
-        var serviceSchemaRef = "schemas." + StringUtils.capitalize(service.getId().getName(service));
+        var serviceSchemaRef = "schemas." + StringUtils.capitalize(service.getId().getName(service)) + "()";
         if (preferred.equals(AwsJson1_0Trait.ID)) {
             return goTemplate("$T(" + serviceSchemaRef + ")",
                     SmithyGoDependency.SMITHY_PROTOCOL_AWSJSON.func("New10"));
@@ -368,6 +382,7 @@ final class ServiceGenerator implements Runnable {
         ensureSupportedProtocol();
         return goTemplate("""
                 resolveAuthSchemes(&options)
+                resolveAuthSchemeSelector(&options)
                 """);
     }
 
@@ -397,6 +412,10 @@ final class ServiceGenerator implements Runnable {
                         }
                     }
                 }
+
+                func resolveAuthSchemeSelector(options *Options) {
+                    options.authSchemeSelector = newAuthSchemeSelector(options.AuthSchemes, options.AuthSchemePreference)
+                }
                 """,
                 AuthSchemeResolverGenerator.DEFAULT_NAME,
                 SmithyGoDependency.SMITHY_HTTP_TRANSPORT.func("AuthScheme"),
@@ -415,33 +434,7 @@ final class ServiceGenerator implements Runnable {
                     ctx = middleware.WithServiceID(ctx, ServiceID)
                     ctx = middleware.WithOperationName(ctx, opID)
 
-                    $newStack:W
-                    options := c.options.Copy()
-                    $resolvers:W
-
-                    for _, fn := range optFns {
-                        fn(&options)
-                    }
-
-                    $finalizers:W
-
-                    $contextResolvers:W
-
-                    if err := c.addCommonMiddlewares(stack, options, opID); err != nil {
-                        return nil, metadata, err
-                    }
-
-                    for _, fn := range stackFns {
-                        if err := fn(stack, options); err != nil {
-                            return nil, metadata, err
-                        }
-                    }
-
-                    for _, fn := range options.APIOptions {
-                        if err := fn(stack); err != nil {
-                            return nil, metadata, err
-                        }
-                    }
+                    $buildStack:W
 
                     ctx, err = withOperationMetrics(ctx, options.MeterProvider)
                     if err != nil {
@@ -463,11 +456,7 @@ final class ServiceGenerator implements Runnable {
                     defer endTimer()
                     defer span.End()
 
-                    handler := $newClientHandler:T(options.HTTPClient, func(o *smithyhttp.ClientHandler) {
-                        o.Meter = options.MeterProvider.Meter($scope:S)
-                    })
-                    decorated := middleware.DecorateHandler(handler, stack)
-                    result, metadata, err = decorated.Handle(ctx, params)
+                    $handle:W
                     if err != nil {
                         span.SetProperty("exception.type", fmt.Sprintf("%T", err))
                         span.SetProperty("exception.message", err.Error())
@@ -495,30 +484,153 @@ final class ServiceGenerator implements Runnable {
 
                     return result, metadata, err
                 }
+
+                $operationStacks:W
                 """,
                 MapUtils.of(
                         "middleware", SmithyGoDependency.SMITHY_MIDDLEWARE,
                         "tracing", SmithyGoDependency.SMITHY_TRACING,
-                        "newStack", generateNewStack(),
                         "operationError", SmithyGoDependency.SMITHY.struct("OperationError"),
-                        "resolvers", ChainWritable.of(
-                                getConfigResolvers(
-                                        ConfigFieldResolver.Location.OPERATION,
-                                        ConfigFieldResolver.Target.INITIALIZATION
-                                ).map(this::generateConfigFieldResolver).toList()
-                        ).compose(),
-                        "finalizers", ChainWritable.of(
-                                getConfigResolvers(
-                                        ConfigFieldResolver.Location.OPERATION,
-                                        ConfigFieldResolver.Target.FINALIZATION
-                                ).map(this::generateConfigFieldResolver).toList()
-                        ).compose(),
-                        "contextResolvers", generateOperationContextResolvers(),
-                        "newClientHandler", SmithyGoDependency.SMITHY_HTTP_TRANSPORT.func("NewClientHandlerWithOptions"),
-                        "scope", settings.getModuleName()
+                        "buildStack", settings.cacheOperationStacks()
+                                ? goTemplate("""
+                                        op, err := c.resolveOperationStack(opID, optFns, stackFns)
+                                        if err != nil {
+                                            return nil, metadata, err
+                                        }
+                                        options := op.options
+
+                                        $W
+                                        """, generateOperationContextResolvers())
+                                : generateBuildStack("nil, metadata, err", generateOperationContextResolvers()),
+                        "handle", settings.cacheOperationStacks()
+                                ? goTemplate("result, metadata, err = op.handler.Handle(ctx, params)")
+                                : goTemplate("""
+                                        handler := $W
+                                        decorated := middleware.DecorateHandler(handler, stack)
+                                        result, metadata, err = decorated.Handle(ctx, params)
+                                        """, generateNewClientHandler()),
+                        "operationStacks", settings.cacheOperationStacks()
+                                ? generateOperationStacks()
+                                : emptyGoTemplate()
+                ));
+    }
+
+    // Resolves the operation's options and builds its middleware stack into `options` and `stack`, returning `fail`
+    // on error.
+    private Writable generateBuildStack(String fail, Writable contextResolvers) {
+        return goTemplate("""
+                $newStack:W
+                options := c.options.Copy()
+                $resolvers:W
+
+                for _, fn := range optFns {
+                    fn(&options)
+                }
+
+                $finalizers:W
+
+                $contextResolvers:W
+
+                if err := c.addCommonMiddlewares(stack, options, opID); err != nil {
+                    return $fail:L
+                }
+
+                for _, fn := range stackFns {
+                    if err := fn(stack, options); err != nil {
+                        return $fail:L
+                    }
+                }
+
+                for _, fn := range options.APIOptions {
+                    if err := fn(stack); err != nil {
+                        return $fail:L
+                    }
+                }
+                """,
+                MapUtils.of(
+                        "newStack", generateNewStack(),
+                        "resolvers", generateOperationConfigResolvers(ConfigFieldResolver.Target.INITIALIZATION),
+                        "finalizers", generateOperationConfigResolvers(ConfigFieldResolver.Target.FINALIZATION),
+                        "contextResolvers", contextResolvers,
+                        "fail", fail
                 ));
     }
 
+    private Writable generateOperationConfigResolvers(ConfigFieldResolver.Target target) {
+        return ChainWritable.of(
+                getConfigResolvers(ConfigFieldResolver.Location.OPERATION, target)
+                        .map(this::generateConfigFieldResolver)
+                        .toList()
+        ).compose();
+    }
+
+    private Writable generateNewClientHandler() {
+        return goTemplate("""
+                $T(options.HTTPClient, func(o *smithyhttp.ClientHandler) {
+                    o.Meter = options.MeterProvider.Meter($S)
+                })""",
+                SmithyGoDependency.SMITHY_HTTP_TRANSPORT.func("NewClientHandlerWithOptions"),
+                settings.getModuleName());
+    }
+
+    // Operation context resolvers only derive ctx from the resolved options, so with cacheOperationStacks they run
+    // per call in invokeOperation rather than when the stack is built.
+    private Writable generateOperationStacks() {
+        return goTemplate("""
+                // operationStack is an operation's resolved options and its middleware stack
+                // compiled into a single handler.
+                type operationStack struct {
+                    options Options
+                    handler $handler:T
+                }
+
+                // resolveOperationStack returns the compiled stack for an operation. Calls
+                // that only add the operation's own middleware share one stack per client,
+                // built on first use. Per-call options may change anything captured by the
+                // middleware, and additional stack functions (e.g. presigners) change the
+                // stack itself, so those calls build a stack of their own.
+                func (c *Client) resolveOperationStack(
+                    opID string, optFns []func(*Options), stackFns []func($stack:P, Options) error,
+                ) (*operationStack, error) {
+                    if len(optFns) > 0 || len(stackFns) != 1 || c.operationStacks == nil {
+                        return c.buildOperationStack(opID, optFns, stackFns)
+                    }
+
+                    if op, ok := c.operationStacks.Load(opID); ok {
+                        return op.(*operationStack), nil
+                    }
+
+                    op, err := c.buildOperationStack(opID, nil, stackFns)
+                    if err != nil {
+                        return nil, err
+                    }
+
+                    // concurrent first calls may each build a stack, only one is kept
+                    actual, _ := c.operationStacks.LoadOrStore(opID, op)
+                    return actual.(*operationStack), nil
+                }
+
+                func (c *Client) buildOperationStack(
+                    opID string, optFns []func(*Options), stackFns []func($stack:P, Options) error,
+                ) (*operationStack, error) {
+                    $buildStack:W
+
+                    handler := $newClientHandler:W
+                    return &operationStack{
+                        options: options,
+                        handler: stack.Compile(handler),
+                    }, nil
+                }
+                """,
+                MapUtils.of(
+                        "handler", SmithyGoDependency.SMITHY_MIDDLEWARE.valueSymbol("Handler"),
+                        "stack", SmithyGoDependency.SMITHY_MIDDLEWARE.struct("Stack"),
+                        "buildStack", generateBuildStack("nil, err", emptyGoTemplate()),
+                        "newClientHandler", generateNewClientHandler()
+                ));
+    }
+
+
     private Writable generateEventStreamInvokeOperation() {
          if (!hasV2EventStreamOperations()) {
             return emptyGoTemplate();
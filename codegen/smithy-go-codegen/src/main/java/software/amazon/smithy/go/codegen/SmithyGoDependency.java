@@ -38,6 +38,7 @@ public final class SmithyGoDependency {
     public static final GoDependency JSON = stdlib("encoding/json");
     public static final GoDependency IO = stdlib("io");
     public static final GoDependency FS = stdlib("io/fs");
+    public static final GoDependency ITER = stdlib("iter");
     public static final GoDependency CRYPTORAND = stdlib("crypto/rand", "cryptorand");
     public static final GoDependency TESTING = stdlib("testing");
     public static final GoDependency ERRORS = stdlib("errors");
@@ -70,6 +71,7 @@ public final class SmithyGoDependency {
     public static final GoDependency SMITHY_RAND = smithy("rand", "smithyrand");
     public static final GoDependency SMITHY_TESTING = smithy("testing", "smithytesting");
     public static final GoDependency SMITHY_WAITERS = smithy("waiter", "smithywaiter");
+    public static final GoDependency SMITHY_PAGINATOR = smithy("paginator", "smithypaginator");
     public static final GoDependency SMITHY_DOCUMENT = smithy("document", "smithydocument");
     public static final GoDependency SMITHY_PRELUDE = smithy("prelude", "smithyprelude");
     public static final GoDependency SMITHY_DOCUMENT_JSON = smithy("document/json", "smithydocumentjson");
@@ -84,6 +86,7 @@ public final class SmithyGoDependency {
     public static final GoDependency SMITHY_ENDPOINTS = smithy("endpoints", "smithyendpoints");
     public static final GoDependency SMITHY_ENDPOINT_RULESFN = smithy("endpoints/private/rulesfn");
     public static final GoDependency SMITHY_ENDPOINT_BDD = smithy("endpoints/private/bdd");
+    public static final GoDependency SMITHY_ENDPOINT_CACHE = smithy("endpoints/private/cache", "endpointcache");
     public static final GoDependency SMITHY_TRACING = smithy("tracing");
     public static final GoDependency SMITHY_METRICS = smithy("metrics");
 
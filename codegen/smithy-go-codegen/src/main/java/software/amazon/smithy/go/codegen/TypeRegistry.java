@@ -2,9 +2,14 @@ package software.amazon.smithy.go.codegen;
 
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import software.amazon.smithy.go.codegen.util.PerfectHash;
 import software.amazon.smithy.model.knowledge.EventStreamIndex;
 import software.amazon.smithy.model.knowledge.OperationIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
@@ -51,21 +56,64 @@ public class TypeRegistry implements Writable {
         if (sorted.stream().anyMatch(s -> !Prelude.isPublicPreludeShape(s))) {
             writer.addImport(ctx.settings().getModuleName() + "/schemas", "schemas");
         }
+
+        // Index every entry by both its absolute shape ID and its name alone, since some protocols only send the
+        // latter. Where names collide across namespaces, the first shape ID in sort order wins.
+        var entryByKey = new LinkedHashMap<String, Integer>();
+        for (var i = 0; i < sorted.size(); i++) {
+            entryByKey.put(sorted.get(i).getId().toString(), i);
+        }
+        for (var i = 0; i < sorted.size(); i++) {
+            entryByKey.putIfAbsent(sorted.get(i).getId().getName(), i);
+        }
+        var index = PerfectHash.build(new ArrayList<>(entryByKey.keySet()));
+        var slotEntries = Arrays.stream(index.slots()).map(entryByKey::get).toList();
+
         writer.writeGoTemplate("""
+                var typeRegistryEntries = [...]smithy.TypeRegistryEntry{
+                    $entries:W
+                }
+
                 // TypeRegistry is the type registry for this service.
                 var TypeRegistry = &smithy.TypeRegistry{
                     Entries: map[string]*smithy.TypeRegistryEntry{
-                        $entries:W
+                        $entriesByID:W
+                    },
+                    Index: &smithy.TypeRegistryIndex{
+                        Seeds: []int32{$seeds:L},
+                        Keys: []string{
+                            $keys:W
+                        },
+                        Entries: []*smithy.TypeRegistryEntry{
+                            $slotEntries:W
+                        },
                     },
                 }
-                """, Map.of("entries", Writable.map(sorted, this::renderEntry)));
+                """,
+                Map.of(
+                        "entries", Writable.map(sorted, this::renderEntry, true),
+                        "entriesByID", Writable.map(IntStream.range(0, sorted.size()).boxed().toList(),
+                                i -> goTemplate("$S: &typeRegistryEntries[$L],",
+                                        sorted.get(i).getId().toString(), i), true),
+                        "seeds", Arrays.stream(index.seeds())
+                                .mapToObj(Integer::toString)
+                                .collect(Collectors.joining(", ")),
+                        "keys", Writable.map(Arrays.asList(index.slots()), it -> goTemplate("$S,", it), true),
+                        "slotEntries", Writable.map(slotEntries,
+                                it -> goTemplate("&typeRegistryEntries[$L],", it), true)
+                ));
     }
 
+    // Local schemas are referenced by accessor rather than value so that building the registry doesn't
+    // materialize every schema it contains.
     private Writable renderEntry(StructureShape shape) {
+        if (Prelude.isPublicPreludeShape(shape)) {
+            return goTemplate("""
+                    {Schema: $L, New: func() any { return &$T{} }},""",
+                    SchemaGenerator.getSchemaRef(shape, ctx.service()), ctx.symbolProvider().toSymbol(shape));
+        }
         return goTemplate("""
-                $S: &smithy.TypeRegistryEntry{
-                    Schema: $L,
-                    New: func() any { return &$T{} },
-                },""", shape.getId().toString(), SchemaGenerator.getSchemaRef(shape, ctx.service()), ctx.symbolProvider().toSymbol(shape));
+                {LoadSchema: schemas.$L, New: func() any { return &$T{} }},""",
+                SchemaGenerator.getSchemaName(shape, ctx.service()), ctx.symbolProvider().toSymbol(shape));
     }
 }
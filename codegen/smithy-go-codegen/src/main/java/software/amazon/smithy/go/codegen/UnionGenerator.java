@@ -116,6 +116,9 @@ public class UnionGenerator {
         writer.addImport(ctx.settings().getModuleName() + "/schemas", "schemas");
         var schemaName = SchemaGenerator.getMemberSchemaRef(shape, member, ctx.service());
         writer.openBlock("func (v *$L) Serialize(s smithy.ShapeSerializer) {", "}", memberName, () -> {
+            // variants may be serialized on their own, e.g. as events, so the union's member schemas may not be
+            // built yet
+            writer.write("$L", SchemaGenerator.getSchemaRef(shape, ctx.service()));
             switch (target.getType()) {
                 case BYTE -> writer.write("s.WriteInt8($L, v.Value)", schemaName);
                 case SHORT -> writer.write("s.WriteInt16($L, v.Value)", schemaName);
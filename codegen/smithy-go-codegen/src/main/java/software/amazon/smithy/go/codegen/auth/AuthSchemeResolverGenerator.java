@@ -19,6 +19,7 @@ import static software.amazon.smithy.go.codegen.GoWriter.emptyGoTemplate;
 import static software.amazon.smithy.go.codegen.GoWriter.goDocTemplate;
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import software.amazon.smithy.aws.traits.auth.UnsignedPayloadTrait;
@@ -33,6 +34,7 @@ import software.amazon.smithy.model.knowledge.ServiceIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.utils.MapUtils;
 
 /**
@@ -136,6 +138,15 @@ public class AuthSchemeResolverGenerator {
                 $opAuthOptions:W
 
                 $svcAuthOptions:W
+
+                // staticAuthOptions returns options that don't depend on the auth parameters,
+                // built once and shared across operation calls. The options must not be
+                // modified.
+                func staticAuthOptions(options []$options:P) func(*$params:L) []$options:P {
+                    return func(*$params:L) []$options:P {
+                        return options
+                    }
+                }
                 """, MapUtils.of(
                         "receiver", DEFAULT_NAME,
                         "ctx", GoStdlibTypes.Context.Context,
@@ -165,41 +176,52 @@ public class AuthSchemeResolverGenerator {
     }
 
     private Writable generateOperationAuthOptionsEntry(OperationShape operation) {
-        var options = new ChainWritable();
-        serviceIndex
-                .getEffectiveAuthSchemes(ctx.service(), operation, ServiceIndex.AuthSchemeMode.NO_AUTH_AWARE)
-                .entrySet().stream()
-                .filter(it -> schemeDefinitions.containsKey(it.getKey()))
-                .forEach(it -> {
-                    var definition = schemeDefinitions.get(it.getKey());
-                    options.add(definition.generateOperationOption(legacyContext, operation));
-                });
-
-        return options.isEmpty()
-                ? emptyGoTemplate()
-                : goTemplate("""
-                        $1S: func(params *$2L) []$3P {
-                            return []$3P{
-                                $4W
-                            }
-                        },""",
-                        operation.getId().getName(),
-                        AuthParametersGenerator.STRUCT_NAME,
-                        SmithyGoDependency.SMITHY_AUTH.struct("Option"),
-                        options.compose());
+        var definitions = getSchemeDefinitions(serviceIndex
+                .getEffectiveAuthSchemes(ctx.service(), operation, ServiceIndex.AuthSchemeMode.NO_AUTH_AWARE));
+        var options = ChainWritable.of(definitions.stream()
+                .map(it -> it.generateOperationOption(legacyContext, operation))
+                .toList());
+
+        if (options.isEmpty()) {
+            return emptyGoTemplate();
+        }
+        if (hasStaticOptions(definitions)) {
+            return goTemplate("""
+                    $1S: staticAuthOptions([]$2P{
+                        $3W
+                    }),""",
+                    operation.getId().getName(),
+                    SmithyGoDependency.SMITHY_AUTH.struct("Option"),
+                    options.compose());
+        }
+        return goTemplate("""
+                $1S: func(params *$2L) []$3P {
+                    return []$3P{
+                        $4W
+                    }
+                },""",
+                operation.getId().getName(),
+                AuthParametersGenerator.STRUCT_NAME,
+                SmithyGoDependency.SMITHY_AUTH.struct("Option"),
+                options.compose());
     }
 
     private Writable generateServiceAuthOptions() {
-        var options = new ChainWritable();
-        serviceIndex
-                .getEffectiveAuthSchemes(ctx.service(), ServiceIndex.AuthSchemeMode.NO_AUTH_AWARE)
-                .entrySet().stream()
-                .filter(it -> schemeDefinitions.containsKey(it.getKey()))
-                .forEach(it -> {
-                    var definition = schemeDefinitions.get(it.getKey());
-                    options.add(definition.generateServiceOption(legacyContext, ctx.service()));
-                });
-
+        var definitions = getSchemeDefinitions(serviceIndex
+                .getEffectiveAuthSchemes(ctx.service(), ServiceIndex.AuthSchemeMode.NO_AUTH_AWARE));
+        var options = ChainWritable.of(definitions.stream()
+                .map(it -> it.generateServiceOption(legacyContext, ctx.service()))
+                .toList());
+
+        if (hasStaticOptions(definitions)) {
+            return goTemplate("""
+                    var serviceAuthOptions = staticAuthOptions([]$P{
+                        $W
+                    })
+                    """,
+                    SmithyGoDependency.SMITHY_AUTH.struct("Option"),
+                    options.compose());
+        }
         return goTemplate("""
                 func serviceAuthOptions(params *$1L) []$2P {
                     return []$2P{
@@ -211,4 +233,16 @@ public class AuthSchemeResolverGenerator {
                 SmithyGoDependency.SMITHY_AUTH.struct("Option"),
                 options.compose());
     }
+
+    private List<AuthSchemeDefinition> getSchemeDefinitions(Map<ShapeId, Trait> schemes) {
+        return schemes.keySet().stream()
+                .filter(schemeDefinitions::containsKey)
+                .map(schemeDefinitions::get)
+                .toList();
+    }
+
+    // options that don't depend on the auth parameters are built once, rather than per request
+    private boolean hasStaticOptions(List<AuthSchemeDefinition> definitions) {
+        return definitions.stream().allMatch(AuthSchemeDefinition::hasStaticOptions);
+    }
 }
@@ -96,57 +96,118 @@ public class ResolveAuthSchemeMiddlewareGenerator {
         return goTemplate("""
                 $strings:D $slices:D
                 func (m *$middlewareName:L) selectScheme(options []$option:P) (*resolvedAuthScheme, bool) {
-                    sorted := sortAuthOptions(options, m.options.AuthSchemePreference)
-                    for _, option := range sorted {
-                        if option.SchemeID == $schemeIDAnonymous:T {
-                            return newResolvedAuthScheme($newAnonymousScheme:T(), option), true
-                        }
+                    selector := m.options.authSchemeSelector
+                    if !selector.matches(m.options.AuthSchemes, m.options.AuthSchemePreference) {
+                        // auth schemes were overridden for this operation call
+                        selector = newAuthSchemeSelector(m.options.AuthSchemes, m.options.AuthSchemePreference)
+                    }
+                    return selector.selectScheme(options, m.options)
+                }
 
-                        for _, scheme := range m.options.AuthSchemes {
-                            if !matchSchemeID(scheme.SchemeID(), option.SchemeID) {
-                                continue
-                            }
+                // authSchemeSelector selects the auth scheme for a set of resolved auth
+                // options. It is built once from the client's AuthSchemes and
+                // AuthSchemePreference, such that selecting a scheme per operation call
+                // doesn't need to sort or copy the options.
+                type authSchemeSelector struct {
+                    schemes    []$authScheme:T
+                    preference []string
+                    anonymous  $authScheme:T
 
-                            if scheme.IdentityResolver(m.options) != nil {
-                                return newResolvedAuthScheme(scheme, option), true
-                            }
+                    // candidates by option scheme ID, which may be a registered scheme's
+                    // full ID or just its name
+                    candidates map[string]authSchemeCandidates
+                }
+
+                type authSchemeCandidates struct {
+                    rank    int
+                    schemes []$authScheme:T
+                }
+
+                func newAuthSchemeSelector(schemes []$authScheme:T, preference []string) *authSchemeSelector {
+                    s := &authSchemeSelector{
+                        schemes:    schemes,
+                        preference: slices.Clone(preference),
+                        anonymous:  $newAnonymousScheme:T(),
+                        candidates: make(map[string]authSchemeCandidates, 2*len(schemes)),
+                    }
+                    for _, scheme := range schemes {
+                        id := scheme.SchemeID()
+                        s.addCandidate(id, scheme)
+                        if i := strings.LastIndex(id, "#"); i != -1 {
+                            s.addCandidate(id[i+1:], scheme)
                         }
                     }
+                    return s
+                }
 
-                    return nil, false
+                func (s *authSchemeSelector) addCandidate(id string, scheme $authScheme:T) {
+                    c, ok := s.candidates[id]
+                    if !ok {
+                        c.rank = authSchemeRank(id, s.preference)
+                    }
+                    c.schemes = append(c.schemes, scheme)
+                    s.candidates[id] = c
                 }
 
-                func matchSchemeID(registered, option string) bool {
-                    if registered == option {
-                        return true
+                // matches returns whether the selector was built from the given schemes and
+                // preference. Like Options.Copy, this assumes the AuthSchemes list is
+                // replaced rather than modified in place.
+                func (s *authSchemeSelector) matches(schemes []$authScheme:T, preference []string) bool {
+                    if s == nil || len(s.schemes) != len(schemes) {
+                        return false
                     }
-                    if i := strings.LastIndex(registered, "#"); i != -1 {
-                        return registered[i+1:] == option
+                    if len(schemes) > 0 && &s.schemes[0] != &schemes[0] {
+                        return false
                     }
-                    return false
+                    return slices.Equal(s.preference, preference)
                 }
 
-                func sortAuthOptions(options []$option:P, preferred []string) []$option:P {
-                    byPriority := make([]$option:P, 0, len(options))
-                    for _, prefName := range preferred {
-                        for _, option := range options {
-                            optName := option.SchemeID
-                            if parts := strings.Split(option.SchemeID, "#"); len(parts) == 2 {
-                                optName = parts[1]
-                            }
-                            if prefName == optName {
-                                byPriority = append(byPriority, option)
+                // selectScheme returns the first option, in order of preference and then
+                // resolution order, with an auth scheme that has an identity resolver.
+                func (s *authSchemeSelector) selectScheme(options []$option:P, o Options) (*resolvedAuthScheme, bool) {
+                    var selected $option:P
+                    var selectedScheme $authScheme:T
+                    selectedRank := len(s.preference) + 1
+                    for _, option := range options {
+                        c, ok := s.candidates[option.SchemeID]
+                        if !ok {
+                            c.rank = authSchemeRank(option.SchemeID, s.preference)
+                        }
+                        if c.rank >= selectedRank {
+                            continue
+                        }
+
+                        if option.SchemeID == $schemeIDAnonymous:T {
+                            selected, selectedScheme, selectedRank = option, s.anonymous, c.rank
+                            continue
+                        }
+                        for _, scheme := range c.schemes {
+                            if scheme.IdentityResolver(o) != nil {
+                                selected, selectedScheme, selectedRank = option, scheme, c.rank
+                                break
                             }
                         }
                     }
-                    for _, option := range options {
-                        if !slices.ContainsFunc(byPriority, func(o $option:P) bool {
-                            return o.SchemeID == option.SchemeID
-                        }) {
-                            byPriority = append(byPriority, option)
+
+                    if selected == nil {
+                        return nil, false
+                    }
+                    return newResolvedAuthScheme(selectedScheme, selected), true
+                }
+
+                // authSchemeRank returns the position of a scheme ID's name in the auth
+                // scheme preference, or len(preference) if it has none.
+                func authSchemeRank(id string, preference []string) int {
+                    name := id
+                    if i := strings.Index(id, "#"); i != -1 && !strings.Contains(id[i+1:], "#") {
+                        name = id[i+1:]
+                    }
+                    for i, pref := range preference {
+                        if pref == name {
+                            return i
                         }
                     }
-                    return byPriority
+                    return len(preference)
                 }
                 """,
                 MapUtils.of(
@@ -154,6 +215,7 @@ public class ResolveAuthSchemeMiddlewareGenerator {
                         "slices", SmithyGoDependency.SLICES,
                         "middlewareName", MIDDLEWARE_NAME,
                         "option", SmithyGoDependency.SMITHY_AUTH.struct("Option"),
+                        "authScheme", getAuthSchemeSymbol(),
                         "schemeIDAnonymous", SmithyGoDependency.SMITHY_AUTH.constSymbol("SchemeIDAnonymous"),
                         "newAnonymousScheme", SmithyGoDependency.SMITHY_HTTP_TRANSPORT.func("NewAnonymousScheme")
                 )
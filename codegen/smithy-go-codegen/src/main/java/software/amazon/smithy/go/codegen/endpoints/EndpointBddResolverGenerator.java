@@ -41,9 +41,11 @@ import software.amazon.smithy.rulesengine.language.syntax.Identifier;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.LibraryFunction;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.LiteralVisitor;
 import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
 import software.amazon.smithy.rulesengine.language.syntax.parameters.ParameterType;
 import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
@@ -65,7 +67,7 @@ import software.amazon.smithy.utils.MapUtils;
  *   <li>{@code evalCondition} switch dispatching each BDD condition</li>
  *   <li>{@code resolveResult} switch dispatching each BDD result</li>
  *   <li>{@code ResolveEndpoint} method wiring the BDD evaluator</li>
- *   <li>Resolver type boilerplate (interface, struct, constructor)</li>
+ *   <li>Resolver type boilerplate (interface, struct, constructor), with an opt-in cache of resolved endpoints</li>
  * </ol>
  */
 public final class EndpointBddResolverGenerator {
@@ -202,7 +204,8 @@ public final class EndpointBddResolverGenerator {
                     () -> {
                         w.openBlock("switch idx {", "}", () -> {
                             for (int i = 0; i < conditions.size(); i++) {
-                                w.write("case $L:", i);
+                                var fn = conditions.get(i).getFunction();
+                                w.write("case $L: // $L, est. cost $L", i, fn.getName(), conditionCost(fn));
                                 w.indent();
                                 w.write(" $W", generateConditionCase(conditions.get(i), i, paramScope, condScope));
                                 w.dedent();
@@ -314,6 +317,11 @@ public final class EndpointBddResolverGenerator {
 
         if (result instanceof EndpointRule endpointRule) {
             var endpoint = endpointRule.getEndpoint();
+            var urlTemplate = templateOf(endpoint.getUrl()).flatMap(UrlTemplate::split);
+            if (urlTemplate.isPresent()) {
+                return generateTemplatedResultCase(endpoint, urlTemplate.get(), scope);
+            }
+
             var generator = new ExpressionGenerator(scope, fnProvider);
             return goTemplate("""
                     uriString := $url:W
@@ -335,6 +343,62 @@ public final class EndpointBddResolverGenerator {
                 MapUtils.of("endpointType", endpointType));
     }
 
+    // Builds the URL directly from its precomputed components rather than formatting and parsing it. The static parts
+    // of the template were checked at codegen time, so only the components with dynamic parts are checked here, and
+    // if their values could change how the URL parses, it's formatted and parsed like any other.
+    private Writable generateTemplatedResultCase(Endpoint endpoint, UrlTemplate template, Scope scope) {
+        var hostIsDynamic = template.host().stream().anyMatch(UrlTemplate.Segment::isDynamic);
+        var pathIsDynamic = template.path().stream().anyMatch(UrlTemplate.Segment::isDynamic);
+        var checks = new ArrayList<Writable>();
+        if (hostIsDynamic) {
+            checks.add(goTemplate("!$T(uri.Host)", SmithyGoDependency.SMITHY_ENDPOINT_RULESFN.func("IsURLHostSafe")));
+        }
+        if (pathIsDynamic) {
+            checks.add(goTemplate("!$T(uri.Path)", SmithyGoDependency.SMITHY_ENDPOINT_RULESFN.func("IsURLPathSafe")));
+        }
+
+        return goTemplate("""
+                uri := &$url:T{
+                    Scheme: $scheme:S,
+                    Host:   $host:W,
+                    Path:   $path:W,
+                }
+                $fallback:W
+                return $endpoint:W, nil
+                """,
+                MapUtils.of(
+                        "url", SmithyGoDependency.NET_URL.struct("URL"),
+                        "scheme", template.scheme(),
+                        "host", generateConcat(template.host(), scope),
+                        "path", generateConcat(template.path(), scope),
+                        "fallback", checks.isEmpty()
+                                ? emptyGoTemplate()
+                                : goTemplate("""
+                                        if $checks:W {
+                                            uriString := uri.Scheme + "://" + uri.Host + uri.Path
+                                            var err error
+                                            if uri, err = $urlParse:T(uriString); err != nil {
+                                                return $endpointType:T{}, fmt.Errorf("Failed to parse uri: %s", uriString)
+                                            }
+                                        }
+                                        """,
+                                        MapUtils.of(
+                                                "checks", joinWritables(checks, " || "),
+                                                "urlParse", SmithyGoDependency.NET_URL.func("Parse"),
+                                                "endpointType", endpointType)),
+                        "endpoint", generateEndpoint(endpoint, scope)));
+    }
+
+    private Writable generateConcat(List<UrlTemplate.Segment> segments, Scope scope) {
+        if (segments.isEmpty()) {
+            return goTemplate("\"\"");
+        }
+        var generator = new ExpressionGenerator(scope, fnProvider);
+        return joinWritables(segments.stream()
+                .map(it -> it.isDynamic() ? generator.generate(it.expr()) : goTemplate("$S", it.literal()))
+                .toList(), " + ");
+    }
+
     private Writable generateEndpoint(Endpoint endpoint, Scope scope) {
         return goTemplate("""
                 $endpointType:T{
@@ -417,11 +481,39 @@ public final class EndpointBddResolverGenerator {
                     )
                 }
 
+                // EndpointResolverOptions configures the default endpoint resolver.
+                type EndpointResolverOptions struct {
+                    // The maximum number of resolved endpoints to cache, keyed by
+                    // $parametersType:T. Caching is disabled when zero.
+                    //
+                    // Cached endpoints are shared between every call that resolves to
+                    // them and MUST NOT be modified.
+                    CacheSize int
+
+                    // How the cache chooses an endpoint to evict when it is full.
+                    // Defaults to least recently used.
+                    CacheEviction $eviction:T
+                }
+
                 // $resolverImplementationType:T provides the implementation for resolving endpoints.
-                type $resolverImplementationType:T struct{}
+                type $resolverImplementationType:T struct {
+                    cache *$cache:T
+                }
 
-                func $newResolverFn:T() $resolverInterfaceType:T {
-                    return &$resolverImplementationType:T{}
+                func $newResolverFn:T(optFns ...func(*EndpointResolverOptions)) $resolverInterfaceType:T {
+                    var options EndpointResolverOptions
+                    for _, fn := range optFns {
+                        fn(&options)
+                    }
+
+                    r := &$resolverImplementationType:T{}
+                    if options.CacheSize > 0 {
+                        r.cache = $newCache:T($cacheOptions:T{
+                            Size:     options.CacheSize,
+                            Eviction: options.CacheEviction,
+                        })
+                    }
+                    return r
                 }
 
                 // $resolveEndpointMethodName:L attempts to resolve the endpoint with the provided options,
@@ -430,13 +522,47 @@ public final class EndpointBddResolverGenerator {
                     ctx $context:T, $paramArgName:L $parametersType:T,
                 ) (
                     endpoint $endpointType:T, err error,
+                ) {
+                    if r.cache == nil {
+                        return r.resolveEndpoint($paramArgName:L)
+                    }
+
+                    var buf [128]byte
+                    key := $paramArgName:L.$cacheKey:L(buf[:0])
+                    if endpoint, ok := r.cache.Get(key); ok {
+                        addOperationMetric(ctx, "client.call.resolve_endpoint_cache_hits", 1)
+                        return endpoint, nil
+                    }
+                    addOperationMetric(ctx, "client.call.resolve_endpoint_cache_misses", 1)
+
+                    // resolution errors aren't cached
+                    if endpoint, err = r.resolveEndpoint($paramArgName:L); err != nil {
+                        return endpoint, err
+                    }
+                    r.cache.Put(key, endpoint)
+                    return endpoint, nil
+                }
+
+                func (r *$resolverImplementationType:T) resolveEndpoint($paramArgName:L $parametersType:T) (
+                    endpoint $endpointType:T, err error,
+                ) {
+                    return resolveBdd($paramArgName:L, evalCondition)
+                }
+
+                // resolveBdd resolves the endpoint for the provided parameters, calling
+                // cond to evaluate each condition reached in the BDD.
+                func resolveBdd(
+                    $paramArgName:L $parametersType:T,
+                    cond func(idx int, $paramArgName:L *$parametersType:T, $ctx:L *conditionContext) bool,
+                ) (
+                    endpoint $endpointType:T, err error,
                 ) {
                     $paramArgName:L = $paramArgName:L.$withDefaults:L()
                     $validateParams:W
 
                     $ctx:L := &conditionContext{}
                     ref := $bdd:T(bddNodes[:], bddRoot, func(idx int) bool {
-                        return evalCondition(idx, &$paramArgName:L, $ctx:L)
+                        return cond(idx, &$paramArgName:L, $ctx:L)
                     })
                     return resolveResult(ref, &$paramArgName:L, $ctx:L)
                 }
@@ -456,6 +582,11 @@ public final class EndpointBddResolverGenerator {
                 MapUtils.of(
                         "bdd", SymbolUtils.createValueSymbolBuilder("Evaluate",
                                 SmithyGoDependency.SMITHY_ENDPOINT_BDD).build(),
+                        "cache", SmithyGoDependency.SMITHY_ENDPOINT_CACHE.struct("Cache"),
+                        "cacheOptions", SmithyGoDependency.SMITHY_ENDPOINT_CACHE.struct("Options"),
+                        "newCache", SmithyGoDependency.SMITHY_ENDPOINT_CACHE.func("New"),
+                        "eviction", SmithyGoDependency.SMITHY_ENDPOINT_CACHE.struct("Eviction"),
+                        "cacheKey", EndpointParametersGenerator.CACHE_KEY_FUNC_NAME,
                         "validateParams", hasRequired
                                 ? goTemplate("""
                                         if err = $paramArgName:L.$validate:L(); err != nil {
@@ -472,6 +603,37 @@ public final class EndpointBddResolverGenerator {
 
     // ---- Helpers ----
 
+    /**
+     * Estimates the relative cost of evaluating each of the BDD's conditions, for reporting in generated code and
+     * benchmarks. Comparisons and nil checks cost 1, string manipulation a few times that, and functions that parse
+     * or look up tables (parseURL, aws.partition, etc.) an order of magnitude more.
+     *
+     * @param trait The BDD.
+     * @return The estimated cost of each condition, by index.
+     */
+    public static List<Integer> conditionCosts(EndpointBddTrait trait) {
+        return trait.getConditions().stream()
+                .map(it -> conditionCost(it.getFunction()))
+                .toList();
+    }
+
+    private static int conditionCost(Expression expr) {
+        if (!(expr instanceof LibraryFunction fn)) {
+            return 0;
+        }
+
+        var cost = switch (fn.getName()) {
+            case "isSet", "not", "booleanEquals", "stringEquals", "getAttr" -> 1;
+            case "isValidHostLabel", "aws.isVirtualHostableS3Bucket" -> 8;
+            case "parseURL", "aws.partition", "aws.parseArn" -> 16;
+            default -> 4;
+        };
+        for (var arg : fn.getArguments()) {
+            cost += conditionCost(arg);
+        }
+        return cost;
+    }
+
     /**
      * Build a scope that includes both parameter references and condition-assigned variable
      * references pointing to conditionContext fields.
@@ -497,6 +659,38 @@ public final class EndpointBddResolverGenerator {
         return scope;
     }
 
+    private static Optional<Template> templateOf(Expression expr) {
+        if (!(expr instanceof Literal literal)) {
+            return Optional.empty();
+        }
+        return literal.accept(new LiteralVisitor<Optional<Template>>() {
+            @Override
+            public Optional<Template> visitBoolean(boolean b) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<Template> visitString(Template value) {
+                return Optional.of(value);
+            }
+
+            @Override
+            public Optional<Template> visitRecord(Map<Identifier, Literal> members) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<Template> visitTuple(List<Literal> members) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<Template> visitInteger(int i) {
+                return Optional.empty();
+            }
+        });
+    }
+
     /**
      * Derive the Go struct field name for a condition's assigned result.
      */
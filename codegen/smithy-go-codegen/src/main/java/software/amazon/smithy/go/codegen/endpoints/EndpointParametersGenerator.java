@@ -48,6 +48,7 @@ import software.amazon.smithy.utils.StringUtils;
 public final class EndpointParametersGenerator {
     public static final String VALIDATE_REQUIRED_FUNC_NAME = "ValidateRequired";
     public static final String DEFAULT_VALUE_FUNC_NAME = "WithDefaults";
+    public static final String CACHE_KEY_FUNC_NAME = "appendCacheKey";
     private final Map<String, Object> commonCodegenArgs;
 
     private EndpointParametersGenerator(Builder builder) {
@@ -64,12 +65,14 @@ public final class EndpointParametersGenerator {
             return generateParameters(MapUtils.of(
                     "parametersMembers", generateParametersMembers(parameters),
                     "parametersValidationMethod", generateValidationMethod(parameters),
-                    "parametersDefaultValueMethod", generateDefaultsMethod(parameters)));
+                    "parametersDefaultValueMethod", generateDefaultsMethod(parameters),
+                    "parametersCacheKeyMethod", generateCacheKeyMethod(parameters)));
         } else {
             return generateParameters(MapUtils.of(
                     "parametersMembers", emptyGoTemplate(),
                     "parametersValidationMethod", emptyGoTemplate(),
-                    "parametersDefaultValueMethod", emptyGoTemplate()));
+                    "parametersDefaultValueMethod", emptyGoTemplate(),
+                    "parametersCacheKeyMethod", emptyGoTemplate()));
         }
     }
 
@@ -82,6 +85,7 @@ public final class EndpointParametersGenerator {
 
                 $parametersValidationMethod:W
                 $parametersDefaultValueMethod:W
+                $parametersCacheKeyMethod:W
                 """,
                 commonCodegenArgs,
                 MapUtils.of(
@@ -166,6 +170,34 @@ public final class EndpointParametersGenerator {
         };
     }
 
+    // Every parameter is encoded, in a fixed order, such that two sets of parameters have the same key only if they are
+    // equal. The resolver's endpoint cache (see EndpointBddResolverGenerator) uses the key as-is, with no separate
+    // equality check.
+    private Writable generateCacheKeyMethod(Parameters parameters) {
+        return goTemplate("""
+                // $funcName:L appends an encoding of every parameter to b, for use
+                // as an endpoint cache key.
+                func (p $parametersType:T) $funcName:L(b []byte) []byte {
+                    $appendParameters:W
+                    return b
+                }
+                """,
+                commonCodegenArgs,
+                MapUtils.of(
+                        "funcName", CACHE_KEY_FUNC_NAME,
+                        "appendParameters", ChainWritable.of(
+                                sortParameters(parameters)
+                                        .map(it -> goTemplate("b = $T(b, p.$L)",
+                                                SmithyGoDependency.SMITHY_ENDPOINT_CACHE.func(switch (it.getType()) {
+                                                    case STRING -> "AppendString";
+                                                    case BOOLEAN -> "AppendBool";
+                                                    case STRING_ARRAY -> "AppendStringSlice";
+                                                }),
+                                                getExportedParameterName(it)))
+                                        .toList()
+                        ).compose(false)));
+    }
+
     private Writable generateValidationMethod(Parameters parameters) {
         if (!haveRequiredParameters(parameters)) {
             return emptyGoTemplate();
@@ -140,5 +140,11 @@ public class EndpointResolutionGenerator {
         endpointTestTrait.ifPresent(trait -> testCases.addAll(trait.getTestCases()));
 
         writer.write("$W", testsGenerator.generate(ruleset, testCases));
+
+        var bddTrait = serviceShape.getTrait(EndpointBddTrait.class);
+        if (bddTrait.isPresent()) {
+            writer.write("\n$W", testsGenerator.generateBddBenchmark(bddTrait.get().getParameters(), testCases,
+                    EndpointBddResolverGenerator.conditionCosts(bddTrait.get())));
+        }
     }
 }
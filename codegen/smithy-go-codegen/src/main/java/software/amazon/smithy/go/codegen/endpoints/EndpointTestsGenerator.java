@@ -97,6 +97,91 @@ public final class EndpointTestsGenerator {
         return joinWritables(writables, "\n\n");
     }
 
+    /**
+     * Generates a test and benchmark that resolve every test case through the resolver's resolveBdd with a counting
+     * condition evaluator, which check that no condition is evaluated twice in one resolution (so there's nothing to
+     * gain from memoizing them) and report the number and estimated cost of the conditions evaluated per resolution.
+     *
+     * @param parameters The endpoint parameters.
+     * @param testCases The endpoint test cases.
+     * @param costs The estimated cost of each BDD condition, see EndpointBddResolverGenerator.conditionCosts.
+     * @return The test and benchmark.
+     */
+    public Writable generateBddBenchmark(
+            Parameters parameters, List<EndpointTestCase> testCases, List<Integer> costs
+    ) {
+        if (testCases.isEmpty()) {
+            return emptyGoTemplate();
+        }
+
+        return goTemplate("""
+                // estimated cost of each BDD condition, see evalCondition
+                var bddConditionCosts = [...]int{$costs:L}
+
+                func bddTestCases() []$parametersType:T {
+                    return []$parametersType:T{
+                        $cases:W
+                    }
+                }
+
+                // resolveBddCounted resolves params like the resolver does, appending the
+                // index of each condition evaluated.
+                func resolveBddCounted(params $parametersType:T, evaluated []int) []int {
+                    resolveBdd(params, func(idx int, p *$parametersType:T, c *conditionContext) bool {
+                        evaluated = append(evaluated, idx)
+                        return evalCondition(idx, p, c)
+                    })
+                    return evaluated
+                }
+
+                func TestEndpointBddEvaluatesConditionsOnce(t *$testingT:T) {
+                    for i, params := range bddTestCases() {
+                        seen := map[int]bool{}
+                        for _, idx := range resolveBddCounted(params, nil) {
+                            if seen[idx] {
+                                t.Errorf("case %d: condition %d evaluated more than once", i, idx)
+                            }
+                            seen[idx] = true
+                        }
+                    }
+                }
+
+                func BenchmarkEndpointBddResolve(b *$testingB:T) {
+                    cases := bddTestCases()
+
+                    var conds, cost int
+                    var evaluated []int
+                    for _, params := range cases {
+                        evaluated = resolveBddCounted(params, evaluated[:0])
+                        conds += len(evaluated)
+                        for _, idx := range evaluated {
+                            cost += bddConditionCosts[idx]
+                        }
+                    }
+
+                    resolver := $newResolverFn:T()
+                    ctx := $contextBG:T()
+                    b.ReportAllocs()
+                    for b.Loop() {
+                        for _, params := range cases {
+                            resolver.$resolveEndpointMethodName:L(ctx, params)
+                        }
+                    }
+                    b.ReportMetric(float64(conds)/float64(len(cases)), "conds/resolve")
+                    b.ReportMetric(float64(cost)/float64(len(cases)), "cost/resolve")
+                }
+                """,
+                commonCodegenArgs,
+                MapUtils.of(
+                        "costs", String.join(", ", costs.stream().map(String::valueOf).toList()),
+                        "cases", joinWritables(testCases.stream()
+                                .map(it -> goTemplate("{$W},", generateParameterValues(parameters, it)))
+                                .toList(), "\n"),
+                        "testingT", SmithyGoDependency.TESTING.struct("T"),
+                        "testingB", SmithyGoDependency.TESTING.struct("B"),
+                        "contextBG", SmithyGoDependency.CONTEXT.func("Background")));
+    }
+
     private Writable generateTestCaseDocs(EndpointTestCase testCase) {
         if (testCase.getDocumentation().isPresent()) {
             return goDocTemplate(testCase.getDocumentation().get());
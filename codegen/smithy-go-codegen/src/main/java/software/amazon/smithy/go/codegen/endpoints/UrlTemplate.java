@@ -0,0 +1,151 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.endpoints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.TemplateVisitor;
+
+/**
+ * An endpoint URL template split into its scheme, host and path at codegen time, so that generated resolvers can
+ * build the URL without formatting and parsing it.
+ *
+ * <p>Only templates with a static scheme and static parts that can't change how the URL parses are split. The
+ * character sets MUST stay in sync with rulesfn.IsURLHostSafe and rulesfn.IsURLPathSafe in the smithy-go runtime,
+ * which check the dynamic parts.
+ *
+ * @param scheme The URL scheme.
+ * @param host The parts of the URL's host.
+ * @param path The parts of the URL's path, which is either empty or starts with a static '/'.
+ */
+record UrlTemplate(String scheme, List<Segment> host, List<Segment> path) {
+    private static final Pattern SCHEME = Pattern.compile("[a-z][a-z0-9+.-]*");
+    private static final Pattern HOST_SAFE = Pattern.compile("[A-Za-z0-9.-]*");
+    private static final Pattern PATH_SAFE = Pattern.compile("[A-Za-z0-9._~/-]*");
+
+    /**
+     * A static or dynamic part of a URL template.
+     *
+     * @param literal The static value, if the segment is static.
+     * @param expr The expression producing the value, if the segment is dynamic.
+     */
+    record Segment(String literal, Expression expr) {
+        boolean isDynamic() {
+            return expr != null;
+        }
+    }
+
+    /**
+     * Splits the given URL template.
+     *
+     * @param template The template.
+     * @return The split template, or empty if it has to be parsed at runtime.
+     */
+    static Optional<UrlTemplate> split(Template template) {
+        var segments = template.accept(new SegmentVisitor())
+                .flatMap(Optional::stream)
+                .toList();
+        if (segments.isEmpty() || segments.get(0).isDynamic()) {
+            return Optional.empty();
+        }
+
+        var first = segments.get(0).literal();
+        var schemeEnd = first.indexOf("://");
+        if (schemeEnd < 0 || !SCHEME.matcher(first.substring(0, schemeEnd)).matches()) {
+            return Optional.empty();
+        }
+
+        var rest = new ArrayList<Segment>();
+        rest.add(new Segment(first.substring(schemeEnd + 3), null));
+        rest.addAll(segments.subList(1, segments.size()));
+
+        var host = new ArrayList<Segment>();
+        var path = new ArrayList<Segment>();
+        var inPath = false;
+        for (var segment : rest) {
+            if (segment.isDynamic()) {
+                (inPath ? path : host).add(segment);
+                continue;
+            }
+
+            var literal = segment.literal();
+            if (!inPath) {
+                var pathStart = literal.indexOf('/');
+                if (pathStart < 0) {
+                    addLiteral(host, literal);
+                    continue;
+                }
+                addLiteral(host, literal.substring(0, pathStart));
+                literal = literal.substring(pathStart);
+                inPath = true;
+            }
+            addLiteral(path, literal);
+        }
+
+        if (!allLiteralsMatch(host, HOST_SAFE) || !allLiteralsMatch(path, PATH_SAFE)) {
+            return Optional.empty();
+        }
+        return Optional.of(new UrlTemplate(first.substring(0, schemeEnd), host, path));
+    }
+
+    private static void addLiteral(List<Segment> segments, String literal) {
+        if (!literal.isEmpty()) {
+            segments.add(new Segment(literal, null));
+        }
+    }
+
+    private static boolean allLiteralsMatch(List<Segment> segments, Pattern pattern) {
+        return segments.stream()
+                .filter(it -> !it.isDynamic())
+                .allMatch(it -> pattern.matcher(it.literal()).matches());
+    }
+
+    private static final class SegmentVisitor implements TemplateVisitor<Optional<Segment>> {
+        @Override
+        public Optional<Segment> visitStaticTemplate(String value) {
+            return Optional.of(new Segment(value, null));
+        }
+
+        @Override
+        public Optional<Segment> visitSingleDynamicTemplate(Expression expr) {
+            return Optional.of(new Segment(null, expr));
+        }
+
+        @Override
+        public Optional<Segment> visitStaticElement(String value) {
+            return Optional.of(new Segment(value, null));
+        }
+
+        @Override
+        public Optional<Segment> visitDynamicElement(Expression expr) {
+            return Optional.of(new Segment(null, expr));
+        }
+
+        @Override
+        public Optional<Segment> startMultipartTemplate() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Segment> finishMultipartTemplate() {
+            return Optional.empty();
+        }
+    }
+}
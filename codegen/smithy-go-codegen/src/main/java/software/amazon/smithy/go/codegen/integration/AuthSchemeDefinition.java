@@ -39,6 +39,14 @@ public interface AuthSchemeDefinition {
      */
     Writable generateOperationOption(ProtocolGenerator.GenerationContext context, OperationShape operation);
 
+    /**
+     * Whether the generated service and operation options are independent of the auth parameters. Options of
+     * operations where every scheme is static are built once and shared across requests.
+     */
+    default boolean hasStaticOptions() {
+        return false;
+    }
+
     /**
      * Generates a default auth scheme. Called within a context where client Options are available.
      */
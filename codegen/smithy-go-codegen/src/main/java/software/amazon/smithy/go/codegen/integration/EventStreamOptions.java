@@ -0,0 +1,94 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
+
+import java.util.List;
+import software.amazon.smithy.go.codegen.EventStreamGenerator;
+import software.amazon.smithy.go.codegen.GoCodegenContext;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.utils.MapUtils;
+
+/**
+ * Adds event stream buffering options to clients with (non-legacy) event stream operations. The stream metrics
+ * of each operation are tagged with its service and operation name.
+ */
+public class EventStreamOptions implements GoIntegration {
+    public static final String OPTIONS_HELPER = "withEventStreamOptions";
+
+    private static final ConfigField EVENT_STREAM_OPTIONS = ConfigField.builder()
+            .name("EventStreamOptions")
+            .type(SmithyGoDependency.SMITHY_HTTP_TRANSPORT.valueSymbol("EventStreamOptions"))
+            .documentation("""
+                    Configures buffering of event stream readers and writers. Events are read and written one at a \
+                    time by default.""")
+            .build();
+
+    private boolean enabled;
+
+    @Override
+    public void processFinalizedModel(GoSettings settings, Model model) {
+        enabled = !settings.useLegacySerde()
+                && EventStreamGenerator.hasEventStreamOperations(model, settings.getService(model));
+    }
+
+    @Override
+    public List<RuntimeClientPlugin> getClientPlugins() {
+        if (!enabled) {
+            return List.of();
+        }
+        return List.of(
+                RuntimeClientPlugin.builder()
+                        .addConfigField(EVENT_STREAM_OPTIONS)
+                        .build()
+        );
+    }
+
+    @Override
+    public void writeAdditionalFiles(GoCodegenContext ctx) {
+        if (!enabled) {
+            return;
+        }
+        ctx.writerDelegator().useFileWriter("eventstream.go", ctx.settings().getModuleName(), goTemplate("""
+                func $helper:L(ctx $context:T, options *Options) func($options:P) {
+                    return func(o $options:P) {
+                        *o = options.EventStreamOptions
+                        if o.Meter == nil {
+                            o.Meter = options.MeterProvider.Meter($scope:S)
+                        }
+
+                        var props $properties:T
+                        props.SetAll(&o.MetricProperties)
+                        props.Set("rpc.service", $getServiceID:T(ctx))
+                        props.Set("rpc.method", $getOperationName:T(ctx))
+                        o.MetricProperties = props
+                    }
+                }
+                """,
+                MapUtils.of(
+                        "helper", OPTIONS_HELPER,
+                        "context", SmithyGoDependency.CONTEXT.valueSymbol("Context"),
+                        "options", SmithyGoDependency.SMITHY_HTTP_TRANSPORT.struct("EventStreamOptions"),
+                        "properties", SmithyGoDependency.SMITHY.struct("Properties"),
+                        "getServiceID", SmithyGoDependency.SMITHY_MIDDLEWARE.func("GetServiceID"),
+                        "getOperationName", SmithyGoDependency.SMITHY_MIDDLEWARE.func("GetOperationName"),
+                        "scope", ctx.settings().getModuleName()
+                )));
+    }
+}
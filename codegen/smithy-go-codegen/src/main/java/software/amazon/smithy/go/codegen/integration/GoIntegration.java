@@ -80,6 +80,10 @@ public interface GoIntegration extends SmithyIntegration<GoSettings, GoWriter, G
      * <p>This can be used to customize the names of shapes, the package
      * that code is generated into, add dependencies, add imports, etc.
      *
+     * <p>The returned provider is called concurrently when
+     * {@link GoSettings#parallelShapeCodegen()} is enabled, so it must be
+     * safe for concurrent use.
+     *
      * @param settings Setting used to generate.
      * @param model Model being generated.
      * @param symbolProvider The original {@code SymbolProvider}.
@@ -16,6 +16,8 @@
 package software.amazon.smithy.go.codegen.integration;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -68,24 +70,29 @@ public final class HttpProtocolGeneratorUtils {
     ) {
         return generateErrorDispatcher(
             context, operation, responseType,
-            errorMessageCodeGenerator, operationErrorsToShapes, writer -> defaultBlock(writer));
-    }
-
-    private static void defaultBlock(GoWriter writer) {
-        writer.openBlock("default:", "", () -> {
-            writer.openBlock("genericError := &smithy.GenericAPIError{", "}", () -> {
-                writer.write("Code: errorCode,");
-                writer.write("Message: errorMessage,");
+            errorMessageCodeGenerator, operationErrorsToShapes, (DefaultFallbackWriter) writer -> {
+                writer.openBlock("genericError := &smithy.GenericAPIError{", "}", () -> {
+                    writer.write("Code: errorCode,");
+                    writer.write("Message: errorMessage,");
+                });
+                writer.write("return genericError");
             });
-            writer.write("return genericError");
-        });
     }
 
+    /**
+     * Writes the {@code default:} case of a switch statement, returning the error for an error code that doesn't
+     * match any modeled error.
+     */
     @FunctionalInterface
     public interface DefaultBlockWriter {
         void write(GoWriter writer);
     }
 
+    // writes the statements returning the error for an unmatched error code directly, without a switch statement
+    @FunctionalInterface
+    private interface DefaultFallbackWriter extends DefaultBlockWriter {
+    }
+
     /**
      * Generates a function that handles error deserialization by getting the error code then
      * dispatching to the error-specific deserializer. Provies an option to write custom default
@@ -111,16 +118,37 @@ public final class HttpProtocolGeneratorUtils {
         writer.openBlock("func $L(response $P, metadata *middleware.Metadata) error {", "}",
                 errorFunctionName, responseType, () -> {
                     writer.addUseImports(SmithyGoDependency.BYTES);
-                    writer.addUseImports(SmithyGoDependency.IO);
 
                     // Copy the response body into a seekable type
-                    writer.write("var errorBuffer bytes.Buffer");
-                    writer.openBlock("if _, err := io.Copy(&errorBuffer, response.Body); err != nil {", "}", () -> {
-                        writer.write("return &smithy.DeserializationError{Err: fmt.Errorf("
-                                + "\"failed to copy error response body, %w\", err)}");
-                    });
-                    writer.write("errorBody := bytes.NewReader(errorBuffer.Bytes())");
-                    writer.write("");
+                    if (context.getSettings().pooledErrorBuffers()) {
+                        // error deserializers only read errorBody, copying out what they keep, so the buffer can be
+                        // returned to the pool once the error has been built. Bodies past the limit are drained
+                        // rather than deserialized truncated.
+                        writer.write("""
+                                errorBuffer, copyErr := $T(response.Body, response.ContentLength, $L)
+                                if copyErr != nil {
+                                    return &smithy.DeserializationError{Err: fmt.Errorf("failed to copy error response body, %w", copyErr)}
+                                }
+                                defer errorBuffer.Release()
+                                if n := errorBuffer.Discarded(); n > 0 {
+                                    return &smithy.DeserializationError{Err: fmt.Errorf("error response body exceeds $L bytes, %d bytes discarded", n)}
+                                }
+                                errorBody := bytes.NewReader(errorBuffer.Bytes())
+                                """,
+                                SmithyGoDependency.SMITHY_IO.func("ReadAllPooled"),
+                                context.getSettings().getMaxErrorBodySize(),
+                                context.getSettings().getMaxErrorBodySize());
+                    } else {
+                        writer.addUseImports(SmithyGoDependency.IO);
+                        writer.write("var errorBuffer bytes.Buffer");
+                        writer.openBlock("if _, err := io.Copy(&errorBuffer, response.Body); err != nil {", "}",
+                                () -> {
+                                    writer.write("return &smithy.DeserializationError{Err: fmt.Errorf("
+                                            + "\"failed to copy error response body, %w\", err)}");
+                                });
+                        writer.write("errorBody := bytes.NewReader(errorBuffer.Bytes())");
+                        writer.write("");
+                    }
 
                     // Set the default values for code and message.
                     writer.write("errorCode := \"UnknownError\"");
@@ -130,22 +158,50 @@ public final class HttpProtocolGeneratorUtils {
                     // Dispatch to the message/code generator to try to get the specific code and message.
                     errorMessageCodeGenerator.accept(context);
 
-                    writer.openBlock("switch {", "}", () -> {
-                        operationErrorsToShapes.apply(context, operation).forEach((name, errorId) -> {
-                            StructureShape error = context.getModel().expectShape(errorId).asStructureShape().get();
-                            errorShapes.add(error);
-                            String errorDeserFunctionName = ProtocolGenerator.getErrorDeserFunctionName(
-                                    error, service, protocolName);
-                            writer.addUseImports(SmithyGoDependency.STRINGS);
-                            writer.openBlock("case strings.EqualFold($S, errorCode):", "", name, () -> {
-                                writer.write("return $L(response, errorBody)", errorDeserFunctionName);
+                    // ASCII error codes are lowercased once and matched to the modeled errors with a switch, rather
+                    // than compared to each of them in turn. Others fall back to strings.EqualFold, which folds some
+                    // non-ASCII characters to ASCII letters.
+                    var errorIds = operationErrorsToShapes.apply(context, operation);
+                    var deserializers = new LinkedHashMap<String, String>();
+                    errorIds.forEach((name, errorId) -> {
+                        StructureShape error = context.getModel().expectShape(errorId).asStructureShape().get();
+                        errorShapes.add(error);
+                        deserializers.put(name, ProtocolGenerator.getErrorDeserFunctionName(
+                                error, service, protocolName));
+                    });
+                    if (!deserializers.isEmpty()) {
+                        writer.addUseImports(SmithyGoDependency.STRINGS);
+                        writer.addUseImports(SmithyGoDependency.SMITHY_HTTP_TRANSPORT);
+                        writer.openBlock("if code, ok := smithyhttp.LowerErrorCode(errorCode); ok {", "} else {",
+                                () -> {
+                                    // names that only differ by case match the first of them, as EqualFold does
+                                    var cases = new LinkedHashMap<String, String>();
+                                    deserializers.forEach((name, fn) ->
+                                            cases.putIfAbsent(name.toLowerCase(Locale.ROOT), fn));
+                                    writer.openBlock("switch code {", "}", () -> cases.forEach((code, fn) -> {
+                                        writer.openBlock("case $S:", "", code, () -> {
+                                            writer.write("return $L(response, errorBody)", fn);
+                                        });
+                                    }));
+                                });
+                        writer.indent();
+                        deserializers.forEach((name, fn) -> {
+                            writer.openBlock("if strings.EqualFold($S, errorCode) {", "}", name, () -> {
+                                writer.write("return $L(response, errorBody)", fn);
                             });
                         });
-
-                        // Create a generic error
-                        writer.addUseImports(SmithyGoDependency.SMITHY);
+                        writer.dedent();
+                        writer.write("}");
+                        writer.write("");
+                    }
+
+                    // Create a generic error
+                    writer.addUseImports(SmithyGoDependency.SMITHY);
+                    if (defaultBlockWriter instanceof DefaultFallbackWriter) {
                         defaultBlockWriter.write(writer);
-                    });
+                    } else {
+                        writer.openBlock("switch {", "}", () -> defaultBlockWriter.write(writer));
+                    }
                 }).write("");
 
         return errorShapes;
@@ -60,6 +60,8 @@ public class OperationMetricsStruct implements Writable {
                     ResolveEndpointDuration metrics.Float64Histogram
                     SignRequestDuration     metrics.Float64Histogram
                     DeserializeDuration     metrics.Float64Histogram
+                    EndpointCacheHits       metrics.Int64Counter
+                    EndpointCacheMisses     metrics.Int64Counter
                 }
                 """);
     }
@@ -110,6 +112,18 @@ public class OperationMetricsStruct implements Writable {
                     if err != nil {
                         return nil, err
                     }
+                    om.EndpointCacheHits, err = operationMetricCounter(meter,
+                        "client.call.resolve_endpoint_cache_hits",
+                        "The number of endpoints served from the endpoint resolver's cache")
+                    if err != nil {
+                        return nil, err
+                    }
+                    om.EndpointCacheMisses, err = operationMetricCounter(meter,
+                        "client.call.resolve_endpoint_cache_misses",
+                        "The number of endpoints the endpoint resolver's cache had to resolve")
+                    if err != nil {
+                        return nil, err
+                    }
 
                     return context.WithValue(parent, operationMetricsKey{}, om), nil
                 }
@@ -121,6 +135,13 @@ public class OperationMetricsStruct implements Writable {
                     })
                 }
 
+                func operationMetricCounter(m metrics.Meter, name, desc string) (metrics.Int64Counter, error) {
+                    return m.Int64Counter(name, func(o *metrics.InstrumentOptions) {
+                        o.UnitLabel = "{lookup}"
+                        o.Description = desc
+                    })
+                }
+
                 func getOperationMetrics(ctx context.Context) *operationMetrics {
                     if v := ctx.Value(operationMetricsKey{}); v != nil {
                         return v.(*operationMetrics)
@@ -151,6 +172,30 @@ public class OperationMetricsStruct implements Writable {
                     }
                 }
 
+                func (m *operationMetrics) counterFor(name string) metrics.Int64Counter {
+                    switch name {
+                    case "client.call.resolve_endpoint_cache_hits":
+                        return m.EndpointCacheHits
+                    case "client.call.resolve_endpoint_cache_misses":
+                        return m.EndpointCacheMisses
+                    default:
+                        panic("unrecognized operation metric")
+                    }
+                }
+
+                func addOperationMetric(
+                    ctx context.Context, metric string, n int64,
+                    opts ...metrics.RecordMetricOption,
+                ) {
+                    mm := getOperationMetrics(ctx)
+                    if mm == nil { // not using the metrics system
+                        return
+                    }
+
+                    opts = append([]metrics.RecordMetricOption{withOperationMetadata(ctx)}, opts...)
+                    mm.counterFor(metric).Add(ctx, n, opts...)
+                }
+
                 func timeOperationMetric[T any](
                     ctx context.Context, metric string, fn func() (T, error),
                     opts ...metrics.RecordMetricOption,
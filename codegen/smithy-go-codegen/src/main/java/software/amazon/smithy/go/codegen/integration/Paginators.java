@@ -38,6 +38,7 @@ import software.amazon.smithy.model.knowledge.PaginatedIndex;
 import software.amazon.smithy.model.knowledge.PaginationInfo;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.shapes.BooleanShape;
+import software.amazon.smithy.model.shapes.CollectionShape;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.ShapeType;
@@ -93,6 +94,73 @@ public class Paginators implements GoIntegration {
 
         writePaginatorOptions(writer, model, symbolProvider, paginationInfo, operationSymbol, optionsSymbol);
         writePaginator(writer, model, symbolProvider, paginationInfo, interfaceSymbol, paginatorSymbol, optionsSymbol);
+        writeItemsIterator(writer, model, symbolProvider, paginationInfo, operationSymbol, paginatorSymbol);
+    }
+
+    // Writes an iterator over the items member of each page, for operations whose items are a list.
+    private void writeItemsIterator(
+            GoWriter writer,
+            Model model,
+            SymbolProvider symbolProvider,
+            PaginationInfo paginationInfo,
+            Symbol operationSymbol,
+            Symbol paginatorSymbol
+    ) {
+        var itemsPath = paginationInfo.getItemsMemberPath();
+        if (itemsPath.isEmpty()) {
+            return;
+        }
+        var itemsMember = itemsPath.get(itemsPath.size() - 1);
+        var itemsShape = model.expectShape(itemsMember.getTarget());
+        if (!(itemsShape instanceof CollectionShape)) {
+            return;
+        }
+
+        writer.pushState();
+        writer.putContext("paginator", paginatorSymbol);
+        writer.putContext("context", SymbolUtils.createValueSymbolBuilder("Context", SmithyGoDependency.CONTEXT)
+                .build());
+        writer.putContext("seq2", SmithyGoDependency.ITER.valueSymbol("Seq2"));
+        writer.putContext("item", symbolProvider.toSymbol(((CollectionShape) itemsShape).getMember()));
+
+        writer.writeDocs(String.format("Items returns an iterator over the %s of each %s page. Pages are retrieved "
+                        + "with NextPage, and released once their items have been yielded. Iteration stops at the "
+                        + "first error, which is yielded with a zero value item.",
+                symbolProvider.toMemberName(itemsMember), operationSymbol.getName()));
+        writer.openBlock("func (p $paginator:P) Items(ctx $context:T, optFns ...func(*Options)) "
+                         + "$seq2:T[$item:P, error] {", "}", () -> {
+            writer.openBlock("return func(yield func($item:P, error) bool) {", "}", () -> {
+                writer.write("""
+                             for p.HasMorePages() {
+                                 page, err := p.NextPage(ctx, optFns...)
+                                 if err != nil {
+                                     var zero $item:P
+                                     yield(zero, err)
+                                     return
+                                 }
+                             """);
+                writer.indent();
+
+                Consumer<String> rangeItems = container -> writer.write("""
+                        for _, item := range $L.$L {
+                            if !yield(item, nil) {
+                                return
+                            }
+                        }""", container, symbolProvider.toMemberName(itemsMember));
+                for (int i = itemsPath.size() - 2; i >= 0; i--) {
+                    var memberShape = itemsPath.get(i);
+                    Consumer<String> inner = rangeItems;
+                    rangeItems = container -> GoValueAccessUtils.writeIfNonZeroValueMember(model, symbolProvider,
+                            writer, memberShape, container, inner);
+                }
+                rangeItems.accept("page");
+
+                writer.dedent();
+                writer.write("}");
+            });
+        }).write("");
+
+        writer.popState();
     }
 
     private void writePaginator(
@@ -123,6 +191,9 @@ public class Paginators implements GoIntegration {
         writer.putContext("input", inputSymbol);
         writer.putContext("token", inputTokenSymbol);
         writer.putContext("inputMember", inputMember);
+        writer.putContext("output", symbolProvider.toSymbol(paginationInfo.getOutput()));
+        writer.putContext("prefetcher", SmithyGoDependency.SMITHY_PAGINATOR.valueSymbol("Prefetcher"));
+        writer.putContext("newPrefetcher", SmithyGoDependency.SMITHY_PAGINATOR.func("NewPrefetcher"));
 
         writer.writeDocs(String.format("%s is a paginator for %s", paginatorSymbol, operationSymbol.getName()));
         writer.write("""
@@ -132,6 +203,7 @@ public class Paginators implements GoIntegration {
                          params $input:P
                          nextToken $token:P
                          firstPage bool
+                         prefetch *$prefetcher:T[$output:P]
                      }
                      """);
 
@@ -164,17 +236,40 @@ public class Paginators implements GoIntegration {
                                      fn(&options)
                                  }
 
-                                 return &$paginator:T{
+                                 p := &$paginator:T{
                                      options: options,
                                      client: client,
                                      params: params,
                                      firstPage: true,
                                      nextToken: params.$inputMember:L,
-                                 }""");
+                                 }
+                                 if options.PrefetchPages > 0 {
+                                     p.prefetch = $newPrefetcher:T[$output:P](options.PrefetchPages)
+                                 }
+                                 return p""");
                 }).write("");
 
         writer.writeDocs("HasMorePages returns a boolean indicating whether more pages are available");
-        writer.openBlock("func (p $paginator:P) HasMorePages() bool {", "}", () -> {
+        writer.write("""
+                     func (p $paginator:P) HasMorePages() bool {
+                         if p.prefetch != nil {
+                             return p.prefetch.HasMore()
+                         }
+                         return p.hasMorePages()
+                     }
+                     """);
+
+        writer.writeDocs("Close stops retrieving pages in the background, if PrefetchPages is set. The request in "
+                         + "progress, if any, is canceled.");
+        writer.write("""
+                     func (p $paginator:P) Close() {
+                         if p.prefetch != nil {
+                             p.prefetch.Close()
+                         }
+                     }
+                     """);
+
+        writer.openBlock("func (p $paginator:P) hasMorePages() bool {", "}", () -> {
             writer.writeInline("return p.firstPage || ");
             Runnable checkNotNil = () -> writer.writeInline("p.nextToken != nil");
             if (inputTokenShape.getType() == ShapeType.STRING) {
@@ -188,20 +283,33 @@ public class Paginators implements GoIntegration {
 
         var contextSymbol = SymbolUtils.createValueSymbolBuilder("Context", SmithyGoDependency.CONTEXT)
                 .build();
-        var outputSymbol = symbolProvider.toSymbol(paginationInfo.getOutput());
         var pageSizeMember = paginationInfo.getPageSizeMember();
 
         writer.putContext("context", contextSymbol);
-        writer.putContext("output", outputSymbol);
+        writer.putContext("errorf", SymbolUtils.createValueSymbolBuilder("Errorf", SmithyGoDependency.FMT).build());
 
         writer.writeDocs(String.format("NextPage retrieves the next %s page.", operationSymbol.getName()));
-        writer.openBlock("func (p $paginator:P) NextPage(ctx $context:T, optFns ...func(*Options)) "
+        writer.write("""
+                     func (p $paginator:P) NextPage(ctx $context:T, optFns ...func(*Options)) ($output:P, error) {
+                         if !p.HasMorePages() {
+                             return nil, $errorf:T("no more pages available")
+                         }
+
+                         if p.prefetch != nil {
+                             return p.prefetch.Next(ctx, func(ctx $context:T) ($output:P, bool, error) {
+                                 result, err := p.nextPage(ctx, optFns...)
+                                 return result, p.hasMorePages(), err
+                             })
+                         }
+                         return p.nextPage(ctx, optFns...)
+                     }
+                     """);
+
+        writer.openBlock("func (p $paginator:P) nextPage(ctx $context:T, optFns ...func(*Options)) "
                          + "($output:P, error) {", "}",
                 () -> {
-                    writer.putContext("errorf", SymbolUtils.createValueSymbolBuilder("Errorf",
-                            SmithyGoDependency.FMT).build());
                     writer.write("""
-                                 if !p.HasMorePages() {
+                                 if !p.hasMorePages() {
                                      return nil, $errorf:T("no more pages available")
                                  }
 
@@ -332,7 +440,18 @@ public class Paginators implements GoIntegration {
                 writer.writeDocs("Set to true if pagination should stop if the service returns a pagination token that "
                                  + "matches the most recent token provided to the service.");
                 writer.write("StopOnDuplicateToken bool");
+                writer.write("");
             }
+            writer.writeDocs("The number of pages to retrieve ahead of the caller. Once the token for the next page "
+                             + "is known, the page is requested in the background, until PrefetchPages pages are "
+                             + "waiting to be returned by NextPage. Pages and errors are returned in order. Defaults "
+                             + "to 0, which requests each page when NextPage is called.");
+            writer.writeDocs("");
+            writer.writeDocs("Pages are requested in the background with the options, and the values of the "
+                             + "context, of the NextPage call that started retrieval. If the context of a NextPage "
+                             + "call is done before it returns, the request in progress is canceled and retrieval "
+                             + "stops. The paginator's Close method also stops retrieval.");
+            writer.write("PrefetchPages int");
         });
         writer.write("");
     }
@@ -430,6 +430,9 @@ public interface ProtocolGenerator {
      * Returns an error code for an error shape. Defaults to error shape name as
      * error code.
      *
+     * <p>This is called concurrently when {@link GoSettings#parallelShapeCodegen()}
+     * is enabled, and must not modify any state.
+     *
      * @param service    the service enclosure for the error shape.
      * @param errorShape the error shape for which error code is retrieved.
      * @return the error code associated with the provided shape.
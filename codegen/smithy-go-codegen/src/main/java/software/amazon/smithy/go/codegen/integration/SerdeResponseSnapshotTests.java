@@ -41,6 +41,7 @@ import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.ErrorTrait;
 import software.amazon.smithy.model.traits.HttpErrorTrait;
@@ -51,6 +52,7 @@ import software.amazon.smithy.model.traits.HttpQueryParamsTrait;
 import software.amazon.smithy.model.traits.HttpQueryTrait;
 import software.amazon.smithy.protocol.traits.Rpcv2CborTrait;
 import software.amazon.smithy.utils.StringUtils;
+import static software.amazon.smithy.go.codegen.GoWriter.emptyGoTemplate;
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 
 public class SerdeResponseSnapshotTests implements GoIntegration {
@@ -79,7 +81,7 @@ public class SerdeResponseSnapshotTests implements GoIntegration {
             return;
         }
 
-        var serviceSchemaRef = "schemas." + StringUtils.capitalize(service.getId().getName(service));
+        var serviceSchemaRef = "schemas." + StringUtils.capitalize(service.getId().getName(service)) + "()";
         var generator = new SnapshotOutputGenerator(model, symbolProvider, settings);
 
         // The Check tests are ALWAYS generated: they only read a fixture, inject it, run the real deserialize path,
@@ -90,6 +92,10 @@ public class SerdeResponseSnapshotTests implements GoIntegration {
             writer.addBuildTag("response_snapshot");
             writer.write(checkCommonSource());
             writer.write(checks(settings, model, service, symbolProvider, generator));
+            if (!settings.useLegacySerde()) {
+                writer.write(allocCommonSource());
+                writer.write(allocChecks(model, service, symbolProvider, settings.inlineDeserializerLoops()));
+            }
         });
 
         // The Update tests (fixture generation) serialize the output value via a throwaway protocol, which requires
@@ -102,6 +108,7 @@ public class SerdeResponseSnapshotTests implements GoIntegration {
                 writer.write(updateCommonSource(settings.getProtocol()));
                 writer.write(updaters(model, service, symbolProvider, generator, serviceSchemaRef, protoNew,
                         settings.getProtocol()));
+                writer.write(allocUpdaters(model, service, symbolProvider, settings.inlineDeserializerLoops()));
             });
         }
     }
@@ -241,6 +248,281 @@ public class SerdeResponseSnapshotTests implements GoIntegration {
         };
     }
 
+    // allocCommonSource emits a deserializer that fills every shape from its schema: each structure member, the
+    // first union member, two list elements and two map entries, down to a fixed depth so recursive shapes end. It
+    // reuses its own state across runs, so the allocations measured running a generated Deserialize against it are
+    // those of the read loops and the decoded values.
+    //
+    // The Update tests record the counts as fixtures per codegen mode, which pin them for the Check tests of that mode.
+    // The inline mode Check tests also compare against the closure mode fixture, when one has been recorded.
+    private Writable allocCommonSource() {
+        return writer -> {
+            writer.addUseImports(SmithyGoDependency.SMITHY);
+            writer.addUseImports(SmithyGoDependency.SMITHY_DOCUMENT);
+            writer.addUseImports(SmithyGoDependency.TIME);
+            writer.addUseImports(SmithyGoDependency.BIG);
+            writer.addUseImports(SmithyGoDependency.SLICES);
+            writer.addUseImports(SmithyGoDependency.TESTING);
+            writer.write("""
+                    const serdeRespFillDepth = 4
+
+                    var (
+                        serdeRespFillBlob = []byte("blob")
+                        serdeRespFillKeys = [...]string{"k0", "k1"}
+                    )
+
+                    type serdeRespFillFrame struct {
+                        members []*smithy.Schema
+                        union   *smithy.Schema
+                        next    int
+                        n       int
+                    }
+
+                    type serdeRespFillDeserializer struct {
+                        frames []serdeRespFillFrame
+                    }
+
+                    var _ smithy.ShapeDeserializer = (*serdeRespFillDeserializer)(nil)
+
+                    func (d *serdeRespFillDeserializer) push(s *smithy.Schema, n int) *serdeRespFillFrame {
+                        deep := len(d.frames) >= serdeRespFillDepth
+                        if len(d.frames) < cap(d.frames) {
+                            d.frames = d.frames[:len(d.frames)+1]
+                        } else {
+                            d.frames = append(d.frames, serdeRespFillFrame{})
+                        }
+
+                        f := &d.frames[len(d.frames)-1]
+                        f.members, f.union, f.next, f.n = f.members[:0], nil, 0, n
+                        if deep {
+                            f.n = 0
+                        } else if s != nil && n < 0 {
+                            for _, m := range s.Members() {
+                                f.members = append(f.members, m)
+                            }
+                            slices.SortFunc(f.members, func(a, b *smithy.Schema) int {
+                                return a.MemberIndex() - b.MemberIndex()
+                            })
+                        }
+                        return f
+                    }
+
+                    func (d *serdeRespFillDeserializer) top() *serdeRespFillFrame {
+                        return &d.frames[len(d.frames)-1]
+                    }
+
+                    func (d *serdeRespFillDeserializer) pop() {
+                        d.frames = d.frames[:len(d.frames)-1]
+                    }
+
+                    func (*serdeRespFillDeserializer) ReadInt8(_ *smithy.Schema, v *int8) error { *v = 1; return nil }
+                    func (*serdeRespFillDeserializer) ReadInt16(_ *smithy.Schema, v *int16) error { *v = 1; return nil }
+                    func (*serdeRespFillDeserializer) ReadInt32(_ *smithy.Schema, v *int32) error { *v = 1; return nil }
+                    func (*serdeRespFillDeserializer) ReadInt64(_ *smithy.Schema, v *int64) error { *v = 1; return nil }
+                    func (*serdeRespFillDeserializer) ReadFloat32(_ *smithy.Schema, v *float32) error { *v = 1; return nil }
+                    func (*serdeRespFillDeserializer) ReadFloat64(_ *smithy.Schema, v *float64) error { *v = 1; return nil }
+                    func (*serdeRespFillDeserializer) ReadBool(_ *smithy.Schema, v *bool) error { *v = true; return nil }
+                    func (*serdeRespFillDeserializer) ReadString(_ *smithy.Schema, v *string) error { *v = "v"; return nil }
+                    func (*serdeRespFillDeserializer) ReadBlob(_ *smithy.Schema, v *[]byte) error {
+                        *v = serdeRespFillBlob
+                        return nil
+                    }
+                    func (*serdeRespFillDeserializer) ReadTime(_ *smithy.Schema, v *time.Time) error {
+                        *v = time.Unix(1, 0)
+                        return nil
+                    }
+                    func (*serdeRespFillDeserializer) ReadBigInt(*smithy.Schema, *big.Int) error { return nil }
+                    func (*serdeRespFillDeserializer) ReadBigFloat(*smithy.Schema, *big.Float) error { return nil }
+                    func (*serdeRespFillDeserializer) ReadNil(*smithy.Schema) (bool, error) { return false, nil }
+
+                    func (d *serdeRespFillDeserializer) ReadStruct(s *smithy.Schema) error {
+                        d.push(s, -1)
+                        return nil
+                    }
+
+                    func (d *serdeRespFillDeserializer) ReadStructMember() (*smithy.Schema, error) {
+                        f := d.top()
+                        if f.next < len(f.members) {
+                            f.next++
+                            return f.members[f.next-1], nil
+                        }
+                        d.pop()
+                        return nil, nil
+                    }
+
+                    // ReadUnion returns the union's first member, then nil once it has been read.
+                    func (d *serdeRespFillDeserializer) ReadUnion(s *smithy.Schema) (*smithy.Schema, error) {
+                        if len(d.frames) > 0 && d.top().union == s {
+                            d.pop()
+                            return nil, nil
+                        }
+                        f := d.push(s, -1)
+                        f.union = s
+                        if len(f.members) == 0 {
+                            d.pop()
+                            return nil, nil
+                        }
+                        return f.members[0], nil
+                    }
+
+                    func (d *serdeRespFillDeserializer) ReadList(*smithy.Schema) error {
+                        d.push(nil, len(serdeRespFillKeys))
+                        return nil
+                    }
+
+                    func (d *serdeRespFillDeserializer) ReadListItem(*smithy.Schema) (bool, error) {
+                        f := d.top()
+                        if f.next < f.n {
+                            f.next++
+                            return true, nil
+                        }
+                        d.pop()
+                        return false, nil
+                    }
+
+                    func (d *serdeRespFillDeserializer) ReadMap(*smithy.Schema) error {
+                        d.push(nil, len(serdeRespFillKeys))
+                        return nil
+                    }
+
+                    func (d *serdeRespFillDeserializer) ReadMapKey(*smithy.Schema) (string, bool, error) {
+                        f := d.top()
+                        if f.next < f.n {
+                            f.next++
+                            return serdeRespFillKeys[f.next-1], true, nil
+                        }
+                        d.pop()
+                        return "", false, nil
+                    }
+
+                    func (*serdeRespFillDeserializer) ReadDocument(*smithy.Schema, *smithydocument.Value) error {
+                        return nil
+                    }
+
+                    // serdeRespDeserializeAllocs returns the allocations of deserializing a new
+                    // value from filled data.
+                    func serdeRespDeserializeAllocs(t *testing.T, newValue func() smithy.Deserializable) float64 {
+                        var d serdeRespFillDeserializer
+                        return testing.AllocsPerRun(100, func() {
+                            d.frames = d.frames[:0]
+                            if err := newValue().Deserialize(&d); err != nil {
+                                t.Fatal(err)
+                            }
+                        })
+                    }
+
+                    func serdeRespAllocsPath(op, mode string) string {
+                        return serdeRespSSPath(op + "." + mode + "_allocs")
+                    }
+
+                    // serdeRespReadAllocs returns the allocations recorded for op in the given
+                    // codegen mode, or false if none have been.
+                    func serdeRespReadAllocs(t *testing.T, op, mode string) (float64, bool) {
+                        raw, err := os.ReadFile(serdeRespAllocsPath(op, mode))
+                        if errors.Is(err, fs.ErrNotExist) {
+                            return 0, false
+                        }
+                        if err != nil {
+                            t.Fatal(err)
+                        }
+                        allocs, err := strconv.ParseFloat(strings.TrimSpace(string(raw)), 64)
+                        if err != nil {
+                            t.Fatal(err)
+                        }
+                        return allocs, true
+                    }
+                    """);
+        };
+    }
+
+    // allocUpdaters emits one test per operation output recording the allocations of its Deserialize on filled data,
+    // as the fixture pinning them for the Check tests of the given codegen mode.
+    private Writable allocUpdaters(Model model, ServiceShape service, SymbolProvider symbolProvider, boolean inline) {
+        var writables = new ArrayList<Writable>();
+        for (var operation : sortedOperations(model, service, EventStreamIndex.of(model))) {
+            var outputShape = model.expectShape(operation.getOutputShape(), StructureShape.class);
+            writables.add(goTemplate("""
+                    func TestUpdateDeserializeAllocs_$name:L(t $testingT:P) {
+                        allocs := serdeRespDeserializeAllocs(t, func() $deserializable:T { return &$output:T{} })
+                        f, err := serdeRespCreatePath(serdeRespAllocsPath($name:S, $mode:S))
+                        if err != nil {
+                            t.Fatal(err)
+                        }
+                        defer f.Close()
+                        if _, err := f.WriteString($formatFloat:T(allocs, 'f', -1, 64)); err != nil {
+                            t.Fatal(err)
+                        }
+                    }
+                    """,
+                    Map.of(
+                            "name", symbolProvider.toSymbol(operation).getName(),
+                            "output", symbolProvider.toSymbol(outputShape),
+                            "mode", allocMode(inline),
+                            "testingT", GoStdlibTypes.Testing.T,
+                            "deserializable", SmithyGoDependency.SMITHY.interfaceSymbol("Deserializable"),
+                            "formatFloat", SmithyGoDependency.STRCONV.func("FormatFloat")
+                    )));
+        }
+        return ChainWritable.of(writables).compose();
+    }
+
+    // allocChecks emits one test per operation output asserting that its Deserialize allocates no more, on filled
+    // data, than the count pinned for its codegen mode. In inline mode, it must also allocate less than the closure
+    // mode fixture if the output has aggregate members, whose read loops are where the closures are saved, and no more
+    // otherwise.
+    private Writable allocChecks(Model model, ServiceShape service, SymbolProvider symbolProvider, boolean inline) {
+        var writables = new ArrayList<Writable>();
+        for (var operation : sortedOperations(model, service, EventStreamIndex.of(model))) {
+            var outputShape = model.expectShape(operation.getOutputShape(), StructureShape.class);
+            var name = symbolProvider.toSymbol(operation).getName();
+            var aggregate = hasAggregateMembers(model, outputShape);
+            writables.add(goTemplate("""
+                    func TestDeserializeAllocs_$name:L(t $testingT:P) {
+                        allocs := serdeRespDeserializeAllocs(t, func() $deserializable:T { return &$output:T{} })
+
+                        pinned, ok := serdeRespReadAllocs(t, $name:S, $mode:S)
+                        if !ok {
+                            t.Skip("no allocation fixture")
+                        }
+                        if allocs > pinned {
+                            t.Errorf("expected at most %v allocations, got %v", pinned, allocs)
+                        }
+                        $compare:W
+                    }
+                    """,
+                    Map.of(
+                            "name", name,
+                            "output", symbolProvider.toSymbol(outputShape),
+                            "mode", allocMode(inline),
+                            "testingT", GoStdlibTypes.Testing.T,
+                            "deserializable", SmithyGoDependency.SMITHY.interfaceSymbol("Deserializable"),
+                            "compare", !inline ? emptyGoTemplate() : goTemplate("""
+                                    closureAllocs, ok := serdeRespReadAllocs(t, $name:S, "closure")
+                                    if ok && allocs $op:L closureAllocs {
+                                        t.Errorf("expected $expect:L allocations than closure mode (%v), got %v",
+                                            closureAllocs, allocs)
+                                    }""",
+                                    Map.of(
+                                            "name", name,
+                                            "op", aggregate ? ">=" : ">",
+                                            "expect", aggregate ? "fewer" : "no more"
+                                    ))
+                    )));
+        }
+        return ChainWritable.of(writables).compose();
+    }
+
+    private static String allocMode(boolean inline) {
+        return inline ? "inline" : "closure";
+    }
+
+    private static boolean hasAggregateMembers(Model model, StructureShape shape) {
+        return shape.members().stream()
+                .map(it -> model.expectShape(it.getTarget()).getType())
+                .anyMatch(it -> it == ShapeType.LIST || it == ShapeType.SET || it == ShapeType.MAP
+                        || it == ShapeType.STRUCTURE || it == ShapeType.UNION);
+    }
+
     // updateCommonSource emits helpers used only by the (schema-serde-gated) Update tests: fixture directory creation
     // and the fixture writer. serdeRespSSPath / serdeRespSSPrefix live in the always-generated Check file.
     private Writable updateCommonSource(ShapeId protocol) {
@@ -20,9 +20,13 @@ import static software.amazon.smithy.go.codegen.GoWriter.autoDocTemplate;
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 import static software.amazon.smithy.go.codegen.SymbolUtils.isPointable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.codegen.core.SymbolProvider;
@@ -33,13 +37,20 @@ import software.amazon.smithy.go.codegen.GoJmespathExpressionGenerator;
 import software.amazon.smithy.go.codegen.GoWriter;
 import software.amazon.smithy.go.codegen.SmithyGoDependency;
 import software.amazon.smithy.go.codegen.SymbolUtils;
+import software.amazon.smithy.go.codegen.knowledge.GoPointableIndex;
 import software.amazon.smithy.jmespath.JmespathExpression;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
+import software.amazon.smithy.model.shapes.ListShape;
+import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
 import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.EnumTrait;
+import software.amazon.smithy.utils.MapUtils;
 import software.amazon.smithy.utils.StringUtils;
 import software.amazon.smithy.waiters.Acceptor;
 import software.amazon.smithy.waiters.Matcher;
@@ -53,6 +64,8 @@ import software.amazon.smithy.waiters.Waiter;
 public class Waiters2 implements GoIntegration {
     private static final String WAITER_INVOKER_FUNCTION_NAME = "Wait";
     private static final String WAITER_INVOKER_WITH_OUTPUT_FUNCTION_NAME = "WaitForOutput";
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final int MAX_BATCH_PATH_DEPTH = 3;
 
     public Set<Symbol> getAdditionalClientOptions() {
         return emptySet();
@@ -88,6 +101,9 @@ public class Waiters2 implements GoIntegration {
     private void generateOperationWaiter(GoCodegenContext ctx, OperationShape operation, Map<String, Waiter> waiters) {
         var model = ctx.model();
         var symbolProvider = ctx.symbolProvider();
+        var batchTarget = ctx.settings().batchedWaiters()
+                ? BatchTarget.of(model, operation)
+                : Optional.<BatchTarget>empty();
         ctx.writerDelegator().useShapeWriter(operation, writer -> {
             waiters.forEach((name, waiter) -> {
                 generateWaiterOptions(model, symbolProvider, writer, operation, name, waiter);
@@ -95,6 +111,7 @@ public class Waiters2 implements GoIntegration {
                 generateWaiterInvoker(model, symbolProvider, writer, operation, name, waiter);
                 generateWaiterInvokerWithOutput(model, symbolProvider, writer, operation, name, waiter);
                 generateRetryable(ctx, writer, operation, name, waiter);
+                batchTarget.ifPresent(target -> generateBatchWaiter(ctx, writer, operation, name, waiter, target));
             });
         });
     }
@@ -654,6 +671,365 @@ public class Waiters2 implements GoIntegration {
                 });
     }
 
+    /**
+     * Generates a batch waiter, which waits on single resources like the waiter client, but coalesces concurrent
+     * waits into shared requests listing the identifiers of all of them. The output of each request is partitioned
+     * per resource, such that the modeled acceptors are evaluated for each resource as if it was requested alone.
+     */
+    private void generateBatchWaiter(
+            GoCodegenContext ctx,
+            GoWriter writer,
+            OperationShape operationShape,
+            String waiterName,
+            Waiter waiter,
+            BatchTarget target
+    ) {
+        var model = ctx.model();
+        var symbolProvider = ctx.symbolProvider();
+        StructureShape inputShape = model.expectShape(operationShape.getInput().get(), StructureShape.class);
+        StructureShape outputShape = model.expectShape(operationShape.getOutput().get(), StructureShape.class);
+
+        Symbol operationSymbol = symbolProvider.toSymbol(operationShape);
+        String clientName = generateBatchWaiterClientName(waiterName);
+        String optionsName = generateBatchWaiterOptionsName(waiterName);
+        String idsField = symbolProvider.toMemberName(target.ids());
+        Set<String> splitErrorCodes = getBatchSplitErrorCodes(ctx.service(), operationShape, waiter);
+
+        var baseOpts = ChainWritable.of(
+                getAdditionalClientOptions().stream()
+                        .map(it -> goTemplate("$T,", it))
+                        .toList()
+        ).compose(false);
+
+        writer.write(goTemplate("""
+
+                // $options:L are waiter options for $client:L. LogWaitAttempts is
+                // not supported by batch waiters.
+                type $options:L struct {
+                    $waiterOptions:L
+
+                    // MaxBatchSize is the maximum number of resources listed by a single
+                    // $operation:L call. If unset, $maxBatchSize:L resources are listed per call.
+                    MaxBatchSize int
+
+                    // MaxInFlight is the maximum number of concurrent $operation:L calls. If
+                    // unset, calls are made one at a time.
+                    MaxInFlight int
+                }
+
+                // $client:L waits on each of many resources for the $name:L waiter,
+                // coalescing concurrent waits into shared $operation:L calls which list the
+                // $ids:L of all of them.
+                type $client:L struct {
+                    client  $apiClient:L
+                    options $options:L
+                    params  $input:T
+                    batcher *$batcher:T[string, $output:P]
+                }
+
+                // New$client:L constructs a $client:L. The $ids:L of each
+                // call are set to the resources waited on, and its other parameters taken
+                // from params.
+                func New$client:L(client $apiClient:L, params $input:P, optFns ...func(*$options:L)) *$client:L {
+                    if params == nil {
+                        params = &$input:T{}
+                    }
+
+                    options := $options:L{}
+                    options.MinDelay = $minDelay:L * $second:T
+                    options.MaxDelay = $maxDelay:L * $second:T
+                    options.Retryable = $retryable:L
+                    options.MaxBatchSize = $maxBatchSize:L
+                    options.MaxInFlight = 1
+
+                    for _, fn := range optFns {
+                        fn(&options)
+                    }
+
+                    w := &$client:L{
+                        client:  client,
+                        options: options,
+                        params:  *params,
+                    }
+                    w.batcher = $newBatcher:T(w.describe, options.MaxBatchSize, options.MaxInFlight, $split:L)
+                    return w
+                }
+
+                // describe lists the state of a batch of resources, and partitions the output
+                // per resource. If the call fails with an error tied to a single resource, the
+                // batcher retries the batch in halves, such that each waiter only evaluates such
+                // an error if it was returned for its own resource.
+                func (w *$client:L) describe(ctx $context:T, ids []string) ([]$output:P, error) {
+                    params := w.params
+                    params.$ids:L = ids
+                    out, err := w.client.$operation:L(ctx, &params, func(o *Options) {
+                        baseOpts := []func(*Options){
+                            $baseOpts:W
+                        }
+                        o.APIOptions = append(o.APIOptions, w.options.APIOptions...)
+                        for _, opt := range baseOpts {
+                            opt(o)
+                        }
+                        for _, opt := range w.options.ClientOptions {
+                            opt(o)
+                        }
+                    })
+                    if err != nil {
+                        return nil, err
+                    }
+
+                    results := make([]$output:P, len(ids))
+                    for i, id := range ids {
+                        results[i] = $partition:L(out, id)
+                    }
+                    return results, nil
+                }
+                """,
+                MapUtils.of(
+                        "name", waiterName,
+                        "client", clientName,
+                        "options", optionsName,
+                        "waiterOptions", generateWaiterOptionsName(waiterName),
+                        "operation", operationSymbol.getName(),
+                        "apiClient", OperationInterfaceGenerator.getApiClientInterfaceName(operationSymbol),
+                        "ids", idsField,
+                        "input", symbolProvider.toSymbol(inputShape),
+                        "output", symbolProvider.toSymbol(outputShape),
+                        "partition", generateBatchPartitionName(waiterName),
+                        "split", splitErrorCodes.isEmpty() ? "nil" : generateBatchSplitName(waiterName)
+                ),
+                MapUtils.of(
+                        "maxBatchSize", DEFAULT_MAX_BATCH_SIZE,
+                        "minDelay", waiter.getMinDelay(),
+                        "maxDelay", waiter.getMaxDelay(),
+                        "retryable", generateRetryableName(waiterName),
+                        "second", SmithyGoDependency.TIME.valueSymbol("Second"),
+                        "batcher", SmithyGoDependency.SMITHY_WAITERS.struct("Batcher"),
+                        "newBatcher", SmithyGoDependency.SMITHY_WAITERS.func("NewBatcher"),
+                        "context", SmithyGoDependency.CONTEXT.interfaceSymbol("Context"),
+                        "baseOpts", baseOpts
+                )));
+
+        writer.write(goTemplate("""
+
+                // $invoke:L calls the waiter function for $name:L waiter on the resource
+                // identified by id. The maxWaitDur is the maximum wait duration the waiter will
+                // wait. The maxWaitDur is required and must be greater than zero.
+                func (w *$client:L) $invoke:L(ctx $context:T, id string, maxWaitDur $duration:T) error {
+                    _, err := w.$invokeWithOutput:L(ctx, id, maxWaitDur)
+                    return err
+                }
+
+                // $invokeWithOutput:L calls the waiter function for $name:L waiter on the
+                // resource identified by id, and returns the output of the successful
+                // operation, partitioned to that resource. The maxWaitDur is the maximum wait
+                // duration the waiter will wait. The maxWaitDur is required and must be greater
+                // than zero.
+                func (w *$client:L) $invokeWithOutput:L(
+                    ctx $context:T, id string, maxWaitDur $duration:T,
+                ) ($output:P, error) {
+                    if maxWaitDur <= 0 {
+                        return nil, $errorf:T("maximum wait time for waiter must be greater than zero")
+                    }
+
+                    options := w.options
+                    if options.MaxDelay <= 0 {
+                        options.MaxDelay = $maxDelay:L * $second:T
+                    }
+                    if options.MinDelay > options.MaxDelay {
+                        return nil, $errorf:T("minimum waiter delay %v must be lesser than or equal to "+
+                            "maximum waiter delay of %v.", options.MinDelay, options.MaxDelay)
+                    }
+
+                    ctx, cancelFn := $withTimeout:T(ctx, maxWaitDur)
+                    defer cancelFn()
+
+                    // acceptors are evaluated against the input of a call for this resource alone
+                    params := w.params
+                    params.$ids:L = []string{id}
+
+                    remainingTime := maxWaitDur
+                    var attempt int64
+                    for {
+                        attempt++
+                        start := $now:T()
+
+                        out, err := w.batcher.Do(ctx, id)
+                        retryable, err := options.Retryable(ctx, &params, out, err)
+                        if err != nil {
+                            return nil, err
+                        }
+                        if !retryable {
+                            return out, nil
+                        }
+
+                        remainingTime -= $since:T(start)
+                        if remainingTime < options.MinDelay || remainingTime <= 0 {
+                            break
+                        }
+
+                        // compute exponential backoff between waiter retries
+                        delay, err := $computeDelay:T(attempt, options.MinDelay, options.MaxDelay, remainingTime)
+                        if err != nil {
+                            return nil, $errorf:T("error computing waiter delay, %w", err)
+                        }
+                        remainingTime -= delay
+
+                        // sleep for the delay amount before invoking a request
+                        if err := $sleep:T(ctx, delay); err != nil {
+                            return nil, $errorf:T("request cancelled while waiting, %w", err)
+                        }
+                    }
+                    return nil, $errorf:T("exceeded max wait time for $name:L waiter")
+                }
+                """,
+                MapUtils.of(
+                        "name", waiterName,
+                        "client", clientName,
+                        "invoke", WAITER_INVOKER_FUNCTION_NAME,
+                        "invokeWithOutput", WAITER_INVOKER_WITH_OUTPUT_FUNCTION_NAME,
+                        "ids", idsField,
+                        "output", symbolProvider.toSymbol(outputShape),
+                        "maxDelay", waiter.getMaxDelay(),
+                        "context", SmithyGoDependency.CONTEXT.interfaceSymbol("Context"),
+                        "withTimeout", SmithyGoDependency.CONTEXT.func("WithTimeout"),
+                        "errorf", SmithyGoDependency.FMT.func("Errorf")
+                ),
+                MapUtils.of(
+                        "duration", SmithyGoDependency.TIME.struct("Duration"),
+                        "second", SmithyGoDependency.TIME.valueSymbol("Second"),
+                        "now", SmithyGoDependency.TIME.func("Now"),
+                        "since", SmithyGoDependency.TIME.func("Since"),
+                        "computeDelay", SmithyGoDependency.SMITHY_WAITERS.func("ComputeDelay"),
+                        "sleep", SmithyGoDependency.SMITHY_TIME.func("SleepWithContext")
+                )));
+
+        generateBatchPartition(ctx, writer, outputShape, waiterName, target);
+        if (!splitErrorCodes.isEmpty()) {
+            generateBatchSplit(writer, waiterName, splitErrorCodes);
+        }
+    }
+
+    /**
+     * Gets the error codes which may be returned for a single resource of a batch request, and which therefore split
+     * the batch: those matched by the waiter's errorType acceptors, and the operation's modeled "not found" errors.
+     * Any other error, such as throttling, is returned for the whole batch.
+     */
+    static Set<String> getBatchSplitErrorCodes(ServiceShape service, OperationShape operation, Waiter waiter) {
+        var codes = new TreeSet<String>();
+        for (var acceptor : waiter.getAcceptors()) {
+            if (acceptor.getMatcher() instanceof Matcher.ErrorTypeMember errorType) {
+                codes.add(errorType.getValue());
+            }
+        }
+        for (var error : operation.getErrors()) {
+            var name = error.getName(service);
+            if (name.toLowerCase(Locale.ROOT).contains("notfound")) {
+                codes.add(name);
+            }
+        }
+        return codes;
+    }
+
+    private void generateBatchSplit(GoWriter writer, String waiterName, Set<String> codes) {
+        writer.write(goTemplate("""
+
+                // $split:L reports whether err may have been returned for a single
+                // resource of a batch, in which case the batch is retried in halves.
+                func $split:L(err error) bool {
+                    var apiErr $apiError:T
+                    if !$errorsAs:T(err, &apiErr) {
+                        return false
+                    }
+                    switch apiErr.ErrorCode() {
+                    case $codes:L:
+                        return true
+                    }
+                    return false
+                }
+                """,
+                MapUtils.of(
+                        "split", generateBatchSplitName(waiterName),
+                        "apiError", SmithyGoDependency.SMITHY.interfaceSymbol("APIError"),
+                        "errorsAs", SmithyGoDependency.ERRORS.func("As"),
+                        "codes", String.join(", ", codes.stream().map(it -> "\"" + it + "\"").toList())
+                )));
+    }
+
+    /**
+     * Generates the function which partitions the output of a batch request to a single resource, keeping only the
+     * elements of the lists along the path to the resource's own structure which lead to it.
+     */
+    private void generateBatchPartition(
+            GoCodegenContext ctx,
+            GoWriter writer,
+            StructureShape outputShape,
+            String waiterName,
+            BatchTarget target
+    ) {
+        Symbol outputSymbol = ctx.symbolProvider().toSymbol(outputShape);
+
+        writer.write("");
+        writer.openBlock("func $L(output $P, id string) $P {", "}",
+                generateBatchPartitionName(waiterName), outputSymbol, outputSymbol, () -> {
+                    writer.write("""
+                            if output == nil {
+                                return nil
+                            }
+
+                            partition := *output""");
+                    writeBatchPartitionFilter(ctx, writer, target, 0, "output", "partition");
+                    writer.write("return &partition");
+                });
+    }
+
+    private void writeBatchPartitionFilter(
+            GoCodegenContext ctx,
+            GoWriter writer,
+            BatchTarget target,
+            int depth,
+            String source,
+            String partition
+    ) {
+        var symbolProvider = ctx.symbolProvider();
+        var pointableIndex = GoPointableIndex.of(ctx.model());
+        MemberShape member = target.path().get(depth);
+        String field = symbolProvider.toMemberName(member);
+        String element = "v" + (depth + 1);
+        var listMember = ctx.model().expectShape(member.getTarget(), ListShape.class).getMember();
+        boolean elementPointable = pointableIndex.isPointable(listMember);
+
+        writer.write("$L.$L = nil", partition, field);
+        writer.openBlock("for _, $L := range $L.$L {", "}", element, source, field, () -> {
+            if (elementPointable) {
+                writer.write("""
+                        if $L == nil {
+                            continue
+                        }""", element);
+            }
+
+            if (depth == target.path().size() - 1) {
+                String key = element + "." + symbolProvider.toMemberName(target.key());
+                String condition = pointableIndex.isPointable(target.key())
+                        ? String.format("%1$s != nil && *%1$s == id", key)
+                        : key + " == id";
+                writer.openBlock("if $L {", "}", condition, () -> {
+                    writer.write("$1L.$2L = append($1L.$2L, $3L)", partition, field, element);
+                });
+                return;
+            }
+
+            String elementPartition = "p" + (depth + 1);
+            writer.write("$L := $L$L", elementPartition, elementPointable ? "*" : "", element);
+            writeBatchPartitionFilter(ctx, writer, target, depth + 1, element, elementPartition);
+            writer.openBlock("if len($L.$L) > 0 {", "}",
+                    elementPartition, symbolProvider.toMemberName(target.path().get(depth + 1)), () -> {
+                        writer.write("$1L.$2L = append($1L.$2L, $3L$4L)",
+                                partition, field, elementPointable ? "&" : "", elementPartition);
+                    });
+        });
+    }
+
     private void writeWaiterComparator(GoWriter writer, Acceptor acceptor, PathComparator comparator,
                                        GoJmespathExpressionGenerator.Variable searchResult) {
         switch (comparator) {
@@ -769,4 +1145,109 @@ public class Waiters2 implements GoIntegration {
         waiterName = StringUtils.uncapitalize(waiterName);
         return String.format("%sStateRetryable", waiterName);
     }
+
+    private String generateBatchWaiterOptionsName(
+            String waiterName
+    ) {
+        waiterName = StringUtils.capitalize(waiterName);
+        return String.format("%sBatchWaiterOptions", waiterName);
+    }
+
+    private String generateBatchWaiterClientName(
+            String waiterName
+    ) {
+        waiterName = StringUtils.capitalize(waiterName);
+        return String.format("%sBatchWaiter", waiterName);
+    }
+
+    private String generateBatchPartitionName(
+            String waiterName
+    ) {
+        waiterName = StringUtils.uncapitalize(waiterName);
+        return String.format("%sBatchPartition", waiterName);
+    }
+
+    private String generateBatchSplitName(
+            String waiterName
+    ) {
+        waiterName = StringUtils.uncapitalize(waiterName);
+        return String.format("%sBatchSplit", waiterName);
+    }
+
+    /**
+     * The input member listing the identifiers of the resources requested by an operation, and the path from its
+     * output to the structures describing each resource.
+     *
+     * @param ids  the input member listing resource identifiers, such as InstanceIds.
+     * @param path the output list members leading to the structures describing each resource.
+     * @param key  the member of those structures identifying the resource, such as InstanceId.
+     */
+    record BatchTarget(MemberShape ids, List<MemberShape> path, MemberShape key) {
+        /**
+         * Finds the batch target of an operation, if its input has a single list of string identifiers whose
+         * name is the plural of a string member of structures listed in its output.
+         *
+         * @param model     the model
+         * @param operation the operation to find the batch target of
+         * @return the batch target, or empty if the operation can't be batched.
+         */
+        static Optional<BatchTarget> of(Model model, OperationShape operation) {
+            var pointableIndex = GoPointableIndex.of(model);
+            var input = model.expectShape(operation.getInputShape(), StructureShape.class);
+            var ids = input.members().stream()
+                    .filter(it -> model.expectShape(it.getTarget()).isListShape())
+                    .filter(it -> {
+                        var element = model.expectShape(it.getTarget(), ListShape.class).getMember();
+                        return isIdentifier(model, element) && !pointableIndex.isPointable(element);
+                    })
+                    .toList();
+            if (ids.size() != 1 || !ids.get(0).getMemberName().endsWith("s")) {
+                return Optional.empty();
+            }
+
+            var idsName = ids.get(0).getMemberName();
+            var keyName = idsName.substring(0, idsName.length() - 1);
+            var output = model.expectShape(operation.getOutputShape(), StructureShape.class);
+            return findPath(model, output, keyName, 0)
+                    .map(path -> new BatchTarget(ids.get(0), path.path(), path.key()));
+        }
+
+        private static Optional<BatchPath> findPath(Model model, StructureShape shape, String keyName, int depth) {
+            if (depth == MAX_BATCH_PATH_DEPTH) {
+                return Optional.empty();
+            }
+
+            for (var member : shape.members()) {
+                var list = model.expectShape(member.getTarget()).asListShape();
+                if (list.isEmpty()) {
+                    continue;
+                }
+                var element = model.expectShape(list.get().getMember().getTarget()).asStructureShape();
+                if (element.isEmpty()) {
+                    continue;
+                }
+
+                var key = element.get().getMember(keyName).filter(it -> isIdentifier(model, it));
+                if (key.isPresent()) {
+                    return Optional.of(new BatchPath(List.of(member), key.get()));
+                }
+
+                var nested = findPath(model, element.get(), keyName, depth + 1);
+                if (nested.isPresent()) {
+                    var path = new ArrayList<MemberShape>();
+                    path.add(member);
+                    path.addAll(nested.get().path());
+                    return Optional.of(new BatchPath(path, nested.get().key()));
+                }
+            }
+            return Optional.empty();
+        }
+
+        private static boolean isIdentifier(Model model, MemberShape member) {
+            var target = model.expectShape(member.getTarget());
+            return target.getType() == ShapeType.STRING && !target.hasTrait(EnumTrait.class);
+        }
+
+        private record BatchPath(List<MemberShape> path, MemberShape key) { }
+    }
 }
@@ -46,4 +46,9 @@ public class AnonymousDefinition implements AuthSchemeDefinition {
     public Writable generateOptionsIdentityResolver() {
         return goTemplate("&$T{}", SmithyGoDependency.SMITHY_AUTH.struct("AnonymousIdentityResolver"));
     }
+
+    @Override
+    public boolean hasStaticOptions() {
+        return true;
+    }
 }
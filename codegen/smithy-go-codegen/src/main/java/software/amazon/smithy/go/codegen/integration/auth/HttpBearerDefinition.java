@@ -41,4 +41,9 @@ public class HttpBearerDefinition implements AuthSchemeDefinition {
                 SmithyGoDependency.SMITHY_AUTH.struct("Option"),
                 SmithyGoDependency.SMITHY_AUTH.constSymbol("SchemeIDHTTPBearer"));
     }
+
+    @Override
+    public boolean hasStaticOptions() {
+        return true;
+    }
 }
@@ -17,6 +17,7 @@ package software.amazon.smithy.go.codegen.protocol.rpc2.cbor;
 
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 import static software.amazon.smithy.go.codegen.protocol.rpc2.Rpc2ProtocolGenerator.SMITHY_PROTOCOL_NAME;
+import static software.amazon.smithy.go.codegen.serde.cbor.CborDeserializerGenerator.getDecoderName;
 import static software.amazon.smithy.go.codegen.serde.cbor.CborDeserializerGenerator.getDeserializerName;
 
 import software.amazon.smithy.go.codegen.GoStdlibTypes;
@@ -41,6 +42,9 @@ final class DeserializeMiddleware extends Rpc2DeserializeResponseMiddleware {
 
     @Override
     public Writable deserializeSuccessResponse() {
+        if (ctx.getSettings().streamingCborDeserializers()) {
+            return decodeSuccessResponse();
+        }
         return goTemplate("""
                     payload, err := $readAll:T(resp.Body)
                     if err != nil {
@@ -72,4 +76,32 @@ final class DeserializeMiddleware extends Rpc2DeserializeResponseMiddleware {
                                 .toSymbol(ctx.getModel().expectShape(operation.getOutputShape()))
                 ));
     }
+
+    private Writable decodeSuccessResponse() {
+        return goTemplate("""
+                    d := $newDecoder:T(resp.Body)
+                    if empty, err := d.Empty(); err != nil {
+                        return out, metadata, err
+                    } else if empty {
+                        out.Result = &$output:T{}
+                        return out, metadata, nil
+                    }
+
+                    output, err := $decode:L(d)
+                    if err != nil {
+                        return out, metadata, err
+                    }
+                    if err := d.End(); err != nil {
+                        return out, metadata, err
+                    }
+
+                    out.Result = output
+                    """,
+                MapUtils.of(
+                        "newDecoder", SmithyGoDependency.SMITHY_CBOR.func("NewDecoder"),
+                        "decode", getDecoderName(output),
+                        "output", ctx.getSymbolProvider()
+                                .toSymbol(ctx.getModel().expectShape(operation.getOutputShape()))
+                ));
+    }
 }
@@ -61,7 +61,9 @@ public class Rpc2CborProtocolGenerator extends Rpc2ProtocolGenerator {
                 .sorted()
                 .collect(toCollection(LinkedHashSet::new));
         var generator = new CborSerializerGenerator(context);
-        context.getWriter().get().write(generator.generate(shapes));
+        context.getWriter().get().write(context.getSettings().directCborSerializers()
+                ? generator.generateDirect(shapes)
+                : generator.generate(shapes));
     }
 
     @Override
@@ -81,11 +83,19 @@ public class Rpc2CborProtocolGenerator extends Rpc2ProtocolGenerator {
 
         var generator = new CborDeserializerGenerator(context);
         var writer = context.getWriter().get();
-        writer.write(generator.generate(
-                Stream.concat(outputShapes, errorShapes)
-                        .sorted()
-                        .collect(toCollection(LinkedHashSet::new))) // in case of overlap
-        );
+        if (context.getSettings().streamingCborDeserializers()) {
+            // errors are still decoded from a value tree, since the body has to be read up front to get the code
+            writer.write(generator.generate(
+                    errorShapes.sorted().collect(toCollection(LinkedHashSet::new))));
+            writer.write(generator.generateStreaming(
+                    outputShapes.sorted().collect(toCollection(LinkedHashSet::new))));
+        } else {
+            writer.write(generator.generate(
+                    Stream.concat(outputShapes, errorShapes)
+                            .sorted()
+                            .collect(toCollection(LinkedHashSet::new))) // in case of overlap
+            );
+        }
         writer.write(ChainWritable.of(
                 operations.stream()
                         .sorted()
@@ -19,6 +19,7 @@ import static software.amazon.smithy.go.codegen.GoWriter.emptyGoTemplate;
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 import static software.amazon.smithy.go.codegen.protocol.rpc2.Rpc2ProtocolGenerator.CONTENT_TYPE;
 import static software.amazon.smithy.go.codegen.protocol.rpc2.Rpc2ProtocolGenerator.SMITHY_PROTOCOL_NAME;
+import static software.amazon.smithy.go.codegen.serde.cbor.CborSerializerGenerator.getEncoderName;
 import static software.amazon.smithy.go.codegen.serde.cbor.CborSerializerGenerator.getSerializerName;
 
 import software.amazon.smithy.go.codegen.GoStdlibTypes;
@@ -52,6 +53,9 @@ final class SerializeMiddleware extends Rpc2SerializeRequestMiddleware {
         if (input.hasTrait(BackfilledInputOutputTrait.class)) {
             return emptyGoTemplate();
         }
+        if (ctx.getSettings().directCborSerializers()) {
+            return encodeRequest();
+        }
 
         return goTemplate("""
                 cv, err := $serialize:L(input)
@@ -73,4 +77,32 @@ final class SerializeMiddleware extends Rpc2SerializeRequestMiddleware {
                         "error", SmithyGoDependency.SMITHY.struct("SerializationError")
                 ));
     }
+
+    // The payload is copied out of the pooled writer, since the transport can still be reading the request body after
+    // the round trip returns (e.g. on a retried or redirected request).
+    private Writable encodeRequest() {
+        return goTemplate("""
+                w := $getWriter:T()
+                if err = $encode:L(w, input); err != nil {
+                    $putWriter:T(w)
+                    return out, metadata, &$error:T{Err: err}
+                }
+
+                payload := $reader:T($clone:T(w.Bytes()))
+                $putWriter:T(w)
+                if req, err = req.SetStream(payload); err != nil {
+                    return out, metadata, &$error:T{Err: err}
+                }
+
+                in.Request = req
+                """,
+                MapUtils.of(
+                        "getWriter", SmithyGoDependency.SMITHY_CBOR.func("GetWriter"),
+                        "putWriter", SmithyGoDependency.SMITHY_CBOR.func("PutWriter"),
+                        "encode", getEncoderName(input),
+                        "reader", GoStdlibTypes.Bytes.NewReader,
+                        "clone", GoStdlibTypes.Bytes.Clone,
+                        "error", SmithyGoDependency.SMITHY.struct("SerializationError")
+                ));
+    }
 }
@@ -63,6 +63,10 @@ public final class CborDeserializerGenerator {
         return "deserializeCBOR_" + shape.getId().getName();
     }
 
+    public static String getDecoderName(Shape shape) {
+        return "decodeCBOR_" + shape.getId().getName();
+    }
+
     public Writable generate(Set<Shape> shapes) {
         return ChainWritable.of(
                 shapes.stream()
@@ -71,6 +75,21 @@ public final class CborDeserializerGenerator {
         ).compose();
     }
 
+    /**
+     * Generates decoders that read the given shapes directly off of a streaming smithycbor.Decoder, without
+     * decoding to an intermediate smithycbor.Value first. See {@link #getDecoderName}.
+     *
+     * @param shapes The shapes to generate decoders for.
+     * @return The decoders.
+     */
+    public Writable generateStreaming(Set<Shape> shapes) {
+        return ChainWritable.of(
+                shapes.stream()
+                        .map(this::decodeShape)
+                        .toList()
+        ).compose();
+    }
+
     private Writable deserializeShape(Shape shape) {
         return switch (shape.getType()) {
             case BIG_INTEGER, BIG_DECIMAL ->
@@ -295,8 +314,10 @@ public final class CborDeserializerGenerator {
         return goTemplate("""
                 ds := &$type:T{}
                 for key, sv := range $ident:L {
-                    _, _ = key, sv
+                    _ = sv
+                    switch key {
                     $fields:W
+                    }
                 }
                 return ds, nil
                 """,
@@ -305,27 +326,24 @@ public final class CborDeserializerGenerator {
                         "ident", ident,
                         "fields", ChainWritable.of(
                                 shape.getAllMembers().values().stream()
+                                        .filter(it -> !model.expectShape(it.getTarget())
+                                                .hasTrait(StreamingTrait.class)) // event stream, not a field
                                         .map(this::deserializeField)
                                         .toList()
-                        ).compose()
+                        ).compose(false)
                 ));
     }
 
     private Writable deserializeField(MemberShape member) {
         var target = model.expectShape(member.getTarget());
-        if (target.hasTrait(StreamingTrait.class)) {
-            return emptyGoTemplate(); // event stream, not an actual field
-        }
-
         return goTemplate("""
-                if key == $field:S {
+                case $field:S:
                     $skipNull:W
                     dv, err := $deserialize:L(sv)
                     if err != nil {
                         return nil, err
                     }
                     ds.$fieldName:L = $deref:W
-                }
                 """,
                 MapUtils.of(
                         "field", member.getMemberName(),
@@ -422,4 +440,331 @@ public final class CborDeserializerGenerator {
                         "unmarshaler", unmarshaler
                 ));
     }
+
+    private Writable decodeShape(Shape shape) {
+        return switch (shape.getType()) {
+            case BIG_INTEGER, BIG_DECIMAL ->
+                    throw new CodegenException("arbitrary-precision nums are not supported (" + shape.getType() + ")");
+            case BYTE -> decodeStatic(shape, "ReadInt8");
+            case SHORT -> decodeStatic(shape, "ReadInt16");
+            case INTEGER -> decodeStatic(shape, "ReadInt32");
+            case LONG -> decodeStatic(shape, "ReadInt64");
+            case FLOAT -> decodeStatic(shape, "ReadFloat32");
+            case DOUBLE -> decodeStatic(shape, "ReadFloat64");
+            case TIMESTAMP -> decodeStatic(shape, "ReadTime");
+            case BOOLEAN -> decodeStatic(shape, "ReadBool");
+            case BLOB -> decodeStatic(shape, "ReadBytes");
+            case INT_ENUM -> decodeConverted(shape, "ReadInt32", "0");
+            case STRING -> shape.hasTrait(EnumTrait.class)
+                    ? decodeConverted(shape, "ReadString", "\"\"") : decodeStatic(shape, "ReadString");
+            case ENUM -> decodeConverted(shape, "ReadString", "\"\"");
+            case LIST, SET -> decodeList((CollectionShape) shape);
+            case MAP -> decodeMap((MapShape) shape);
+            case STRUCTURE -> decodeStruct((StructureShape) shape);
+            case UNION -> decodeUnion((UnionShape) shape);
+            case DOCUMENT -> decodeDocument(shape);
+            default ->
+                    throw new CodegenException("Cannot decode " + shape.getType());
+        };
+    }
+
+    private Writable decodeStatic(Shape shape, String read) {
+        return goTemplate("""
+                func $name:L(d $decoder:P) ($type:T, error) {
+                    return d.$read:L()
+                }
+                """,
+                MapUtils.of(
+                        "name", getDecoderName(shape),
+                        "decoder", SmithyGoDependency.SMITHY_CBOR.struct("Decoder"),
+                        "type", symbolProvider.toSymbol(shape),
+                        "read", read
+                ));
+    }
+
+    private Writable decodeConverted(Shape shape, String read, String zero) {
+        return goTemplate("""
+                func $name:L(d $decoder:P) ($type:T, error) {
+                    v, err := d.$read:L()
+                    if err != nil {
+                        return $zero:L, err
+                    }
+                    return $type:T(v), nil
+                }
+                """,
+                MapUtils.of(
+                        "name", getDecoderName(shape),
+                        "decoder", SmithyGoDependency.SMITHY_CBOR.struct("Decoder"),
+                        "type", symbolProvider.toSymbol(shape),
+                        "read", read,
+                        "zero", zero
+                ));
+    }
+
+    private Writable decodeList(CollectionShape shape) {
+        var target = normalize(model.expectShape(shape.getMember().getTarget()));
+        var symbol = symbolProvider.toSymbol(shape);
+        var targetSymbol = symbolProvider.toSymbol(target);
+        return goTemplate("""
+                func $name:L(d $decoder:P) ($type:T, error) {
+                    n, err := d.ReadListLen()
+                    if err != nil {
+                        return nil, err
+                    }
+
+                    var dl $type:T
+                    for {
+                        more, err := d.More(&n)
+                        if err != nil {
+                            return nil, err
+                        }
+                        if !more {
+                            break
+                        }
+
+                        $sparse:W
+                        di, err := $decode:L(d)
+                        if err != nil {
+                            return nil, err
+                        }
+                        dl = append(dl, $deref:L di)
+                    }
+                    return dl, nil
+                }
+                """,
+                MapUtils.of(
+                        "name", getDecoderName(shape),
+                        "decoder", SmithyGoDependency.SMITHY_CBOR.struct("Decoder"),
+                        "type", symbol,
+                        "decode", getDecoderName(target),
+                        "deref", resolveDeref(getReference(symbol), targetSymbol),
+                        "sparse", isNilable(getReference(symbol))
+                                ? decodeNil("dl = append(dl, nil)")
+                                : emptyGoTemplate()
+                ));
+    }
+
+    private Writable decodeMap(MapShape shape) {
+        var value = normalize(model.expectShape(shape.getValue().getTarget()));
+        var symbol = symbolProvider.toSymbol(shape);
+        var valueSymbol = symbolProvider.toSymbol(value);
+        return goTemplate("""
+                func $name:L(d $decoder:P) ($type:T, error) {
+                    n, err := d.ReadMapLen()
+                    if err != nil {
+                        return nil, err
+                    }
+
+                    dm := $type:T{}
+                    for {
+                        more, err := d.More(&n)
+                        if err != nil {
+                            return nil, err
+                        }
+                        if !more {
+                            break
+                        }
+
+                        key, err := d.ReadKey()
+                        if err != nil {
+                            return nil, err
+                        }
+                        mk := string(key)
+
+                        $sparse:W
+                        dv, err := $decode:L(d)
+                        if err != nil {
+                            return nil, err
+                        }
+                        dm[mk] = $deref:L dv
+                    }
+                    return dm, nil
+                }
+                """,
+                MapUtils.of(
+                        "name", getDecoderName(shape),
+                        "decoder", SmithyGoDependency.SMITHY_CBOR.struct("Decoder"),
+                        "type", symbol,
+                        "decode", getDecoderName(value),
+                        "deref", resolveDeref(getReference(symbol), valueSymbol),
+                        "sparse", isNilable(getReference(symbol))
+                                ? decodeNil("dm[mk] = nil")
+                                : emptyGoTemplate()
+                ));
+    }
+
+    // consumes a nil in place of a value, doing onNil and moving on to the next one
+    private Writable decodeNil(String onNil) {
+        return goTemplate("""
+                if isNil, err := d.ReadNil(); err != nil {
+                    return nil, err
+                } else if isNil {
+                    $L
+                }
+                """, onNil.isEmpty() ? "continue" : onNil + "\ncontinue");
+    }
+
+    private Writable decodeStruct(StructureShape shape) {
+        return goTemplate("""
+                func $name:L(d $decoder:P) ($type:P, error) {
+                    n, err := d.ReadMapLen()
+                    if err != nil {
+                        return nil, err
+                    }
+
+                    ds := &$type:T{}
+                    for {
+                        more, err := d.More(&n)
+                        if err != nil {
+                            return nil, err
+                        }
+                        if !more {
+                            break
+                        }
+
+                        key, err := d.ReadKey()
+                        if err != nil {
+                            return nil, err
+                        }
+                        switch string(key) {
+                        $fields:W
+                        default:
+                            if err := d.Skip(); err != nil {
+                                return nil, err
+                            }
+                        }
+                    }
+                    return ds, nil
+                }
+                """,
+                MapUtils.of(
+                        "name", getDecoderName(shape),
+                        "decoder", SmithyGoDependency.SMITHY_CBOR.struct("Decoder"),
+                        "type", symbolProvider.toSymbol(shape),
+                        "fields", ChainWritable.of(
+                                shape.getAllMembers().values().stream()
+                                        .filter(it -> !model.expectShape(it.getTarget())
+                                                .hasTrait(StreamingTrait.class)) // event stream, not a field
+                                        .map(this::decodeField)
+                                        .toList()
+                        ).compose(false)
+                ));
+    }
+
+    private Writable decodeField(MemberShape member) {
+        var target = model.expectShape(member.getTarget());
+        return goTemplate("""
+                case $field:S:
+                    $skipNil:W
+                    dv, err := $decode:L(d)
+                    if err != nil {
+                        return nil, err
+                    }
+                    ds.$fieldName:L = $deref:W
+                """,
+                MapUtils.of(
+                        "field", member.getMemberName(),
+                        "fieldName", symbolProvider.toMemberName(member),
+                        "decode", getDecoderName(normalize(target)),
+                        "deref", generateStructFieldDeref(member, "dv"),
+                        "skipNil", decodeNil("")
+                ));
+    }
+
+    private Writable decodeUnion(UnionShape union) {
+        return goTemplate("""
+                func $name:L(d $decoder:P) ($type:P, error) {
+                    n, err := d.ReadMapLen()
+                    if err != nil {
+                        return nil, err
+                    }
+
+                    var uv $type:T
+                    for {
+                        more, err := d.More(&n)
+                        if err != nil {
+                            return nil, err
+                        }
+                        if !more {
+                            break
+                        }
+
+                        key, err := d.ReadKey()
+                        if err != nil {
+                            return nil, err
+                        }
+                        if uv != nil { // the first variant set wins, but the rest still have to be read
+                            if err := d.Skip(); err != nil {
+                                return nil, err
+                            }
+                            continue
+                        }
+                        switch string(key) {
+                        $variants:W
+                        default:
+                            if err := d.Skip(); err != nil {
+                                return nil, err
+                            }
+                        }
+                    }
+                    if uv == nil {
+                        return nil, $errorf:T("unrecognized variant")
+                    }
+                    return uv, nil
+                }
+                """,
+                MapUtils.of(
+                        "name", getDecoderName(union),
+                        "decoder", SmithyGoDependency.SMITHY_CBOR.struct("Decoder"),
+                        "type", symbolProvider.toSymbol(union),
+                        "errorf", GoStdlibTypes.Fmt.Errorf,
+                        "variants", ChainWritable.of(
+                                union.getAllMembers().values().stream()
+                                        .map(it -> decodeVariant(union, it))
+                                        .toList()
+                        ).compose(false)
+                ));
+    }
+
+    private Writable decodeVariant(UnionShape union, MemberShape member) {
+        var target = normalize(model.expectShape(member.getTarget()));
+        var symbol = symbolProvider.toSymbol(union);
+        var variantSymbol = buildSymbol(symbolProvider.toMemberName(member), symbol.getNamespace());
+        return goTemplate("""
+                case $variantName:S:
+                    $skipNil:W
+                    dv, err := $decode:L(d)
+                    if err != nil {
+                        return nil, err
+                    }
+                    uv = &$variantSymbol:T{Value: $deref:L dv}
+                """,
+                MapUtils.of(
+                        "variantName", member.getMemberName(),
+                        "decode", getDecoderName(target),
+                        "variantSymbol", variantSymbol,
+                        "deref", target.getType() == ShapeType.STRUCTURE ? "*" : "",
+                        "skipNil", decodeNil("")
+                ));
+    }
+
+    private Writable decodeDocument(Shape shape) {
+        var unmarshaler = ProtocolDocumentGenerator.Utilities.getInternalDocumentSymbolBuilder(settings,
+                ProtocolDocumentGenerator.INTERNAL_NEW_DOCUMENT_UNMARSHALER_FUNC).build();
+        return goTemplate("""
+                func $name:L(d $decoder:P) ($document:T, error) {
+                    v, err := d.ReadValue()
+                    if err != nil {
+                        return nil, err
+                    }
+                    return $unmarshaler:T(v), nil
+                }
+                """,
+                MapUtils.of(
+                        "name", getDecoderName(shape),
+                        "decoder", SmithyGoDependency.SMITHY_CBOR.struct("Decoder"),
+                        "document", symbolProvider.toSymbol(shape),
+                        "unmarshaler", unmarshaler
+                ));
+    }
 }
@@ -23,6 +23,7 @@ import static software.amazon.smithy.go.codegen.SymbolUtils.isNilable;
 import static software.amazon.smithy.go.codegen.SymbolUtils.isPointable;
 import static software.amazon.smithy.go.codegen.serde.SerdeUtil.normalize;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.codegen.core.Symbol;
@@ -61,6 +62,10 @@ public final class CborSerializerGenerator {
         return "serializeCBOR_" + shape.getId().getName();
     }
 
+    public static String getEncoderName(Shape shape) {
+        return "encodeCBOR_" + shape.getId().getName();
+    }
+
     public Writable generate(Set<Shape> shapes) {
         return ChainWritable.of(
                 shapes.stream()
@@ -69,6 +74,22 @@ public final class CborSerializerGenerator {
         ).compose();
     }
 
+    /**
+     * Generates encoders that write the given shapes directly into a pooled smithycbor.Writer, without building an
+     * intermediate smithycbor.Value first. Members are written under the same conditions as in the value tree. See
+     * {@link #getEncoderName}.
+     *
+     * @param shapes The shapes to generate encoders for.
+     * @return The encoders.
+     */
+    public Writable generateDirect(Set<Shape> shapes) {
+        return ChainWritable.of(
+                shapes.stream()
+                        .map(this::generateShapeEncoder)
+                        .toList()
+        ).compose();
+    }
+
     private Writable generateShapeSerializer(Shape shape) {
         return goTemplate("""
                 func $name:L(v $shapeType:P) ($cborValue:T, error) {
@@ -343,6 +364,240 @@ public final class CborSerializerGenerator {
                 ));
     }
 
+    private Writable generateShapeEncoder(Shape shape) {
+        return goTemplate("""
+                func $name:L(w $writer:P, v $shapeType:P) error {
+                    $encode:W
+                }
+                """,
+                MapUtils.of(
+                        "name", getEncoderName(shape),
+                        "writer", SmithyGoDependency.SMITHY_CBOR.struct("Writer"),
+                        "shapeType", symbolProvider.toSymbol(shape),
+                        "encode", generateEncodeValue(shape)
+                ));
+    }
+
+    private Writable generateEncodeValue(Shape shape) {
+        return switch (shape.getType()) {
+            case BYTE, SHORT, INTEGER, LONG, INT_ENUM -> encodeStatic("w.WriteInt64(int64(v))");
+            case FLOAT -> encodeStatic("w.WriteFloat32(float32(v))");
+            case DOUBLE -> encodeStatic("w.WriteFloat64(float64(v))");
+            case STRING, ENUM -> encodeStatic("w.WriteString(string(v))");
+            case BOOLEAN -> encodeStatic("w.WriteBool(v)");
+            case BLOB -> encodeStatic("w.WriteBytes(v)");
+            case TIMESTAMP -> encodeStatic("w.WriteTime(v)");
+            case LIST, SET -> generateEncodeList((CollectionShape) shape);
+            case MAP -> generateEncodeMap((MapShape) shape);
+            case STRUCTURE -> generateEncodeStruct((StructureShape) shape);
+            case UNION -> generateEncodeUnion((UnionShape) shape);
+            case DOCUMENT -> encodeDocument();
+            case BIG_INTEGER, BIG_DECIMAL ->
+                    throw new CodegenException("arbitrary-precision nums are not supported (" + shape.getType() + ")");
+            case MEMBER, SERVICE, RESOURCE, OPERATION ->
+                    throw new CodegenException("cannot generate encoder for shape type " + shape.getType());
+        };
+    }
+
+    private Writable encodeStatic(String write) {
+        return goTemplate("""
+                $L
+                return nil
+                """, write);
+    }
+
+    private Writable generateEncodeList(CollectionShape shape) {
+        var target = normalize(model.expectShape(shape.getMember().getTarget()));
+        var symbol = symbolProvider.toSymbol(shape);
+        var targetSymbol = symbolProvider.toSymbol(target);
+        return goTemplate("""
+                w.WriteListHeader(len(v))
+                for i := range v {
+                    $sparse:W
+                    if err := $encode:L(w, $indirect:L v[i]); err != nil {
+                        return err
+                    }
+                }
+                return nil
+                """,
+                MapUtils.of(
+                        "sparse", isNilable(getReference(symbol)) ? encodeSparse("v[i]") : emptyGoTemplate(),
+                        "encode", getEncoderName(target),
+                        "indirect", resolveIndirect(getReference(symbol), targetSymbol)
+                ));
+    }
+
+    private Writable generateEncodeMap(MapShape shape) {
+        var value = normalize(model.expectShape(shape.getValue().getTarget()));
+        var symbol = symbolProvider.toSymbol(shape);
+        var valueSymbol = symbolProvider.toSymbol(value);
+        return goTemplate("""
+                w.WriteMapHeader(len(v))
+                for k, vv := range v {
+                    w.WriteString(k)
+                    $sparse:W
+                    if err := $encode:L(w, $indirect:L vv); err != nil {
+                        return err
+                    }
+                }
+                return nil
+                """,
+                MapUtils.of(
+                        "sparse", isNilable(getReference(symbol)) ? encodeSparse("vv") : emptyGoTemplate(),
+                        "encode", getEncoderName(value),
+                        "indirect", resolveIndirect(getReference(symbol), valueSymbol)
+                ));
+    }
+
+    private Writable encodeSparse(String value) {
+        return goTemplate("""
+                if $L == nil {
+                    w.WriteNil()
+                    continue
+                }
+                """, value);
+    }
+
+    private Writable generateEncodeStruct(StructureShape shape) {
+        return goTemplate("""
+                m, n := w.OpenMap(), 0
+                $encode:W
+                w.CloseMap(m, n)
+                return nil
+                """,
+                MapUtils.of(
+                        "encode", ChainWritable.of(
+                                shape.getAllMembers().values().stream()
+                                        .map(this::generateEncodeField)
+                                        .toList()
+                        ).compose(false)
+                ));
+    }
+
+    // mirrors generateSerializeField, an entry is written iff the value tree would have one
+    private Writable generateEncodeField(MemberShape member) {
+        var target = normalize(model.expectShape(member.getTarget()));
+        if (target.hasTrait(StreamingTrait.class)) {
+            return emptyGoTemplate(); // event stream, not an actual field
+        }
+
+        var symbol = symbolProvider.toSymbol(member);
+        var field = "v." + symbolProvider.toMemberName(member);
+        return switch (target.getType()) {
+            case BYTE, SHORT, INTEGER, LONG, FLOAT, DOUBLE, BOOLEAN, TIMESTAMP ->
+                    isPointable(symbol)
+                            ? encodeMember(member, target, field + " != nil", "*" + field)
+                            : encodeMember(member, target, null, field);
+            case BLOB, LIST, SET, MAP, STRUCTURE, UNION ->
+                    encodeMember(member, target, field + " != nil", field);
+            case STRING ->
+                    target.hasTrait(EnumTrait.class)
+                            ? encodeMember(member, target, "len(" + field + ") > 0", field)
+                            : isPointable(symbol)
+                                    ? encodeMember(member, target, field + " != nil", "*" + field)
+                                    : encodeMember(member, target, "len(" + field + ") > 0", field);
+            case ENUM ->
+                    encodeMember(member, target, "len(" + field + ") > 0", field);
+            default ->
+                    encodeMember(member, target, null, field);
+        };
+    }
+
+    private Writable encodeMember(MemberShape member, Shape target, String condition, String value) {
+        var encode = goTemplate("""
+                w.WriteKey($key:L)
+                if err := $encode:L(w, $value:L); err != nil {
+                    return err
+                }
+                n++
+                """,
+                MapUtils.of(
+                        "key", encodeKey(member.getMemberName()),
+                        "encode", getEncoderName(target),
+                        "value", value
+                ));
+        if (condition == null) {
+            return encode;
+        }
+        return goTemplate("""
+                if $L {
+                    $W
+                }
+                """, condition, encode);
+    }
+
+    private Writable generateEncodeUnion(UnionShape union) {
+        return goTemplate("""
+                switch uv := v.(type) {
+                $encode:W
+                default:
+                    return $errorf:T("unknown variant type %T", v)
+                }
+                """,
+                MapUtils.of(
+                        "errorf", GoStdlibTypes.Fmt.Errorf,
+                        "encode", ChainWritable.of(
+                                union.getAllMembers().values().stream()
+                                        .map(it -> encodeVariant(union, it))
+                                        .toList()
+                        ).compose(false)
+                ));
+    }
+
+    private Writable encodeVariant(UnionShape union, MemberShape member) {
+        var target = normalize(model.expectShape(member.getTarget()));
+        var symbol = symbolProvider.toSymbol(union);
+        var variantSymbol = buildSymbol(symbolProvider.toMemberName(member), symbol.getNamespace());
+        return goTemplate("""
+                case *$variant:T:
+                    w.WriteMapHeader(1)
+                    w.WriteKey($key:L)
+                    return $encode:L(w, $indirect:L uv.Value)
+                """,
+                MapUtils.of(
+                        "variant", variantSymbol,
+                        "encode", getEncoderName(target),
+                        "key", encodeKey(member.getMemberName()),
+                        "indirect", target.getType() == ShapeType.STRUCTURE ? "&" : ""
+                ));
+    }
+
+    private Writable encodeDocument() {
+        return goTemplate("""
+                raw, err := v.MarshalSmithyDocument()
+                if err != nil {
+                    return err
+                }
+                w.WriteRaw(raw)
+                return nil
+                """);
+    }
+
+    // Precomputes the encoded form of a map key (text string header followed by the key) as a Go string literal, so
+    // that member names are copied into the request as-is.
+    private static String encodeKey(String key) {
+        var utf8 = key.getBytes(StandardCharsets.UTF_8);
+        var n = utf8.length;
+        var header = new StringBuilder();
+        if (n < 24) {
+            appendHexByte(header, 0x60 | n);
+        } else if (n < 0x100) {
+            appendHexByte(header, 0x78);
+            appendHexByte(header, n);
+        } else if (n < 0x10000) {
+            appendHexByte(header, 0x79);
+            appendHexByte(header, n >> 8);
+            appendHexByte(header, n);
+        } else {
+            throw new CodegenException("map key is too long: " + key);
+        }
+        return "\"" + header + key + "\"";
+    }
+
+    private static void appendHexByte(StringBuilder sb, int b) {
+        sb.append(String.format("\\x%02x", b & 0xff));
+    }
+
     private String resolveIndirect(Symbol ref, Symbol serialized) {
         if (isPointable(ref) == isPointable(serialized)) {
             return "";
@@ -19,11 +19,13 @@ public class ListDeserializer implements Writable {
     private final GoCodegenContext ctx;
     private final ListShape shape;
     private final Shape member;
+    private final boolean inline;
 
     public ListDeserializer(GoCodegenContext ctx, ListShape shape) {
         this.ctx = ctx;
         this.shape = shape;
         this.member = ShapeUtil.expectMember(ctx.model(), shape);
+        this.inline = ctx.settings().inlineDeserializerLoops();
     }
 
     @Override
@@ -37,10 +39,14 @@ public class ListDeserializer implements Writable {
     }
 
     private void renderDense(GoWriter writer) {
-        writer.writeGoTemplate("""
+        writer.writeGoTemplate(!inline ? """
                 func deserialize$shapeName:L(d smithy.ShapeDeserializer, s *smithy.Schema, v *$symbol:T) error {
                     var vv $memberSymbol:T
-                    return smithy.ReadList(d, s, func() error {
+                    return smithy.ReadSizedList(d, s, func(n int) {
+                        if n > 0 {
+                            *v = make($symbol:T, 0, n)
+                        }
+                    }, func() error {
                         $zeroValue:W
                         if err := $deserializeMember:W; err != nil {
                             return err
@@ -50,6 +56,34 @@ public class ListDeserializer implements Writable {
                         return nil
                     })
                 }
+                """ : """
+                func deserialize$shapeName:L(d smithy.ShapeDeserializer, s *smithy.Schema, v *$symbol:T) error {
+                    if err := d.ReadList(s); err != nil {
+                        return err
+                    }
+                    if n := smithy.LengthHint(d); n > 0 {
+                        *v = make($symbol:T, 0, n)
+                    }
+
+                    ms := s.ListMember()
+                    var vv $memberSymbol:T
+                    for {
+                        ok, err := d.ReadListItem(ms)
+                        if !ok {
+                            return nil
+                        }
+                        if err != nil {
+                            return err
+                        }
+
+                        $zeroValue:W
+                        if err := $deserializeMember:W; err != nil {
+                            return err
+                        }
+
+                        *v = append(*v, $cast:W)
+                    }
+                }
                 """, Map.of(
                 "shapeName", shape.getId().getName(),
                 "symbol", ctx.symbolProvider().toSymbol(shape),
@@ -67,9 +101,13 @@ public class ListDeserializer implements Writable {
     }
 
     private void renderSparse(GoWriter writer) {
-        writer.writeGoTemplate("""
+        writer.writeGoTemplate(!inline ? """
                 func deserialize$shapeName:L(d smithy.ShapeDeserializer, s *smithy.Schema, v *$symbol:T) error {
-                    return smithy.ReadList(d, s, func() error {
+                    return smithy.ReadSizedList(d, s, func(n int) {
+                        if n > 0 {
+                            *v = make($symbol:T, 0, n)
+                        }
+                    }, func() error {
                         if isNil, err := d.ReadNil(s.ListMember()); err != nil {
                             return err
                         } else if isNil {
@@ -89,6 +127,43 @@ public class ListDeserializer implements Writable {
                         return nil
                     })
                 }
+                """ : """
+                func deserialize$shapeName:L(d smithy.ShapeDeserializer, s *smithy.Schema, v *$symbol:T) error {
+                    if err := d.ReadList(s); err != nil {
+                        return err
+                    }
+                    if n := smithy.LengthHint(d); n > 0 {
+                        *v = make($symbol:T, 0, n)
+                    }
+
+                    ms := s.ListMember()
+                    for {
+                        ok, err := d.ReadListItem(ms)
+                        if !ok {
+                            return nil
+                        }
+                        if err != nil {
+                            return err
+                        }
+
+                        if isNil, err := d.ReadNil(ms); err != nil {
+                            return err
+                        } else if isNil {
+                            *v = append(*v, nil)
+                            continue
+                        }
+
+                        // vv must be declared per-element for sparse since we
+                        // are taking its pointer
+                        var vv $memberSymbol:T
+                        $zeroValue:W
+                        if err := $deserializeMember:W; err != nil {
+                            return err
+                        }
+
+                        *v = append(*v, $cast:W)
+                    }
+                }
                 """, Map.of(
                 "shapeName", shape.getId().getName(),
                 "symbol", ctx.symbolProvider().toSymbol(shape),
@@ -19,11 +19,13 @@ public class MapDeserializer implements Writable {
     private final GoCodegenContext ctx;
     private final MapShape shape;
     private final Shape value;
+    private final boolean inline;
 
     public MapDeserializer(GoCodegenContext ctx, MapShape shape) {
         this.ctx = ctx;
         this.shape = shape;
         this.value = ShapeUtil.expectMember(ctx.model(), shape);
+        this.inline = ctx.settings().inlineDeserializerLoops();
     }
 
     @Override
@@ -37,11 +39,12 @@ public class MapDeserializer implements Writable {
     }
 
     private void renderDense(GoWriter writer) {
-        writer.writeGoTemplate("""
+        writer.writeGoTemplate(!inline ? """
                 func deserialize$shapeName:L(d smithy.ShapeDeserializer, s *smithy.Schema, v *$symbol:T) error {
-                    *v = make($symbol:T)
                     var vv $valueSymbol:T
-                    return smithy.ReadMap(d, s, func(k string) error {
+                    return smithy.ReadSizedMap(d, s, func(n int) {
+                        *v = make($symbol:T, n)
+                    }, func(k string) error {
                         $zeroValue:W
                         if err := $deserializeValue:W; err != nil {
                             return err
@@ -51,6 +54,32 @@ public class MapDeserializer implements Writable {
                         return nil
                     })
                 }
+                """ : """
+                func deserialize$shapeName:L(d smithy.ShapeDeserializer, s *smithy.Schema, v *$symbol:T) error {
+                    if err := d.ReadMap(s); err != nil {
+                        return err
+                    }
+                    *v = make($symbol:T, smithy.LengthHint(d))
+
+                    ks := s.MapKey()
+                    var vv $valueSymbol:T
+                    for {
+                        k, ok, err := d.ReadMapKey(ks)
+                        if !ok {
+                            return nil
+                        }
+                        if err != nil {
+                            return err
+                        }
+
+                        $zeroValue:W
+                        if err := $deserializeValue:W; err != nil {
+                            return err
+                        }
+
+                        (*v)[k] = $cast:W
+                    }
+                }
                 """, Map.of(
                 "shapeName", shape.getId().getName(),
                 "symbol", ctx.symbolProvider().toSymbol(shape),
@@ -68,10 +97,11 @@ public class MapDeserializer implements Writable {
     }
 
     private void renderSparse(GoWriter writer) {
-        writer.writeGoTemplate("""
+        writer.writeGoTemplate(!inline ? """
                 func deserialize$shapeName:L(d smithy.ShapeDeserializer, s *smithy.Schema, v *$symbol:T) error {
-                    *v = make($symbol:T)
-                    return smithy.ReadMap(d, s, func(k string) error {
+                    return smithy.ReadSizedMap(d, s, func(n int) {
+                        *v = make($symbol:T, n)
+                    }, func(k string) error {
                         if isNil, err := d.ReadNil(s.MapValue()); err != nil {
                             return err
                         } else if isNil {
@@ -91,6 +121,41 @@ public class MapDeserializer implements Writable {
                         return nil
                     })
                 }
+                """ : """
+                func deserialize$shapeName:L(d smithy.ShapeDeserializer, s *smithy.Schema, v *$symbol:T) error {
+                    if err := d.ReadMap(s); err != nil {
+                        return err
+                    }
+                    *v = make($symbol:T, smithy.LengthHint(d))
+
+                    ks := s.MapKey()
+                    for {
+                        k, ok, err := d.ReadMapKey(ks)
+                        if !ok {
+                            return nil
+                        }
+                        if err != nil {
+                            return err
+                        }
+
+                        if isNil, err := d.ReadNil(s.MapValue()); err != nil {
+                            return err
+                        } else if isNil {
+                            (*v)[k] = nil
+                            continue
+                        }
+
+                        // vv must be declared per-element for sparse since we
+                        // are taking its pointer
+                        var vv $valueSymbol:T
+                        $zeroValue:W
+                        if err := $deserializeValue:W; err != nil {
+                            return err
+                        }
+
+                        (*v)[k] = $cast:W
+                    }
+                }
                 """, Map.of(
                 "shapeName", shape.getId().getName(),
                 "symbol", ctx.symbolProvider().toSymbol(shape),
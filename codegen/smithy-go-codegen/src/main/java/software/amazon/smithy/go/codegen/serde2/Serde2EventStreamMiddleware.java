@@ -11,6 +11,7 @@ import software.amazon.smithy.go.codegen.GoCodegenContext;
 import software.amazon.smithy.go.codegen.SchemaGenerator;
 import software.amazon.smithy.go.codegen.SmithyGoDependency;
 import software.amazon.smithy.go.codegen.Writable;
+import software.amazon.smithy.go.codegen.integration.EventStreamOptions;
 import software.amazon.smithy.go.codegen.middleware.DeserializeStepMiddleware;
 import software.amazon.smithy.model.knowledge.EventStreamIndex;
 import software.amazon.smithy.model.shapes.OperationShape;
@@ -151,7 +152,8 @@ public class Serde2EventStreamMiddleware extends DeserializeStepMiddleware {
                     }
                 }
                 eventWriter := &$adapter:L{
-                    writer: $newWriter:T(m.options.Protocol, $schema:L, inputStreamWriter),
+                    writer: $newWriter:T(m.options.Protocol, $schema:L, inputStreamWriter,
+                        $withOptions:L(ctx, m.options)),
                 }
                 defer func() {
                     if err != nil {
@@ -172,7 +174,8 @@ public class Serde2EventStreamMiddleware extends DeserializeStepMiddleware {
                             SmithyGoDependency.SMITHY_HTTP_TRANSPORT.pointableSymbol("Request"),
                         "newSigningWriter",
                             SmithyGoDependency.SMITHY_EVENTSTREAM.func("NewSigningWriter"),
-                        "schema", schemaName
+                        "schema", schemaName,
+                        "withOptions", EventStreamOptions.OPTIONS_HELPER
                 ));
     }
 
@@ -184,7 +187,8 @@ public class Serde2EventStreamMiddleware extends DeserializeStepMiddleware {
 
         return goTemplate("""
                 eventReader := $newAdapter:L(
-                    $newReader:T(m.options.Protocol, $schema:L, TypeRegistry, resp.Body),
+                    $newReader:T(m.options.Protocol, $schema:L, TypeRegistry, resp.Body,
+                        $withOptions:L(ctx, m.options)),
                 )
                 defer func() {
                     if err != nil {
@@ -196,7 +200,8 @@ public class Serde2EventStreamMiddleware extends DeserializeStepMiddleware {
                         "newAdapter", adapterConstructor,
                         "newReader",
                             SmithyGoDependency.SMITHY_HTTP_TRANSPORT.func("NewEventStreamReader"),
-                        "schema", schemaName
+                        "schema", schemaName,
+                        "withOptions", EventStreamOptions.OPTIONS_HELPER
                 ));
     }
 
@@ -348,14 +353,16 @@ public class Serde2EventStreamMiddleware extends DeserializeStepMiddleware {
                 asyncResult := make(chan deserializeResult, 1)
                 asyncReader := newAsyncEventStreamReader(asyncResult)
                 eventReader := $newAdapter:L(
-                    $newReader:T(m.options.Protocol, $schema:L, TypeRegistry, asyncReader.pipeReader),
+                    $newReader:T(m.options.Protocol, $schema:L, TypeRegistry, asyncReader.pipeReader,
+                        $withOptions:L(ctx, m.options)),
                 )
                 """,
                 MapUtils.of(
                         "newAdapter", adapterConstructor,
                         "newReader",
                             SmithyGoDependency.SMITHY_HTTP_TRANSPORT.func("NewEventStreamReader"),
-                        "schema", schemaName
+                        "schema", schemaName,
+                        "withOptions", EventStreamOptions.OPTIONS_HELPER
                 ));
     }
 }
@@ -1,6 +1,7 @@
 package software.amazon.smithy.go.codegen.serde2;
 
 import java.util.Comparator;
+import java.util.List;
 import software.amazon.smithy.go.codegen.GoCodegenContext;
 import software.amazon.smithy.go.codegen.GoWriter;
 import software.amazon.smithy.go.codegen.ProtocolDocumentGenerator;
@@ -20,12 +21,14 @@ public class StructureDeserializer implements Writable {
     private final GoCodegenContext ctx;
     private final StructureShape shape;
     private final GoPointableIndex nilIndex;
+    private final boolean inline;
 
     public StructureDeserializer(GoCodegenContext ctx, StructureShape shape) {
         this.ctx = ctx;
         this.shape = shape;
 
         this.nilIndex = GoPointableIndex.of(ctx.model());
+        this.inline = ctx.settings().inlineDeserializerLoops();
     }
 
     @Override
@@ -43,15 +46,49 @@ public class StructureDeserializer implements Writable {
                 .sorted(Comparator.comparing(MemberShape::getMemberName))
                 .toList();
         writer.openBlock("func (v *$L) Deserialize(d smithy.ShapeDeserializer) error {", "}", symbol.getName(), () -> {
-            writer.openBlock("return smithy.ReadStruct(d, $L, func(s *smithy.Schema) error {", "})", SchemaGenerator.getSchemaRef(shape, ctx.service()), () -> {
-                writer.openBlock("switch s {", "}", () -> {
-                    for (var member : members) {
-                        writer.write("case $L:", SchemaGenerator.getMemberSchemaRef(shape, member, ctx.service()));
-                        renderMember(writer, member, ctx.model().expectShape(member.getTarget()), "v." + ctx.symbolProvider().toMemberName(member));
+            if (inline) {
+                renderInline(writer, members);
+            } else {
+                renderClosure(writer, members);
+            }
+        });
+    }
+
+    private void renderClosure(GoWriter writer, List<MemberShape> members) {
+        writer.openBlock("return smithy.ReadStruct(d, $L, func(s *smithy.Schema) error {", "})", SchemaGenerator.getSchemaRef(shape, ctx.service()), () -> {
+            renderSwitch(writer, members);
+            writer.write("return nil");
+        });
+    }
+
+    // renders the smithy.ReadStruct loop in place, so there's no closure to allocate and no indirect call per member
+    private void renderInline(GoWriter writer, List<MemberShape> members) {
+        writer.write("""
+                if err := d.ReadStruct($L); err != nil {
+                    return err
+                }""", SchemaGenerator.getSchemaRef(shape, ctx.service()));
+        writer.openBlock("for {", "}", () -> {
+            writer.write("""
+                    s, err := d.ReadStructMember()
+                    if err != nil {
+                        return err
                     }
-                });
-                writer.write("return nil");
-            });
+                    if s == nil {
+                        return nil
+                    }""");
+            renderSwitch(writer, members);
+        });
+    }
+
+    private void renderSwitch(GoWriter writer, List<MemberShape> members) {
+        // dispatch on the member's ordinal rather than its schema pointer, a dense integer switch compiles
+        // to a jump table instead of a sequence of comparisons
+        var indices = SchemaGenerator.getMemberIndices(shape);
+        writer.openBlock("switch s.MemberIndex() {", "}", () -> {
+            for (var member : members) {
+                writer.write("case $L: // $L", indices.get(member.getMemberName()), member.getMemberName());
+                renderMember(writer, member, ctx.model().expectShape(member.getTarget()), "v." + ctx.symbolProvider().toMemberName(member));
+            }
         });
     }
 
@@ -80,37 +117,35 @@ public class StructureDeserializer implements Writable {
                                 if err := d.ReadString($1L, &ev); err != nil {
                                     return err
                                 }
-                                $2L = $3T(ev)
-                                return nil""", schemaName, ident, ctx.symbolProvider().toSymbol(target));
+                                $2L = $3T(ev)""", schemaName, ident, ctx.symbolProvider().toSymbol(target));
+                        writeDone(writer);
                     } else {
                         writeReadScalar(writer, isNillable, ident, schemaName, "ReadString", "string");
                     }
             }
-            case INT_ENUM ->
+            case INT_ENUM -> {
                     writer.write("""
                             var ev int32
                             if err := d.ReadInt32($1L, &ev); err != nil {
                                 return err
                             }
-                            $2L = $3T(ev)
-                            return nil""", schemaName, ident, ctx.symbolProvider().toSymbol(target));
+                            $2L = $3T(ev)""", schemaName, ident, ctx.symbolProvider().toSymbol(target));
+                    writeDone(writer);
+            }
             case BOOLEAN ->
                     writeReadScalar(writer, isNillable, ident, schemaName, "ReadBool", "bool");
             case TIMESTAMP ->
                     writeReadScalar(writer, isNillable, ident, schemaName, "ReadTime", "time.Time");
             case BLOB ->
-                    writer.write("return d.ReadBlob($L, &$L)", schemaName, ident);
+                    writeResult(writer, "d.ReadBlob($L, &$L)", schemaName, ident);
 
             case LIST, SET, MAP, UNION ->
-                    writer.write("return deserialize$L(d, $L, &$L)", target.getId().getName(), schemaName, ident);
+                    writeResult(writer, "deserialize$L(d, $L, &$L)", target.getId().getName(), schemaName, ident);
             case STRUCTURE -> {
                 if (nilIndex.isNillable(member)) {
-                    writer.write("""
-                            $1L = &$2T{}
-                            return $1L.Deserialize(d)""", ident, ctx.symbolProvider().toSymbol(target));
-                } else {
-                    writer.write("return $L.Deserialize(d)", ident);
+                    writer.write("$L = &$T{}", ident, ctx.symbolProvider().toSymbol(target));
                 }
+                writeResult(writer, "$L.Deserialize(d)", ident);
             }
             case DOCUMENT -> {
                 var unmarshaler = ProtocolDocumentGenerator.Utilities.getInternalDocumentSymbolBuilder(
@@ -123,8 +158,8 @@ public class StructureDeserializer implements Writable {
                         }
                         if ov, ok := dv.(smithydocument.Opaque); ok {
                             $L = $T(ov.Value)
-                        }
-                        return nil""", schemaName, ident, unmarshaler);
+                        }""", schemaName, ident, unmarshaler);
+                writeDone(writer);
             }
 
             // FUTURE(602)
@@ -138,9 +173,25 @@ public class StructureDeserializer implements Writable {
     private void writeReadScalar(GoWriter writer, boolean isNillable, String ident, String schemaName,
                                  String readMethod, String goType) {
         if (isNillable) {
-            writer.write("$1L = new($4L)\nreturn d.$3L($2L, $1L)", ident, schemaName, readMethod, goType);
+            writer.write("$L = new($L)", ident, goType);
+            writeResult(writer, "d.$L($L, $L)", readMethod, schemaName, ident);
+        } else {
+            writeResult(writer, "d.$L($L, &$L)", readMethod, schemaName, ident);
+        }
+    }
+
+    // Writes the final read of a member: returned from the closure, or checked in place when the loop is inline.
+    private void writeResult(GoWriter writer, String expr, Object... args) {
+        if (inline) {
+            writer.write("if err := " + expr + "; err != nil {\n    return err\n}", args);
         } else {
-            writer.write("return d.$3L($2L, &$1L)", ident, schemaName, readMethod);
+            writer.write("return " + expr, args);
+        }
+    }
+
+    private void writeDone(GoWriter writer) {
+        if (!inline) {
+            writer.write("return nil");
         }
     }
 }
@@ -18,6 +18,7 @@ package software.amazon.smithy.go.codegen.server;
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 
 import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
 import software.amazon.smithy.go.codegen.Writable;
 import software.amazon.smithy.utils.MapUtils;
 import software.amazon.smithy.utils.SmithyInternalApi;
@@ -40,11 +41,21 @@ public final class OptionsStruct implements Writable {
     private Writable generate() {
         return goTemplate("""
                 type $this:L struct {
+                    // RequestIDGenerator provides the ID assigned to each request, which is
+                    // passed to interceptors. Defaults to random UUIDs read from crypto/rand
+                    // in batches.
+                    //
+                    // See smithyrand.NewCryptoIDGenerator to read crypto/rand for every
+                    // request, or smithyrand.NewCounterIDGenerator for cheaper, predictable
+                    // IDs.
+                    RequestIDGenerator $idGenerator:T
+
                     $protocolOptions:W
                 }
                 """,
                 MapUtils.of(
                         "this", NAME,
+                        "idGenerator", SmithyGoDependency.SMITHY_RAND.valueSymbol("IDGenerator"),
                         "protocolOptions", protocolGenerator.generateOptions()
                 ));
     }
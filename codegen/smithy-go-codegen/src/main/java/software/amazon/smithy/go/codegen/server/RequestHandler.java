@@ -18,7 +18,9 @@ package software.amazon.smithy.go.codegen.server;
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 
 import software.amazon.smithy.go.codegen.ChainWritable;
+import software.amazon.smithy.go.codegen.GoStdlibTypes;
 import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
 import software.amazon.smithy.go.codegen.Writable;
 import software.amazon.smithy.utils.MapUtils;
 import software.amazon.smithy.utils.SmithyInternalApi;
@@ -71,6 +73,9 @@ public final class RequestHandler implements Writable {
                     for _, fn := range optFns {
                         fn(&o)
                     }
+                    if o.RequestIDGenerator == nil {
+                        o.RequestIDGenerator = $newIdGenerator:T($rand:T)
+                    }
 
                     h := &$this:L{
                         service: svc,
@@ -83,7 +88,9 @@ public final class RequestHandler implements Writable {
                 MapUtils.of(
                         "this", NAME,
                         "interface", ServerInterface.NAME,
-                        "options", OptionsStruct.NAME
+                        "options", OptionsStruct.NAME,
+                        "newIdGenerator", SmithyGoDependency.SMITHY_RAND.func("NewBufferedIDGenerator"),
+                        "rand", GoStdlibTypes.Crypto.Rand.Reader
                 ));
     }
 }
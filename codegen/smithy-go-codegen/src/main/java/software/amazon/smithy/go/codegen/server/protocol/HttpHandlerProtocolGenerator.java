@@ -18,7 +18,9 @@ package software.amazon.smithy.go.codegen.server.protocol;
 import static software.amazon.smithy.go.codegen.GoWriter.emptyGoTemplate;
 import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 
+import java.util.Map;
 import software.amazon.smithy.go.codegen.ApplicationProtocol;
+import software.amazon.smithy.go.codegen.ChainWritable;
 import software.amazon.smithy.go.codegen.GoCodegenContext;
 import software.amazon.smithy.go.codegen.GoStdlibTypes;
 import software.amazon.smithy.go.codegen.Writable;
@@ -26,7 +28,6 @@ import software.amazon.smithy.go.codegen.knowledge.GoValidationIndex;
 import software.amazon.smithy.go.codegen.server.RequestHandler;
 import software.amazon.smithy.go.codegen.server.ServerProtocolGenerator;
 import software.amazon.smithy.go.codegen.server.ServerValidationgenerator;
-import software.amazon.smithy.go.codegen.SmithyGoDependency;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.utils.MapUtils;
@@ -113,7 +114,7 @@ public abstract class HttpHandlerProtocolGenerator implements ServerProtocolGene
         var input = ctx.model().expectShape(operation.getInputShape());
         return goTemplate("""
                 func (h *$requestHandler:L) $funcName:L(w $rw:T, r $r:P) {
-                    id, err := $newUuid:T($rand:T).GetUUID()
+                    id, err := h.options.RequestIDGenerator.GetID()
                     if err != nil {
                         serializeError(w, err)
                         return
@@ -143,8 +144,6 @@ public abstract class HttpHandlerProtocolGenerator implements ServerProtocolGene
                         "r", GoStdlibTypes.Net.Http.Request
                 ),
                 MapUtils.of(
-                        "newUuid", SmithyGoDependency.SMITHY_RAND.func("NewUUID"),
-                        "rand", GoStdlibTypes.Crypto.Rand.Reader,
                         "deserialize", generateDeserializeRequest(operation),
                         "validate", validationIndex.operationRequiresValidation(service, operation)
                                 ? generateValidateInput(input)
@@ -179,6 +178,33 @@ public abstract class HttpHandlerProtocolGenerator implements ServerProtocolGene
         return "serveHTTP" + operation.getId().getName();
     }
 
+    /**
+     * Generates a switch over {@code key} that serves the request with the handler of the operation it matches and
+     * returns. Keys that don't match any route fall through. The Go compiler lowers a switch over string constants to
+     * a jump on length followed by a binary search, so dispatch doesn't cost a comparison per operation.
+     *
+     * @param key The Go expression to route on.
+     * @param routes The operation to dispatch to for each route key.
+     * @return The switch.
+     */
+    protected final Writable generateRouteSwitch(String key, Map<String, OperationShape> routes) {
+        return goTemplate("""
+                switch $L {
+                $W
+                }
+                """,
+                key,
+                ChainWritable.of(
+                        routes.entrySet().stream()
+                                .map(it -> goTemplate("""
+                                        case $S:
+                                            h.$L(w, r)
+                                            return
+                                        """, it.getKey(), getOperationHandlerName(it.getValue())))
+                                .toList()
+                ).compose(false));
+    }
+
     private Writable generateValidateInput(Shape input) {
         return goTemplate("""
                 if err := $L(in); err != nil {
@@ -35,6 +35,10 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.utils.MapUtils;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
+/**
+ * Generates deserializers that read shapes directly off an encoding/json token stream. Callers are expected to enable
+ * UseNumber on the decoder.
+ */
 @SmithyInternalApi
 public final class JsonDeserializerGenerator {
     private final Model model;
@@ -59,9 +63,13 @@ public final class JsonDeserializerGenerator {
 
     private Writable generateShapeDeserializer(Shape shape) {
         return goTemplate("""
-                func $name:L(v interface{}) ($shapeType:P, error) {
-                    av, ok := v.($assert:W)
-                    if !ok {
+                func $name:L(d $decoder:P) ($shapeType:P, error) {
+                    t, err := d.Token()
+                    if err != nil {
+                        return $zero:W, err
+                    }
+                    av, ok := t.($assert:W)
+                    if !ok$delim:L {
                         return $zero:W, $error:T("invalid")
                     }
                     $deserialize:W
@@ -69,14 +77,25 @@ public final class JsonDeserializerGenerator {
                 """,
                 MapUtils.of(
                         "name", getDeserializerName(shape),
+                        "decoder", GoStdlibTypes.Encoding.Json.Decoder,
                         "shapeType", symbolProvider.toSymbol(shape),
                         "assert", generateOpaqueAssert(shape),
+                        "delim", getExpectedDelim(shape),
                         "zero", generateZeroValue(shape),
                         "error", GoStdlibTypes.Fmt.Errorf,
                         "deserialize", generateDeserializeAssertedValue(shape, "av")
                 ));
     }
 
+    // aggregates open with a delimiter token, the rest of their tokens are read by the deserializer body
+    private String getExpectedDelim(Shape shape) {
+        return switch (shape.getType()) {
+            case LIST, SET -> " || av != '['";
+            case MAP, STRUCTURE, UNION -> " || av != '{'";
+            default -> "";
+        };
+    }
+
     private Writable generateOpaqueAssert(Shape shape) {
         return switch (shape.getType()) {
             case BYTE, SHORT, INTEGER, LONG, FLOAT, DOUBLE, INT_ENUM ->
@@ -85,10 +104,8 @@ public final class JsonDeserializerGenerator {
                     goTemplate("string");
             case BOOLEAN ->
                     goTemplate("bool");
-            case LIST, SET ->
-                    goTemplate("[]interface{}");
-            case MAP, STRUCTURE, UNION ->
-                    goTemplate("map[string]interface{}");
+            case LIST, SET, MAP, STRUCTURE, UNION ->
+                    goTemplate("$T", GoStdlibTypes.Encoding.Json.Delim);
             default ->
                     throw new CodegenException("Unsupported: " + shape.getType());
         };
@@ -140,18 +157,20 @@ public final class JsonDeserializerGenerator {
                 var targetSymbol = symbolProvider.toSymbol(target);
                 yield goTemplate("""
                         var deserializedList $type:T
-                        for _, serializedItem := range $ident:L {
-                            deserializedItem, err := $deserialize:L(serializedItem)
+                        for d.More() {
+                            deserializedItem, err := $deserialize:L(d)
                             if err != nil {
                                 return nil, err
                             }
                             deserializedList = append(deserializedList, $deref:L)
                         }
+                        if _, err := d.Token(); err != nil {
+                            return nil, err
+                        }
                         return deserializedList, nil
                         """,
                         MapUtils.of(
                                 "type", symbol,
-                                "ident", ident,
                                 "deserialize", getDeserializerName(target),
                                 "deref", isPointable(getReference(symbol)) != isPointable(targetSymbol)
                                         ? "*deserializedItem" : "deserializedItem"
@@ -163,18 +182,24 @@ public final class JsonDeserializerGenerator {
                 var valueSymbol = symbolProvider.toSymbol(value);
                 yield goTemplate("""
                         deserializedMap := $type:T{}
-                        for key, serializedValue := range $ident:L {
-                            deserializedValue, err := $deserialize:L(serializedValue)
+                        for d.More() {
+                            kt, err := d.Token()
+                            if err != nil {
+                                return nil, err
+                            }
+                            deserializedValue, err := $deserialize:L(d)
                             if err != nil {
                                 return nil, err
                             }
-                            deserializedMap[key] = $deref:L
+                            deserializedMap[kt.(string)] = $deref:L
+                        }
+                        if _, err := d.Token(); err != nil {
+                            return nil, err
                         }
                         return deserializedMap, nil
                         """,
                         MapUtils.of(
                                 "type", symbol,
-                                "ident", ident,
                                 "deserialize", getDeserializerName(value),
                                 "deref", isPointable(getReference(symbol)) != isPointable(valueSymbol)
                                         ? "*deserializedValue" : "deserializedValue"
@@ -182,26 +207,38 @@ public final class JsonDeserializerGenerator {
             }
             case STRUCTURE -> goTemplate("""
                     deserializedStruct := &$type:T{}
-                    for key, serializedValue := range $ident:L {
+                    for d.More() {
+                        kt, err := d.Token()
+                        if err != nil {
+                            return nil, err
+                        }
+                        switch kt.(string) {
                         $deserializeFields:W
+                        default:
+                            if err := $discard:T(d); err != nil {
+                                return nil, err
+                            }
+                        }
+                    }
+                    if _, err := d.Token(); err != nil {
+                        return nil, err
                     }
                     return deserializedStruct, nil
                     """,
                     MapUtils.of(
                             "type", symbolProvider.toSymbol(shape),
-                            "ident", ident,
+                            "discard", SmithyGoDependency.SMITHY_JSON.func("DiscardUnknownField"),
                             "deserializeFields", ChainWritable.of(
                                     shape.getAllMembers().entrySet().stream()
                                             .map(it -> {
                                                 var target = model.expectShape(it.getValue().getTarget());
                                                 return goTemplate("""
-                                                        if key == $field:S {
-                                                            fieldValue, err := $deserialize:L(serializedValue)
+                                                        case $field:S:
+                                                            fieldValue, err := $deserialize:L(d)
                                                             if err != nil {
                                                                 return nil, err
                                                             }
                                                             deserializedStruct.$fieldName:L = $deref:W
-                                                        }
                                                         """,
                                                         MapUtils.of(
                                                                 "field", it.getKey(),
@@ -215,25 +252,39 @@ public final class JsonDeserializerGenerator {
                             ).compose(false)
                     ));
             case UNION -> goTemplate("""
-                    for key, serializedValue := range $ident:L {
+                    var deserializedUnion $type:T
+                    for d.More() {
+                        kt, err := d.Token()
+                        if err != nil {
+                            return nil, err
+                        }
+                        switch kt.(string) {
                         $deserializeVariant:W
+                        default:
+                            if err := $discard:T(d); err != nil {
+                                return nil, err
+                            }
+                        }
                     }
+                    if _, err := d.Token(); err != nil {
+                        return nil, err
+                    }
+                    return deserializedUnion, nil
                     """,
                     MapUtils.of(
                             "type", symbolProvider.toSymbol(shape),
-                            "ident", ident,
+                            "discard", SmithyGoDependency.SMITHY_JSON.func("DiscardUnknownField"),
                             "deserializeVariant", ChainWritable.of(
                                     shape.getAllMembers().entrySet().stream()
                                             .map(it -> {
                                                 var target = model.expectShape(it.getValue().getTarget());
                                                 return goTemplate("""
-                                                        if key == $variant:S {
-                                                            variant, err := $deserialize:L(serializedValue)
+                                                        case $variant:S:
+                                                            variant, err := $deserialize:L(d)
                                                             if err != nil {
                                                                 return nil, err
                                                             }
-                                                            return variant, nil
-                                                        }
+                                                            deserializedUnion = variant
                                                         """,
                                                         MapUtils.of(
                                                                 "variant", it.getKey(),
@@ -244,12 +295,12 @@ public final class JsonDeserializerGenerator {
                             ).compose(false)
                     ));
             case TIMESTAMP -> goTemplate("""
-                    dts, err := $T(serializedValue)
+                    dts, err := $T($L)
                     if err != nil {
                         return nil, err
                     }
                     return dts, nil
-                    """, SmithyGoDependency.SMITHY_TIME.func("ParseDateTime"));
+                    """, SmithyGoDependency.SMITHY_TIME.func("ParseDateTime"), ident);
             default ->
                     throw new CodegenException("Unsupported: " + shape.getType());
         };
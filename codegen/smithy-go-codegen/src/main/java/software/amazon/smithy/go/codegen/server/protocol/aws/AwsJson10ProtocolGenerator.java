@@ -19,6 +19,7 @@ import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
 import static software.amazon.smithy.go.codegen.server.protocol.JsonDeserializerGenerator.getDeserializerName;
 import static software.amazon.smithy.go.codegen.server.protocol.JsonSerializerGenerator.getSerializerName;
 
+import java.util.LinkedHashMap;
 import java.util.Set;
 import software.amazon.smithy.aws.traits.protocols.AwsJson1_0Trait;
 import software.amazon.smithy.go.codegen.ChainWritable;
@@ -86,7 +87,9 @@ public final class AwsJson10ProtocolGenerator extends HttpHandlerProtocolGenerat
                     }
 
                     target := r.Header.Get("X-Amz-Target")
-                    $route:W
+                    if op, ok := $cutPrefix:T(target, $prefix:S); ok {
+                        $route:W
+                    }
 
                     writeEmpty(w, http.StatusNotFound)
                 }
@@ -97,25 +100,22 @@ public final class AwsJson10ProtocolGenerator extends HttpHandlerProtocolGenerat
                         "requestHandler", RequestHandler.NAME,
                         "rw", GoStdlibTypes.Net.Http.ResponseWriter,
                         "r", GoStdlibTypes.Net.Http.Request,
+                        "cutPrefix", SmithyGoDependency.STRINGS.func("CutPrefix"),
+                        "prefix", getTargetPrefix(),
                         "route", generateRouteRequest()
                 ));
     }
 
+    // routes on the operation name, once the target's service prefix has been checked
     private Writable generateRouteRequest() {
         var model = ctx.model();
         var service = ctx.settings().getService(ctx.model());
-        return ChainWritable.of(
-                TopDownIndex.of(model).getContainedOperations(service).stream()
-                        .filter(op -> !ServerCodegenUtil.operationHasEventStream(
-                            model, operationIndex.expectInputShape(op), operationIndex.expectOutputShape(op)))
-                        .map(it -> goTemplate("""
-                                if target == $S {
-                                    h.$L(w, r)
-                                    return
-                                }
-                                """, getOperationTarget(it), getOperationHandlerName(it)))
-                        .toList()
-        ).compose(false);
+        var routes = new LinkedHashMap<String, OperationShape>();
+        TopDownIndex.of(model).getContainedOperations(service).stream()
+                .filter(op -> !ServerCodegenUtil.operationHasEventStream(
+                    model, operationIndex.expectInputShape(op), operationIndex.expectOutputShape(op)))
+                .forEach(it -> routes.put(it.getId().getName(service), it));
+        return generateRouteSwitch("op", routes);
     }
 
     @Override
@@ -123,13 +123,7 @@ public final class AwsJson10ProtocolGenerator extends HttpHandlerProtocolGenerat
         return goTemplate("""
                 d := $decoder:T(r.Body)
                 d.UseNumber()
-                var jv map[string]interface{}
-                if err := d.Decode(&jv); err != nil {
-                    serializeError(w, err)
-                    return
-                }
-
-                in, err := $deserialize:L(jv)
+                in, err := $deserialize:L(d)
                 if err != nil {
                     serializeError(w, err)
                     return
@@ -219,8 +213,8 @@ public final class AwsJson10ProtocolGenerator extends HttpHandlerProtocolGenerat
                 ));
     }
 
-    private String getOperationTarget(OperationShape operation) {
+    private String getTargetPrefix() {
         var service = ctx.settings().getService(ctx.model());
-        return service.getId().getName(service) + "." + operation.getId().getName(service);
+        return service.getId().getName(service) + ".";
     }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import software.amazon.smithy.codegen.core.CodegenException;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Builds minimal perfect hash tables over string keys using hash-and-displace, for lookup by generated Go code
+ * (smithy.TypeRegistryIndex).
+ *
+ * <p>Keys are hashed into buckets, then the buckets are placed largest first: each bucket gets the smallest seed
+ * that rehashes all of its keys into distinct free slots. Single-key buckets are placed directly into whatever slots
+ * remain, which is encoded as a negative seed.
+ *
+ * <p>{@link #hash} MUST stay in sync with typeRegistryHash in the smithy-go runtime.
+ */
+@SmithyInternalApi
+public final class PerfectHash {
+    private static final int KEYS_PER_BUCKET = 2;
+    private static final int MAX_SEED = 1 << 24;
+
+    private final int[] seeds;
+    private final String[] slots;
+
+    private PerfectHash(int[] seeds, String[] slots) {
+        this.seeds = seeds;
+        this.slots = slots;
+    }
+
+    /**
+     * @return The first-level bucket seeds.
+     */
+    public int[] seeds() {
+        return seeds;
+    }
+
+    /**
+     * @return The keys in slot order.
+     */
+    public String[] slots() {
+        return slots;
+    }
+
+    /**
+     * Returns the slot for the given key, which is only meaningful if the key was in the table.
+     *
+     * @param key The key.
+     * @return The key's slot.
+     */
+    public int lookup(String key) {
+        var seed = seeds[Integer.remainderUnsigned(hash(0, key), seeds.length)];
+        return seed < 0
+                ? -seed - 1
+                : Integer.remainderUnsigned(hash(seed, key), slots.length);
+    }
+
+    /**
+     * Builds a table over the given keys, which must be distinct.
+     *
+     * @param keys The keys.
+     * @return The table.
+     */
+    public static PerfectHash build(List<String> keys) {
+        if (new HashSet<>(keys).size() != keys.size()) {
+            throw new CodegenException("perfect hash keys must be distinct");
+        }
+
+        var n = keys.size();
+        if (n == 0) {
+            return new PerfectHash(new int[0], new String[0]);
+        }
+
+        var numBuckets = (n + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET;
+        var buckets = new ArrayList<List<String>>(numBuckets);
+        for (var i = 0; i < numBuckets; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (var key : keys) {
+            buckets.get(Integer.remainderUnsigned(hash(0, key), numBuckets)).add(key);
+        }
+
+        var order = IntStream.range(0, numBuckets).boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> buckets.get(i).size()).reversed()
+                        .thenComparingInt(i -> i))
+                .toList();
+
+        var seeds = new int[numBuckets];
+        var slots = new String[n];
+        var free = 0;
+        for (int b : order) {
+            var bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            if (bucket.size() == 1) {
+                while (slots[free] != null) {
+                    free++;
+                }
+                slots[free] = bucket.get(0);
+                seeds[b] = -free - 1;
+                continue;
+            }
+            seeds[b] = place(bucket, slots);
+        }
+        return new PerfectHash(seeds, slots);
+    }
+
+    private static int place(List<String> bucket, String[] slots) {
+        var candidate = new int[bucket.size()];
+        for (var seed = 1; seed < MAX_SEED; seed++) {
+            if (tryPlace(bucket, slots, seed, candidate)) {
+                for (var i = 0; i < candidate.length; i++) {
+                    slots[candidate[i]] = bucket.get(i);
+                }
+                return seed;
+            }
+        }
+        throw new CodegenException("failed to build perfect hash for keys " + bucket);
+    }
+
+    private static boolean tryPlace(List<String> bucket, String[] slots, int seed, int[] candidate) {
+        for (var i = 0; i < bucket.size(); i++) {
+            var slot = Integer.remainderUnsigned(hash(seed, bucket.get(i)), slots.length);
+            if (slots[slot] != null) {
+                return false;
+            }
+            for (var j = 0; j < i; j++) {
+                if (candidate[j] == slot) {
+                    return false;
+                }
+            }
+            candidate[i] = slot;
+        }
+        return true;
+    }
+
+    /**
+     * 32-bit FNV-1a over the UTF-8 bytes of the key with the seed folded into the offset basis, followed by the
+     * murmur3 finalizer.
+     *
+     * @param seed The seed.
+     * @param key The key.
+     * @return The hash, as an unsigned 32-bit value.
+     */
+    public static int hash(int seed, String key) {
+        var h = 0x811c9dc5 ^ seed;
+        for (var b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 16777619;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
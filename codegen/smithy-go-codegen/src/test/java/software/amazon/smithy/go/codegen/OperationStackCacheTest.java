@@ -0,0 +1,117 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.hasGoInstalled;
+import static software.amazon.smithy.go.codegen.TestUtils.makeGoModule;
+import static software.amazon.smithy.go.codegen.TestUtils.testGoModule;
+
+import java.nio.file.Files;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+
+public class OperationStackCacheTest {
+    private static final Logger LOGGER = Logger.getLogger(OperationStackCacheTest.class.getName());
+
+    private static final String MODULE = "github.com/aws/smithy-go/internal/testmodule";
+
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("stacks.smithy", """
+                    $version: "2.0"
+                    namespace smithy.example
+
+                    service Example {
+                        version: "1.0.0"
+                        operations: [GetItem]
+                    }
+
+                    operation GetItem {
+                        input := {
+                            id: String
+                        }
+                        output := {
+                            name: String
+                        }
+                    }
+                    """)
+            .assemble()
+            .unwrap();
+
+    private static void generate(FileManifest manifest, boolean cacheOperationStacks) {
+        new GoCodegenPlugin().execute(PluginContext.builder()
+                .model(MODEL)
+                .fileManifest(manifest)
+                .settings(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example")
+                        .withMember("cacheOperationStacks", cacheOperationStacks))
+                .build());
+    }
+
+    // joins wrapped doc comment lines
+    private static String docs(MockManifest manifest, String file) {
+        return manifest.getFileString(file).get().replaceAll("\n\\s*// ", " ");
+    }
+
+    @Test
+    public void testCachedStacksCompiledOncePerOperation() {
+        var manifest = new MockManifest();
+        generate(manifest, true);
+        var client = manifest.getFileString("api_client.go").get();
+
+        assertThat(client, containsString("operationStacks *sync.Map"));
+        assertThat(client, containsString("op, err := c.resolveOperationStack(opID, optFns, stackFns)"));
+        assertThat(client, containsString("if len(optFns) > 0 || len(stackFns) != 1 || c.operationStacks == nil {"));
+        assertThat(client, containsString("handler: stack.Compile(handler),"));
+        assertThat(client, containsString("result, metadata, err = op.handler.Handle(ctx, params)"));
+
+        // the per-call bypass is documented where callers configure the stack
+        assertThat(docs(manifest, "options.go"),
+                containsString("A call that passes any functional options builds a stack of its own"));
+    }
+
+    @Test
+    public void testStacksBuiltPerCallByDefault() {
+        var manifest = new MockManifest();
+        generate(manifest, false);
+        var client = manifest.getFileString("api_client.go").get();
+
+        assertThat(client, not(containsString("resolveOperationStack")));
+        assertThat(client, not(containsString("stack.Compile")));
+        assertThat(client, containsString("decorated := middleware.DecorateHandler(handler, stack)"));
+        assertThat(docs(manifest, "options.go"), not(containsString("builds a stack of its own")));
+    }
+
+    @Test
+    public void testCachedStacksClientCompiles() throws Exception {
+        if (!hasGoInstalled()) {
+            LOGGER.warning("Skipping testCachedStacksClientCompiles, go command cannot be executed.");
+            return;
+        }
+
+        var testPath = Files.createTempDirectory(getClass().getName());
+        generate(FileManifest.create(testPath), true);
+
+        makeGoModule(testPath);
+        testGoModule(testPath);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.loadSmithyModelFromResource;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.integration.GoIntegration;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class ParallelShapeCodegenTest {
+    private static final String[] TESTS = {"mixin-test", "enum-shape-test", "int-enum-shape-test"};
+
+    @Test
+    public void testParallelOutputMatchesSequential() {
+        for (var test : TESTS) {
+            assertOutputMatches(test, loadSmithyModelFromResource(test), null);
+        }
+    }
+
+    @Test
+    public void testParallelOutputMatchesSequentialWithDecoratedSymbols() throws Exception {
+        var services = Files.createTempDirectory(getClass().getName());
+        var file = services.resolve("META-INF/services/" + GoIntegration.class.getName());
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, DecoratingIntegration.class.getName());
+
+        try (var loader = new URLClassLoader(new URL[]{services.toUri().toURL()}, getClass().getClassLoader())) {
+            for (var test : TESTS) {
+                var sequential = assertOutputMatches(test, loadSmithyModelFromResource(test), loader);
+                var decorated = sequential.getFiles().stream()
+                        .anyMatch(it -> sequential.getFileString(it).get().contains(DecoratingIntegration.SUFFIX));
+                assertThat(test + ": decorated symbols in output", decorated, equalTo(true));
+            }
+        }
+    }
+
+    // Generates the model sequentially and in parallel, checking both produce the same files, and returns the
+    // sequential output.
+    private static MockManifest assertOutputMatches(String test, Model model, ClassLoader loader) {
+        MockManifest sequential = generate(model, false, loader);
+        MockManifest parallel = generate(model, true, loader);
+
+        assertThat(test, sequential.getFiles(), not(empty()));
+        assertThat(test, parallel.getFiles(), equalTo(sequential.getFiles()));
+        for (var file : sequential.getFiles()) {
+            assertThat(test + ": " + file,
+                    parallel.getFileString(file).get(),
+                    equalTo(sequential.getFileString(file).get()));
+        }
+        return sequential;
+    }
+
+    private static MockManifest generate(Model model, boolean parallel, ClassLoader loader) {
+        MockManifest manifest = new MockManifest();
+        PluginContext.Builder context = PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(getSettingsNode("smithy.example#Example", "example", "0.0.1", false, "Example")
+                        .withMember("parallelShapeCodegen", parallel));
+        if (loader != null) {
+            context.pluginClassLoader(loader);
+        }
+        new GoCodegenPlugin().execute(context.build());
+        return manifest;
+    }
+
+    /**
+     * Renames the types of the model's shapes, memoizing the renamed symbols the way decorators that resolve names
+     * from the model often do.
+     */
+    public static final class DecoratingIntegration implements GoIntegration {
+        static final String SUFFIX = "Decorated";
+
+        @Override
+        public SymbolProvider decorateSymbolProvider(GoSettings settings, Model model, SymbolProvider symbolProvider) {
+            Map<ShapeId, Symbol> symbols = new ConcurrentHashMap<>();
+            return new SymbolProvider() {
+                @Override
+                public Symbol toSymbol(Shape shape) {
+                    var symbol = symbolProvider.toSymbol(shape);
+                    if (!(shape.isStructureShape() || shape.isUnionShape() || shape.isEnumShape())
+                            || shape.getId().getNamespace().equals("smithy.api")) {
+                        return symbol;
+                    }
+                    return symbols.computeIfAbsent(shape.getId(), id -> symbol.toBuilder()
+                            .name(symbol.getName() + SUFFIX)
+                            .build());
+                }
+
+                @Override
+                public String toMemberName(MemberShape shape) {
+                    return symbolProvider.toMemberName(shape);
+                }
+            };
+        }
+    }
+}
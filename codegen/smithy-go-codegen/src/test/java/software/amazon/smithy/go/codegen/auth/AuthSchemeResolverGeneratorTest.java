@@ -0,0 +1,73 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.auth;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.go.codegen.GoCodegenContext;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.integration.auth.AnonymousAuthScheme;
+import software.amazon.smithy.go.codegen.integration.auth.SigV4AuthScheme;
+import software.amazon.smithy.model.Model;
+
+public class AuthSchemeResolverGeneratorTest {
+    private static final String MODULE = "github.com/aws/smithy-go/internal/testmodule";
+
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("auth.smithy", """
+                    $version: "2.0"
+                    namespace smithy.example
+
+                    use aws.auth#sigv4
+
+                    @sigv4(name: "example")
+                    service Example {
+                        version: "1.0.0"
+                        operations: [GetSigned, GetAnonymous]
+                    }
+
+                    operation GetSigned {}
+
+                    @auth([])
+                    operation GetAnonymous {}
+                    """)
+            .assemble()
+            .unwrap();
+
+    @Test
+    public void testStaticOptionsAreBuiltOnce() {
+        var settings = GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example"));
+        var symbolProvider = GoCodegenPlugin.createSymbolProvider(MODEL, settings);
+        var manifest = new MockManifest();
+        var ctx = new GoCodegenContext(MODEL, settings, symbolProvider, manifest,
+                new GoDelegator(manifest, symbolProvider), List.of(new AnonymousAuthScheme(), new SigV4AuthScheme()));
+
+        var writer = new GoWriter(MODULE);
+        writer.write(new AuthSchemeResolverGenerator(ctx).generate());
+        var actual = writer.toString();
+
+        assertThat(actual, containsString("\"GetAnonymous\": staticAuthOptions([]*smithyauth.Option{"));
+        assertThat(actual, containsString("func serviceAuthOptions(params *AuthResolverParameters) []*smithyauth.Option {"));
+    }
+}
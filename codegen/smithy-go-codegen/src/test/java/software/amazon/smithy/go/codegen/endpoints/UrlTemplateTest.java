@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.endpoints;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
+
+public class UrlTemplateTest {
+    private static List<String> describe(List<UrlTemplate.Segment> segments) {
+        return segments.stream()
+                .map(it -> it.isDynamic() ? "{}" : it.literal())
+                .toList();
+    }
+
+    @Test
+    public void splitsStaticHostAndPath() {
+        var split = UrlTemplate.split(Template.fromString("https://s3.amazonaws.com/a-b")).orElseThrow();
+
+        assertThat(split.scheme(), Matchers.equalTo("https"));
+        assertThat(describe(split.host()), Matchers.contains("s3.amazonaws.com"));
+        assertThat(describe(split.path()), Matchers.contains("/a-b"));
+    }
+
+    @Test
+    public void splitsDynamicParts() {
+        var split = UrlTemplate.split(
+                Template.fromString("https://{Bucket}.s3.{Region}.amazonaws.com/{Key}/x")).orElseThrow();
+
+        assertThat(describe(split.host()), Matchers.contains("{}", ".s3.", "{}", ".amazonaws.com"));
+        assertThat(describe(split.path()), Matchers.contains("/", "{}", "/x"));
+    }
+
+    @Test
+    public void omitsEmptyPath() {
+        var split = UrlTemplate.split(Template.fromString("http://{Region}.example.com")).orElseThrow();
+
+        assertThat(split.scheme(), Matchers.equalTo("http"));
+        assertThat(describe(split.path()), Matchers.empty());
+    }
+
+    @Test
+    public void fallsBackToParsing() {
+        for (var template : List.of(
+                "{Endpoint}",
+                "{Scheme}://example.com",
+                "HTTPS://example.com",
+                "https://localhost:8080",
+                "https://example.com/a%2Fb",
+                "https://example.com/?a=b",
+                "example.com/{Bucket}")) {
+            assertThat(template, UrlTemplate.split(Template.fromString(template)).isPresent(),
+                    Matchers.is(false));
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.hasGoInstalled;
+import static software.amazon.smithy.go.codegen.TestUtils.makeGoModule;
+import static software.amazon.smithy.go.codegen.TestUtils.testGoModule;
+import static software.amazon.smithy.go.codegen.testutils.ExecuteCommand.execute;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoModuleInfo;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.ManifestWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.MapUtils;
+
+public class HttpProtocolGeneratorUtilsTest {
+    private static final Logger LOGGER = Logger.getLogger(HttpProtocolGeneratorUtilsTest.class.getName());
+
+    private static final String MODULE = "github.com/aws/smithy-go/internal/testmodule";
+    private static final int ERROR_COUNT = 60;
+    private static final int POOLED_LIMIT = 64;
+
+    // error names of 7 to 16 characters
+    private static final List<String> ERRORS = IntStream.range(0, ERROR_COUNT)
+            .mapToObj(i -> String.format("Error%02d%s", i, "Exception".substring(0, i % 10)))
+            .sorted()
+            .toList();
+
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("errors.smithy", """
+                    $version: "2.0"
+                    namespace smithy.example
+
+                    service Example {
+                        version: "1.0.0"
+                        operations: [Fail]
+                    }
+
+                    operation Fail {
+                        errors: [%s]
+                    }
+
+                    %s
+                    """.formatted(
+                            String.join(", ", ERRORS),
+                            ERRORS.stream()
+                                    .map(it -> "@error(\"client\")\nstructure " + it + " {}\n")
+                                    .collect(Collectors.joining())))
+            .assemble()
+            .unwrap();
+
+    private static void generateErrorDispatcher(GoWriter writer) {
+        generateErrorDispatcher(writer, getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example"));
+    }
+
+    private static void generateErrorDispatcher(GoWriter writer, ObjectNode settingsNode) {
+        var settings = GoSettings.from(settingsNode);
+        var symbolProvider = GoCodegenPlugin.createSymbolProvider(MODEL, settings);
+        var context = ProtocolGenerator.GenerationContext.builder()
+                .settings(settings)
+                .model(MODEL)
+                .service(settings.getService(MODEL))
+                .symbolProvider(symbolProvider)
+                .integrations(List.of())
+                .protocolName("test")
+                .delegator(new GoDelegator(new MockManifest(), symbolProvider))
+                .writer(writer)
+                .build();
+
+        writer.addUseImports(SmithyGoDependency.FMT);
+        HttpProtocolGeneratorUtils.generateErrorDispatcher(
+                context,
+                MODEL.expectShape(ShapeId.from("smithy.example#Fail"), OperationShape.class),
+                SmithyGoDependency.SMITHY_HTTP_TRANSPORT.pointableSymbol("Response"),
+                ctx -> ctx.getWriter().get().write("errorCode = response.Header.Get(\"X-Error\")"),
+                HttpProtocolGeneratorUtils::getOperationErrors);
+    }
+
+    @Test
+    public void testErrorCodesSwitchOnLoweredCode() {
+        var writer = new GoWriter(MODULE);
+        generateErrorDispatcher(writer);
+        var actual = writer.toString();
+
+        assertThat(actual, containsString("if code, ok := smithyhttp.LowerErrorCode(errorCode); ok {"));
+        assertThat(actual, containsString("switch code {"));
+        assertThat(actual.split("case \"error\\d\\d[a-z]*\":", -1).length - 1, equalTo(ERROR_COUNT));
+        var lowered = actual.indexOf("case \"error59exception\":");
+        assertThat(lowered >= 0, equalTo(true));
+        assertThat(actual.indexOf("return test_deserializeErrorError59Exception(", lowered),
+                equalTo(actual.indexOf("return ", lowered)));
+    }
+
+    @Test
+    public void testNonAsciiErrorCodesFallBackToEqualFold() {
+        var writer = new GoWriter(MODULE);
+        generateErrorDispatcher(writer);
+        var actual = writer.toString();
+
+        var fallback = actual.substring(actual.indexOf("} else {"));
+        assertThat(fallback.split("strings\\.EqualFold", -1).length - 1, equalTo(ERROR_COUNT));
+        assertThat(fallback, containsString("if strings.EqualFold(\"Error59Exception\", errorCode) {"));
+    }
+
+    @Test
+    public void testUnmatchedErrorCodeReturnedWithoutSwitch() {
+        var writer = new GoWriter(MODULE);
+        generateErrorDispatcher(writer);
+        var actual = writer.toString();
+
+        assertThat(actual, not(containsString("switch {")));
+        assertThat(actual, not(containsString("default:")));
+        assertThat(actual, containsString("return genericError"));
+    }
+
+    private static ObjectNode pooledSettings() {
+        return getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example")
+                .withMember("pooledErrorBuffers", true)
+                .withMember("maxErrorBodySize", Node.from(POOLED_LIMIT));
+    }
+
+    @Test
+    public void testPooledErrorBodyPastLimitReported() {
+        var writer = new GoWriter(MODULE);
+        generateErrorDispatcher(writer, pooledSettings());
+        var actual = writer.toString();
+
+        assertThat(actual, containsString("smithyio.ReadAllPooled(response.Body, response.ContentLength, 64)"));
+        var discarded = actual.indexOf("if n := errorBuffer.Discarded(); n > 0 {");
+        assertThat(discarded >= 0, equalTo(true));
+        assertThat(actual.indexOf("return &smithy.DeserializationError{", discarded),
+                equalTo(actual.indexOf("return ", discarded)));
+        assertThat(actual, containsString("error response body exceeds 64 bytes, %d bytes discarded"));
+        assertThat(discarded < actual.indexOf("errorBody := bytes.NewReader(errorBuffer.Bytes())"), equalTo(true));
+    }
+
+    // Dispatches error responses through the pooled error function, checking that a body within the limit is
+    // deserialized, and one past it is drained and reported.
+    @Test
+    public void testPooledErrorBodyPastLimit() throws Exception {
+        if (!hasGoInstalled()) {
+            LOGGER.warning("Skipping testPooledErrorBodyPastLimit, go command cannot be executed.");
+            return;
+        }
+
+        var testPath = Files.createTempDirectory(getClass().getName());
+        var fileManifest = FileManifest.create(testPath);
+        var writers = new GoDelegator(fileManifest,
+                GoCodegenPlugin.createSymbolProvider(MODEL, GoSettings.from(pooledSettings())));
+
+        writers.useFileWriter("deserializers.go", MODULE, w -> {
+            generateErrorDispatcher(w, pooledSettings());
+            for (var error : ERRORS) {
+                w.writeGoTemplate("""
+                        func test_deserializeError$name:L(response $response:P, errorBody $reader:P) error {
+                            body, _ := $readAll:T(errorBody)
+                            return &$apiError:T{Code: $name:S, Message: string(body)}
+                        }
+                        """,
+                        MapUtils.of(
+                                "name", error,
+                                "response", SmithyGoDependency.SMITHY_HTTP_TRANSPORT.pointableSymbol("Response"),
+                                "reader", SmithyGoDependency.BYTES.pointableSymbol("Reader"),
+                                "readAll", SmithyGoDependency.IO.func("ReadAll"),
+                                "apiError", SmithyGoDependency.SMITHY.struct("GenericAPIError")));
+            }
+        });
+        writers.useFileWriter("deserializers_test.go", MODULE, w -> w.writeGoTemplate("""
+                func TestDeserializeOpError_BodyLimit(t $testingT:P) {
+                    for _, size := range []int{$limit:L, $limit:L + 1, 10 * $limit:L} {
+                        body := $newReader:T($repeat:T("a", size))
+                        resp := &$response:T{Response: &$httpResponse:T{
+                            Header:        $header:T{},
+                            Body:          $nopCloser:T(body),
+                            ContentLength: int64(size),
+                        }}
+                        resp.Header.Set("X-Error", $first:S)
+
+                        var metadata $metadata:T
+                        err := test_deserializeOpErrorFail(resp, &metadata)
+                        if body.Len() != 0 {
+                            t.Errorf("size %d: expect body drained, got %d bytes unread", size, body.Len())
+                        }
+
+                        if size <= $limit:L {
+                            var apiErr $apiError:P
+                            if !$errorsAs:T(err, &apiErr) || apiErr.Code != $first:S || len(apiErr.Message) != size {
+                                t.Errorf("size %d: expect %s error with the full body, got %v", size, $first:S, err)
+                            }
+                            continue
+                        }
+
+                        var deserErr $deserializationError:P
+                        if !$errorsAs:T(err, &deserErr) {
+                            t.Fatalf("size %d: expect deserialization error, got %v", size, err)
+                        }
+                        expect := $sprintf:T("exceeds %d bytes, %d bytes discarded", $limit:L, size-$limit:L)
+                        if !$contains:T(err.Error(), expect) {
+                            t.Errorf("size %d: expect error to contain %q, got %v", size, expect, err)
+                        }
+                    }
+                }
+                """,
+                MapUtils.of(
+                        "limit", POOLED_LIMIT,
+                        "first", ERRORS.get(0),
+                        "testingT", SmithyGoDependency.TESTING.struct("T"),
+                        "newReader", SmithyGoDependency.STRINGS.func("NewReader"),
+                        "repeat", SmithyGoDependency.STRINGS.func("Repeat"),
+                        "contains", SmithyGoDependency.STRINGS.func("Contains"),
+                        "nopCloser", SmithyGoDependency.IO.func("NopCloser"),
+                        "response", SmithyGoDependency.SMITHY_HTTP_TRANSPORT.struct("Response"),
+                        "httpResponse", SmithyGoDependency.NET_HTTP.struct("Response"),
+                        "header", SmithyGoDependency.NET_HTTP.struct("Header")),
+                MapUtils.of(
+                        "metadata", SmithyGoDependency.SMITHY_MIDDLEWARE.struct("Metadata"),
+                        "errorsAs", SmithyGoDependency.ERRORS.func("As"),
+                        "sprintf", SmithyGoDependency.FMT.func("Sprintf"),
+                        "apiError", SmithyGoDependency.SMITHY.pointableSymbol("GenericAPIError"),
+                        "deserializationError", SmithyGoDependency.SMITHY.pointableSymbol("DeserializationError")
+                )));
+
+        var dependencies = writers.getDependencies();
+        writers.flushWriters();
+        ManifestWriter.builder()
+                .moduleName(MODULE)
+                .fileManifest(fileManifest)
+                .goModuleInfo(new GoModuleInfo.Builder()
+                        .goDirective(GoModuleInfo.DEFAULT_GO_DIRECTIVE)
+                        .dependencies(dependencies)
+                        .build())
+                .build()
+                .writeManifest();
+
+        makeGoModule(testPath);
+        testGoModule(testPath);
+    }
+
+    // Benchmarks the generated error function on the last-declared error code, against comparing the code to each
+    // error in turn.
+    @Test
+    public void testBenchmarkErrorDispatcher() throws Exception {
+        if (!hasGoInstalled()) {
+            LOGGER.warning("Skipping testBenchmarkErrorDispatcher, go command cannot be executed.");
+            return;
+        }
+
+        var testPath = Files.createTempDirectory(getClass().getName());
+        var fileManifest = FileManifest.create(testPath);
+        var settings = GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example"));
+        var writers = new GoDelegator(fileManifest, GoCodegenPlugin.createSymbolProvider(MODEL, settings));
+
+        writers.useFileWriter("deserializers.go", MODULE, w -> {
+            generateErrorDispatcher(w);
+            for (var error : ERRORS) {
+                w.writeGoTemplate("""
+                        func test_deserializeError$name:L(response $response:P, errorBody $reader:P) error {
+                            return &$apiError:T{Code: $name:S}
+                        }
+                        """,
+                        MapUtils.of(
+                                "name", error,
+                                "response", SmithyGoDependency.SMITHY_HTTP_TRANSPORT.pointableSymbol("Response"),
+                                "reader", SmithyGoDependency.BYTES.pointableSymbol("Reader"),
+                                "apiError", SmithyGoDependency.SMITHY.struct("GenericAPIError")));
+            }
+        });
+        writers.useFileWriter("deserializers_test.go", MODULE, w -> w.writeGoTemplate("""
+                var errorNames = []string{$names:L}
+
+                func BenchmarkDeserializeOpError(b $testingB:P) {
+                    code := $last:S
+                    resp := &$response:T{Response: &$httpResponse:T{Header: $header:T{}}}
+                    resp.Header.Set("X-Error", code)
+
+                    b.Run("Generated", func(b $testingB:P) {
+                        var metadata $metadata:T
+                        for b.Loop() {
+                            resp.Body = $noBody:T
+                            err := test_deserializeOpErrorFail(resp, &metadata)
+                            if apiErr, ok := err.($apiError:P); !ok || apiErr.Code != $last:S {
+                                b.Fatalf("expect %s error, got %v", $last:S, err)
+                            }
+                        }
+                    })
+                    b.Run("Sequential", func(b $testingB:P) {
+                        for b.Loop() {
+                            var matched string
+                            for _, name := range errorNames {
+                                if $equalFold:T(name, resp.Header.Get("X-Error")) {
+                                    matched = name
+                                    break
+                                }
+                            }
+                            if matched != $last:S {
+                                b.Fatalf("expect %s, got %s", $last:S, matched)
+                            }
+                        }
+                    })
+                }
+                """,
+                MapUtils.of(
+                        "names", ERRORS.stream().map(it -> "\"" + it + "\"").collect(Collectors.joining(", ")),
+                        "last", ERRORS.get(ERRORS.size() - 1),
+                        "testingB", SmithyGoDependency.TESTING.struct("B"),
+                        "equalFold", SmithyGoDependency.STRINGS.func("EqualFold"),
+                        "response", SmithyGoDependency.SMITHY_HTTP_TRANSPORT.struct("Response"),
+                        "httpResponse", SmithyGoDependency.NET_HTTP.struct("Response"),
+                        "header", SmithyGoDependency.NET_HTTP.struct("Header"),
+                        "noBody", SmithyGoDependency.NET_HTTP.valueSymbol("NoBody"),
+                        "metadata", SmithyGoDependency.SMITHY_MIDDLEWARE.struct("Metadata"),
+                        "apiError", SmithyGoDependency.SMITHY.pointableSymbol("GenericAPIError")
+                )));
+
+        var dependencies = writers.getDependencies();
+        writers.flushWriters();
+        ManifestWriter.builder()
+                .moduleName(MODULE)
+                .fileManifest(fileManifest)
+                .goModuleInfo(new GoModuleInfo.Builder()
+                        .goDirective(GoModuleInfo.DEFAULT_GO_DIRECTIVE)
+                        .dependencies(dependencies)
+                        .build())
+                .build()
+                .writeManifest();
+
+        makeGoModule(testPath);
+        execute(testPath.toFile(), "go", "test", "-run", "^$", "-bench", ".", "./...");
+    }
+}
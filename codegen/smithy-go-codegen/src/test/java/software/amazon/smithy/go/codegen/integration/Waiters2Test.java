@@ -0,0 +1,191 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.waiters.WaitableTrait;
+
+public class Waiters2Test {
+    private static final Model MODEL = Model.assembler()
+            .discoverModels()
+            .addUnparsedModel("waiters.smithy", """
+                    $version: "2.0"
+                    namespace smithy.example
+
+                    use smithy.waiters#waitable
+
+                    service Example {
+                        version: "1.0.0"
+                        operations: [DescribeInstances]
+                    }
+
+                    @waitable(
+                        InstanceRunning: {
+                            acceptors: [
+                                {
+                                    state: "success"
+                                    matcher: { success: true }
+                                }
+                                {
+                                    state: "retry"
+                                    matcher: { errorType: "InvalidInstanceID.Unavailable" }
+                                }
+                            ]
+                        }
+                    )
+                    operation DescribeInstances {
+                        errors: [InstanceNotFound, ThrottlingException]
+                        input := {
+                            InstanceIds: IdList
+                            MaxResults: Integer
+                        }
+                        output := {
+                            Reservations: ReservationList
+                        }
+                    }
+
+                    operation DescribeVolumes {
+                        input := {
+                            VolumeIds: IdList
+                        }
+                        output := {
+                            Instances: InstanceList
+                        }
+                    }
+
+                    operation DescribeTables {
+                        input := {
+                            TableNames: IdList
+                            Owners: IdList
+                        }
+                        output := {
+                            Tables: TableList
+                        }
+                    }
+
+                    operation DescribeStatuses {
+                        input := {
+                            Statuses: StatusList
+                        }
+                        output := {
+                            Items: StatusItemList
+                        }
+                    }
+
+                    @error("client")
+                    structure InstanceNotFound {}
+
+                    @error("client")
+                    structure ThrottlingException {}
+
+                    list IdList {
+                        member: String
+                    }
+
+                    list ReservationList {
+                        member: Reservation
+                    }
+
+                    structure Reservation {
+                        ReservationId: String
+                        Instances: InstanceList
+                    }
+
+                    list InstanceList {
+                        member: Instance
+                    }
+
+                    structure Instance {
+                        InstanceId: String
+                    }
+
+                    list TableList {
+                        member: Table
+                    }
+
+                    structure Table {
+                        TableName: String
+                    }
+
+                    enum Status {
+                        OK
+                    }
+
+                    list StatusList {
+                        member: Status
+                    }
+
+                    list StatusItemList {
+                        member: StatusItem
+                    }
+
+                    structure StatusItem {
+                        Status: Status
+                    }
+                    """)
+            .assemble()
+            .unwrap();
+
+    private static Optional<Waiters2.BatchTarget> batchTarget(String operation) {
+        return Waiters2.BatchTarget.of(MODEL,
+                MODEL.expectShape(ShapeId.from("smithy.example#" + operation), OperationShape.class));
+    }
+
+    @Test
+    public void testBatchSplitErrorCodes() {
+        var service = MODEL.expectShape(ShapeId.from("smithy.example#Example"), ServiceShape.class);
+        var operation = MODEL.expectShape(ShapeId.from("smithy.example#DescribeInstances"), OperationShape.class);
+        var waiter = operation.expectTrait(WaitableTrait.class).getWaiters().get("InstanceRunning");
+
+        // throttling isn't tied to a single resource, so it doesn't split batches
+        assertThat(Waiters2.getBatchSplitErrorCodes(service, operation, waiter),
+                contains("InstanceNotFound", "InvalidInstanceID.Unavailable"));
+    }
+
+    @Test
+    public void testBatchTargetNestedPath() {
+        var target = batchTarget("DescribeInstances").get();
+
+        assertThat(target.ids().getMemberName(), equalTo("InstanceIds"));
+        assertThat(target.path().stream().map(it -> it.getMemberName()).toList(),
+                contains("Reservations", "Instances"));
+        assertThat(target.key().getId(), equalTo(ShapeId.from("smithy.example#Instance$InstanceId")));
+    }
+
+    @Test
+    public void testBatchTargetRequiresKeyMember() {
+        assertThat(batchTarget("DescribeVolumes").isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void testBatchTargetRequiresSingleIdentifierList() {
+        assertThat(batchTarget("DescribeTables").isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void testBatchTargetIgnoresEnums() {
+        assertThat(batchTarget("DescribeStatuses").isPresent(), equalTo(false));
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.serde.cbor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.hasGoInstalled;
+import static software.amazon.smithy.go.codegen.TestUtils.makeGoModule;
+import static software.amazon.smithy.go.codegen.TestUtils.testGoModule;
+import static software.amazon.smithy.go.codegen.testutils.ExecuteCommand.execute;
+
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.ChainWritable;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoModuleInfo;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.ManifestWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.MapUtils;
+
+public class CborDeserializerGeneratorTest {
+    private static final Logger LOGGER = Logger.getLogger(CborDeserializerGeneratorTest.class.getName());
+
+    private static final String MODULE = "github.com/aws/smithy-go/internal/testmodule";
+    private static final List<Integer> WIDTHS = List.of(10, 20, 40, 80);
+
+    private static Model wideModel() {
+        var structures = WIDTHS.stream()
+                .map(width -> "structure Wide" + width + " {\n"
+                        + IntStream.range(0, width)
+                                .mapToObj(i -> String.format("    f%02d: String\n", i))
+                                .collect(Collectors.joining())
+                        + "}\n")
+                .collect(Collectors.joining("\n"));
+        return Model.assembler()
+                .addUnparsedModel("wide.smithy", """
+                        $version: "2.0"
+                        namespace smithy.example
+
+                        service Example {
+                            version: "1.0.0"
+                        }
+
+                        """ + structures)
+                .assemble()
+                .unwrap();
+    }
+
+    private static final Model STREAMING_MODEL = Model.assembler()
+            .addUnparsedModel("streaming.smithy", """
+                    $version: "2.0"
+                    namespace smithy.example
+
+                    service Example {
+                        version: "1.0.0"
+                    }
+
+                    structure Record {
+                        Name: String
+                        Tags: SparseTags
+                        Values: SparseValues
+                        Choice: Choice
+                    }
+
+                    @sparse
+                    map SparseTags {
+                        key: String
+                        value: String
+                    }
+
+                    @sparse
+                    list SparseValues {
+                        member: Integer
+                    }
+
+                    union Choice {
+                        Text: String
+                        Nested: Record
+                    }
+                    """)
+            .assemble()
+            .unwrap();
+
+    private static CborDeserializerGenerator generator(Model model, SymbolProvider symbolProvider) {
+        var settings = GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example"));
+        return new CborDeserializerGenerator(ProtocolGenerator.GenerationContext.builder()
+                .settings(settings)
+                .model(model)
+                .service(settings.getService(model))
+                .symbolProvider(symbolProvider)
+                .integrations(List.of())
+                .protocolName("rpc2")
+                .delegator(new GoDelegator(new MockManifest(), symbolProvider))
+                .build());
+    }
+
+    private static LinkedHashSet<Shape> wideShapes(Model model) {
+        var shapes = new LinkedHashSet<Shape>();
+        shapes.add(model.expectShape(ShapeId.from("smithy.api#String")));
+        WIDTHS.forEach(it -> shapes.add(model.expectShape(ShapeId.from("smithy.example#Wide" + it))));
+        return shapes;
+    }
+
+    @Test
+    public void testStructFieldsDispatchOnSingleSwitch() {
+        var model = wideModel();
+        var symbolProvider = GoCodegenPlugin.createSymbolProvider(
+                model, GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example")));
+
+        var writer = new GoWriter(MODULE);
+        writer.write(generator(model, symbolProvider).generate(wideShapes(model)));
+        var actual = writer.toString();
+
+        assertThat(actual, not(containsString("key ==")));
+        assertThat(actual.split("switch key \\{", -1).length - 1, equalTo(WIDTHS.size()));
+        assertThat(actual.split("case \"f\\d\\d\":", -1).length - 1,
+                equalTo(WIDTHS.stream().mapToInt(Integer::intValue).sum()));
+    }
+
+    @Test
+    public void testStructFieldCasesAssignTheirMember() {
+        var model = wideModel();
+        var symbolProvider = GoCodegenPlugin.createSymbolProvider(
+                model, GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example")));
+
+        var writer = new GoWriter(MODULE);
+        writer.write(generator(model, symbolProvider).generate(wideShapes(model)));
+        var actual = writer.toString();
+
+        var body = actual.substring(actual.indexOf("func deserializeCBOR_Wide80("));
+        body = body.substring(0, body.indexOf("\n}\n"));
+        for (int i = 0; i < 80; i++) {
+            var name = String.format("%02d", i);
+            var field = body.indexOf("case \"f" + name + "\":");
+            var next = body.indexOf("case ", field + 1);
+            var assignment = body.indexOf("ds.F" + name + " = ", field);
+            assertThat(name, field >= 0 && assignment > field && (next < 0 || assignment < next), equalTo(true));
+        }
+    }
+
+    // Decodes fully-populated structures of increasing width with the generated deserializers, checking that every
+    // member is set, then benchmarks them. The cost per field should stay flat as structures get wider.
+    @Test
+    public void testBenchmarkWideStructs() throws Exception {
+        if (!hasGoInstalled()) {
+            LOGGER.warning("Skipping testBenchmarkWideStructs, go command cannot be executed.");
+            return;
+        }
+
+        var testPath = Files.createTempDirectory(getClass().getName());
+        var model = wideModel();
+        var fileManifest = FileManifest.create(testPath);
+        var symbolProvider = GoCodegenPlugin.createSymbolProvider(
+                model, GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example")));
+        var writers = new GoDelegator(fileManifest, symbolProvider);
+
+        writers.useFileWriter("types/types.go", MODULE + "/types", w -> {
+            for (var width : WIDTHS) {
+                w.openBlock("type Wide$L struct {", "}", width, () -> {
+                    for (int i = 0; i < width; i++) {
+                        w.write("F$L *string", String.format("%02d", i));
+                    }
+                });
+            }
+        });
+        writers.useFileWriter("deserializers.go", MODULE, w ->
+                w.write(generator(model, symbolProvider).generate(wideShapes(model))));
+        writers.useFileWriter("deserializers_test.go", MODULE, w -> w.writeGoTemplate("""
+                var wideStructs = []struct {
+                    width       int
+                    deserialize func($cborValue:T) (any, error)
+                }{
+                    $widths:W
+                }
+
+                func wideMap(width int) $cborMap:T {
+                    m := $cborMap:T{}
+                    for i := range width {
+                        m[$sprintf:T("f%02d", i)] = $cborString:T("v")
+                    }
+                    return m
+                }
+
+                func TestDeserializeWideStruct(t $testingT:P) {
+                    for _, ws := range wideStructs {
+                        out, err := ws.deserialize(wideMap(ws.width))
+                        if err != nil {
+                            t.Fatalf("width %d: expect no error, got %v", ws.width, err)
+                        }
+
+                        v := $valueOf:T(out).Elem()
+                        if expect, actual := ws.width, v.NumField(); expect != actual {
+                            t.Fatalf("expect %d fields, got %d", expect, actual)
+                        }
+                        for i := range v.NumField() {
+                            if f := v.Field(i); f.IsNil() || f.Elem().String() != "v" {
+                                t.Errorf("width %d: expect %s set, got %v", ws.width, v.Type().Field(i).Name, f)
+                            }
+                        }
+                    }
+                }
+
+                func BenchmarkDeserializeWideStruct(b $testingB:P) {
+                    for _, ws := range wideStructs {
+                        m := wideMap(ws.width)
+                        b.Run($sprintf:T("Fields=%d", ws.width), func(b $testingB:P) {
+                            b.ReportAllocs()
+                            for b.Loop() {
+                                if _, err := ws.deserialize(m); err != nil {
+                                    b.Fatal(err)
+                                }
+                            }
+                            perField := float64(b.Elapsed().Nanoseconds()) / float64(b.N) / float64(ws.width)
+                            b.ReportMetric(perField, "ns/field")
+                        })
+                    }
+                }
+                """,
+                MapUtils.of(
+                        "widths", ChainWritable.of(WIDTHS, it -> goTemplate(
+                                "{$L, func(v $T) (any, error) { return deserializeCBOR_Wide$L(v) }},",
+                                it, SmithyGoDependency.SMITHY_CBOR.func("Value"), it)).compose(false),
+                        "testingT", SmithyGoDependency.TESTING.struct("T"),
+                        "testingB", SmithyGoDependency.TESTING.struct("B"),
+                        "valueOf", SmithyGoDependency.REFLECT.func("ValueOf"),
+                        "cborValue", SmithyGoDependency.SMITHY_CBOR.func("Value"),
+                        "cborMap", SmithyGoDependency.SMITHY_CBOR.func("Map"),
+                        "cborString", SmithyGoDependency.SMITHY_CBOR.func("String"),
+                        "sprintf", SmithyGoDependency.FMT.func("Sprintf")
+                )));
+
+        var dependencies = writers.getDependencies();
+        writers.flushWriters();
+        ManifestWriter.builder()
+                .moduleName(MODULE)
+                .fileManifest(fileManifest)
+                .goModuleInfo(new GoModuleInfo.Builder()
+                        .goDirective(GoModuleInfo.DEFAULT_GO_DIRECTIVE)
+                        .dependencies(dependencies)
+                        .build())
+                .build()
+                .writeManifest();
+
+        makeGoModule(testPath);
+        testGoModule(testPath);
+        execute(testPath.toFile(), "go", "test", "-run", "^$", "-bench", ".", "./...");
+    }
+
+    private static String generateStreaming() {
+        var symbolProvider = GoCodegenPlugin.createSymbolProvider(STREAMING_MODEL,
+                GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example")));
+        var shapes = new LinkedHashSet<Shape>();
+        for (var name : List.of("Record", "SparseTags", "SparseValues", "Choice")) {
+            shapes.add(STREAMING_MODEL.expectShape(ShapeId.from("smithy.example#" + name)));
+        }
+        shapes.add(STREAMING_MODEL.expectShape(ShapeId.from("smithy.api#String")));
+        shapes.add(STREAMING_MODEL.expectShape(ShapeId.from("smithy.api#Integer")));
+
+        var writer = new GoWriter(MODULE);
+        writer.write(generator(STREAMING_MODEL, symbolProvider).generateStreaming(shapes));
+        return writer.toString();
+    }
+
+    private static String function(String source, String name) {
+        var body = source.substring(source.indexOf("func " + name + "("));
+        return body.substring(0, body.indexOf("\n}\n") + 2);
+    }
+
+    @Test
+    public void testStreamingStructReadsKeysOffDecoder() {
+        var actual = function(generateStreaming(), "decodeCBOR_Record");
+
+        assertThat(actual, containsString("func decodeCBOR_Record(d *smithycbor.Decoder) (*types.Record, error) {"));
+        assertThat(actual, containsString("n, err := d.ReadMapLen()"));
+        assertThat(actual, containsString("more, err := d.More(&n)"));
+        assertThat(actual, containsString("switch string(key) {"));
+        assertThat(actual, containsString("case \"Tags\":"));
+        assertThat(actual, containsString("dv, err := decodeCBOR_SparseTags(d)"));
+        // unknown members are skipped rather than failing the decode
+        assertThat(actual, containsString("if err := d.Skip(); err != nil {"));
+        // nil members are left unset
+        assertThat(actual, containsString("if isNil, err := d.ReadNil(); err != nil {"));
+        assertThat(actual, not(containsString("smithycbor.Value")));
+    }
+
+    @Test
+    public void testStreamingUnionKeepsFirstVariant() {
+        var actual = function(generateStreaming(), "decodeCBOR_Choice");
+
+        assertThat(actual, containsString("var uv types.Choice"));
+        assertThat(actual, containsString("if uv != nil {"));
+        assertThat(actual, containsString("dv, err := decodeCBOR_Record(d)"));
+        assertThat(actual, containsString("uv = &types.ChoiceMemberText{Value:"));
+        assertThat(actual, containsString("uv = &types.ChoiceMemberNested{Value: *"));
+        assertThat(actual, containsString("return nil, fmt.Errorf(\"unrecognized variant\")"));
+    }
+
+    @Test
+    public void testStreamingSparseAggregatesKeepNils() {
+        var source = generateStreaming();
+
+        assertThat(function(source, "decodeCBOR_SparseTags"), containsString("dm[mk] = nil"));
+        assertThat(function(source, "decodeCBOR_SparseValues"), containsString("dl = append(dl, nil)"));
+    }
+}
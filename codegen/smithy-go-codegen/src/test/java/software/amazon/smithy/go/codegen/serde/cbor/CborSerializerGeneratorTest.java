@@ -0,0 +1,92 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.serde.cbor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class CborSerializerGeneratorTest {
+    private static final String MODULE = "github.com/aws/smithy-go/internal/testmodule";
+
+    @Test
+    public void testDirectEncodersUsePrecomputedKeys() {
+        var model = Model.assembler()
+                .addUnparsedModel("put.smithy", """
+                        $version: "2.0"
+                        namespace smithy.example
+
+                        service Example {
+                            version: "1.0.0"
+                        }
+
+                        structure PutRecordInput {
+                            StreamName: String
+                            Data: Blob
+                            SequenceNumberForOrdering: Long
+                            Tags: TagList
+                        }
+
+                        list TagList {
+                            member: String
+                        }
+                        """)
+                .assemble()
+                .unwrap();
+        var settings = GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example"));
+        var symbolProvider = GoCodegenPlugin.createSymbolProvider(model, settings);
+        var generator = new CborSerializerGenerator(ProtocolGenerator.GenerationContext.builder()
+                .settings(settings)
+                .model(model)
+                .service(settings.getService(model))
+                .symbolProvider(symbolProvider)
+                .integrations(List.of())
+                .protocolName("rpc2")
+                .delegator(new GoDelegator(new MockManifest(), symbolProvider))
+                .build());
+
+        var shapes = new LinkedHashSet<Shape>();
+        for (var id : List.of("smithy.api#String", "smithy.api#Blob", "smithy.api#Long",
+                "smithy.example#TagList", "smithy.example#PutRecordInput")) {
+            shapes.add(model.expectShape(ShapeId.from(id)));
+        }
+
+        var writer = new GoWriter(MODULE);
+        writer.write(generator.generateDirect(shapes));
+        var actual = writer.toString();
+
+        assertThat(actual, containsString("w.WriteKey(\"\\x6aStreamName\")"));
+        assertThat(actual, containsString("w.WriteKey(\"\\x64Data\")"));
+        assertThat(actual, containsString("w.WriteKey(\"\\x78\\x19SequenceNumberForOrdering\")"));
+        assertThat(actual, containsString("w.WriteListHeader(len(v))"));
+        assertThat(actual, containsString("w.CloseMap(m, n)"));
+        assertThat(actual, not(containsString("smithycbor.Map")));
+    }
+}
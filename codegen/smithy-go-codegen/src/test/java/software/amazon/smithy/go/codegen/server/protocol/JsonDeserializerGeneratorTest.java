@@ -0,0 +1,251 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.server.protocol;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.buildPluginContext;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.hasGoInstalled;
+import static software.amazon.smithy.go.codegen.TestUtils.makeGoModule;
+import static software.amazon.smithy.go.codegen.TestUtils.testGoModule;
+import static software.amazon.smithy.go.codegen.server.ServerCodegenUtil.getShapesToSerde;
+import static software.amazon.smithy.go.codegen.testutils.ExecuteCommand.execute;
+
+import java.nio.file.Files;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.server.ServerCodegenPlugin;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class JsonDeserializerGeneratorTest {
+    private static final Logger LOGGER = Logger.getLogger(JsonDeserializerGeneratorTest.class.getName());
+
+    private static final String MODULE = "github.com/aws/smithy-go/internal/testmodule";
+
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("server.smithy", """
+                    $version: "2.0"
+                    namespace smithy.example
+
+                    use aws.protocols#awsJson1_0
+
+                    @awsJson1_0
+                    service Example {
+                        version: "1.0.0"
+                        operations: [PutRecords]
+                    }
+
+                    operation PutRecords {
+                        input := {
+                            StreamName: String
+                            Records: RecordList
+                            Attributes: AttributeMap
+                            Shards: ShardMap
+                            Batches: BatchList
+                        }
+                        output := {}
+                    }
+
+                    list RecordList {
+                        member: Record
+                    }
+
+                    map AttributeMap {
+                        key: String
+                        value: String
+                    }
+
+                    map ShardMap {
+                        key: String
+                        value: RecordList
+                    }
+
+                    list BatchList {
+                        member: AttributeMap
+                    }
+
+                    structure Record {
+                        Data: Blob
+                        PartitionKey: String
+                        SequenceNumber: Long
+                        Retry: Boolean
+                    }
+                    """)
+            .assemble()
+            .unwrap();
+
+    @Test
+    public void testDeserializersReadTokenStream() {
+        var settings = GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example"));
+        var input = MODEL.expectShape(ShapeId.from("smithy.example#PutRecordsInput"));
+        var writer = new GoWriter(MODULE);
+        writer.write(new JsonDeserializerGenerator(MODEL, GoCodegenPlugin.createSymbolProvider(MODEL, settings))
+                .generate(getShapesToSerde(MODEL, input)));
+        var actual = writer.toString();
+
+        assertThat(actual, not(containsString("map[string]interface{}")));
+        assertThat(actual, containsString("func deserializePutRecordsInput(d *json.Decoder)"));
+        assertThat(actual, containsString("case \"SequenceNumber\":"));
+        assertThat(actual, containsString("smithyjson.DiscardUnknownField(d)"));
+    }
+
+    // Serves a request through the generated handler, and checks the input passed to the service against the
+    // request body without its unknown members. Also runs a benchmark of request throughput, input decoding included,
+    // with requests served concurrently across GOMAXPROCS goroutines.
+    @Test
+    public void testHandlerDecodesInput() throws Exception {
+        if (!hasGoInstalled()) {
+            LOGGER.warning("Skipping testHandlerDecodesInput, go command cannot be executed.");
+            return;
+        }
+
+        var testPath = Files.createTempDirectory(getClass().getName());
+        var fileManifest = FileManifest.create(testPath);
+        new ServerCodegenPlugin().execute(buildPluginContext(
+                MODEL, fileManifest, "smithy.example#Example", MODULE, "0.0.1", false));
+        fileManifest.writeFile("handler_test.go", """
+                package testmodule
+
+                import (
+                    "bytes"
+                    "context"
+                    "encoding/json"
+                    "net/http"
+                    "net/http/httptest"
+                    "reflect"
+                    "strings"
+                    "testing"
+                )
+
+                type recordingService struct {
+                    NoopFallbackService
+                    input *PutRecordsInput
+                }
+
+                func (s *recordingService) PutRecords(ctx context.Context, in *PutRecordsInput) (*PutRecordsOutput, error) {
+                    s.input = in
+                    return &PutRecordsOutput{}, nil
+                }
+
+                func decodeAny(t *testing.T, p []byte) any {
+                    t.Helper()
+                    d := json.NewDecoder(strings.NewReader(string(p)))
+                    d.UseNumber()
+                    var v any
+                    if err := d.Decode(&v); err != nil {
+                        t.Fatalf("decode %s: %v", p, err)
+                    }
+                    return v
+                }
+
+                func TestServeHTTP_DecodesInput(t *testing.T) {
+                    body := `{
+                        "StreamName": "my-stream",
+                        "Unknown": {"a": [1, {"b": null}], "c": "d"},
+                        "Attributes": {"a": "1", "b": "2"},
+                        "Records": [
+                            {"Data": "AAEC", "PartitionKey": "p0", "SequenceNumber": 4959033827149025660, "Retry": true, "Extra": [[]]},
+                            {"Data": "AwQ=", "PartitionKey": "p1", "SequenceNumber": -1, "Retry": false}
+                        ],
+                        "Shards": {"s0": [{"PartitionKey": "p2", "Unknown": {}}], "s1": [{"Retry": true}]},
+                        "Batches": [{"k": "v"}, {}]
+                    }`
+                    expect := `{
+                        "StreamName": "my-stream",
+                        "Attributes": {"a": "1", "b": "2"},
+                        "Records": [
+                            {"Data": "AAEC", "PartitionKey": "p0", "SequenceNumber": 4959033827149025660, "Retry": true},
+                            {"Data": "AwQ=", "PartitionKey": "p1", "SequenceNumber": -1, "Retry": false}
+                        ],
+                        "Shards": {
+                            "s0": [{"Data": null, "PartitionKey": "p2", "SequenceNumber": null, "Retry": null}],
+                            "s1": [{"Data": null, "PartitionKey": null, "SequenceNumber": null, "Retry": true}]
+                        },
+                        "Batches": [{"k": "v"}, {}]
+                    }`
+
+                    svc := &recordingService{}
+                    w := httptest.NewRecorder()
+                    r := httptest.NewRequest(http.MethodPost, "/", strings.NewReader(body))
+                    r.Header.Set("X-Amz-Target", "Example.PutRecords")
+                    New(svc, Options{}).ServeHTTP(w, r)
+
+                    if w.Code != http.StatusOK {
+                        t.Fatalf("expect status 200, got %d: %s", w.Code, w.Body)
+                    }
+                    if svc.input == nil {
+                        t.Fatalf("expect input passed to service")
+                    }
+                    actual, err := json.Marshal(svc.input)
+                    if err != nil {
+                        t.Fatal(err)
+                    }
+                    if e, a := decodeAny(t, []byte(expect)), decodeAny(t, actual); !reflect.DeepEqual(e, a) {
+                        t.Errorf("expect input %v, got %v", e, a)
+                    }
+                }
+
+                type benchService struct {
+                    NoopFallbackService
+                }
+
+                func (*benchService) PutRecords(ctx context.Context, in *PutRecordsInput) (*PutRecordsOutput, error) {
+                    return &PutRecordsOutput{}, nil
+                }
+
+                type discardResponse struct {
+                    header http.Header
+                    status int
+                }
+
+                func (w *discardResponse) Header() http.Header         { return w.header }
+                func (w *discardResponse) Write(p []byte) (int, error) { return len(p), nil }
+                func (w *discardResponse) WriteHeader(status int)      { w.status = status }
+
+                func BenchmarkServeHTTP_PutRecords(b *testing.B) {
+                    record := `{"Data":"AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA","PartitionKey":"partition-0001","SequenceNumber":4959033827149025660,"Retry":false}`
+                    body := []byte(`{"StreamName":"my-stream","Attributes":{"a":"1","b":"2"},"Records":[` +
+                        strings.TrimSuffix(strings.Repeat(record+",", 25), ",") + `]}`)
+
+                    h := New(&benchService{}, Options{})
+                    b.SetBytes(int64(len(body)))
+                    b.ReportAllocs()
+                    b.RunParallel(func(pb *testing.PB) {
+                        w := &discardResponse{header: http.Header{}}
+                        for pb.Next() {
+                            r := httptest.NewRequest(http.MethodPost, "/", bytes.NewReader(body))
+                            r.Header.Set("X-Amz-Target", "Example.PutRecords")
+                            h.ServeHTTP(w, r)
+                            if w.status != http.StatusOK {
+                                b.Fatalf("expect status 200, got %d", w.status)
+                            }
+                        }
+                    })
+                }
+                """);
+
+        makeGoModule(testPath);
+        testGoModule(testPath);
+        execute(testPath.toFile(), "go", "test", "-run", "^$", "-bench", ".", "./...");
+    }
+}
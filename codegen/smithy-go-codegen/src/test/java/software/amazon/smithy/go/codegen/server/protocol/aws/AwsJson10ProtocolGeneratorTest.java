@@ -0,0 +1,229 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.server.protocol.aws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.hasGoInstalled;
+import static software.amazon.smithy.go.codegen.TestUtils.makeGoModule;
+import static software.amazon.smithy.go.codegen.TestUtils.testGoModule;
+import static software.amazon.smithy.go.codegen.testutils.ExecuteCommand.execute;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.go.codegen.GoCodegenContext;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoModuleInfo;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.ManifestWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.utils.MapUtils;
+
+public class AwsJson10ProtocolGeneratorTest {
+    private static final Logger LOGGER = Logger.getLogger(AwsJson10ProtocolGeneratorTest.class.getName());
+
+    private static final String MODULE = "github.com/aws/smithy-go/internal/testmodule";
+    private static final int OPERATION_COUNT = 20;
+    private static final List<Integer> OPERATION_COUNTS = List.of(10, 100, 500);
+
+    private static Model model(int operations) {
+        var names = IntStream.range(0, operations)
+                .mapToObj(i -> String.format("Op%03d", i))
+                .toList();
+        return Model.assembler()
+                .addUnparsedModel("router.smithy", """
+                        $version: "2.0"
+                        namespace smithy.example
+
+                        use aws.protocols#awsJson1_0
+
+                        @awsJson1_0
+                        service Example {
+                            version: "1.0.0"
+                            operations: [%s]
+                        }
+
+                        %s
+                        """.formatted(
+                                String.join(", ", names),
+                                names.stream()
+                                        .map(it -> "operation " + it + " {}\n")
+                                        .collect(Collectors.joining())))
+                .assemble()
+                .unwrap();
+    }
+
+    private static AwsJson10ProtocolGenerator generator(Model model, FileManifest manifest) {
+        var settings = GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example"));
+        var symbolProvider = GoCodegenPlugin.createSymbolProvider(model, settings);
+        return new AwsJson10ProtocolGenerator(new GoCodegenContext(
+                model, settings, symbolProvider, manifest, new GoDelegator(manifest, symbolProvider), List.of()));
+    }
+
+    @Test
+    public void testServeHttpRoutesOnSingleSwitch() {
+        var writer = new GoWriter(MODULE);
+        writer.write(generator(model(3), new MockManifest()).generateServeHttp());
+        var actual = writer.toString();
+
+        assertThat(actual, not(containsString("target ==")));
+        assertThat(actual, containsString("strings.CutPrefix(target, \"Example.\")"));
+        assertThat(actual, containsString("switch op {"));
+        assertThat(actual.split("case \"Op\\d\\d\\d\":", -1).length - 1, equalTo(3));
+        assertThat(actual, containsString("h.serveHTTPOp002(w, r)"));
+    }
+
+    @Test
+    public void testServeHttpRoutesEachOperationToItsHandler() {
+        var writer = new GoWriter(MODULE);
+        writer.write(generator(model(OPERATION_COUNT), new MockManifest()).generateServeHttp());
+        var actual = writer.toString();
+
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            var name = String.format("Op%03d", i);
+            var route = actual.indexOf("case \"" + name + "\":");
+            var next = actual.indexOf("case ", route + 1);
+            var handler = actual.indexOf("h.serveHTTP" + name + "(w, r)", route);
+            assertThat(name, route >= 0 && handler > route && (next < 0 || handler < next), equalTo(true));
+        }
+    }
+
+    // Routes a request to every operation through the generated router of services of increasing size, checking each
+    // is served by its own handler, then benchmarks routing to the first and last operations. The cost should stay
+    // roughly flat as the service grows.
+    @Test
+    public void testBenchmarkRouter() throws Exception {
+        if (!hasGoInstalled()) {
+            LOGGER.warning("Skipping testBenchmarkRouter, go command cannot be executed.");
+            return;
+        }
+
+        var testPath = Files.createTempDirectory(getClass().getName());
+        var fileManifest = FileManifest.create(testPath);
+        var model = model(1);
+        var writers = new GoDelegator(fileManifest, GoCodegenPlugin.createSymbolProvider(model,
+                GoSettings.from(getSettingsNode("smithy.example#Example", MODULE, "0.0.1", false, "Example"))));
+
+        for (var count : OPERATION_COUNTS) {
+            var pkg = "router" + count;
+            writers.useFileWriter(pkg + "/router.go", MODULE + "/" + pkg, w -> {
+                w.writeGoTemplate("""
+                        const operationCount = $count:L
+
+                        type RequestHandler struct {
+                            served int
+                        }
+
+                        func writeEmpty(w $rw:T, status int) {
+                            w.WriteHeader(status)
+                        }
+                        """,
+                        MapUtils.of(
+                                "count", count,
+                                "rw", SmithyGoDependency.NET_HTTP.valueSymbol("ResponseWriter")));
+                for (int i = 0; i < count; i++) {
+                    w.writeGoTemplate("""
+                            func (h *RequestHandler) serveHTTPOp$n:L(w $rw:T, r $r:P) {
+                                h.served = $i:L
+                            }
+                            """,
+                            MapUtils.of(
+                                    "n", String.format("%03d", i),
+                                    "i", i,
+                                    "rw", SmithyGoDependency.NET_HTTP.valueSymbol("ResponseWriter"),
+                                    "r", SmithyGoDependency.NET_HTTP.struct("Request")));
+                }
+                w.write(generator(model(count), fileManifest).generateServeHttp());
+            });
+            writers.useFileWriter(pkg + "/router_test.go", MODULE + "/" + pkg, w -> w.writeGoTemplate("""
+                    func newRequest(target string) $request:P {
+                        r := $newRequest:T("POST", "/", nil)
+                        r.Header.Set("X-Amz-Target", target)
+                        return r
+                    }
+
+                    func TestServeHTTP(t $testingT:P) {
+                        h := &RequestHandler{}
+                        for i := range operationCount {
+                            h.served = -1
+                            h.ServeHTTP($newRecorder:T(), newRequest($sprintf:T("Example.Op%03d", i)))
+                            if h.served != i {
+                                t.Errorf("expect operation %d, got %d", i, h.served)
+                            }
+                        }
+
+                        h.served = -1
+                        w := $newRecorder:T()
+                        h.ServeHTTP(w, newRequest("Other.Op000"))
+                        if h.served != -1 || w.Code != $statusNotFound:T {
+                            t.Errorf("expect unrouted target not found, got operation %d, status %d", h.served, w.Code)
+                        }
+                    }
+
+                    func BenchmarkServeHTTP(b $testingB:P) {
+                        for _, op := range []int{0, operationCount - 1} {
+                            h := &RequestHandler{}
+                            w := $newRecorder:T()
+                            r := newRequest($sprintf:T("Example.Op%03d", op))
+
+                            b.Run($sprintf:T("Operations=%d/Op=%d", operationCount, op), func(b $testingB:P) {
+                                for b.Loop() {
+                                    h.ServeHTTP(w, r)
+                                }
+                            })
+                        }
+                    }
+                    """,
+                    MapUtils.of(
+                            "testingT", SmithyGoDependency.TESTING.struct("T"),
+                            "testingB", SmithyGoDependency.TESTING.struct("B"),
+                            "request", SmithyGoDependency.NET_HTTP.struct("Request"),
+                            "statusNotFound", SmithyGoDependency.NET_HTTP.valueSymbol("StatusNotFound"),
+                            "newRecorder", SmithyGoDependency.NET_HTTP_TEST.func("NewRecorder"),
+                            "newRequest", SmithyGoDependency.NET_HTTP_TEST.func("NewRequest"),
+                            "sprintf", SmithyGoDependency.FMT.func("Sprintf")
+                    )));
+        }
+
+        var dependencies = writers.getDependencies();
+        writers.flushWriters();
+        ManifestWriter.builder()
+                .moduleName(MODULE)
+                .fileManifest(fileManifest)
+                .goModuleInfo(new GoModuleInfo.Builder()
+                        .goDirective(GoModuleInfo.DEFAULT_GO_DIRECTIVE)
+                        .dependencies(dependencies)
+                        .build())
+                .build()
+                .writeManifest();
+
+        makeGoModule(testPath);
+        testGoModule(testPath);
+        execute(testPath.toFile(), "go", "test", "-run", "^$", "-bench", ".", "./...");
+    }
+}
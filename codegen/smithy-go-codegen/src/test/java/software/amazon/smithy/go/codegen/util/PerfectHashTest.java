@@ -0,0 +1,65 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.smithy.go.codegen.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+public class PerfectHashTest {
+    // shared with TestTypeRegistryHash in the smithy-go runtime
+    @Test
+    public void hashMatchesRuntime() {
+        assertThat(Integer.toUnsignedLong(PerfectHash.hash(0, "")), Matchers.equalTo(2872998923L));
+        assertThat(Integer.toUnsignedLong(PerfectHash.hash(0, "ThrottlingException")),
+                Matchers.equalTo(1624973493L));
+        assertThat(Integer.toUnsignedLong(PerfectHash.hash(1, "com.amazonaws.dynamodb#ThrottlingException")),
+                Matchers.equalTo(458534882L));
+        assertThat(Integer.toUnsignedLong(PerfectHash.hash(7, "smithy.test#Foo")),
+                Matchers.equalTo(3421574220L));
+    }
+
+    @Test
+    public void placesEveryKeyInDistinctSlot() {
+        var keys = new ArrayList<String>();
+        for (var i = 0; i < 500; i++) {
+            keys.add("com.example#Error" + i);
+            keys.add("Error" + i);
+        }
+
+        var table = PerfectHash.build(keys);
+        assertThat(table.slots().length, Matchers.equalTo(keys.size()));
+
+        var seen = new HashSet<Integer>();
+        for (var key : keys) {
+            var slot = table.lookup(key);
+            assertThat(table.slots()[slot], Matchers.equalTo(key));
+            assertThat(seen.add(slot), Matchers.is(true));
+        }
+    }
+
+    @Test
+    public void buildsEmptyTable() {
+        var table = PerfectHash.build(List.of());
+        assertThat(table.seeds().length, Matchers.equalTo(0));
+        assertThat(table.slots().length, Matchers.equalTo(0));
+    }
+}
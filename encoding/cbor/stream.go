@@ -0,0 +1,573 @@
+package cbor
+
+import (
+	"bufio"
+	"encoding/binary"
+	"errors"
+	"fmt"
+	"io"
+	"math"
+	"slices"
+	"time"
+)
+
+// bytes read at a time for strings and slices, so that an encoded length
+// can't make us allocate more than is actually in the stream
+const maxReadChunk = 32 * 1024
+
+const breakMarker = 0xff
+
+// Decoder reads CBOR data items directly off of a stream, one token at a time,
+// without building an intermediate Value tree.
+//
+// Containers are read by calling ReadMapLen or ReadListLen followed by More
+// until it returns false, reading a key (maps) and value on each iteration.
+// Values that are of no interest to the caller can be discarded with Skip.
+//
+// Scalar reads apply the same coercions as the As* functions.
+type Decoder struct {
+	r     *bufio.Reader
+	depth int
+
+	key []byte
+
+	// when capturing, every byte read is appended to raw
+	capture bool
+	raw     []byte
+}
+
+// NewDecoder returns a Decoder that reads from r.
+func NewDecoder(r io.Reader) *Decoder {
+	return &Decoder{r: bufio.NewReader(r)}
+}
+
+// Empty returns whether the stream has no data left.
+func (d *Decoder) Empty() (bool, error) {
+	if _, err := d.r.Peek(1); err != nil {
+		if errors.Is(err, io.EOF) {
+			return true, nil
+		}
+		return false, err
+	}
+	return false, nil
+}
+
+// End returns an error if the stream has any data left, for use once the
+// top-level data item has been read.
+func (d *Decoder) End() error {
+	empty, err := d.Empty()
+	if err != nil {
+		return err
+	}
+	if !empty {
+		return fmt.Errorf("unexpected data after top-level data item")
+	}
+	return nil
+}
+
+// ReadNil consumes the next data item and returns true if it is nil,
+// otherwise it consumes nothing and returns false.
+func (d *Decoder) ReadNil() (bool, error) {
+	b, err := d.peek()
+	if err != nil {
+		return false, err
+	}
+	if b != byte(majorType7)<<5|major7Nil {
+		return false, nil
+	}
+	_, err = d.readByte()
+	return true, err
+}
+
+// ReadMapLen reads the header of a map and returns the number of entries in
+// it, or -1 if the map is indefinite-length. See More.
+func (d *Decoder) ReadMapLen() (int, error) {
+	return d.readContainerLen(majorTypeMap)
+}
+
+// ReadListLen reads the header of a list and returns the number of items in
+// it, or -1 if the list is indefinite-length. See More.
+func (d *Decoder) ReadListLen() (int, error) {
+	return d.readContainerLen(majorTypeList)
+}
+
+func (d *Decoder) readContainerLen(expect majorType) (int, error) {
+	if d.depth >= maxNestingDepth {
+		return 0, fmt.Errorf("max nesting depth exceeded")
+	}
+
+	major, minor, err := d.readHead()
+	if err != nil {
+		return 0, err
+	}
+	if major != expect {
+		return 0, fmt.Errorf("unexpected major type %d, expected %d", major, expect)
+	}
+
+	d.depth++
+	if minor == minorIndefinite {
+		return -1, nil
+	}
+
+	n, err := d.readArgument(minor)
+	if err != nil {
+		return 0, fmt.Errorf("decode argument: %w", err)
+	}
+	if n > math.MaxInt32 {
+		return 0, fmt.Errorf("container len %d exceeds max", n)
+	}
+	return int(n), nil
+}
+
+// More returns whether the map or list whose length was returned by
+// ReadMapLen or ReadListLen has any entries left, updating remaining
+// accordingly. It consumes the break marker that ends an indefinite-length
+// container.
+func (d *Decoder) More(remaining *int) (bool, error) {
+	if *remaining > 0 {
+		*remaining--
+		return true, nil
+	}
+	if *remaining == 0 {
+		d.depth--
+		return false, nil
+	}
+
+	b, err := d.peek()
+	if err != nil {
+		return false, err
+	}
+	if b != breakMarker {
+		return true, nil
+	}
+	if _, err := d.readByte(); err != nil {
+		return false, err
+	}
+	d.depth--
+	return false, nil
+}
+
+// ReadKey reads a map key. The returned slice is only valid until the next
+// call to ReadKey.
+func (d *Decoder) ReadKey() ([]byte, error) {
+	key, err := d.readSlice(majorTypeString, d.key[:0])
+	if err != nil {
+		return nil, fmt.Errorf("decode key: %w", err)
+	}
+	d.key = key
+	return key, nil
+}
+
+// ReadString reads a text string.
+func (d *Decoder) ReadString() (string, error) {
+	s, err := d.readSlice(majorTypeString, nil)
+	if err != nil {
+		return "", err
+	}
+	return string(s), nil
+}
+
+// ReadBytes reads a byte string.
+func (d *Decoder) ReadBytes() ([]byte, error) {
+	s, err := d.readSlice(majorTypeSlice, nil)
+	if err != nil {
+		return nil, err
+	}
+	if s == nil {
+		s = []byte{}
+	}
+	return s, nil
+}
+
+// ReadBool reads a boolean.
+func (d *Decoder) ReadBool() (bool, error) {
+	b, err := d.readByte()
+	if err != nil {
+		return false, err
+	}
+	switch b {
+	case byte(majorType7)<<5 | major7True:
+		return true, nil
+	case byte(majorType7)<<5 | major7False:
+		return false, nil
+	}
+	return false, fmt.Errorf("unexpected major type %d, minor %d for bool", b>>5, b&maskMinor)
+}
+
+// ReadInt8 reads an int8, see AsInt8.
+func (d *Decoder) ReadInt8() (int8, error) {
+	v, err := d.readInt(0x7f, "int8")
+	return int8(v), err
+}
+
+// ReadInt16 reads an int16, see AsInt16.
+func (d *Decoder) ReadInt16() (int16, error) {
+	v, err := d.readInt(0x7fff, "int16")
+	return int16(v), err
+}
+
+// ReadInt32 reads an int32, see AsInt32.
+func (d *Decoder) ReadInt32() (int32, error) {
+	v, err := d.readInt(0x7fffffff, "int32")
+	return int32(v), err
+}
+
+// ReadInt64 reads an int64, see AsInt64.
+func (d *Decoder) ReadInt64() (int64, error) {
+	return d.readInt(0x7fffffff_ffffffff, "int64")
+}
+
+func (d *Decoder) readInt(max uint64, name string) (int64, error) {
+	major, minor, err := d.readHead()
+	if err != nil {
+		return 0, err
+	}
+	if major != majorTypeUint && major != majorTypeNegInt {
+		return 0, fmt.Errorf("unexpected major type %d for %s", major, name)
+	}
+
+	arg, err := d.readArgument(minor)
+	if err != nil {
+		return 0, fmt.Errorf("decode argument: %w", err)
+	}
+	if major == majorTypeUint {
+		if arg > max {
+			return 0, fmt.Errorf("cbor uint %d exceeds max %s value", arg, name)
+		}
+		return int64(arg), nil
+	}
+
+	neg := NegInt(arg + 1)
+	if uint64(neg) > max+1 || neg == 0 {
+		return 0, fmt.Errorf("cbor negint %s exceeds min %s value", fmtNegint(neg), name)
+	}
+	return -int64(neg-1) - 1, nil
+}
+
+// ReadFloat32 reads a float32, see AsFloat32.
+func (d *Decoder) ReadFloat32() (float32, error) {
+	v, err := d.readScalar()
+	if err != nil {
+		return 0, err
+	}
+	return AsFloat32(v)
+}
+
+// ReadFloat64 reads a float64, see AsFloat64.
+func (d *Decoder) ReadFloat64() (float64, error) {
+	v, err := d.readScalar()
+	if err != nil {
+		return 0, err
+	}
+	return AsFloat64(v)
+}
+
+// ReadTime reads an epoch timestamp, see AsTime.
+func (d *Decoder) ReadTime() (time.Time, error) {
+	v, err := d.readValue()
+	if err != nil {
+		return time.Time{}, err
+	}
+	return AsTime(v)
+}
+
+// reads a number or simple value
+func (d *Decoder) readScalar() (Value, error) {
+	b, err := d.peek()
+	if err != nil {
+		return nil, err
+	}
+	switch majorType(b >> 5) {
+	case majorTypeUint, majorTypeNegInt, majorType7:
+		return d.readValue()
+	}
+	return nil, fmt.Errorf("unexpected major type %d for number", b>>5)
+}
+
+// ReadValue reads the next data item in its entirety.
+func (d *Decoder) ReadValue() (Value, error) {
+	v, err := d.readValue()
+
+	// strings and slices in the value alias the buffer
+	d.raw = nil
+	return v, err
+}
+
+// the returned value is only valid until the next call
+func (d *Decoder) readValue() (Value, error) {
+	d.capture, d.raw = true, d.raw[:0]
+	err := d.skip(d.depth)
+	d.capture = false
+	if err != nil {
+		return nil, err
+	}
+
+	v, _, err := decode(d.raw, d.depth)
+	if err != nil {
+		return nil, err
+	}
+	return v, nil
+}
+
+// Skip discards the next data item.
+func (d *Decoder) Skip() error {
+	return d.skip(d.depth)
+}
+
+func (d *Decoder) skip(depth int) error {
+	major, minor, err := d.readHead()
+	if err != nil {
+		return err
+	}
+
+	switch major {
+	case majorTypeUint, majorTypeNegInt:
+		_, err := d.readArgument(minor)
+		return err
+	case majorTypeSlice, majorTypeString:
+		return d.skipSlice(major, minor)
+	case majorTypeList, majorTypeMap:
+		return d.skipContainer(major, minor, depth)
+	case majorTypeTag:
+		if depth >= maxNestingDepth {
+			return fmt.Errorf("max nesting depth exceeded")
+		}
+		if _, err := d.readArgument(minor); err != nil {
+			return err
+		}
+		return d.skip(depth + 1)
+	default: // majorType7
+		switch minor {
+		case major7True, major7False, major7Nil, major7Undefined:
+			return nil
+		case major7Float16, major7Float32, major7Float64:
+			return d.discard(uint64(mtol(minor)))
+		}
+		return fmt.Errorf("unexpected minor value %d", minor)
+	}
+}
+
+func (d *Decoder) skipSlice(major majorType, minor byte) error {
+	if minor != minorIndefinite {
+		n, err := d.readArgument(minor)
+		if err != nil {
+			return err
+		}
+		return d.discard(n)
+	}
+
+	for {
+		b, err := d.peek()
+		if err != nil {
+			return err
+		}
+		if b == breakMarker {
+			_, err := d.readByte()
+			return err
+		}
+
+		_, subMinor, err := d.readSubsliceHead(major)
+		if err != nil {
+			return err
+		}
+		n, err := d.readArgument(subMinor)
+		if err != nil {
+			return err
+		}
+		if err := d.discard(n); err != nil {
+			return err
+		}
+	}
+}
+
+func (d *Decoder) skipContainer(major majorType, minor byte, depth int) error {
+	if depth >= maxNestingDepth {
+		return fmt.Errorf("max nesting depth exceeded")
+	}
+
+	perEntry := 1
+	if major == majorTypeMap {
+		perEntry = 2
+	}
+
+	if minor == minorIndefinite {
+		for {
+			b, err := d.peek()
+			if err != nil {
+				return err
+			}
+			if b == breakMarker {
+				_, err := d.readByte()
+				return err
+			}
+			for i := 0; i < perEntry; i++ {
+				if err := d.skip(depth + 1); err != nil {
+					return err
+				}
+			}
+		}
+	}
+
+	n, err := d.readArgument(minor)
+	if err != nil {
+		return err
+	}
+	for ; n > 0; n-- {
+		for i := 0; i < perEntry; i++ {
+			if err := d.skip(depth + 1); err != nil {
+				return err
+			}
+		}
+	}
+	return nil
+}
+
+// reads a text or byte string, appending it to dst
+func (d *Decoder) readSlice(expect majorType, dst []byte) ([]byte, error) {
+	major, minor, err := d.readHead()
+	if err != nil {
+		return nil, err
+	}
+	if major != expect {
+		return nil, fmt.Errorf("unexpected major type %d, expected %d", major, expect)
+	}
+
+	if minor != minorIndefinite {
+		n, err := d.readArgument(minor)
+		if err != nil {
+			return nil, fmt.Errorf("decode argument: %w", err)
+		}
+		return d.readN(dst, n)
+	}
+
+	for {
+		b, err := d.peek()
+		if err != nil {
+			return nil, err
+		}
+		if b == breakMarker {
+			_, err := d.readByte()
+			return dst, err
+		}
+
+		_, subMinor, err := d.readSubsliceHead(expect)
+		if err != nil {
+			return nil, err
+		}
+		n, err := d.readArgument(subMinor)
+		if err != nil {
+			return nil, fmt.Errorf("decode subslice: %w", err)
+		}
+		if dst, err = d.readN(dst, n); err != nil {
+			return nil, fmt.Errorf("decode subslice: %w", err)
+		}
+	}
+}
+
+func (d *Decoder) readSubsliceHead(inner majorType) (majorType, byte, error) {
+	major, minor, err := d.readHead()
+	if err != nil {
+		return 0, 0, err
+	}
+	if major != inner {
+		return 0, 0, fmt.Errorf("unexpected major type %d in indefinite slice", major)
+	}
+	if minor == minorIndefinite {
+		return 0, 0, fmt.Errorf("nested indefinite slice")
+	}
+	return major, minor, nil
+}
+
+func (d *Decoder) readHead() (majorType, byte, error) {
+	b, err := d.readByte()
+	if err != nil {
+		return 0, 0, err
+	}
+	return majorType(b >> 5), b & maskMinor, nil
+}
+
+// see decodeArgument
+func (d *Decoder) readArgument(minor byte) (uint64, error) {
+	if minor < minorArg1 {
+		return uint64(minor), nil
+	}
+
+	switch minor {
+	case minorArg1, minorArg2, minorArg4, minorArg8:
+		var p [8]byte
+		argLen := mtol(minor)
+		if err := d.readFull(p[:argLen]); err != nil {
+			return 0, err
+		}
+		return readArgument(p[:argLen], argLen), nil
+	default:
+		return 0, fmt.Errorf("unexpected minor value %d", minor)
+	}
+}
+
+func (d *Decoder) peek() (byte, error) {
+	p, err := d.r.Peek(1)
+	if err != nil {
+		return 0, endOfPayload(err)
+	}
+	return p[0], nil
+}
+
+func (d *Decoder) readByte() (byte, error) {
+	b, err := d.r.ReadByte()
+	if err != nil {
+		return 0, endOfPayload(err)
+	}
+	if d.capture {
+		d.raw = append(d.raw, b)
+	}
+	return b, nil
+}
+
+func (d *Decoder) readFull(p []byte) error {
+	if _, err := io.ReadFull(d.r, p); err != nil {
+		return endOfPayload(err)
+	}
+	if d.capture {
+		d.raw = append(d.raw, p...)
+	}
+	return nil
+}
+
+// appends the next n bytes to dst, growing it as the bytes actually arrive
+func (d *Decoder) readN(dst []byte, n uint64) ([]byte, error) {
+	for n > 0 {
+		chunk := int(min(n, maxReadChunk))
+		off := len(dst)
+		dst = slices.Grow(dst, chunk)[:off+chunk]
+		if err := d.readFull(dst[off:]); err != nil {
+			return nil, err
+		}
+		n -= uint64(chunk)
+	}
+	return dst, nil
+}
+
+func (d *Decoder) discard(n uint64) error {
+	if d.capture {
+		d.capture = false
+		raw, err := d.readN(d.raw, n)
+		d.raw, d.capture = raw, true
+		return err
+	}
+	for n > 0 {
+		chunk := int(min(n, maxReadChunk))
+		if _, err := d.r.Discard(chunk); err != nil {
+			return endOfPayload(err)
+		}
+		n -= uint64(chunk)
+	}
+	return nil
+}
+
+func endOfPayload(err error) error {
+	if errors.Is(err, io.EOF) || errors.Is(err, io.ErrUnexpectedEOF) {
+		return fmt.Errorf("unexpected end of payload: %w", io.ErrUnexpectedEOF)
+	}
+	return err
+}
@@ -0,0 +1,359 @@
+package cbor
+
+import (
+	"bytes"
+	"errors"
+	"io"
+	"math"
+	"reflect"
+	"strings"
+	"testing"
+	"time"
+)
+
+var streamTestValues = map[string]Value{
+	"uint":      Uint(1 << 40),
+	"negint":    NegInt(300),
+	"negint/-0": NegInt(0),
+	"slice":     Slice{1, 2, 3},
+	"slice/0":   Slice{},
+	"string":    String("foo"),
+	"list":      List{Uint(1), String("bar"), &Nil{}, List{}},
+	"map": Map{
+		"a": Uint(1),
+		"b": List{Map{"c": Bool(true)}, &Undefined{}},
+		"d": &Tag{ID: 1, Value: Float64(1.5)},
+	},
+	"tag":     &Tag{ID: 1, Value: Uint(1700000000)},
+	"bool":    Bool(false),
+	"nil":     &Nil{},
+	"float32": Float32(1.25),
+	"float64": Float64(math.MaxFloat64),
+}
+
+func TestDecoder_ReadValue(t *testing.T) {
+	for name, v := range streamTestValues {
+		t.Run(name, func(t *testing.T) {
+			p := Encode(v)
+			d := NewDecoder(bytes.NewReader(p))
+
+			actual, err := d.ReadValue()
+			if err != nil {
+				t.Fatalf("read value: %v", err)
+			}
+			expect, _ := Decode(p)
+			if !reflect.DeepEqual(expect, actual) {
+				t.Errorf("expect %#v, got %#v", expect, actual)
+			}
+
+			if empty, err := d.Empty(); err != nil || !empty {
+				t.Errorf("expect stream to be consumed, got %v, %v", empty, err)
+			}
+		})
+	}
+}
+
+func TestDecoder_ReadValueIndefinite(t *testing.T) {
+	p := indefinite(5, concat(
+		[]byte{3<<5 | 1, 'a'},
+		indefinite(4, concat(
+			[]byte{3<<5 | 31, 3<<5 | 1, 'x', 3<<5 | 2, 'y', 'z', 0xff},
+			[]byte{2<<5 | 31, 2<<5 | 1, 1, 0xff},
+		)),
+	))
+
+	expect, err := Decode(p)
+	if err != nil {
+		t.Fatalf("decode: %v", err)
+	}
+	actual, err := NewDecoder(bytes.NewReader(p)).ReadValue()
+	if err != nil {
+		t.Fatalf("read value: %v", err)
+	}
+	if !reflect.DeepEqual(expect, actual) {
+		t.Errorf("expect %#v, got %#v", expect, actual)
+	}
+}
+
+func TestDecoder_ReadValueNoAliasing(t *testing.T) {
+	p := concat(Encode(Slice{1, 2, 3}), Encode(Slice{4, 5, 6}))
+	d := NewDecoder(bytes.NewReader(p))
+
+	first, _ := d.ReadValue()
+	d.ReadValue()
+	if expect := (Slice{1, 2, 3}); !reflect.DeepEqual(expect, first) {
+		t.Errorf("expect %v, got %v", expect, first)
+	}
+}
+
+func TestDecoder_Scalars(t *testing.T) {
+	type reader struct {
+		read   func(*Decoder) (any, error)
+		coerce func(Value) (any, error)
+	}
+	readers := map[string]reader{
+		"int8": {
+			func(d *Decoder) (any, error) { return d.ReadInt8() },
+			func(v Value) (any, error) { return AsInt8(v) },
+		},
+		"int16": {
+			func(d *Decoder) (any, error) { return d.ReadInt16() },
+			func(v Value) (any, error) { return AsInt16(v) },
+		},
+		"int32": {
+			func(d *Decoder) (any, error) { return d.ReadInt32() },
+			func(v Value) (any, error) { return AsInt32(v) },
+		},
+		"int64": {
+			func(d *Decoder) (any, error) { return d.ReadInt64() },
+			func(v Value) (any, error) { return AsInt64(v) },
+		},
+		"float32": {
+			func(d *Decoder) (any, error) { return d.ReadFloat32() },
+			func(v Value) (any, error) { return AsFloat32(v) },
+		},
+		"float64": {
+			func(d *Decoder) (any, error) { return d.ReadFloat64() },
+			func(v Value) (any, error) { return AsFloat64(v) },
+		},
+		"time": {
+			func(d *Decoder) (any, error) { return d.ReadTime() },
+			func(v Value) (any, error) { return AsTime(v) },
+		},
+	}
+	values := []Value{
+		Uint(0), Uint(0x7f), Uint(0x80), Uint(0x7fff), Uint(0x8000), Uint(0x7fffffff), Uint(0x80000000),
+		Uint(1 << 24), Uint(1<<24 + 1), Uint(1 << 54), Uint(1<<54 + 1), Uint(math.MaxInt64), Uint(math.MaxUint64),
+		NegInt(1), NegInt(0x80), NegInt(0x81), NegInt(0x8000), NegInt(0x8001), NegInt(0x80000000),
+		NegInt(0x80000001), NegInt(1 << 63), NegInt(1<<63 + 1), NegInt(0),
+		Float32(1.5), Float64(-2.25), String("1"), Bool(true), &Nil{},
+		&Tag{ID: 1, Value: Uint(1700000000)},
+		&Tag{ID: 1, Value: NegInt(5)},
+		&Tag{ID: 1, Value: Float32(1.5)},
+		&Tag{ID: 1, Value: Float64(1700000000.123)},
+		&Tag{ID: 0, Value: String("2024-01-01T00:00:00Z")},
+	}
+
+	for name, r := range readers {
+		for _, v := range values {
+			p := Encode(v)
+			expect, expectErr := r.coerce(v)
+			actual, actualErr := r.read(NewDecoder(bytes.NewReader(p)))
+
+			if (expectErr == nil) != (actualErr == nil) {
+				t.Errorf("%s(%#v): expect err %v, got %v", name, v, expectErr, actualErr)
+				continue
+			}
+			if expectErr != nil {
+				continue
+			}
+			if et, ok := expect.(time.Time); ok {
+				if !et.Equal(actual.(time.Time)) {
+					t.Errorf("%s(%#v): expect %v, got %v", name, v, expect, actual)
+				}
+			} else if expect != actual {
+				t.Errorf("%s(%#v): expect %v, got %v", name, v, expect, actual)
+			}
+		}
+	}
+}
+
+func TestDecoder_ReadBytes(t *testing.T) {
+	for name, c := range map[string]struct {
+		In     []byte
+		Expect []byte
+	}{
+		"definite": {[]byte{2<<5 | 2, 1, 2}, []byte{1, 2}},
+		"empty":    {[]byte{2<<5 | 0}, []byte{}},
+		"indefinite": {
+			[]byte{2<<5 | 31, 2<<5 | 1, 1, 2<<5 | 0, 2<<5 | 2, 2, 3, 0xff},
+			[]byte{1, 2, 3},
+		},
+	} {
+		t.Run(name, func(t *testing.T) {
+			actual, err := NewDecoder(bytes.NewReader(c.In)).ReadBytes()
+			if err != nil {
+				t.Fatalf("read bytes: %v", err)
+			}
+			if actual == nil || !bytes.Equal(c.Expect, actual) {
+				t.Errorf("expect %v, got %v", c.Expect, actual)
+			}
+		})
+	}
+}
+
+func TestDecoder_Containers(t *testing.T) {
+	value := Map{
+		"name":    String("foo"),
+		"unknown": Map{"x": List{Uint(1), Uint(2)}},
+		"items":   List{String("a"), &Nil{}, String("b")},
+		"flag":    Bool(true),
+	}
+
+	for name, p := range map[string][]byte{
+		"definite": Encode(value),
+		"indefinite": indefinite(5, concat(
+			Encode(String("name")), Encode(String("foo")),
+			Encode(String("unknown")), Encode(Map{"x": List{Uint(1), Uint(2)}}),
+			Encode(String("items")), indefinite(4, concat(
+				Encode(String("a")), Encode(&Nil{}), Encode(String("b")),
+			)),
+			Encode(String("flag")), Encode(Bool(true)),
+		)),
+	} {
+		t.Run(name, func(t *testing.T) {
+			d := NewDecoder(bytes.NewReader(p))
+
+			var (
+				fname string
+				items []*string
+				flag  bool
+			)
+			n, err := d.ReadMapLen()
+			if err != nil {
+				t.Fatalf("read map len: %v", err)
+			}
+			for {
+				more, err := d.More(&n)
+				if err != nil {
+					t.Fatalf("more: %v", err)
+				}
+				if !more {
+					break
+				}
+
+				key, err := d.ReadKey()
+				if err != nil {
+					t.Fatalf("read key: %v", err)
+				}
+				switch string(key) {
+				case "name":
+					fname, err = d.ReadString()
+				case "flag":
+					flag, err = d.ReadBool()
+				case "items":
+					var ln int
+					if ln, err = d.ReadListLen(); err != nil {
+						break
+					}
+					for {
+						var more bool
+						if more, err = d.More(&ln); err != nil || !more {
+							break
+						}
+						if isNil, _ := d.ReadNil(); isNil {
+							items = append(items, nil)
+							continue
+						}
+						var s string
+						if s, err = d.ReadString(); err != nil {
+							break
+						}
+						items = append(items, &s)
+					}
+				default:
+					err = d.Skip()
+				}
+				if err != nil {
+					t.Fatalf("read %s: %v", key, err)
+				}
+			}
+
+			if fname != "foo" || !flag {
+				t.Errorf("expect foo, true, got %s, %v", fname, flag)
+			}
+			if len(items) != 3 || *items[0] != "a" || items[1] != nil || *items[2] != "b" {
+				t.Errorf("expect [a, nil, b], got %v", items)
+			}
+			if d.depth != 0 {
+				t.Errorf("expect depth 0, got %d", d.depth)
+			}
+			if empty, err := d.Empty(); err != nil || !empty {
+				t.Errorf("expect stream to be consumed, got %v, %v", empty, err)
+			}
+		})
+	}
+}
+
+func TestDecoder_Truncated(t *testing.T) {
+	p := Encode(streamTestValues["map"])
+	for i := 0; i < len(p); i++ {
+		_, err := NewDecoder(bytes.NewReader(p[:i])).ReadValue()
+		if !errors.Is(err, io.ErrUnexpectedEOF) {
+			t.Errorf("prefix %d: expect unexpected EOF, got %v", i, err)
+		}
+		if err := NewDecoder(bytes.NewReader(p[:i])).Skip(); !errors.Is(err, io.ErrUnexpectedEOF) {
+			t.Errorf("prefix %d: expect unexpected EOF on skip, got %v", i, err)
+		}
+	}
+}
+
+func TestDecoder_HugeLength(t *testing.T) {
+	// claims a 2^40 byte string, but only has 3 bytes
+	p := []byte{3<<5 | 27, 0, 0, 1, 0, 0, 0, 0, 0, 'a', 'b', 'c'}
+
+	allocs := testing.AllocsPerRun(10, func() {
+		if _, err := NewDecoder(bytes.NewReader(p)).ReadString(); err == nil {
+			t.Fatal("expect error")
+		}
+	})
+	if allocs > 10 {
+		t.Errorf("expect a bounded number of allocations, got %v", allocs)
+	}
+}
+
+func TestDecoder_MaxNestingDepth(t *testing.T) {
+	p := bytes.Repeat([]byte{4<<5 | 1}, maxNestingDepth+1)
+	p = append(p, 0)
+
+	if _, err := NewDecoder(bytes.NewReader(p)).ReadValue(); err == nil || !strings.Contains(err.Error(), "max nesting depth") {
+		t.Errorf("expect max nesting depth error, got %v", err)
+	}
+
+	d := NewDecoder(bytes.NewReader(p))
+	var err error
+	for i := 0; i <= maxNestingDepth && err == nil; i++ {
+		_, err = d.ReadListLen()
+	}
+	if err == nil || !strings.Contains(err.Error(), "max nesting depth") {
+		t.Errorf("expect max nesting depth error, got %v", err)
+	}
+}
+
+func TestDecoder_Empty(t *testing.T) {
+	d := NewDecoder(bytes.NewReader(nil))
+	if empty, err := d.Empty(); err != nil || !empty {
+		t.Errorf("expect empty, got %v, %v", empty, err)
+	}
+
+	d = NewDecoder(bytes.NewReader([]byte{0}))
+	if empty, err := d.Empty(); err != nil || empty {
+		t.Errorf("expect not empty, got %v, %v", empty, err)
+	}
+}
+
+func TestDecoder_End(t *testing.T) {
+	d := NewDecoder(bytes.NewReader([]byte{0x01}))
+	if _, err := d.ReadInt64(); err != nil {
+		t.Fatal(err)
+	}
+	if err := d.End(); err != nil {
+		t.Errorf("expect no error, got %v", err)
+	}
+
+	d = NewDecoder(bytes.NewReader([]byte{0x01, 0x02}))
+	if _, err := d.ReadInt64(); err != nil {
+		t.Fatal(err)
+	}
+	if err := d.End(); err == nil {
+		t.Errorf("expect error for trailing data")
+	}
+}
+
+func concat(ps ...[]byte) []byte {
+	return bytes.Join(ps, nil)
+}
+
+func indefinite(major byte, p []byte) []byte {
+	return concat([]byte{major<<5 | 31}, p, []byte{0xff})
+}
@@ -0,0 +1,155 @@
+package cbor
+
+import (
+	"encoding/binary"
+	"math"
+	"sync"
+	"time"
+)
+
+// buffers that grew past this aren't returned to the pool
+const maxPooledWriterCap = 64 * 1024
+
+var writerPool = sync.Pool{
+	New: func() any {
+		return &Writer{buf: make([]byte, 0, 512)}
+	},
+}
+
+// Writer encodes CBOR data items directly into a byte buffer, without
+// building an intermediate Value tree. Writers are pooled, see GetWriter.
+//
+// Lists and maps of known length are written by writing their header followed
+// by their items (maps: key then value). Maps whose length is only known once
+// their entries are written, like structures with optional members, are
+// written between OpenMap and CloseMap.
+//
+// Like Encode, the Writer only produces definite-length data items.
+type Writer struct {
+	buf []byte
+}
+
+// GetWriter returns an empty Writer from the pool.
+func GetWriter() *Writer {
+	w := writerPool.Get().(*Writer)
+	w.buf = w.buf[:0]
+	return w
+}
+
+// PutWriter returns a Writer to the pool. Neither the Writer nor the result
+// of Bytes may be used afterwards.
+func PutWriter(w *Writer) {
+	if cap(w.buf) > maxPooledWriterCap {
+		return
+	}
+	writerPool.Put(w)
+}
+
+// Bytes returns the encoded data. It aliases the Writer's buffer.
+func (w *Writer) Bytes() []byte {
+	return w.buf
+}
+
+// WriteMapHeader writes the header of a map with n entries.
+func (w *Writer) WriteMapHeader(n int) {
+	w.writeArg(majorTypeMap, uint64(n))
+}
+
+// WriteListHeader writes the header of a list with n items.
+func (w *Writer) WriteListHeader(n int) {
+	w.writeArg(majorTypeList, uint64(n))
+}
+
+// OpenMap begins a map whose length isn't known yet, returning the position
+// to pass to CloseMap once its entries are written.
+func (w *Writer) OpenMap() int {
+	w.buf = append(w.buf, 0)
+	return len(w.buf) - 1
+}
+
+// CloseMap fills in the header of the map begun at pos, which has n entries.
+func (w *Writer) CloseMap(pos, n int) {
+	headLen := itoarglen(n)
+	if headLen > 1 {
+		// rare: make room for a wider header
+		w.buf = append(w.buf, make([]byte, headLen-1)...)
+		copy(w.buf[pos+headLen:], w.buf[pos+1:len(w.buf)-(headLen-1)])
+	}
+	encodeArg(majorTypeMap, n, w.buf[pos:])
+}
+
+// WriteKey appends a map key that was encoded ahead of time (i.e. a text
+// string header followed by the key).
+func (w *Writer) WriteKey(encoded string) {
+	w.buf = append(w.buf, encoded...)
+}
+
+// WriteRaw appends opaque, already-encoded CBOR data.
+func (w *Writer) WriteRaw(p []byte) {
+	w.buf = append(w.buf, p...)
+}
+
+// WriteString writes a text string.
+func (w *Writer) WriteString(v string) {
+	w.writeArg(majorTypeString, uint64(len(v)))
+	w.buf = append(w.buf, v...)
+}
+
+// WriteBytes writes a byte string.
+func (w *Writer) WriteBytes(v []byte) {
+	w.writeArg(majorTypeSlice, uint64(len(v)))
+	w.buf = append(w.buf, v...)
+}
+
+// WriteInt64 writes an integer as a uint or negative int.
+func (w *Writer) WriteInt64(v int64) {
+	if v < 0 {
+		w.writeArg(majorTypeNegInt, uint64(-(v + 1)))
+		return
+	}
+	w.writeArg(majorTypeUint, uint64(v))
+}
+
+// WriteFloat32 writes a single-precision float.
+func (w *Writer) WriteFloat32(v float32) {
+	w.buf = append(w.buf, compose(majorType7, major7Float32))
+	w.buf = binary.BigEndian.AppendUint32(w.buf, math.Float32bits(v))
+}
+
+// WriteFloat64 writes a double-precision float.
+func (w *Writer) WriteFloat64(v float64) {
+	w.buf = append(w.buf, compose(majorType7, major7Float64))
+	w.buf = binary.BigEndian.AppendUint64(w.buf, math.Float64bits(v))
+}
+
+// WriteBool writes a boolean.
+func (w *Writer) WriteBool(v bool) {
+	if v {
+		w.buf = append(w.buf, compose(majorType7, major7True))
+	} else {
+		w.buf = append(w.buf, compose(majorType7, major7False))
+	}
+}
+
+// WriteNil writes nil.
+func (w *Writer) WriteNil() {
+	w.buf = append(w.buf, compose(majorType7, major7Nil))
+}
+
+// WriteTime writes an epoch-seconds timestamp (tag 1) with millisecond
+// precision.
+func (w *Writer) WriteTime(v time.Time) {
+	w.writeArg(majorTypeTag, 1)
+	w.WriteFloat64(float64(v.UnixMilli()) / 1000)
+}
+
+func (w *Writer) writeArg(major majorType, arg uint64) {
+	var p [9]byte
+	n := encodeArg(major, arg, p[:])
+	w.buf = append(w.buf, p[:n]...)
+}
+
+// EncodeKey returns the encoding of a map key, for use with WriteKey.
+func EncodeKey(key string) string {
+	return string(Encode(String(key)))
+}
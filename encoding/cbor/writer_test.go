@@ -0,0 +1,197 @@
+package cbor
+
+import (
+	"bytes"
+	"fmt"
+	"math"
+	"reflect"
+	"testing"
+	"time"
+)
+
+func TestWriter_Atomic(t *testing.T) {
+	ts := time.UnixMilli(1700000000123)
+	for name, c := range map[string]struct {
+		Write  func(*Writer)
+		Expect Value
+	}{
+		"uint/0":      {func(w *Writer) { w.WriteInt64(0) }, Uint(0)},
+		"uint/24":     {func(w *Writer) { w.WriteInt64(24) }, Uint(24)},
+		"uint/max":    {func(w *Writer) { w.WriteInt64(math.MaxInt64) }, Uint(math.MaxInt64)},
+		"negint/-1":   {func(w *Writer) { w.WriteInt64(-1) }, NegInt(1)},
+		"negint/-300": {func(w *Writer) { w.WriteInt64(-300) }, NegInt(300)},
+		"negint/min":  {func(w *Writer) { w.WriteInt64(math.MinInt64) }, NegInt(1 << 63)},
+		"float32":     {func(w *Writer) { w.WriteFloat32(1.5) }, Float32(1.5)},
+		"float64":     {func(w *Writer) { w.WriteFloat64(-2.25) }, Float64(-2.25)},
+		"bool/true":   {func(w *Writer) { w.WriteBool(true) }, Bool(true)},
+		"bool/false":  {func(w *Writer) { w.WriteBool(false) }, Bool(false)},
+		"nil":         {func(w *Writer) { w.WriteNil() }, &Nil{}},
+		"string":      {func(w *Writer) { w.WriteString("foo") }, String("foo")},
+		"string/long": {func(w *Writer) { w.WriteString(string(make([]byte, 300))) }, String(make([]byte, 300))},
+		"bytes":       {func(w *Writer) { w.WriteBytes([]byte{1, 2}) }, Slice{1, 2}},
+		"bytes/empty": {func(w *Writer) { w.WriteBytes(nil) }, Slice{}},
+		"time":        {func(w *Writer) { w.WriteTime(ts) }, &Tag{ID: 1, Value: Float64(1700000000.123)}},
+		"key":         {func(w *Writer) { w.WriteKey(EncodeKey("foo")) }, String("foo")},
+		"list":        {func(w *Writer) { w.WriteListHeader(1); w.WriteNil() }, List{&Nil{}}},
+		"map":         {func(w *Writer) { w.WriteMapHeader(1); w.WriteString("a"); w.WriteInt64(1) }, Map{"a": Uint(1)}},
+		"raw":         {func(w *Writer) { w.WriteRaw(Encode(List{Uint(1)})) }, List{Uint(1)}},
+	} {
+		t.Run(name, func(t *testing.T) {
+			w := GetWriter()
+			defer PutWriter(w)
+
+			c.Write(w)
+			if expect := Encode(c.Expect); !bytes.Equal(expect, w.Bytes()) {
+				t.Errorf("expect % x, got % x", expect, w.Bytes())
+			}
+		})
+	}
+}
+
+func TestWriter_OpenMap(t *testing.T) {
+	for _, n := range []int{0, 1, 23, 24, 255, 256, 65536} {
+		t.Run(fmt.Sprint(n), func(t *testing.T) {
+			w := GetWriter()
+			defer PutWriter(w)
+
+			w.WriteListHeader(2)
+			pos := w.OpenMap()
+			expect := Map{}
+			for i := 0; i < n; i++ {
+				key := fmt.Sprintf("k%d", i)
+				w.WriteKey(EncodeKey(key))
+				w.WriteInt64(int64(i))
+				expect[key] = Uint(i)
+			}
+			w.CloseMap(pos, n)
+			w.WriteBool(true)
+
+			actual, err := Decode(w.Bytes())
+			if err != nil {
+				t.Fatalf("decode: %v", err)
+			}
+			if !reflect.DeepEqual(List{expect, Bool(true)}, actual) {
+				t.Errorf("decoded value does not match")
+			}
+			if expect := len(Encode(List{expect, Bool(true)})); expect != len(w.Bytes()) {
+				t.Errorf("expect %d bytes, got %d", expect, len(w.Bytes()))
+			}
+		})
+	}
+}
+
+// a typical high-rate, small request
+type testPutRecordInput struct {
+	StreamName      *string
+	Data            []byte
+	PartitionKey    *string
+	ExplicitHashKey *string
+	SequenceNumber  *int64
+}
+
+var testPutRecord = &testPutRecordInput{
+	StreamName:   ptrString("my-stream"),
+	Data:         bytes.Repeat([]byte{'x'}, 128),
+	PartitionKey: ptrString("partition-0001"),
+}
+
+func ptrString(v string) *string { return &v }
+
+// the shape of the value-tree serializers generated by CborSerializerGenerator
+func encodeTreePutRecord(v *testPutRecordInput) []byte {
+	vm := Map{}
+	if v.StreamName != nil {
+		vm["StreamName"] = String(*v.StreamName)
+	}
+	if v.Data != nil {
+		vm["Data"] = Slice(v.Data)
+	}
+	if v.PartitionKey != nil {
+		vm["PartitionKey"] = String(*v.PartitionKey)
+	}
+	if v.ExplicitHashKey != nil {
+		vm["ExplicitHashKey"] = String(*v.ExplicitHashKey)
+	}
+	if v.SequenceNumber != nil {
+		vm["SequenceNumber"] = Uint(*v.SequenceNumber)
+	}
+	return Encode(vm)
+}
+
+// the shape of the direct encoders, whose keys are encoded at codegen time
+func encodeDirectPutRecord(w *Writer, v *testPutRecordInput) {
+	pos, n := w.OpenMap(), 0
+	if v.StreamName != nil {
+		w.WriteKey("\x6aStreamName")
+		w.WriteString(*v.StreamName)
+		n++
+	}
+	if v.Data != nil {
+		w.WriteKey("\x64Data")
+		w.WriteBytes(v.Data)
+		n++
+	}
+	if v.PartitionKey != nil {
+		w.WriteKey("\x6cPartitionKey")
+		w.WriteString(*v.PartitionKey)
+		n++
+	}
+	if v.ExplicitHashKey != nil {
+		w.WriteKey("\x6fExplicitHashKey")
+		w.WriteString(*v.ExplicitHashKey)
+		n++
+	}
+	if v.SequenceNumber != nil {
+		w.WriteKey("\x6eSequenceNumber")
+		w.WriteInt64(*v.SequenceNumber)
+		n++
+	}
+	w.CloseMap(pos, n)
+}
+
+func TestWriter_MatchesTree(t *testing.T) {
+	w := GetWriter()
+	defer PutWriter(w)
+	encodeDirectPutRecord(w, testPutRecord)
+
+	expect, _ := Decode(encodeTreePutRecord(testPutRecord))
+	actual, err := Decode(w.Bytes())
+	if err != nil {
+		t.Fatalf("decode: %v", err)
+	}
+	if !reflect.DeepEqual(expect, actual) {
+		t.Errorf("expect %v, got %v", expect, actual)
+	}
+}
+
+func TestWriter_Allocs(t *testing.T) {
+	w := &Writer{buf: make([]byte, 0, 512)}
+	allocs := testing.AllocsPerRun(100, func() {
+		w.buf = w.buf[:0]
+		encodeDirectPutRecord(w, testPutRecord)
+	})
+	if allocs != 0 {
+		t.Errorf("expect no allocations, got %v", allocs)
+	}
+}
+
+// Compares request encoding through a value tree with the direct encoders.
+// Both variants produce a payload of their own, like the serialize
+// middleware does.
+func BenchmarkEncode_PutRecord(b *testing.B) {
+	b.Run("Tree", func(b *testing.B) {
+		b.ReportAllocs()
+		for b.Loop() {
+			encodeTreePutRecord(testPutRecord)
+		}
+	})
+	b.Run("Direct", func(b *testing.B) {
+		b.ReportAllocs()
+		for b.Loop() {
+			w := GetWriter()
+			encodeDirectPutRecord(w, testPutRecord)
+			_ = bytes.Clone(w.Bytes())
+			PutWriter(w)
+		}
+	})
+}
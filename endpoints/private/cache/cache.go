@@ -0,0 +1,215 @@
+// Package cache provides a bounded, concurrency-safe cache of resolved
+// endpoints for use by generated endpoint resolvers.
+package cache
+
+import (
+	"encoding/binary"
+	"sync"
+
+	smithyendpoints "github.com/aws/smithy-go/endpoints"
+)
+
+const (
+	maxShards          = 16
+	minEntriesPerShard = 16
+)
+
+// Eviction selects the entry a full cache discards to make room for a new
+// one.
+type Eviction int
+
+// Enumeration of Eviction.
+const (
+	// EvictLRU discards the least recently used entry. Hits reorder entries,
+	// so they take an exclusive lock on their shard.
+	EvictLRU Eviction = iota
+
+	// EvictFIFO discards the oldest entry. Hits only take a shared lock on
+	// their shard, at the cost of evicting endpoints that are still in use.
+	EvictFIFO
+)
+
+// Options configures a Cache.
+type Options struct {
+	// The maximum number of entries in the cache.
+	Size int
+
+	// How to choose an entry to evict when the cache is full. Defaults to
+	// EvictLRU.
+	Eviction Eviction
+}
+
+// Cache maps encoded endpoint parameters (see AppendString et al.) to the
+// endpoint they resolve to. Entries are spread across a number of
+// independently locked shards by a hash of their key.
+//
+// Endpoints in the cache are shared between every caller that looks them up
+// and MUST be treated as immutable, including their Headers and Properties.
+type Cache struct {
+	shards []shard
+	mask   uint32
+}
+
+type shard struct {
+	mu       sync.RWMutex
+	eviction Eviction
+	capacity int
+	entries  map[string]*entry
+
+	// sentinel of a circular list of entries, most recently inserted (or
+	// used, under EvictLRU) first
+	list entry
+}
+
+type entry struct {
+	key        string
+	endpoint   smithyendpoints.Endpoint
+	prev, next *entry
+}
+
+// New returns a cache with the given options. Size must be positive.
+func New(o Options) *Cache {
+	n := 1
+	for n < maxShards && n*2*minEntriesPerShard <= o.Size {
+		n *= 2
+	}
+
+	c := &Cache{
+		shards: make([]shard, n),
+		mask:   uint32(n - 1),
+	}
+	for i := range c.shards {
+		s := &c.shards[i]
+		s.eviction = o.Eviction
+		s.capacity = (o.Size + n - 1) / n
+		s.entries = make(map[string]*entry, s.capacity)
+		s.list.prev, s.list.next = &s.list, &s.list
+	}
+	return c
+}
+
+// Get returns the endpoint cached for the given key, if any.
+func (c *Cache) Get(key []byte) (smithyendpoints.Endpoint, bool) {
+	s := c.shard(key)
+	if s.eviction == EvictFIFO {
+		s.mu.RLock()
+		defer s.mu.RUnlock()
+	} else {
+		s.mu.Lock()
+		defer s.mu.Unlock()
+	}
+
+	e, ok := s.entries[string(key)]
+	if !ok {
+		return smithyendpoints.Endpoint{}, false
+	}
+	if s.eviction == EvictLRU {
+		s.unlink(e)
+		s.pushFront(e)
+	}
+	return e.endpoint, true
+}
+
+// Put caches the endpoint for the given key, evicting an entry if the cache
+// is full.
+func (c *Cache) Put(key []byte, endpoint smithyendpoints.Endpoint) {
+	s := c.shard(key)
+	s.mu.Lock()
+	defer s.mu.Unlock()
+
+	if e, ok := s.entries[string(key)]; ok {
+		// lost a race with another resolution of the same parameters, which
+		// resolved to the same endpoint
+		e.endpoint = endpoint
+		return
+	}
+
+	if len(s.entries) >= s.capacity {
+		oldest := s.list.prev
+		s.unlink(oldest)
+		delete(s.entries, oldest.key)
+	}
+
+	e := &entry{key: string(key), endpoint: endpoint}
+	s.entries[e.key] = e
+	s.pushFront(e)
+}
+
+// Len returns the number of entries in the cache.
+func (c *Cache) Len() int {
+	var n int
+	for i := range c.shards {
+		s := &c.shards[i]
+		s.mu.RLock()
+		n += len(s.entries)
+		s.mu.RUnlock()
+	}
+	return n
+}
+
+func (c *Cache) shard(key []byte) *shard {
+	if c.mask == 0 {
+		return &c.shards[0]
+	}
+	return &c.shards[fnv1a(key)&c.mask]
+}
+
+func (s *shard) unlink(e *entry) {
+	e.prev.next = e.next
+	e.next.prev = e.prev
+}
+
+func (s *shard) pushFront(e *entry) {
+	e.prev = &s.list
+	e.next = s.list.next
+	s.list.next.prev = e
+	s.list.next = e
+}
+
+func fnv1a(p []byte) uint32 {
+	h := uint32(2166136261)
+	for _, b := range p {
+		h ^= uint32(b)
+		h *= 16777619
+	}
+	return h
+}
+
+// AppendString appends the cache key encoding of an optional string
+// parameter.
+func AppendString(b []byte, v *string) []byte {
+	if v == nil {
+		return append(b, 0)
+	}
+	b = append(b, 1)
+	b = binary.AppendUvarint(b, uint64(len(*v)))
+	return append(b, *v...)
+}
+
+// AppendBool appends the cache key encoding of an optional boolean
+// parameter.
+func AppendBool(b []byte, v *bool) []byte {
+	switch {
+	case v == nil:
+		return append(b, 0)
+	case *v:
+		return append(b, 2)
+	default:
+		return append(b, 1)
+	}
+}
+
+// AppendStringSlice appends the cache key encoding of a string array
+// parameter.
+func AppendStringSlice(b []byte, v []string) []byte {
+	if v == nil {
+		return append(b, 0)
+	}
+	b = append(b, 1)
+	b = binary.AppendUvarint(b, uint64(len(v)))
+	for _, s := range v {
+		b = binary.AppendUvarint(b, uint64(len(s)))
+		b = append(b, s...)
+	}
+	return b
+}
@@ -0,0 +1,184 @@
+package cache
+
+import (
+	"fmt"
+	"net/url"
+	"sync"
+	"testing"
+
+	smithyendpoints "github.com/aws/smithy-go/endpoints"
+	"github.com/aws/smithy-go/ptr"
+)
+
+func testEndpoint(host string) smithyendpoints.Endpoint {
+	return smithyendpoints.Endpoint{URI: url.URL{Scheme: "https", Host: host}}
+}
+
+func testKey(i int) []byte {
+	return AppendString(nil, ptr.String(fmt.Sprintf("us-west-%d", i)))
+}
+
+func TestCache_GetPut(t *testing.T) {
+	c := New(Options{Size: 4})
+
+	if _, ok := c.Get(testKey(0)); ok {
+		t.Fatalf("expect miss on empty cache")
+	}
+
+	c.Put(testKey(0), testEndpoint("a.example.com"))
+	actual, ok := c.Get(testKey(0))
+	if !ok {
+		t.Fatalf("expect hit")
+	}
+	if expect := "a.example.com"; expect != actual.URI.Host {
+		t.Errorf("expect %s, got %s", expect, actual.URI.Host)
+	}
+
+	c.Put(testKey(0), testEndpoint("b.example.com"))
+	if actual, _ := c.Get(testKey(0)); actual.URI.Host != "b.example.com" {
+		t.Errorf("expect replaced entry, got %s", actual.URI.Host)
+	}
+	if expect, actual := 1, c.Len(); expect != actual {
+		t.Errorf("expect %d entries, got %d", expect, actual)
+	}
+}
+
+func TestCache_Eviction(t *testing.T) {
+	cases := map[string]struct {
+		Eviction Eviction
+		Evicted  int
+	}{
+		"LRU":  {Eviction: EvictLRU, Evicted: 1},
+		"FIFO": {Eviction: EvictFIFO, Evicted: 0},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			cache := New(Options{Size: 3, Eviction: c.Eviction})
+			for i := 0; i < 3; i++ {
+				cache.Put(testKey(i), testEndpoint(fmt.Sprint(i)))
+			}
+
+			cache.Get(testKey(0))
+			cache.Put(testKey(3), testEndpoint("3"))
+
+			if expect, actual := 3, cache.Len(); expect != actual {
+				t.Errorf("expect %d entries, got %d", expect, actual)
+			}
+			for i := 0; i < 4; i++ {
+				_, ok := cache.Get(testKey(i))
+				if expect := i != c.Evicted; expect != ok {
+					t.Errorf("key %d: expect cached=%v, got %v", i, expect, ok)
+				}
+			}
+		})
+	}
+}
+
+func TestCache_Bounded(t *testing.T) {
+	for _, size := range []int{1, 31, 32, 100, 1000} {
+		c := New(Options{Size: size})
+		for i := 0; i < size*4; i++ {
+			c.Put(testKey(i), testEndpoint(fmt.Sprint(i)))
+		}
+
+		// shards round up their share of the size
+		if limit := size + len(c.shards) - 1; c.Len() > limit {
+			t.Errorf("size %d: expect at most %d entries, got %d", size, limit, c.Len())
+		}
+		if len(c.shards) > maxShards {
+			t.Errorf("size %d: expect at most %d shards, got %d", size, maxShards, len(c.shards))
+		}
+	}
+}
+
+func TestCache_Concurrent(t *testing.T) {
+	for _, eviction := range []Eviction{EvictLRU, EvictFIFO} {
+		c := New(Options{Size: 64, Eviction: eviction})
+
+		var wg sync.WaitGroup
+		for g := 0; g < 8; g++ {
+			wg.Add(1)
+			go func(g int) {
+				defer wg.Done()
+				for i := 0; i < 1000; i++ {
+					n := (g*7 + i) % 100
+					key := testKey(n)
+					if v, ok := c.Get(key); ok {
+						if expect := fmt.Sprint(n); expect != v.URI.Host {
+							t.Errorf("expect %s, got endpoint cached under another key: %s", expect, v.URI.Host)
+						}
+						continue
+					}
+					c.Put(key, testEndpoint(fmt.Sprint(n)))
+				}
+			}(g)
+		}
+		wg.Wait()
+	}
+}
+
+func TestAppendKey(t *testing.T) {
+	encode := func(region *string, fips *bool, arns []string) string {
+		b := AppendString(nil, region)
+		b = AppendBool(b, fips)
+		return string(AppendStringSlice(b, arns))
+	}
+
+	// every one of these must produce a distinct key
+	keys := []string{
+		encode(nil, nil, nil),
+		encode(ptr.String(""), nil, nil),
+		encode(ptr.String("us-west-2"), nil, nil),
+		encode(ptr.String("us-west-2"), ptr.Bool(false), nil),
+		encode(ptr.String("us-west-2"), ptr.Bool(true), nil),
+		encode(ptr.String("us-west-2"), ptr.Bool(true), []string{}),
+		encode(ptr.String("us-west-2"), ptr.Bool(true), []string{""}),
+		encode(ptr.String("us-west-2"), ptr.Bool(true), []string{"a", "b"}),
+		encode(ptr.String("us-west-2"), ptr.Bool(true), []string{"ab"}),
+		encode(ptr.String("us-west-2\x00"), nil, nil),
+	}
+
+	seen := map[string]int{}
+	for i, k := range keys {
+		if j, ok := seen[k]; ok {
+			t.Errorf("keys %d and %d collide: %q", j, i, k)
+		}
+		seen[k] = i
+	}
+}
+
+func TestCache_GetAllocs(t *testing.T) {
+	c := New(Options{Size: 16})
+	region := ptr.String("us-west-2")
+	var buf [64]byte
+	c.Put(AppendString(buf[:0], region), testEndpoint("a.example.com"))
+
+	allocs := testing.AllocsPerRun(100, func() {
+		if _, ok := c.Get(AppendString(buf[:0], region)); !ok {
+			t.Fatal("expect hit")
+		}
+	})
+	if allocs != 0 {
+		t.Errorf("expect no allocations, got %v", allocs)
+	}
+}
+
+func BenchmarkCache_Get(b *testing.B) {
+	for _, eviction := range []Eviction{EvictLRU, EvictFIFO} {
+		c := New(Options{Size: 256, Eviction: eviction})
+		for i := 0; i < 8; i++ {
+			c.Put(testKey(i), testEndpoint(fmt.Sprint(i)))
+		}
+
+		b.Run(fmt.Sprintf("Eviction=%d", eviction), func(b *testing.B) {
+			b.ReportAllocs()
+			b.RunParallel(func(pb *testing.PB) {
+				key := testKey(3)
+				for pb.Next() {
+					c.Get(key)
+				}
+			})
+		})
+	}
+}
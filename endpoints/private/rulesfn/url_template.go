@@ -0,0 +1,38 @@
+package rulesfn
+
+// IsURLHostSafe returns whether the input can be used as a URL's host
+// verbatim, with [net/url.Parse] producing the same host from the formatted URL.
+// Only letters, digits, '-' and '.' are allowed, anything else (ports, IP6
+// literals, userinfo, etc.) is left to the URL parser.
+func IsURLHostSafe(input string) bool {
+	for i := 0; i < len(input); i++ {
+		c := input[i]
+		switch {
+		case 'a' <= c && c <= 'z', 'A' <= c && c <= 'Z', '0' <= c && c <= '9':
+		case c == '-', c == '.':
+		default:
+			return false
+		}
+	}
+	return true
+}
+
+// IsURLPathSafe returns whether the input can be used as a URL's path
+// verbatim, with [net/url.Parse] producing the same path from the formatted URL
+// and no separate raw path. Only unreserved characters and '/' are allowed.
+// A non-empty path must be absolute.
+func IsURLPathSafe(input string) bool {
+	if len(input) > 0 && input[0] != '/' {
+		return false
+	}
+	for i := 0; i < len(input); i++ {
+		c := input[i]
+		switch {
+		case 'a' <= c && c <= 'z', 'A' <= c && c <= 'Z', '0' <= c && c <= '9':
+		case c == '-', c == '.', c == '_', c == '~', c == '/':
+		default:
+			return false
+		}
+	}
+	return true
+}
@@ -0,0 +1,76 @@
+package rulesfn
+
+import (
+	"net/url"
+	"reflect"
+	"testing"
+)
+
+func TestURLTemplateSafe(t *testing.T) {
+	cases := map[string]struct {
+		host, path string
+		expectSafe bool
+	}{
+		"host only": {
+			host:       "s3.us-west-2.amazonaws.com",
+			expectSafe: true,
+		},
+		"host and path": {
+			host:       "bucket.s3.us-west-2.amazonaws.com",
+			path:       "/a-b/c_d.e~f/",
+			expectSafe: true,
+		},
+		"host with port": {
+			host: "localhost:8080",
+		},
+		"host with userinfo": {
+			host: "user@example.com",
+		},
+		"host with path": {
+			host: "example.com/bucket",
+		},
+		"host with query": {
+			host: "example.com?a=b",
+		},
+		"ip6 host": {
+			host: "[::1]",
+		},
+		"escaped path": {
+			host: "example.com",
+			path: "/a%2Fb",
+		},
+		"path with space": {
+			host: "example.com",
+			path: "/a b",
+		},
+		"path with fragment": {
+			host: "example.com",
+			path: "/a#b",
+		},
+		"relative path": {
+			host: "example.com",
+			path: "a",
+		},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			safe := IsURLHostSafe(c.host) && IsURLPathSafe(c.path)
+			if e, a := c.expectSafe, safe; e != a {
+				t.Fatalf("expect safe %v, got %v", e, a)
+			}
+			if !safe {
+				return
+			}
+
+			expect, err := url.Parse("https://" + c.host + c.path)
+			if err != nil {
+				t.Fatalf("expect no error, got %v", err)
+			}
+			actual := &url.URL{Scheme: "https", Host: c.host, Path: c.path}
+			if !reflect.DeepEqual(expect, actual) {
+				t.Errorf("expect %#v, got %#v", expect, actual)
+			}
+		})
+	}
+}
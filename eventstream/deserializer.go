@@ -30,6 +30,7 @@ type ShapeDeserializer struct {
 }
 
 var _ smithy.ShapeDeserializer = (*ShapeDeserializer)(nil)
+var _ smithy.LengthHinter = (*ShapeDeserializer)(nil)
 
 // NewShapeDeserializer returns a deserializer for a Message.
 func NewShapeDeserializer(msg *Message, inner smithy.ShapeDeserializer) *ShapeDeserializer {
@@ -257,6 +258,15 @@ func (d *ShapeDeserializer) ReadListItem(s *smithy.Schema) (bool, error) {
 	return d.inner.ReadListItem(s)
 }
 
+// LengthHint implements [smithy.LengthHinter] by deferring to the inner
+// deserializer.
+func (d *ShapeDeserializer) LengthHint() int {
+	if h, ok := d.inner.(smithy.LengthHinter); ok {
+		return h.LengthHint()
+	}
+	return -1
+}
+
 func (d *ShapeDeserializer) ReadMap(s *smithy.Schema) error {
 	return d.inner.ReadMap(s)
 }
@@ -106,7 +106,7 @@ func (c *Codec) deserializeEvent(schema *smithy.Schema, types *smithy.TypeRegist
 		return c.unknownEvent(eventType.String(), msg)
 	}
 
-	entry, ok := types.LookupEntry(member.TargetID().String())
+	entry, ok := types.LookupShapeID(member.TargetID())
 	if !ok {
 		return c.unknownEvent(eventType.String(), msg)
 	}
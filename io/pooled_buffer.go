@@ -0,0 +1,115 @@
+package io
+
+import (
+	"io"
+	"sync"
+)
+
+// pooledBufferClasses are the capacities of pooled buffers. Buffers are
+// borrowed from the smallest class that fits the expected size, and returned
+// to the largest class that fits their capacity.
+var pooledBufferClasses = [...]int{512, 4 << 10, 32 << 10, 256 << 10}
+
+var pooledBuffers [len(pooledBufferClasses)]sync.Pool
+
+func init() {
+	for i, size := range pooledBufferClasses {
+		pooledBuffers[i].New = func() interface{} {
+			return &PooledBuffer{b: make([]byte, 0, size)}
+		}
+	}
+}
+
+// PooledBuffer is a byte buffer borrowed from a pool shared by all callers of
+// ReadAllPooled.
+type PooledBuffer struct {
+	b []byte
+
+	// bytes read past the limit and discarded
+	discarded int64
+}
+
+// Bytes returns the bytes read into the buffer. They are only valid until the
+// buffer is released.
+func (b *PooledBuffer) Bytes() []byte {
+	return b.b
+}
+
+// Discarded returns the number of bytes read past the limit of ReadAllPooled
+// and discarded. If it isn't zero, Bytes holds only the first limit bytes of
+// the reader.
+func (b *PooledBuffer) Discarded() int64 {
+	return b.discarded
+}
+
+// Release returns the buffer to its pool. Neither the buffer nor its bytes may
+// be used afterwards. Buffers which grew past the largest size class are left
+// to the garbage collector.
+func (b *PooledBuffer) Release() {
+	c := cap(b.b)
+	if c > 2*pooledBufferClasses[len(pooledBufferClasses)-1] {
+		return
+	}
+
+	for i := len(pooledBufferClasses) - 1; i >= 0; i-- {
+		if c >= pooledBufferClasses[i] {
+			b.b = b.b[:0]
+			b.discarded = 0
+			pooledBuffers[i].Put(b)
+			return
+		}
+	}
+}
+
+// ReadAllPooled reads r until EOF into a buffer borrowed from a pool of
+// buffers bucketed by size. Only the first limit bytes are kept, the rest of r
+// is read and discarded, such that r is always drained, and counted by the
+// buffer's Discarded method.
+//
+// sizeHint is the expected size of r, such as a response's Content-Length,
+// used to pick the buffer's size class. It is ignored if not positive.
+//
+// The buffer must be released once its bytes are no longer referenced. On
+// error, no buffer is returned.
+func ReadAllPooled(r io.Reader, sizeHint, limit int64) (*PooledBuffer, error) {
+	expect := min(sizeHint, limit)
+
+	class := 0
+	for class < len(pooledBufferClasses)-1 && int64(pooledBufferClasses[class]) < expect {
+		class++
+	}
+	buf := pooledBuffers[class].Get().(*PooledBuffer)
+
+	b := buf.b[:0]
+	for int64(len(b)) < limit {
+		if len(b) == cap(b) {
+			b = append(b, 0)[:len(b)]
+		}
+
+		end := cap(b)
+		if remaining := limit - int64(len(b)); int64(end-len(b)) > remaining {
+			end = len(b) + int(remaining)
+		}
+
+		n, err := r.Read(b[len(b):end])
+		b = b[:len(b)+n]
+		if err == io.EOF {
+			buf.b = b
+			return buf, nil
+		}
+		if err != nil {
+			buf.b = b
+			buf.Release()
+			return nil, err
+		}
+	}
+
+	buf.b = b
+	n, err := io.Copy(io.Discard, r)
+	if err != nil {
+		buf.Release()
+		return nil, err
+	}
+	buf.discarded = n
+	return buf, nil
+}
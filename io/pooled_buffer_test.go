@@ -0,0 +1,167 @@
+package io
+
+import (
+	"bytes"
+	"errors"
+	"io"
+	"strings"
+	"testing"
+)
+
+func TestReadAllPooled(t *testing.T) {
+	cases := map[string]struct {
+		body     string
+		sizeHint int64
+		limit    int64
+		expect   string
+		minCap   int
+	}{
+		"empty": {
+			body:     "",
+			sizeHint: -1,
+			limit:    1024,
+			expect:   "",
+		},
+		"unknown size": {
+			body:     strings.Repeat("a", 5000),
+			sizeHint: -1,
+			limit:    1 << 20,
+			expect:   strings.Repeat("a", 5000),
+		},
+		"size hint": {
+			body:     strings.Repeat("a", 5000),
+			sizeHint: 5000,
+			limit:    1 << 20,
+			expect:   strings.Repeat("a", 5000),
+			minCap:   32 << 10,
+		},
+		"limited": {
+			body:     strings.Repeat("a", 5000),
+			sizeHint: 5000,
+			limit:    100,
+			expect:   strings.Repeat("a", 100),
+		},
+		"limit at class size": {
+			body:     strings.Repeat("a", 1024),
+			sizeHint: -1,
+			limit:    512,
+			expect:   strings.Repeat("a", 512),
+		},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			r := strings.NewReader(c.body)
+			buf, err := ReadAllPooled(oneByteReader{r}, c.sizeHint, c.limit)
+			if err != nil {
+				t.Fatalf("expect no error, got %v", err)
+			}
+			defer buf.Release()
+
+			if expect, actual := c.expect, string(buf.Bytes()); expect != actual {
+				t.Errorf("expect %d bytes, got %d", len(expect), len(actual))
+			}
+			if actual := cap(buf.Bytes()); actual < c.minCap {
+				t.Errorf("expect capacity of at least %d, got %d", c.minCap, actual)
+			}
+			if expect, actual := int64(len(c.body)-len(c.expect)), buf.Discarded(); expect != actual {
+				t.Errorf("expect %d bytes discarded, got %d", expect, actual)
+			}
+			if r.Len() != 0 {
+				t.Errorf("expect reader drained, got %d bytes left unread", r.Len())
+			}
+		})
+	}
+}
+
+func TestReadAllPooled_Error(t *testing.T) {
+	expectErr := errors.New("read failed")
+	r := io.MultiReader(strings.NewReader("abc"), errReader{expectErr})
+
+	buf, err := ReadAllPooled(r, -1, 1024)
+	if !errors.Is(err, expectErr) {
+		t.Fatalf("expect %v, got %v", expectErr, err)
+	}
+	if buf != nil {
+		t.Errorf("expect no buffer on error")
+	}
+}
+
+func TestReadAllPooled_ErrorPastLimit(t *testing.T) {
+	expectErr := errors.New("read failed")
+	r := io.MultiReader(strings.NewReader("abcdef"), errReader{expectErr})
+
+	buf, err := ReadAllPooled(r, -1, 3)
+	if !errors.Is(err, expectErr) {
+		t.Fatalf("expect %v, got %v", expectErr, err)
+	}
+	if buf != nil {
+		t.Errorf("expect no buffer on error")
+	}
+}
+
+func TestPooledBuffer_Release(t *testing.T) {
+	buf := &PooledBuffer{b: make([]byte, 10, 4<<10), discarded: 5}
+	buf.Release()
+	if expect, actual := 0, len(buf.b); expect != actual {
+		t.Errorf("expect released buffer to be reset, got %d bytes", actual)
+	}
+	if expect, actual := int64(0), buf.Discarded(); expect != actual {
+		t.Errorf("expect released buffer to be reset, got %d bytes discarded", actual)
+	}
+
+	// oversized buffers aren't pooled, or reset
+	buf = &PooledBuffer{b: make([]byte, 10, 1<<20)}
+	buf.Release()
+	if expect, actual := 10, len(buf.b); expect != actual {
+		t.Errorf("expect oversized buffer to be dropped, got %d bytes", actual)
+	}
+}
+
+// oneByteReader reads one byte at a time, exercising buffer growth.
+type oneByteReader struct {
+	r io.Reader
+}
+
+func (r oneByteReader) Read(p []byte) (int, error) {
+	if len(p) == 0 {
+		return 0, nil
+	}
+	return r.r.Read(p[:1])
+}
+
+type errReader struct {
+	err error
+}
+
+func (r errReader) Read([]byte) (int, error) {
+	return 0, r.err
+}
+
+func BenchmarkReadErrorBody(b *testing.B) {
+	body := []byte(`{"__type":"ThrottlingException","message":"Rate exceeded"}`)
+
+	b.Run("BytesBuffer", func(b *testing.B) {
+		b.ReportAllocs()
+		b.RunParallel(func(pb *testing.PB) {
+			for pb.Next() {
+				var buf bytes.Buffer
+				if _, err := io.Copy(&buf, bytes.NewReader(body)); err != nil {
+					b.Fatal(err)
+				}
+			}
+		})
+	})
+	b.Run("Pooled", func(b *testing.B) {
+		b.ReportAllocs()
+		b.RunParallel(func(pb *testing.PB) {
+			for pb.Next() {
+				buf, err := ReadAllPooled(bytes.NewReader(body), int64(len(body)), 1<<20)
+				if err != nil {
+					b.Fatal(err)
+				}
+				buf.Release()
+			}
+		})
+	})
+}
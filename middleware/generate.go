@@ -160,6 +160,54 @@ func (s *{{.Phase}}Step) HandleMiddleware(ctx context.Context, in interface{}, n
 	return res.Result, metadata, err
 }
 
+// compile returns a handler that invokes the middleware currently in the step
+// before next. The handler holds its own copy of the chain: it is unaffected by
+// later changes to the step and does not modify the step when invoked, so it
+// may be used concurrently.
+func (s *{{.Phase}}Step) compile(next Handler) Handler {
+	var mws []{{.Phase}}Middleware
+	for h := s.head; h != nil; {
+		mws = append(mws, h.With)
+		hnext, ok := h.Next.(*decorated{{.Phase}}Handler)
+		if !ok {
+			break
+		}
+		h = hnext
+	}
+
+	var h {{.Phase}}Handler = {{.PhaseLowercase}}WrapHandler{next}
+	for i := len(mws) - 1; i >= 0; i-- {
+		h = decorated{{.Phase}}Handler{Next: h, With: mws[i]}
+	}
+
+	return &compiled{{.Phase}}Step{
+		head: h,
+{{- range .StepFields }}
+	{{ .Name }}: s.{{ .Name }},
+{{- end }}
+	}
+}
+
+type compiled{{.Phase}}Step struct {
+	head {{.Phase}}Handler
+{{- range .StepFields }}
+	{{ .Name }} {{ .Type }}
+{{- end }}
+}
+
+func (s *compiled{{.Phase}}Step) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	sIn := {{.Phase}}Input{
+{{- range .Inputs }}
+	{{ .Name }}: {{ .Binding }},
+{{- end }}
+	}
+
+	res, metadata, err := s.head.Handle{{.Phase}}(ctx, sIn)
+	return res.Result, metadata, err
+}
+
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
 func (s *{{.Phase}}Step) Get(id string) ({{.Phase}}Middleware, bool) {
 	found, _ := s.get(id)
@@ -109,6 +109,21 @@ func (s *Stack) HandleMiddleware(ctx context.Context, input interface{}, next Ha
 	return h.Handle(ctx, input)
 }
 
+// Compile returns a handler that invokes the middleware in the stack, step by
+// step, before next, as HandleMiddleware would.
+//
+// The handler is a snapshot of the stack: it is unaffected by later changes to
+// the stack, and unlike HandleMiddleware it does not modify the stack when
+// invoked. It may be used for any number of concurrent invocations, as long as
+// the middleware in the stack do not keep per-invocation state of their own.
+func (s *Stack) Compile(next Handler) Handler {
+	h := s.Deserialize.compile(next)
+	h = s.Finalize.compile(h)
+	h = s.Build.compile(h)
+	h = s.Serialize.compile(h)
+	return s.Initialize.compile(h)
+}
+
 // List returns a list of all middleware in the stack by step.
 func (s *Stack) List() []string {
 	var l []string
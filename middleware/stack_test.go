@@ -1,8 +1,11 @@
 package middleware
 
 import (
+	"context"
+	"fmt"
 	"reflect"
 	"strings"
+	"sync"
 	"testing"
 )
 
@@ -66,3 +69,166 @@ func TestStackString(t *testing.T) {
 		t.Errorf("expect and actual stack list differ: %v != %v", expect, actual)
 	}
 }
+
+type recordingHandler struct {
+	mu    sync.Mutex
+	calls []string
+}
+
+func (r *recordingHandler) record(id string) {
+	r.mu.Lock()
+	defer r.mu.Unlock()
+	r.calls = append(r.calls, id)
+}
+
+func (r *recordingHandler) Handle(ctx context.Context, in interface{}) (interface{}, Metadata, error) {
+	r.record(fmt.Sprintf("handler %v", in))
+	return "result", Metadata{}, nil
+}
+
+func newRecordingStack(r *recordingHandler) *Stack {
+	s := NewStack("fooStack", func() interface{} { return "request" })
+	s.Initialize.Add(InitializeMiddlewareFunc("first", func(ctx context.Context, in InitializeInput, next InitializeHandler) (InitializeOutput, Metadata, error) {
+		r.record("first")
+		return next.HandleInitialize(ctx, in)
+	}), After)
+	s.Serialize.Add(SerializeMiddlewareFunc("second", func(ctx context.Context, in SerializeInput, next SerializeHandler) (SerializeOutput, Metadata, error) {
+		r.record(fmt.Sprintf("second %v %v", in.Parameters, in.Request))
+		return next.HandleSerialize(ctx, in)
+	}), After)
+	s.Build.Add(BuildMiddlewareFunc("third", func(ctx context.Context, in BuildInput, next BuildHandler) (BuildOutput, Metadata, error) {
+		r.record("third")
+		return next.HandleBuild(ctx, in)
+	}), After)
+	s.Finalize.Add(FinalizeMiddlewareFunc("fourth", func(ctx context.Context, in FinalizeInput, next FinalizeHandler) (FinalizeOutput, Metadata, error) {
+		r.record("fourth")
+		return next.HandleFinalize(ctx, in)
+	}), After)
+	s.Deserialize.Add(DeserializeMiddlewareFunc("fifth", func(ctx context.Context, in DeserializeInput, next DeserializeHandler) (DeserializeOutput, Metadata, error) {
+		out, metadata, err := next.HandleDeserialize(ctx, in)
+		r.record(fmt.Sprintf("fifth %v", out.RawResponse))
+		out.Result = out.RawResponse
+		return out, metadata, err
+	}), After)
+	return s
+}
+
+func TestStackCompile(t *testing.T) {
+	expect := []string{
+		"first",
+		"second params request",
+		"third",
+		"fourth",
+		"handler request",
+		"fifth result",
+	}
+
+	r := &recordingHandler{}
+	s := newRecordingStack(r)
+	if _, _, err := s.HandleMiddleware(context.Background(), "params", r); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	if !reflect.DeepEqual(expect, r.calls) {
+		t.Fatalf("expect stack calls %v, got %v", expect, r.calls)
+	}
+
+	r = &recordingHandler{}
+	s = newRecordingStack(r)
+	h := s.Compile(r)
+
+	// changes to the stack after compiling are not picked up
+	s.Build.Add(mockBuildMiddleware("sixth"), After)
+	if _, err := s.Finalize.Remove("fourth"); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+
+	res, _, err := h.Handle(context.Background(), "params")
+	if err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	if e, a := "result", res; e != a {
+		t.Errorf("expect result %v, got %v", e, a)
+	}
+	if !reflect.DeepEqual(expect, r.calls) {
+		t.Errorf("expect compiled calls %v, got %v", expect, r.calls)
+	}
+
+	// invoking the compiled handler leaves the stack's chains as they were
+	for _, tail := range []interface{}{
+		s.Initialize.tail.Next, s.Serialize.tail.Next, s.Build.tail.Next, s.Deserialize.tail.Next,
+	} {
+		if tail != nil {
+			t.Errorf("expect step tail to be unset, got %T", tail)
+		}
+	}
+}
+
+func TestStackCompile_Empty(t *testing.T) {
+	r := &recordingHandler{}
+	h := NewStack("fooStack", func() interface{} { return "request" }).Compile(r)
+
+	if _, _, err := h.Handle(context.Background(), "params"); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	if e, a := []string{"handler request"}, r.calls; !reflect.DeepEqual(e, a) {
+		t.Errorf("expect calls %v, got %v", e, a)
+	}
+}
+
+func TestStackCompile_Concurrent(t *testing.T) {
+	r := &recordingHandler{}
+	h := newRecordingStack(r).Compile(r)
+
+	var wg sync.WaitGroup
+	for i := 0; i < 8; i++ {
+		wg.Add(1)
+		go func() {
+			defer wg.Done()
+			for j := 0; j < 100; j++ {
+				if _, _, err := h.Handle(context.Background(), "params"); err != nil {
+					t.Errorf("expect no error, got %v", err)
+					return
+				}
+			}
+		}()
+	}
+	wg.Wait()
+
+	if e, a := 8*100*6, len(r.calls); e != a {
+		t.Errorf("expect %d calls, got %d", e, a)
+	}
+}
+
+// Compares building a stack for every invocation, as clients do by default,
+// with invoking a stack compiled once.
+func BenchmarkStack(b *testing.B) {
+	var final HandlerFunc = func(ctx context.Context, in interface{}) (interface{}, Metadata, error) {
+		return nil, Metadata{}, nil
+	}
+	build := func() *Stack {
+		s := NewStack("fooStack", func() interface{} { return struct{}{} })
+		for i := 0; i < 8; i++ {
+			s.Initialize.Add(mockInitializeMiddleware(fmt.Sprintf("initialize%d", i)), After)
+			s.Serialize.Add(mockSerializeMiddleware(fmt.Sprintf("serialize%d", i)), After)
+			s.Build.Add(mockBuildMiddleware(fmt.Sprintf("build%d", i)), After)
+			s.Finalize.Add(mockFinalizeMiddleware(fmt.Sprintf("finalize%d", i)), After)
+			s.Deserialize.Add(mockDeserializeMiddleware(fmt.Sprintf("deserialize%d", i)), After)
+		}
+		return s
+	}
+
+	b.Run("PerCall", func(b *testing.B) {
+		b.ReportAllocs()
+		for b.Loop() {
+			s := build()
+			DecorateHandler(final, s).Handle(context.Background(), nil)
+		}
+	})
+	b.Run("Compiled", func(b *testing.B) {
+		h := build().Compile(final)
+		b.ReportAllocs()
+		for b.Loop() {
+			h.Handle(context.Background(), nil)
+		}
+	})
+}
@@ -115,6 +115,46 @@ func (s *BuildStep) HandleMiddleware(ctx context.Context, in interface{}, next H
 	return res.Result, metadata, err
 }
 
+// compile returns a handler that invokes the middleware currently in the step
+// before next. The handler holds its own copy of the chain: it is unaffected by
+// later changes to the step and does not modify the step when invoked, so it
+// may be used concurrently.
+func (s *BuildStep) compile(next Handler) Handler {
+	var mws []BuildMiddleware
+	for h := s.head; h != nil; {
+		mws = append(mws, h.With)
+		hnext, ok := h.Next.(*decoratedBuildHandler)
+		if !ok {
+			break
+		}
+		h = hnext
+	}
+
+	var h BuildHandler = buildWrapHandler{next}
+	for i := len(mws) - 1; i >= 0; i-- {
+		h = decoratedBuildHandler{Next: h, With: mws[i]}
+	}
+
+	return &compiledBuildStep{
+		head: h,
+	}
+}
+
+type compiledBuildStep struct {
+	head BuildHandler
+}
+
+func (s *compiledBuildStep) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	sIn := BuildInput{
+		Request: in,
+	}
+
+	res, metadata, err := s.head.HandleBuild(ctx, sIn)
+	return res.Result, metadata, err
+}
+
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
 func (s *BuildStep) Get(id string) (BuildMiddleware, bool) {
 	found, _ := s.get(id)
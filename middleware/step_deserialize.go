@@ -116,6 +116,46 @@ func (s *DeserializeStep) HandleMiddleware(ctx context.Context, in interface{},
 	return res.Result, metadata, err
 }
 
+// compile returns a handler that invokes the middleware currently in the step
+// before next. The handler holds its own copy of the chain: it is unaffected by
+// later changes to the step and does not modify the step when invoked, so it
+// may be used concurrently.
+func (s *DeserializeStep) compile(next Handler) Handler {
+	var mws []DeserializeMiddleware
+	for h := s.head; h != nil; {
+		mws = append(mws, h.With)
+		hnext, ok := h.Next.(*decoratedDeserializeHandler)
+		if !ok {
+			break
+		}
+		h = hnext
+	}
+
+	var h DeserializeHandler = deserializeWrapHandler{next}
+	for i := len(mws) - 1; i >= 0; i-- {
+		h = decoratedDeserializeHandler{Next: h, With: mws[i]}
+	}
+
+	return &compiledDeserializeStep{
+		head: h,
+	}
+}
+
+type compiledDeserializeStep struct {
+	head DeserializeHandler
+}
+
+func (s *compiledDeserializeStep) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	sIn := DeserializeInput{
+		Request: in,
+	}
+
+	res, metadata, err := s.head.HandleDeserialize(ctx, sIn)
+	return res.Result, metadata, err
+}
+
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
 func (s *DeserializeStep) Get(id string) (DeserializeMiddleware, bool) {
 	found, _ := s.get(id)
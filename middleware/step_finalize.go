@@ -115,6 +115,46 @@ func (s *FinalizeStep) HandleMiddleware(ctx context.Context, in interface{}, nex
 	return res.Result, metadata, err
 }
 
+// compile returns a handler that invokes the middleware currently in the step
+// before next. The handler holds its own copy of the chain: it is unaffected by
+// later changes to the step and does not modify the step when invoked, so it
+// may be used concurrently.
+func (s *FinalizeStep) compile(next Handler) Handler {
+	var mws []FinalizeMiddleware
+	for h := s.head; h != nil; {
+		mws = append(mws, h.With)
+		hnext, ok := h.Next.(*decoratedFinalizeHandler)
+		if !ok {
+			break
+		}
+		h = hnext
+	}
+
+	var h FinalizeHandler = finalizeWrapHandler{next}
+	for i := len(mws) - 1; i >= 0; i-- {
+		h = decoratedFinalizeHandler{Next: h, With: mws[i]}
+	}
+
+	return &compiledFinalizeStep{
+		head: h,
+	}
+}
+
+type compiledFinalizeStep struct {
+	head FinalizeHandler
+}
+
+func (s *compiledFinalizeStep) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	sIn := FinalizeInput{
+		Request: in,
+	}
+
+	res, metadata, err := s.head.HandleFinalize(ctx, sIn)
+	return res.Result, metadata, err
+}
+
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
 func (s *FinalizeStep) Get(id string) (FinalizeMiddleware, bool) {
 	found, _ := s.get(id)
@@ -116,6 +116,46 @@ func (s *InitializeStep) HandleMiddleware(ctx context.Context, in interface{}, n
 	return res.Result, metadata, err
 }
 
+// compile returns a handler that invokes the middleware currently in the step
+// before next. The handler holds its own copy of the chain: it is unaffected by
+// later changes to the step and does not modify the step when invoked, so it
+// may be used concurrently.
+func (s *InitializeStep) compile(next Handler) Handler {
+	var mws []InitializeMiddleware
+	for h := s.head; h != nil; {
+		mws = append(mws, h.With)
+		hnext, ok := h.Next.(*decoratedInitializeHandler)
+		if !ok {
+			break
+		}
+		h = hnext
+	}
+
+	var h InitializeHandler = initializeWrapHandler{next}
+	for i := len(mws) - 1; i >= 0; i-- {
+		h = decoratedInitializeHandler{Next: h, With: mws[i]}
+	}
+
+	return &compiledInitializeStep{
+		head: h,
+	}
+}
+
+type compiledInitializeStep struct {
+	head InitializeHandler
+}
+
+func (s *compiledInitializeStep) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	sIn := InitializeInput{
+		Parameters: in,
+	}
+
+	res, metadata, err := s.head.HandleInitialize(ctx, sIn)
+	return res.Result, metadata, err
+}
+
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
 func (s *InitializeStep) Get(id string) (InitializeMiddleware, bool) {
 	found, _ := s.get(id)
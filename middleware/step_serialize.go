@@ -122,6 +122,49 @@ func (s *SerializeStep) HandleMiddleware(ctx context.Context, in interface{}, ne
 	return res.Result, metadata, err
 }
 
+// compile returns a handler that invokes the middleware currently in the step
+// before next. The handler holds its own copy of the chain: it is unaffected by
+// later changes to the step and does not modify the step when invoked, so it
+// may be used concurrently.
+func (s *SerializeStep) compile(next Handler) Handler {
+	var mws []SerializeMiddleware
+	for h := s.head; h != nil; {
+		mws = append(mws, h.With)
+		hnext, ok := h.Next.(*decoratedSerializeHandler)
+		if !ok {
+			break
+		}
+		h = hnext
+	}
+
+	var h SerializeHandler = serializeWrapHandler{next}
+	for i := len(mws) - 1; i >= 0; i-- {
+		h = decoratedSerializeHandler{Next: h, With: mws[i]}
+	}
+
+	return &compiledSerializeStep{
+		head:       h,
+		newRequest: s.newRequest,
+	}
+}
+
+type compiledSerializeStep struct {
+	head       SerializeHandler
+	newRequest func() interface{}
+}
+
+func (s *compiledSerializeStep) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	sIn := SerializeInput{
+		Parameters: in,
+		Request:    s.newRequest(),
+	}
+
+	res, metadata, err := s.head.HandleSerialize(ctx, sIn)
+	return res.Result, metadata, err
+}
+
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
 func (s *SerializeStep) Get(id string) (SerializeMiddleware, bool) {
 	found, _ := s.get(id)
@@ -0,0 +1,180 @@
+// Package paginator provides runtime support for generated operation
+// paginators.
+package paginator
+
+import (
+	"context"
+	"fmt"
+	"sync"
+)
+
+// FetchFunc retrieves a page, and returns whether another page follows it.
+type FetchFunc[T any] func(ctx context.Context) (page T, more bool, err error)
+
+// Prefetcher retrieves pages ahead of its caller. Once a page has been
+// retrieved, and another one is known to follow it, the next page is requested
+// in the background, until a bounded number of pages are waiting to be
+// returned.
+//
+// Pages are requested one at a time, since each request depends on the
+// previous page, and are returned in order, along with any error. Retrieval
+// stops at the first error, once the context of a call to Next is done before
+// it returns, or once the Prefetcher is closed.
+//
+// Prefetcher is not safe for concurrent use.
+type Prefetcher[T any] struct {
+	size    int
+	results chan prefetchResult[T]
+
+	mu sync.Mutex
+
+	// pages requested or retrieved, which haven't been returned by Next
+	queued int
+
+	// whether a goroutine is retrieving pages
+	running bool
+
+	// whether another page follows the last one retrieved
+	more bool
+
+	// cancels the context of background retrieval
+	cancel context.CancelFunc
+	closed bool
+}
+
+type prefetchResult[T any] struct {
+	page T
+	err  error
+}
+
+// NewPrefetcher returns a Prefetcher that retrieves up to size pages ahead of
+// its caller. A size less than 1 is treated as 1.
+func NewPrefetcher[T any](size int) *Prefetcher[T] {
+	if size < 1 {
+		size = 1
+	}
+
+	return &Prefetcher[T]{
+		size:    size,
+		results: make(chan prefetchResult[T], size),
+		more:    true,
+	}
+}
+
+// HasMore returns whether Next will return another page, or an error.
+func (p *Prefetcher[T]) HasMore() bool {
+	p.mu.Lock()
+	defer p.mu.Unlock()
+
+	return p.queued > 0 || p.more && !p.closed
+}
+
+// Next returns the next page. If no page is being retrieved, Next starts
+// retrieving pages with fetch and waits for the first of them.
+//
+// Pages are retrieved in the background with the values of the context passed
+// to the call that started retrieval. Retrieval isn't canceled once that call
+// returns, so that callers may cancel the context of each call once it
+// returns, but it is canceled if ctx is done before Next returns a page.
+//
+// If ctx is done, Next returns ctx.Err() and cancels the request in progress,
+// if any. Pages already retrieved are returned by the following calls, then
+// the error of the canceled request.
+func (p *Prefetcher[T]) Next(ctx context.Context, fetch FetchFunc[T]) (T, error) {
+	if err := ctx.Err(); err != nil {
+		p.cancelRetrieval()
+
+		var zero T
+		return zero, err
+	}
+
+	p.mu.Lock()
+	if p.queued == 0 && (!p.more || p.closed) {
+		p.mu.Unlock()
+
+		var zero T
+		return zero, fmt.Errorf("no more pages available")
+	}
+	p.startLocked(ctx, fetch)
+	p.mu.Unlock()
+
+	select {
+	case r := <-p.results:
+		p.mu.Lock()
+		p.queued--
+		p.startLocked(ctx, fetch) // resume retrieval if it stopped at capacity
+		p.mu.Unlock()
+
+		return r.page, r.err
+	case <-ctx.Done():
+		p.cancelRetrieval()
+
+		var zero T
+		return zero, ctx.Err()
+	}
+}
+
+// Close stops retrieving pages in the background. The request in progress,
+// if any, is canceled, and its error returned by Next after any pages already
+// retrieved. Close is safe to call concurrently with Next.
+func (p *Prefetcher[T]) Close() {
+	p.mu.Lock()
+	defer p.mu.Unlock()
+
+	p.closed = true
+	if p.cancel != nil {
+		p.cancel()
+	}
+}
+
+// cancelRetrieval cancels the request in progress, if any. The canceled
+// request ends retrieval, like any other error.
+func (p *Prefetcher[T]) cancelRetrieval() {
+	p.mu.Lock()
+	defer p.mu.Unlock()
+
+	if p.cancel != nil {
+		p.cancel()
+	}
+}
+
+func (p *Prefetcher[T]) startLocked(ctx context.Context, fetch FetchFunc[T]) {
+	if p.running || p.closed || !p.more || p.queued >= p.size {
+		return
+	}
+
+	// the previous run, if any, has ended
+	if p.cancel != nil {
+		p.cancel()
+	}
+	ctx, p.cancel = context.WithCancel(context.WithoutCancel(ctx))
+
+	p.running = true
+	p.queued++
+	go p.run(ctx, fetch)
+}
+
+// run retrieves pages until there are none left, or size pages are queued. At
+// most size results are ever queued, so sending one never blocks.
+func (p *Prefetcher[T]) run(ctx context.Context, fetch FetchFunc[T]) {
+	for {
+		page, more, err := fetch(ctx)
+
+		// more is updated before the page is sent, such that once the last
+		// page has been returned HasMore reports false
+		p.mu.Lock()
+		p.more = more && err == nil
+		p.mu.Unlock()
+
+		p.results <- prefetchResult[T]{page: page, err: err}
+
+		p.mu.Lock()
+		if p.closed || !p.more || p.queued >= p.size {
+			p.running = false
+			p.mu.Unlock()
+			return
+		}
+		p.queued++
+		p.mu.Unlock()
+	}
+}
@@ -0,0 +1,239 @@
+package paginator
+
+import (
+	"context"
+	"errors"
+	"fmt"
+	"sync/atomic"
+	"testing"
+	"time"
+)
+
+// pages is a fake paginated operation of n pages, which fails retrieving page
+// failAt if it is non-negative.
+type pages struct {
+	n, failAt int
+
+	next     int
+	started  atomic.Int64
+	returned atomic.Int64
+	maxAhead atomic.Int64
+	delay    time.Duration
+}
+
+func (p *pages) fetch(ctx context.Context) (int, bool, error) {
+	ahead := p.started.Add(1) - p.returned.Load()
+	for {
+		prev := p.maxAhead.Load()
+		if ahead <= prev || p.maxAhead.CompareAndSwap(prev, ahead) {
+			break
+		}
+	}
+
+	if p.delay > 0 {
+		select {
+		case <-time.After(p.delay):
+		case <-ctx.Done():
+			return 0, false, ctx.Err()
+		}
+	}
+
+	page := p.next
+	p.next++
+	if page == p.failAt {
+		return 0, false, fmt.Errorf("page %d failed", page)
+	}
+	return page, p.next < p.n, nil
+}
+
+func TestPrefetcher(t *testing.T) {
+	for _, size := range []int{0, 1, 2, 8} {
+		t.Run(fmt.Sprintf("Size=%d", size), func(t *testing.T) {
+			src := &pages{n: 20, failAt: -1}
+			p := NewPrefetcher[int](size)
+
+			var actual []int
+			for p.HasMore() {
+				page, err := p.Next(context.Background(), src.fetch)
+				if err != nil {
+					t.Fatalf("expect no error, got %v", err)
+				}
+				src.returned.Add(1)
+				actual = append(actual, page)
+			}
+
+			if expect, actual := 20, len(actual); expect != actual {
+				t.Fatalf("expect %d pages, got %d", expect, actual)
+			}
+			for i, page := range actual {
+				if i != page {
+					t.Errorf("expect page %d, got %d", i, page)
+				}
+			}
+
+			// the request started as Next returns a page is counted before the
+			// caller can count the page as returned
+			limit := int64(max(size, 1) + 1)
+			if actual := src.maxAhead.Load(); actual > limit {
+				t.Errorf("expect at most %d pages ahead, got %d", limit, actual)
+			}
+
+			if _, err := p.Next(context.Background(), src.fetch); err == nil {
+				t.Errorf("expect error after last page")
+			}
+		})
+	}
+}
+
+func TestPrefetcher_ErrorInOrder(t *testing.T) {
+	src := &pages{n: 20, failAt: 5}
+	p := NewPrefetcher[int](4)
+
+	for i := 0; i < 5; i++ {
+		page, err := p.Next(context.Background(), src.fetch)
+		if err != nil {
+			t.Fatalf("page %d: expect no error, got %v", i, err)
+		}
+		if i != page {
+			t.Fatalf("expect page %d, got %d", i, page)
+		}
+	}
+
+	if _, err := p.Next(context.Background(), src.fetch); err == nil {
+		t.Fatalf("expect error for page 5")
+	}
+	if p.HasMore() {
+		t.Errorf("expect no more pages after error")
+	}
+	if expect, actual := int64(6), src.started.Load(); expect != actual {
+		t.Errorf("expect %d requests, got %d", expect, actual)
+	}
+}
+
+func TestPrefetcher_ContextCanceled(t *testing.T) {
+	src := &pages{n: 20, failAt: -1, delay: time.Hour}
+	p := NewPrefetcher[int](2)
+
+	ctx, cancel := context.WithTimeout(context.Background(), 10*time.Millisecond)
+	defer cancel()
+
+	_, err := p.Next(ctx, src.fetch)
+	if !errors.Is(err, context.DeadlineExceeded) {
+		t.Fatalf("expect context deadline exceeded, got %v", err)
+	}
+
+	// the caller's cancellation stops retrieval without Close, and the
+	// canceled request is returned by the following call
+	for p.HasMore() {
+		_, err = p.Next(context.Background(), src.fetch)
+		if !errors.Is(err, context.Canceled) {
+			t.Fatalf("expect context canceled, got %v", err)
+		}
+	}
+	if expect, actual := int64(1), src.started.Load(); expect != actual {
+		t.Errorf("expect %d requests, got %d", expect, actual)
+	}
+}
+
+func TestPrefetcher_ContextCanceledBetweenCalls(t *testing.T) {
+	var started atomic.Int64
+	fetch := func(ctx context.Context) (int, bool, error) {
+		if started.Add(1) == 1 {
+			return 0, true, nil
+		}
+		<-ctx.Done()
+		return 0, false, ctx.Err()
+	}
+	p := NewPrefetcher[int](2)
+
+	ctx, cancel := context.WithCancel(context.Background())
+	if _, err := p.Next(ctx, fetch); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+
+	// the caller stops paginating while the next page is being retrieved
+	cancel()
+	if _, err := p.Next(ctx, fetch); !errors.Is(err, context.Canceled) {
+		t.Fatalf("expect context canceled, got %v", err)
+	}
+
+	if _, err := p.Next(context.Background(), fetch); !errors.Is(err, context.Canceled) {
+		t.Fatalf("expect canceled request, got %v", err)
+	}
+	if p.HasMore() {
+		t.Errorf("expect no more pages after canceled request")
+	}
+	if expect, actual := int64(2), started.Load(); expect != actual {
+		t.Errorf("expect %d requests, got %d", expect, actual)
+	}
+}
+
+func TestPrefetcher_PerCallContext(t *testing.T) {
+	src := &pages{n: 20, failAt: -1, delay: time.Millisecond}
+	p := NewPrefetcher[int](4)
+
+	// each call's context is canceled once it returns, while pages are
+	// being retrieved in the background
+	var actual []int
+	for p.HasMore() {
+		ctx, cancel := context.WithTimeout(context.Background(), time.Minute)
+		page, err := p.Next(ctx, src.fetch)
+		cancel()
+		if err != nil {
+			t.Fatalf("page %d: expect no error, got %v", len(actual), err)
+		}
+		src.returned.Add(1)
+		actual = append(actual, page)
+	}
+
+	if expect, actual := 20, len(actual); expect != actual {
+		t.Fatalf("expect %d pages, got %d", expect, actual)
+	}
+}
+
+func TestPrefetcher_CloseBeforeRetrieval(t *testing.T) {
+	src := &pages{n: 20, failAt: -1}
+	p := NewPrefetcher[int](2)
+	p.Close()
+
+	if p.HasMore() {
+		t.Errorf("expect no more pages after close")
+	}
+	if _, err := p.Next(context.Background(), src.fetch); err == nil {
+		t.Errorf("expect error after close")
+	}
+	if expect, actual := int64(0), src.started.Load(); expect != actual {
+		t.Errorf("expect %d requests, got %d", expect, actual)
+	}
+}
+
+func BenchmarkPrefetcher(b *testing.B) {
+	const latency = 100 * time.Microsecond
+
+	for _, size := range []int{0, 1, 4} {
+		b.Run(fmt.Sprintf("Prefetch=%d", size), func(b *testing.B) {
+			for b.Loop() {
+				src := &pages{n: 32, failAt: -1, delay: latency}
+				next := func(ctx context.Context) (int, error) {
+					page, _, err := src.fetch(ctx)
+					return page, err
+				}
+				var p *Prefetcher[int]
+				if size > 0 {
+					p = NewPrefetcher[int](size)
+					next = func(ctx context.Context) (int, error) {
+						return p.Next(ctx, src.fetch)
+					}
+				}
+
+				for i := 0; i < src.n; i++ {
+					if _, err := next(context.Background()); err != nil {
+						b.Fatal(err)
+					}
+					// the caller spends as long on each page as retrieving it
+					time.Sleep(latency)
+				}
+			}
+		})
+	}
+}
@@ -0,0 +1,131 @@
+package rand
+
+import (
+	"encoding/binary"
+	"io"
+	"sync"
+	"sync/atomic"
+)
+
+// IDGenerator provides unique identifiers, such as the IDs servers assign to
+// each request they handle.
+type IDGenerator interface {
+	GetID() (string, error)
+}
+
+// CryptoIDGenerator returns a random UUID version 4 for every ID, reading
+// from its random source each time.
+//
+// With crypto/rand as the source every ID costs a read of the system's
+// random source, see BufferedIDGenerator to amortize those reads.
+type CryptoIDGenerator struct {
+	uuid *UUID
+}
+
+var _ IDGenerator = (*CryptoIDGenerator)(nil)
+
+// NewCryptoIDGenerator returns an ID generator reading from the random
+// reader provided for every ID.
+func NewCryptoIDGenerator(r io.Reader) *CryptoIDGenerator {
+	return &CryptoIDGenerator{uuid: NewUUID(r)}
+}
+
+// GetID returns a random UUID version 4.
+func (g *CryptoIDGenerator) GetID() (string, error) {
+	return g.uuid.GetUUID()
+}
+
+// bufferedIDBatch is the number of IDs read from the random source at once.
+const bufferedIDBatch = 256
+
+type idBuffer struct {
+	b   [bufferedIDBatch * 16]byte
+	off int
+}
+
+// BufferedIDGenerator returns random UUID version 4 values, like
+// CryptoIDGenerator, but reads its random source in batches of IDs. Batches
+// are held in a sync.Pool, so concurrent callers generally draw from
+// separate buffers without contending on a lock.
+//
+// Every byte read from the random source is used at most once.
+type BufferedIDGenerator struct {
+	randSrc io.Reader
+	pool    sync.Pool
+}
+
+var _ IDGenerator = (*BufferedIDGenerator)(nil)
+
+// NewBufferedIDGenerator returns an ID generator reading from the random
+// reader provided in batches.
+func NewBufferedIDGenerator(r io.Reader) *BufferedIDGenerator {
+	g := &BufferedIDGenerator{randSrc: r}
+	g.pool.New = func() any {
+		buf := &idBuffer{}
+		buf.off = len(buf.b)
+		return buf
+	}
+	return g
+}
+
+// GetID returns a random UUID version 4. Returns an error if a batch could
+// not be read from the random source.
+func (g *BufferedIDGenerator) GetID() (string, error) {
+	buf := g.pool.Get().(*idBuffer)
+	defer g.pool.Put(buf)
+
+	if buf.off == len(buf.b) {
+		if _, err := io.ReadFull(g.randSrc, buf.b[:]); err != nil {
+			return "", err
+		}
+		buf.off = 0
+	}
+
+	var u [16]byte
+	copy(u[:], buf.b[buf.off:])
+	buf.off += len(u)
+	makeUUIDv4(u[:])
+	return format(u), nil
+}
+
+// CounterIDGenerator returns IDs made of a random prefix, read once from its
+// random source, followed by a counter incremented for every ID. IDs are
+// unique within the generator and, through the prefix, very likely unique
+// across generators, but they are predictable: do not use them where IDs
+// must not be guessable.
+//
+// IDs are formatted as UUID version 4 values. The first 8 bytes hold the
+// prefix and the last 8 bytes the counter.
+type CounterIDGenerator struct {
+	randSrc io.Reader
+
+	once    sync.Once
+	prefix  [8]byte
+	err     error
+	counter atomic.Uint64
+}
+
+var _ IDGenerator = (*CounterIDGenerator)(nil)
+
+// NewCounterIDGenerator returns an ID generator whose prefix is read from the
+// random reader provided, on first use.
+func NewCounterIDGenerator(r io.Reader) *CounterIDGenerator {
+	return &CounterIDGenerator{randSrc: r}
+}
+
+// GetID returns the next ID. Returns an error if the prefix could not be
+// read from the random source.
+func (g *CounterIDGenerator) GetID() (string, error) {
+	g.once.Do(func() {
+		_, g.err = io.ReadFull(g.randSrc, g.prefix[:])
+	})
+	if g.err != nil {
+		return "", g.err
+	}
+
+	var u [16]byte
+	copy(u[:8], g.prefix[:])
+	binary.BigEndian.PutUint64(u[8:], g.counter.Add(1))
+	makeUUIDv4(u[:])
+	return format(u), nil
+}
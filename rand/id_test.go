@@ -0,0 +1,183 @@
+package rand_test
+
+import (
+	"bytes"
+	"crypto/rand"
+	"errors"
+	"regexp"
+	"sync"
+	"testing"
+
+	smithyrand "github.com/aws/smithy-go/rand"
+)
+
+var uuidV4 = regexp.MustCompile(`^[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}$`)
+
+type failReader struct{}
+
+func (failReader) Read([]byte) (int, error) { return 0, errors.New("read failed") }
+
+func TestIDGenerator_Format(t *testing.T) {
+	for name, g := range map[string]smithyrand.IDGenerator{
+		"crypto":   smithyrand.NewCryptoIDGenerator(rand.Reader),
+		"buffered": smithyrand.NewBufferedIDGenerator(rand.Reader),
+		"counter":  smithyrand.NewCounterIDGenerator(rand.Reader),
+	} {
+		t.Run(name, func(t *testing.T) {
+			for i := 0; i < 1000; i++ {
+				id, err := g.GetID()
+				if err != nil {
+					t.Fatalf("expect no error, got %v", err)
+				}
+				if !uuidV4.MatchString(id) {
+					t.Fatalf("expect UUID version 4, got %v", id)
+				}
+			}
+		})
+	}
+}
+
+func TestIDGenerator_Unique(t *testing.T) {
+	const goroutines, perGoroutine = 8, 2000
+
+	for name, g := range map[string]smithyrand.IDGenerator{
+		"buffered": smithyrand.NewBufferedIDGenerator(rand.Reader),
+		"counter":  smithyrand.NewCounterIDGenerator(rand.Reader),
+	} {
+		t.Run(name, func(t *testing.T) {
+			var mu sync.Mutex
+			seen := make(map[string]struct{}, goroutines*perGoroutine)
+
+			var wg sync.WaitGroup
+			for i := 0; i < goroutines; i++ {
+				wg.Add(1)
+				go func() {
+					defer wg.Done()
+					ids := make([]string, 0, perGoroutine)
+					for j := 0; j < perGoroutine; j++ {
+						id, err := g.GetID()
+						if err != nil {
+							t.Errorf("expect no error, got %v", err)
+							return
+						}
+						ids = append(ids, id)
+					}
+
+					mu.Lock()
+					defer mu.Unlock()
+					for _, id := range ids {
+						seen[id] = struct{}{}
+					}
+				}()
+			}
+			wg.Wait()
+
+			if e, a := goroutines*perGoroutine, len(seen); e != a {
+				t.Errorf("expect %d unique IDs, got %d", e, a)
+			}
+		})
+	}
+}
+
+type countingReader struct {
+	mu    sync.Mutex
+	reads []int
+}
+
+func (r *countingReader) Read(p []byte) (int, error) {
+	r.mu.Lock()
+	r.reads = append(r.reads, len(p))
+	r.mu.Unlock()
+	return rand.Read(p)
+}
+
+func TestBufferedIDGenerator(t *testing.T) {
+	g := smithyrand.NewBufferedIDGenerator(bytes.NewReader(bytes.Repeat([]byte{1}, 256*16)))
+
+	id, err := g.GetID()
+	if err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	if e, a := `01010101-0101-4101-8101-010101010101`, id; e != a {
+		t.Errorf("expect %v, got %v", e, a)
+	}
+}
+
+func TestBufferedIDGenerator_Batches(t *testing.T) {
+	r := &countingReader{}
+	g := smithyrand.NewBufferedIDGenerator(r)
+
+	const ids = 1000
+	for i := 0; i < ids; i++ {
+		if _, err := g.GetID(); err != nil {
+			t.Fatalf("expect no error, got %v", err)
+		}
+	}
+
+	// the pool may drop buffers, so only the size of each read is certain
+	var total int
+	for _, n := range r.reads {
+		if e, a := 256*16, n; e != a {
+			t.Errorf("expect reads of %d bytes, got %d", e, a)
+		}
+		total += n
+	}
+	if total < ids*16 {
+		t.Errorf("expect at least %d bytes read, got %d", ids*16, total)
+	}
+}
+
+func TestBufferedIDGenerator_ReadError(t *testing.T) {
+	g := smithyrand.NewBufferedIDGenerator(failReader{})
+	if _, err := g.GetID(); err == nil {
+		t.Errorf("expect error reading random source")
+	}
+}
+
+func TestCounterIDGenerator(t *testing.T) {
+	g := smithyrand.NewCounterIDGenerator(bytes.NewReader(bytes.Repeat([]byte{0xff}, 8)))
+
+	for _, expect := range []string{
+		`ffffffff-ffff-4fff-8000-000000000001`,
+		`ffffffff-ffff-4fff-8000-000000000002`,
+		`ffffffff-ffff-4fff-8000-000000000003`,
+	} {
+		id, err := g.GetID()
+		if err != nil {
+			t.Fatalf("expect no error, got %v", err)
+		}
+		if expect != id {
+			t.Errorf("expect %v, got %v", expect, id)
+		}
+	}
+}
+
+func TestCounterIDGenerator_PrefixError(t *testing.T) {
+	g := smithyrand.NewCounterIDGenerator(failReader{})
+	for i := 0; i < 2; i++ {
+		if _, err := g.GetID(); err == nil {
+			t.Errorf("expect error reading prefix")
+		}
+	}
+}
+
+// Compares the cost of generating an ID under concurrent load, as a server
+// does once per request.
+func BenchmarkIDGenerator(b *testing.B) {
+	for name, g := range map[string]smithyrand.IDGenerator{
+		"Crypto":   smithyrand.NewCryptoIDGenerator(rand.Reader),
+		"Buffered": smithyrand.NewBufferedIDGenerator(rand.Reader),
+		"Counter":  smithyrand.NewCounterIDGenerator(rand.Reader),
+	} {
+		b.Run(name, func(b *testing.B) {
+			b.ReportAllocs()
+			b.RunParallel(func(pb *testing.PB) {
+				for pb.Next() {
+					if _, err := g.GetID(); err != nil {
+						b.Fatal(err)
+					}
+				}
+			})
+		})
+	}
+}
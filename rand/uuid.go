@@ -59,6 +59,10 @@ func (r *UUID) GetBytes() (u []byte, err error) {
 }
 
 func (r *UUID) makeUUIDv4(u []byte) {
+	makeUUIDv4(u)
+}
+
+func makeUUIDv4(u []byte) {
 	// 13th character is "4"
 	u[6] = (u[6] & 0x0f) | 0x40 // Version 4
 	// 17th character is "8", "9", "a", or "b"
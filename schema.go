@@ -70,6 +70,11 @@ type Schema struct {
 	indexed    []Trait            // indexed trait slots, sized to max index present
 	directMask uint64             // bitmask: bit i set means indexed[i] was declared directly on this schema
 	targetID   ShapeID            // for member schemas, the target's shape ID
+	index      int                // for member schemas, the dense ordinal within the parent, else -1
+
+	// traits and indexed are borrowed from the target and must be copied
+	// before they're written, see addTrait
+	sharedTraits bool
 
 	// resolved on the fly and cached
 	listMember       atomic.Pointer[Schema]
@@ -84,6 +89,7 @@ func NewSchema(id ShapeID, typ ShapeType, numMembers int, ts ...Trait) *Schema {
 		id:      id,
 		typ:     typ,
 		members: make(map[string]*Schema, numMembers),
+		index:   -1,
 	}
 	for _, t := range ts {
 		s.addTrait(t, true)
@@ -92,6 +98,12 @@ func NewSchema(id ShapeID, typ ShapeType, numMembers int, ts ...Trait) *Schema {
 }
 
 func (s *Schema) addTrait(t Trait, direct bool) {
+	if s.sharedTraits {
+		s.indexed = cloneIndexed(s.indexed)
+		s.traits = cloneTraits(s.traits)
+		s.sharedTraits = false
+	}
+
 	if it, ok := t.(IndexableTrait); ok {
 		idx := it.TraitIndex()
 		if idx >= len(s.indexed) {
@@ -114,22 +126,42 @@ func (s *Schema) addTrait(t Trait, direct bool) {
 // optional trait overrides. The member schema is returned for caller
 // reference.
 //
+// The member is assigned the next ordinal in insertion order, see
+// [Schema.AddMemberAt].
+//
 // The member schema's effective trait view (accessed via [SchemaTrait])
 // inherits all of the target's traits, then applies the overrides. The
 // member's direct trait view (accessed via [SchemaDirectTrait]) contains
 // only the overrides, i.e. the traits declared directly on the member.
+//
+// A member with no overrides shares the target's trait storage rather than
+// copying it, so the target's traits MUST NOT change after members are added.
 func (s *Schema) AddMember(name string, target *Schema, ts ...Trait) *Schema {
+	return s.AddMemberAt(name, len(s.members), target, ts...)
+}
+
+// AddMemberAt is like [Schema.AddMember], but assigns the member the given
+// ordinal, which is returned by [Schema.MemberIndex] on the member schema.
+//
+// Generated clients assign ordinals at codegen time so that deserializers can
+// dispatch on a dense integer switch rather than comparing member schema
+// pointers one at a time. Ordinals SHOULD be unique within the parent schema
+// and fall in [0, numMembers).
+func (s *Schema) AddMemberAt(name string, index int, target *Schema, ts ...Trait) *Schema {
 	m := &Schema{
-		id:         ShapeID{Member: name},
-		typ:        target.typ,
-		members:    target.members,
-		indexed:    cloneIndexed(target.indexed),
-		traits:     cloneTraits(target.traits),
-		directMask: 0, // inherited traits are not direct
-		targetID:   target.id,
+		id:           ShapeID{Member: name},
+		typ:          target.typ,
+		members:      target.members,
+		indexed:      target.indexed,
+		traits:       target.traits,
+		directMask:   0, // inherited traits are not direct
+		targetID:     target.id,
+		index:        index,
+		sharedTraits: true,
 	}
 
-	// member-declared traits override and are direct
+	// member-declared traits override and are direct, the first one copies
+	// the inherited set
 	for _, t := range ts {
 		m.addTrait(t, true)
 	}
@@ -203,6 +235,12 @@ func (s *Schema) ID() ShapeID {
 	return s.id
 }
 
+// MemberIndex returns the dense ordinal of a member schema within its parent,
+// or -1 if the schema is not a member.
+func (s *Schema) MemberIndex() int {
+	return s.index
+}
+
 // TargetID returns the shape ID of the member's target shape.
 func (s *Schema) TargetID() ShapeID {
 	return s.targetID
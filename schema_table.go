@@ -0,0 +1,145 @@
+package smithy
+
+import (
+	"sync"
+	"sync/atomic"
+)
+
+// SchemaDef is the static description of a single schema in a [SchemaTable].
+type SchemaDef struct {
+	ID      ShapeID
+	Type    ShapeType
+	Traits  []Trait
+	Members []SchemaMemberDef
+}
+
+// SchemaMemberDef is the static description of a member of a [SchemaDef].
+//
+// A member's position in [SchemaDef.Members] is its ordinal, see
+// [Schema.MemberIndex].
+type SchemaMemberDef struct {
+	Name   string
+	Traits []Trait
+
+	// Target is the index of the member's target in the table. It is ignored
+	// if TargetVar is set.
+	Target int
+
+	// TargetVar points to a target defined outside of the table, e.g. a
+	// prelude schema.
+	TargetVar **Schema
+
+	// Var, if set, is assigned the member schema when it is built, before
+	// its parent is published. Anything that has requested the parent, or a
+	// schema that reaches it, can then read the member with a plain load.
+	Var **Schema
+}
+
+// SchemaTable lazily materializes schemas from a static table of
+// definitions.
+//
+// Generated clients describe every schema in the service as a [SchemaDef]
+// literal, which the Go linker lays out as static data, so nothing is
+// allocated at program start. A schema is built the first time it is
+// requested, along with every schema it can reach through its members, so
+// the cost of schemas scales with the operations a program actually calls
+// rather than the size of the service.
+//
+// A SchemaTable MUST NOT be copied after first use.
+type SchemaTable struct {
+	Defs []SchemaDef
+
+	once    sync.Once
+	built   []atomic.Pointer[Schema] // published schemas, safe to read without mu
+	members [][]*Schema              // member schemas by ordinal, written before their parent is published
+
+	mu  sync.Mutex
+	all []*Schema // all created schemas, including those not yet published
+}
+
+// Schema returns the schema at index i of the table, building it if
+// necessary.
+func (t *SchemaTable) Schema(i int) *Schema {
+	t.once.Do(t.init)
+	if s := t.built[i].Load(); s != nil {
+		return s
+	}
+	return t.materialize(i)
+}
+
+// Member returns the member schema with the given ordinal in the schema at
+// index i of the table, building it if necessary.
+func (t *SchemaTable) Member(i, ordinal int) *Schema {
+	t.Schema(i)
+	return t.members[i][ordinal]
+}
+
+func (t *SchemaTable) init() {
+	t.built = make([]atomic.Pointer[Schema], len(t.Defs))
+	t.members = make([][]*Schema, len(t.Defs))
+	t.all = make([]*Schema, len(t.Defs))
+}
+
+// materialize builds the schema at index i and everything reachable from it
+// that has not been built yet.
+//
+// Member schemas share their target's member map, so a schema can't be handed
+// out until all of its transitive targets are complete. Everything is created
+// first, then wired together, then published at once.
+func (t *SchemaTable) materialize(i int) *Schema {
+	t.mu.Lock()
+	defer t.mu.Unlock()
+
+	if s := t.built[i].Load(); s != nil {
+		return s
+	}
+
+	var pending []int
+	stack := []int{i}
+	for len(stack) > 0 {
+		j := stack[len(stack)-1]
+		stack = stack[:len(stack)-1]
+		if t.all[j] != nil {
+			continue
+		}
+
+		def := &t.Defs[j]
+		t.all[j] = NewSchema(def.ID, def.Type, len(def.Members), def.Traits...)
+		pending = append(pending, j)
+		for _, m := range def.Members {
+			if m.TargetVar == nil {
+				stack = append(stack, m.Target)
+			}
+		}
+	}
+
+	for _, j := range pending {
+		def := &t.Defs[j]
+		if len(def.Members) == 0 {
+			continue
+		}
+
+		s := t.all[j]
+		members := make([]*Schema, len(def.Members))
+		for k, m := range def.Members {
+			target := t.targetOf(m)
+			members[k] = s.AddMemberAt(m.Name, k, target, m.Traits...)
+			if m.Var != nil {
+				*m.Var = members[k]
+			}
+		}
+		t.members[j] = members
+	}
+
+	for _, j := range pending {
+		t.built[j].Store(t.all[j])
+	}
+	return t.all[i]
+}
+
+func (t *SchemaTable) targetOf(m SchemaMemberDef) *Schema {
+	if m.TargetVar != nil {
+		return *m.TargetVar
+	}
+	return t.all[m.Target]
+}
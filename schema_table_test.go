@@ -0,0 +1,178 @@
+package smithy
+
+import (
+	"sync"
+	"testing"
+)
+
+type testTableTrait struct{ Value string }
+
+func (*testTableTrait) TraitID() ShapeID {
+	return ShapeID{Namespace: "smithy.test", Name: "tableTrait"}
+}
+
+var testTableString = NewSchema(ShapeID{Namespace: "smithy.api", Name: "String"}, ShapeTypeString, 0)
+
+// 0: Root { Next: Root, Items: List, Name: String }
+// 1: List [ Item ]
+// 2: Item { Name: String }
+// 3: Unrelated { Name: String }
+func newTestSchemaTable() *SchemaTable {
+	return &SchemaTable{
+		Defs: []SchemaDef{
+			{
+				ID:   ShapeID{Namespace: "smithy.test", Name: "Root"},
+				Type: ShapeTypeStructure,
+				Members: []SchemaMemberDef{
+					{Name: "Items", Target: 1},
+					{Name: "Name", TargetVar: &testTableString, Traits: []Trait{&testTableTrait{"member"}}},
+					{Name: "Next", Target: 0},
+				},
+			},
+			{
+				ID:   ShapeID{Namespace: "smithy.test", Name: "List"},
+				Type: ShapeTypeList,
+				Members: []SchemaMemberDef{
+					{Name: "member", Target: 2},
+				},
+			},
+			{
+				ID:     ShapeID{Namespace: "smithy.test", Name: "Item"},
+				Type:   ShapeTypeStructure,
+				Traits: []Trait{&testTableTrait{"item"}},
+				Members: []SchemaMemberDef{
+					{Name: "Name", TargetVar: &testTableString},
+				},
+			},
+			{
+				ID:   ShapeID{Namespace: "smithy.test", Name: "Unrelated"},
+				Type: ShapeTypeStructure,
+				Members: []SchemaMemberDef{
+					{Name: "Name", TargetVar: &testTableString},
+				},
+			},
+		},
+	}
+}
+
+func TestSchemaTable(t *testing.T) {
+	table := newTestSchemaTable()
+
+	root := table.Schema(0)
+	if expect, actual := "Root", root.ID().Name; expect != actual {
+		t.Errorf("expect %q, got %q", expect, actual)
+	}
+	if expect, actual := 3, len(root.Members()); expect != actual {
+		t.Fatalf("expect %d members, got %d", expect, actual)
+	}
+
+	for i, name := range []string{"Items", "Name", "Next"} {
+		m := table.Member(0, i)
+		if m != root.Member(name) {
+			t.Errorf("member %d: expect %s", i, name)
+		}
+		if expect, actual := i, m.MemberIndex(); expect != actual {
+			t.Errorf("member %s: expect index %d, got %d", name, expect, actual)
+		}
+	}
+
+	// recursive member shares the parent's members
+	if expect, actual := root.Member("Items"), root.Member("Next").Member("Items"); expect.TargetID() != actual.TargetID() {
+		t.Errorf("expect recursive member to resolve to %v, got %v", expect.TargetID(), actual.TargetID())
+	}
+
+	// member traits override, target traits are inherited
+	if tr, ok := SchemaTrait[*testTableTrait](root.Member("Name")); !ok || tr.Value != "member" {
+		t.Errorf("expect member trait, got %v", tr)
+	}
+	item := root.Member("Items").ListMember()
+	if tr, ok := SchemaTrait[*testTableTrait](item); !ok || tr.Value != "item" {
+		t.Errorf("expect inherited trait, got %v", tr)
+	}
+	if item.Member("Name") == nil {
+		t.Errorf("expect list member target to be built")
+	}
+
+	if table.Schema(1) != table.Schema(1) {
+		t.Errorf("expect schema to be built once")
+	}
+}
+
+func TestSchemaTable_Lazy(t *testing.T) {
+	table := newTestSchemaTable()
+
+	table.Schema(2)
+	for i, expect := range []bool{false, false, true, false} {
+		if actual := table.built[i].Load() != nil; expect != actual {
+			t.Errorf("schema %d: expect built=%v, got %v", i, expect, actual)
+		}
+	}
+
+	table.Schema(0)
+	for i, expect := range []bool{true, true, true, false} {
+		if actual := table.built[i].Load() != nil; expect != actual {
+			t.Errorf("schema %d: expect built=%v, got %v", i, expect, actual)
+		}
+	}
+}
+
+func TestSchemaTable_Concurrent(t *testing.T) {
+	table := newTestSchemaTable()
+
+	var wg sync.WaitGroup
+	results := make([]*Schema, 8)
+	for i := range results {
+		wg.Add(1)
+		go func() {
+			defer wg.Done()
+			results[i] = table.Member(0, 0).ListMember()
+		}()
+	}
+	wg.Wait()
+
+	for i, s := range results {
+		if s != results[0] {
+			t.Errorf("result %d: expect same schema across goroutines", i)
+		}
+	}
+}
+
+func TestSchemaTable_MemberVars(t *testing.T) {
+	var rootItems, itemName *Schema
+	table := newTestSchemaTable()
+	table.Defs[0].Members[0].Var = &rootItems
+	table.Defs[2].Members[0].Var = &itemName
+
+	if rootItems != nil || itemName != nil {
+		t.Fatalf("expect member vars unset before the table is used")
+	}
+
+	// building the root sets the member vars of everything it reaches
+	root := table.Schema(0)
+	if rootItems != root.Member("Items") {
+		t.Errorf("expect root member var to be set")
+	}
+	if itemName != table.Member(2, 0) {
+		t.Errorf("expect reachable member var to be set")
+	}
+}
+
+var benchmarkSchema *Schema
+
+func BenchmarkSchemaTable_MemberRef(b *testing.B) {
+	var rootName *Schema
+	table := newTestSchemaTable()
+	table.Defs[0].Members[1].Var = &rootName
+	table.Schema(0)
+
+	b.Run("Var", func(b *testing.B) {
+		for b.Loop() {
+			benchmarkSchema = rootName
+		}
+	})
+	b.Run("Member", func(b *testing.B) {
+		for b.Loop() {
+			benchmarkSchema = table.Member(0, 1)
+		}
+	})
+}
@@ -0,0 +1,71 @@
+package smithy
+
+import (
+	"testing"
+)
+
+type testIndexedTrait struct{ Value string }
+
+func (*testIndexedTrait) TraitID() ShapeID {
+	return ShapeID{Namespace: "smithy.test", Name: "indexedTrait"}
+}
+
+func (*testIndexedTrait) TraitIndex() int { return 3 }
+
+func TestAddMember_SharedTraits(t *testing.T) {
+	target := NewSchema(ShapeID{Namespace: "smithy.test", Name: "Target"}, ShapeTypeString, 0,
+		&testTableTrait{"target"}, &testIndexedTrait{"target"})
+	parent := NewSchema(ShapeID{Namespace: "smithy.test", Name: "Parent"}, ShapeTypeStructure, 2)
+
+	plain := parent.AddMember("Plain", target)
+	if !plain.sharedTraits {
+		t.Errorf("expect member without overrides to share target traits")
+	}
+	if tr, ok := SchemaTrait[*testTableTrait](plain); !ok || tr.Value != "target" {
+		t.Errorf("expect inherited trait, got %v", tr)
+	}
+	if _, ok := SchemaDirectTrait[*testIndexedTrait](plain); ok {
+		t.Errorf("expect inherited indexed trait not to be direct")
+	}
+
+	override := parent.AddMember("Override", target, &testTableTrait{"member"}, &testIndexedTrait{"member"})
+	if override.sharedTraits {
+		t.Errorf("expect member with overrides to own its traits")
+	}
+	if tr, ok := SchemaTrait[*testTableTrait](override); !ok || tr.Value != "member" {
+		t.Errorf("expect overridden trait, got %v", tr)
+	}
+	if tr, ok := SchemaDirectTrait[*testIndexedTrait](override); !ok || tr.Value != "member" {
+		t.Errorf("expect direct indexed trait, got %v", tr)
+	}
+
+	// neither the target nor its other members see the override
+	for _, s := range []*Schema{target, plain} {
+		if tr, _ := SchemaTrait[*testTableTrait](s); tr.Value != "target" {
+			t.Errorf("%v: expect target trait, got %v", s.ID(), tr)
+		}
+		if tr, _ := SchemaTrait[*testIndexedTrait](s); tr.Value != "target" {
+			t.Errorf("%v: expect target indexed trait, got %v", s.ID(), tr)
+		}
+	}
+}
+
+func BenchmarkAddMember(b *testing.B) {
+	target := NewSchema(ShapeID{Namespace: "smithy.test", Name: "Target"}, ShapeTypeString, 0,
+		&testTableTrait{"target"}, &testIndexedTrait{"target"})
+
+	b.Run("NoOverrides", func(b *testing.B) {
+		b.ReportAllocs()
+		for b.Loop() {
+			parent := NewSchema(ShapeID{Namespace: "smithy.test", Name: "Parent"}, ShapeTypeStructure, 1)
+			parent.AddMember("Member", target)
+		}
+	})
+	b.Run("Overrides", func(b *testing.B) {
+		b.ReportAllocs()
+		for b.Loop() {
+			parent := NewSchema(ShapeID{Namespace: "smithy.test", Name: "Parent"}, ShapeTypeStructure, 1)
+			parent.AddMember("Member", target, &testTableTrait{"member"})
+		}
+	})
+}
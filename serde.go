@@ -94,6 +94,22 @@ type ShapeDeserializer interface {
 	ReadMapKey(*Schema) (key string, hasMoreElements bool, err error)
 }
 
+// LengthHinter is optionally implemented by a ShapeDeserializer that can
+// report the size of a list or map before its elements are read.
+//
+// Generated deserializers use the hint (through [ReadSizedList] and
+// [ReadSizedMap]) to allocate the container up front rather than growing it
+// element by element.
+type LengthHinter interface {
+	// LengthHint returns the number of elements in the list or map that was
+	// most recently opened with ReadList or ReadMap, or -1 if it is unknown.
+	// It is only meaningful before the first element is read.
+	//
+	// Implementations MUST NOT report more elements than the remaining input
+	// could possibly encode, since callers allocate based on it.
+	LengthHint() int
+}
+
 // Serializable is an entity that can describe itself to a ShapeSerializer to
 // be encoded to some format.
 //
@@ -178,10 +194,22 @@ func ReadStruct(d ShapeDeserializer, schema *Schema, memberFn func(*Schema) erro
 
 // ReadList is a utility API for generated clients.
 func ReadList(d ShapeDeserializer, schema *Schema, memberFn func() error) error {
+	return ReadSizedList(d, schema, nil, memberFn)
+}
+
+// ReadSizedList is a utility API for generated clients. It is like
+// [ReadList], but once the list is opened and before any elements are read,
+// sizeFn is called with the number of elements, if d implements
+// [LengthHinter] and knows it, else 0.
+func ReadSizedList(d ShapeDeserializer, schema *Schema, sizeFn func(int), memberFn func() error) error {
 	if err := d.ReadList(schema); err != nil {
 		return err
 	}
 
+	if sizeFn != nil {
+		sizeFn(LengthHint(d))
+	}
+
 	var memberSchema *Schema
 	if schema != nil {
 		memberSchema = schema.ListMember()
@@ -204,10 +232,22 @@ func ReadList(d ShapeDeserializer, schema *Schema, memberFn func() error) error
 
 // ReadMap is a utility API for generated clients.
 func ReadMap(d ShapeDeserializer, schema *Schema, memberFn func(string) error) error {
+	return ReadSizedMap(d, schema, nil, memberFn)
+}
+
+// ReadSizedMap is a utility API for generated clients. It is like [ReadMap],
+// but once the map is opened and before any entries are read, sizeFn is
+// called with the number of entries, if d implements [LengthHinter] and knows
+// it, else 0.
+func ReadSizedMap(d ShapeDeserializer, schema *Schema, sizeFn func(int), memberFn func(string) error) error {
 	if err := d.ReadMap(schema); err != nil {
 		return err
 	}
 
+	if sizeFn != nil {
+		sizeFn(LengthHint(d))
+	}
+
 	var keySchema *Schema
 	if schema != nil {
 		keySchema = schema.MapKey()
@@ -227,3 +267,15 @@ func ReadMap(d ShapeDeserializer, schema *Schema, memberFn func(string) error) e
 		}
 	}
 }
+
+// LengthHint is a utility API for generated clients. It returns the number of
+// elements in the list or map that d most recently opened, if d implements
+// [LengthHinter] and knows it, else 0.
+func LengthHint(d ShapeDeserializer) int {
+	if h, ok := d.(LengthHinter); ok {
+		if n := h.LengthHint(); n > 0 {
+			return n
+		}
+	}
+	return 0
+}
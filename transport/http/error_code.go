@@ -0,0 +1,32 @@
+package http
+
+import "unicode/utf8"
+
+// LowerErrorCode returns code with its ASCII letters lowercased, for an exact
+// match against lowercased modeled error names, or false if code has any
+// non-ASCII characters. Such codes must be matched with strings.EqualFold
+// instead, which folds some of them, such as the Kelvin sign, to ASCII
+// letters.
+//
+// LowerErrorCode only allocates if code has uppercase letters.
+func LowerErrorCode(code string) (string, bool) {
+	upper := false
+	for i := 0; i < len(code); i++ {
+		c := code[i]
+		if c >= utf8.RuneSelf {
+			return "", false
+		}
+		upper = upper || 'A' <= c && c <= 'Z'
+	}
+	if !upper {
+		return code, true
+	}
+
+	lower := []byte(code)
+	for i, c := range lower {
+		if 'A' <= c && c <= 'Z' {
+			lower[i] = c + 'a' - 'A'
+		}
+	}
+	return string(lower), true
+}
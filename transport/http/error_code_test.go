@@ -0,0 +1,55 @@
+package http
+
+import (
+	"strings"
+	"testing"
+)
+
+func TestLowerErrorCode(t *testing.T) {
+	cases := map[string]struct {
+		Code        string
+		Expect      string
+		ExpectASCII bool
+	}{
+		"lower": {
+			Code:        "resourcenotfound",
+			Expect:      "resourcenotfound",
+			ExpectASCII: true,
+		},
+		"mixed case": {
+			Code:        "ResourceNotFound.Id-2",
+			Expect:      "resourcenotfound.id-2",
+			ExpectASCII: true,
+		},
+		"empty": {
+			ExpectASCII: true,
+		},
+		"kelvin sign": {
+			Code: "\u212Aey",
+		},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			actual, ascii := LowerErrorCode(c.Code)
+			if c.ExpectASCII != ascii {
+				t.Fatalf("expect ASCII %t, got %t", c.ExpectASCII, ascii)
+			}
+			if c.Expect != actual {
+				t.Errorf("expect %q, got %q", c.Expect, actual)
+			}
+			if ascii && !strings.EqualFold(c.Code, actual) {
+				t.Errorf("expect %q to fold to %q", c.Code, actual)
+			}
+		})
+	}
+}
+
+func TestLowerErrorCode_Allocs(t *testing.T) {
+	allocs := testing.AllocsPerRun(100, func() {
+		LowerErrorCode("resourcenotfound")
+	})
+	if allocs != 0 {
+		t.Errorf("expect no allocations for a lowercase code, got %v", allocs)
+	}
+}
@@ -1,15 +1,103 @@
 package http
 
 import (
+	"bytes"
 	"context"
 	"fmt"
 	"io"
 	"sync"
+	"time"
 
 	"github.com/aws/smithy-go"
+	"github.com/aws/smithy-go/eventstream"
+	"github.com/aws/smithy-go/metrics"
 	smithysync "github.com/aws/smithy-go/sync"
 )
 
+// EventStreamOptions configures buffering on an EventStreamReader or
+// EventStreamWriter. The zero value reads and writes one event at a time.
+type EventStreamOptions struct {
+	// The number of events a reader decodes ahead of the consumer of its
+	// Events channel. Has no effect on readers read with Next.
+	ReaderBuffer int
+
+	// The maximum number of events a writer coalesces into a single write to
+	// the underlying stream. Batching is disabled for values <= 1.
+	//
+	// When batching, Send returns once the event has been serialized into the
+	// batch, and errors writing the batch are reported by later calls to
+	// Send, Err or Close.
+	//
+	// Batching is disabled on signed streams, where each write is signed as
+	// a single message.
+	WriterBatchSize int
+
+	// The maximum time a batched event waits for the batch to fill up. If
+	// zero, the writer coalesces only the events that are already waiting to
+	// be sent when it writes.
+	WriterFlushInterval time.Duration
+
+	// The meter used to record event stream metrics:
+	//   - client.event_stream.reader.events_read
+	//   - client.event_stream.reader.queue_depth, the number of events
+	//     waiting to be received from Events, sampled as each one is queued
+	//   - client.event_stream.writer.events_written
+	//   - client.event_stream.writer.flushes
+	Meter metrics.Meter
+
+	// Properties recorded with every event stream metric. Clients set
+	// rpc.service and rpc.method, which tell apart the streams of different
+	// operations.
+	MetricProperties smithy.Properties
+}
+
+func resolveEventStreamOptions(optFns []func(*EventStreamOptions)) EventStreamOptions {
+	var o EventStreamOptions
+	for _, fn := range optFns {
+		fn(&o)
+	}
+	if o.ReaderBuffer < 0 {
+		o.ReaderBuffer = 0
+	}
+	if o.Meter == nil {
+		o.Meter = metrics.NopMeter{}
+	}
+	return o
+}
+
+func eventStreamCounter(meter metrics.Meter, name, desc string) metrics.Int64Counter {
+	c, err := meter.Int64Counter(name, func(o *metrics.InstrumentOptions) {
+		o.UnitLabel = "{event}"
+		o.Description = desc
+	})
+	if err != nil {
+		c, _ = metrics.NopMeter{}.Int64Counter(name)
+	}
+	return c
+}
+
+func eventStreamHistogram(meter metrics.Meter, name, desc string) metrics.Int64Histogram {
+	h, err := meter.Int64Histogram(name, func(o *metrics.InstrumentOptions) {
+		o.UnitLabel = "{event}"
+		o.Description = desc
+	})
+	if err != nil {
+		h, _ = metrics.NopMeter{}.Int64Histogram(name)
+	}
+	return h
+}
+
+// eventStreamRecordOptions returns the options shared by every metric a
+// reader or writer records, built once rather than per event.
+func eventStreamRecordOptions(props smithy.Properties) []metrics.RecordMetricOption {
+	if len(props.Values()) == 0 {
+		return nil
+	}
+	return []metrics.RecordMetricOption{func(o *metrics.RecordMetricOptions) {
+		o.Properties.SetAll(&props)
+	}}
+}
+
 // EventStreamWriter writes events to a stream using a ClientProtocol.
 //
 // The writer manages a background goroutine that facilitates the write loop.
@@ -18,15 +106,25 @@ import (
 // The writer doesn't know anything about signing. If event stream messages are
 // getting signed by the client then the underlying io.Writer has already been
 // wrapped to handle that at this point.
+//
+// The writer can coalesce events into fewer writes to the underlying stream,
+// see EventStreamOptions.
 type EventStreamWriter struct {
 	protocol ClientProtocol
 	schema   *smithy.Schema
+	options  EventStreamOptions
 
 	eventStream io.WriteCloser
 	stream      chan singleflight
 	done        chan struct{}
+	exited      chan struct{} // closed once the batch write loop has flushed
 	err         *smithysync.OnceErr
 
+	batch         bytes.Buffer
+	eventsWritten metrics.Int64Counter
+	flushes       metrics.Int64Counter
+	recordOpts    []metrics.RecordMetricOption
+
 	closeOnce sync.Once
 }
 
@@ -39,18 +137,34 @@ type singleflight struct {
 }
 
 // NewEventStreamWriter returns an EventStreamWriter for the given schema.
-func NewEventStreamWriter(protocol ClientProtocol, schema *smithy.Schema, stream io.WriteCloser) *EventStreamWriter {
+func NewEventStreamWriter(protocol ClientProtocol, schema *smithy.Schema, stream io.WriteCloser, optFns ...func(*EventStreamOptions)) *EventStreamWriter {
+	options := resolveEventStreamOptions(optFns)
+	if _, ok := stream.(*eventstream.SigningWriter); ok {
+		options.WriterBatchSize = 0 // it signs each write as one message
+	}
 	w := &EventStreamWriter{
 		protocol: protocol,
 		schema:   schema,
+		options:  options,
 
 		eventStream: stream,
 		stream:      make(chan singleflight),
 		done:        make(chan struct{}),
+		exited:      make(chan struct{}),
 		err:         smithysync.NewOnceErr(),
+
+		eventsWritten: eventStreamCounter(options.Meter, "client.event_stream.writer.events_written",
+			"The number of events written to the stream."),
+		flushes: eventStreamCounter(options.Meter, "client.event_stream.writer.flushes",
+			"The number of writes to the underlying stream."),
+		recordOpts: eventStreamRecordOptions(options.MetricProperties),
 	}
 
-	go w.writeStream()
+	if options.WriterBatchSize > 1 {
+		go w.writeBatches()
+	} else {
+		go w.writeStream()
+	}
 
 	return w
 }
@@ -64,7 +178,10 @@ func (w *EventStreamWriter) writeStream() {
 			err := w.protocol.SerializeEventMessage(w.schema, ev.variant, ev.event, w.eventStream)
 			if err != nil {
 				w.err.SetError(err)
+			} else {
+				w.eventsWritten.Add(context.Background(), 1, w.recordOpts...)
 			}
+			w.flushes.Add(context.Background(), 1, w.recordOpts...)
 			ev.errCh <- err
 		case <-w.done:
 			return
@@ -72,6 +189,89 @@ func (w *EventStreamWriter) writeStream() {
 	}
 }
 
+// writeBatches is the write loop when batching, events are serialized into
+// w.batch and written to the stream together.
+func (w *EventStreamWriter) writeBatches() {
+	defer close(w.exited)
+
+	var (
+		pending int
+		timer   *time.Timer
+		flushC  <-chan time.Time
+	)
+	flush := func() {
+		if pending == 0 {
+			return
+		}
+		if timer != nil {
+			timer.Stop()
+			flushC = nil
+		}
+		if w.err.Err() == nil {
+			if _, err := w.eventStream.Write(w.batch.Bytes()); err != nil {
+				w.err.SetError(err)
+			} else {
+				w.eventsWritten.Add(context.Background(), int64(pending), w.recordOpts...)
+			}
+			w.flushes.Add(context.Background(), 1, w.recordOpts...)
+		}
+		w.batch.Reset()
+		pending = 0
+	}
+	defer flush()
+
+	for {
+		var ev singleflight
+		if pending > 0 && w.options.WriterFlushInterval <= 0 {
+			select {
+			case ev = <-w.stream:
+			case <-w.done:
+				return
+			default:
+				flush()
+				continue
+			}
+		} else {
+			select {
+			case ev = <-w.stream:
+			case <-flushC:
+				flushC = nil
+				flush()
+				continue
+			case <-w.done:
+				return
+			}
+		}
+
+		if err := w.err.Err(); err != nil {
+			ev.errCh <- err
+			continue
+		}
+
+		// a failed event is dropped from the batch rather than failing the
+		// stream, since nothing has been written yet
+		mark := w.batch.Len()
+		if err := w.protocol.SerializeEventMessage(w.schema, ev.variant, ev.event, &w.batch); err != nil {
+			w.batch.Truncate(mark)
+			ev.errCh <- err
+			continue
+		}
+		ev.errCh <- nil
+
+		pending++
+		if pending >= w.options.WriterBatchSize {
+			flush()
+		} else if pending == 1 && w.options.WriterFlushInterval > 0 {
+			if timer == nil {
+				timer = time.NewTimer(w.options.WriterFlushInterval)
+			} else {
+				timer.Reset(w.options.WriterFlushInterval)
+			}
+			flushC = timer.C
+		}
+	}
+}
+
 // Send writes a single event to the stream.
 func (w *EventStreamWriter) Send(ctx context.Context, variant *smithy.Schema, event smithy.Serializable) error {
 	if err := w.err.Err(); err != nil {
@@ -97,11 +297,14 @@ func (w *EventStreamWriter) Send(ctx context.Context, variant *smithy.Schema, ev
 	}
 }
 
-// Close signals end-of-stream and closes the underlying writer. Close is
-// safe for concurrent calls.
+// Close signals end-of-stream and closes the underlying writer, once any
+// batched events have been written. Close is safe for concurrent calls.
 func (w *EventStreamWriter) Close() error {
 	w.closeOnce.Do(func() {
 		close(w.done)
+		if w.options.WriterBatchSize > 1 {
+			<-w.exited
+		}
 		w.err.SetError(w.eventStream.Close())
 	})
 	return w.err.Err()
@@ -118,6 +321,11 @@ func (w *EventStreamWriter) ErrorSet() <-chan struct{} {
 }
 
 // EventStreamReader reads events from a stream using a ClientProtocol.
+//
+// Events are either received from the channel returned by Events, which is fed
+// by a background goroutine, or pulled with Next, which decodes them on the
+// caller's goroutine. Whichever of the two is called first determines how the
+// stream is read for the lifetime of the reader.
 type EventStreamReader struct {
 	protocol ClientProtocol
 	schema   *smithy.Schema
@@ -128,29 +336,54 @@ type EventStreamReader struct {
 	done        chan struct{}
 	err         *smithysync.OnceErr
 
+	eventsRead metrics.Int64Counter
+	queueDepth metrics.Int64Histogram
+	recordOpts []metrics.RecordMetricOption
+
+	startOnce sync.Once
+	pull      bool
 	closeOnce sync.Once
 }
 
 // NewEventStreamReader returns an EventStreamReader that deserializes events
 // through the given protocol from r. The schema is the event stream union
 // schema.
-func NewEventStreamReader(protocol ClientProtocol, schema *smithy.Schema, types *smithy.TypeRegistry, stream io.ReadCloser) *EventStreamReader {
+func NewEventStreamReader(protocol ClientProtocol, schema *smithy.Schema, types *smithy.TypeRegistry, stream io.ReadCloser, optFns ...func(*EventStreamOptions)) *EventStreamReader {
+	options := resolveEventStreamOptions(optFns)
 	r := &EventStreamReader{
 		protocol: protocol,
 		schema:   schema,
 		types:    types,
 
 		eventStream: stream,
-		stream:      make(chan smithy.Deserializable),
+		stream:      make(chan smithy.Deserializable, options.ReaderBuffer),
 		done:        make(chan struct{}),
 		err:         smithysync.NewOnceErr(),
-	}
 
-	go r.readEventStream()
+		eventsRead: eventStreamCounter(options.Meter, "client.event_stream.reader.events_read",
+			"The number of events read from the stream."),
+		queueDepth: eventStreamHistogram(options.Meter, "client.event_stream.reader.queue_depth",
+			"The number of events waiting to be received from the reader, sampled as each one is queued."),
+		recordOpts: eventStreamRecordOptions(options.MetricProperties),
+	}
 
 	return r
 }
 
+// start fixes the way the stream is read, returning whether it's the
+// requested one.
+func (r *EventStreamReader) start(pull bool) bool {
+	r.startOnce.Do(func() {
+		r.pull = pull
+		if pull {
+			close(r.stream)
+		} else {
+			go r.readEventStream()
+		}
+	})
+	return r.pull == pull
+}
+
 func (r *EventStreamReader) readEventStream() {
 	defer r.Close()
 	defer close(r.stream)
@@ -170,8 +403,10 @@ func (r *EventStreamReader) readEventStream() {
 			}
 		}
 
+		r.eventsRead.Add(context.Background(), 1, r.recordOpts...)
 		select {
 		case r.stream <- event:
+			r.queueDepth.Record(context.Background(), int64(len(r.stream)), r.recordOpts...)
 		case <-r.done:
 			return
 		}
@@ -179,10 +414,63 @@ func (r *EventStreamReader) readEventStream() {
 }
 
 // Events returns the channel from which deserialized events can be read.
+//
+// The channel is closed without any events if the reader is already being
+// read with Next.
 func (r *EventStreamReader) Events() <-chan smithy.Deserializable {
+	r.start(false)
 	return r.stream
 }
 
+// Next reads and deserializes the next event from the stream on the calling
+// goroutine. It returns io.EOF once the stream has ended or the reader has
+// been closed.
+//
+// The context is checked before each read, but a read that's already blocked
+// on the stream is only interrupted by closing the reader.
+//
+// Next may not be called concurrently, nor once Events has been called.
+func (r *EventStreamReader) Next(ctx context.Context) (smithy.Deserializable, error) {
+	if !r.start(true) {
+		return nil, fmt.Errorf("event stream is already being read through Events")
+	}
+	if err := r.err.Err(); err != nil {
+		return nil, err
+	}
+	select {
+	case <-r.done:
+		return nil, io.EOF
+	default:
+	}
+	if err := ctx.Err(); err != nil {
+		return nil, err
+	}
+
+	event, err := r.protocol.DeserializeEventMessage(r.schema, r.types, r.eventStream)
+	if err != nil {
+		if err == io.EOF {
+			r.Close()
+			return nil, io.EOF
+		}
+		select {
+		case <-r.done:
+			return nil, io.EOF
+		default:
+			r.err.SetError(err)
+			r.Close()
+			return nil, err
+		}
+	}
+	r.eventsRead.Add(context.Background(), 1, r.recordOpts...)
+	return event, nil
+}
+
+// Queued returns the number of events that have been read off of the stream
+// but not yet received from Events.
+func (r *EventStreamReader) Queued() int {
+	return len(r.stream)
+}
+
 // Close stops the reader and releases the underlying stream. Close is safe
 // for concurrent calls.
 func (r *EventStreamReader) Close() error {
@@ -0,0 +1,503 @@
+package http
+
+import (
+	"bytes"
+	"context"
+	"errors"
+	"fmt"
+	"io"
+	"slices"
+	"sync"
+	"sync/atomic"
+	"testing"
+	"time"
+
+	"github.com/aws/smithy-go"
+	"github.com/aws/smithy-go/metrics"
+)
+
+type testEvent struct {
+	n int
+}
+
+func (*testEvent) Deserialize(smithy.ShapeDeserializer) error {
+	return nil
+}
+
+// reads one event per byte of the stream, a zero byte is an error
+type testEventProtocol struct {
+	ClientProtocol
+}
+
+func (testEventProtocol) DeserializeEventMessage(_ *smithy.Schema, _ *smithy.TypeRegistry, r io.Reader) (smithy.Deserializable, error) {
+	var p [1]byte
+	if _, err := io.ReadFull(r, p[:]); err != nil {
+		return nil, err
+	}
+	if p[0] == 0 {
+		return nil, errors.New("bad event")
+	}
+	return &testEvent{n: int(p[0])}, nil
+}
+
+// writes an event as its byte, a zero byte fails to serialize
+func (testEventProtocol) SerializeEventMessage(_, _ *smithy.Schema, v smithy.Serializable, w io.Writer) error {
+	n := v.(*testEvent).n
+	if n == 0 {
+		return errors.New("bad event")
+	}
+	_, err := w.Write([]byte{byte(n)})
+	return err
+}
+
+func (*testEvent) Serialize(smithy.ShapeSerializer) {}
+
+type testEventStream struct {
+	io.Reader
+	closed bool
+}
+
+func (s *testEventStream) Close() error {
+	s.closed = true
+	return nil
+}
+
+func newTestEventStreamReader(p ...byte) (*EventStreamReader, *testEventStream) {
+	stream := &testEventStream{Reader: bytes.NewReader(p)}
+	return NewEventStreamReader(testEventProtocol{}, nil, nil, stream), stream
+}
+
+// records every write made to it
+type testWriteStream struct {
+	mu     sync.Mutex
+	writes [][]byte
+	closed bool
+}
+
+func (s *testWriteStream) Write(p []byte) (int, error) {
+	s.mu.Lock()
+	defer s.mu.Unlock()
+	s.writes = append(s.writes, bytes.Clone(p))
+	return len(p), nil
+}
+
+func (s *testWriteStream) Close() error {
+	s.mu.Lock()
+	defer s.mu.Unlock()
+	s.closed = true
+	return nil
+}
+
+type discardStream struct{}
+
+func (discardStream) Write(p []byte) (int, error) { return len(p), nil }
+func (discardStream) Close() error                { return nil }
+
+type testMeter struct {
+	metrics.NopMeter
+	counters   sync.Map
+	histograms sync.Map
+}
+
+type testCounter struct {
+	atomic.Int64
+	props atomic.Pointer[smithy.Properties] // of the last record
+}
+
+func (c *testCounter) Add(_ context.Context, n int64, opts ...metrics.RecordMetricOption) {
+	c.Int64.Add(n)
+	c.props.Store(recordedProperties(opts))
+}
+
+type testHistogram struct {
+	mu      sync.Mutex
+	samples []int64
+}
+
+func (h *testHistogram) Record(_ context.Context, v int64, _ ...metrics.RecordMetricOption) {
+	h.mu.Lock()
+	defer h.mu.Unlock()
+	h.samples = append(h.samples, v)
+}
+
+func recordedProperties(opts []metrics.RecordMetricOption) *smithy.Properties {
+	var o metrics.RecordMetricOptions
+	for _, fn := range opts {
+		fn(&o)
+	}
+	return &o.Properties
+}
+
+func (m *testMeter) Int64Counter(name string, _ ...metrics.InstrumentOption) (metrics.Int64Counter, error) {
+	c, _ := m.counters.LoadOrStore(name, &testCounter{})
+	return c.(*testCounter), nil
+}
+
+func (m *testMeter) Int64Histogram(name string, _ ...metrics.InstrumentOption) (metrics.Int64Histogram, error) {
+	h, _ := m.histograms.LoadOrStore(name, &testHistogram{})
+	return h.(*testHistogram), nil
+}
+
+func (m *testMeter) count(name string) int64 {
+	c, ok := m.counters.Load(name)
+	if !ok {
+		return 0
+	}
+	return c.(*testCounter).Load()
+}
+
+func (m *testMeter) property(name string, key any) any {
+	c, ok := m.counters.Load(name)
+	if !ok {
+		return nil
+	}
+	props := c.(*testCounter).props.Load()
+	if props == nil {
+		return nil
+	}
+	return props.Get(key)
+}
+
+func (m *testMeter) samples(name string) []int64 {
+	h, ok := m.histograms.Load(name)
+	if !ok {
+		return nil
+	}
+	h.(*testHistogram).mu.Lock()
+	defer h.(*testHistogram).mu.Unlock()
+	return slices.Clone(h.(*testHistogram).samples)
+}
+
+func TestEventStreamReader_Next(t *testing.T) {
+	r, stream := newTestEventStreamReader(1, 2, 3)
+
+	var actual []int
+	for {
+		event, err := r.Next(context.Background())
+		if err == io.EOF {
+			break
+		}
+		if err != nil {
+			t.Fatalf("next: %v", err)
+		}
+		actual = append(actual, event.(*testEvent).n)
+	}
+
+	if len(actual) != 3 || actual[0] != 1 || actual[1] != 2 || actual[2] != 3 {
+		t.Errorf("expect [1 2 3], got %v", actual)
+	}
+	if !stream.closed {
+		t.Error("expect stream to be closed at EOF")
+	}
+	if err := r.Err(); err != nil {
+		t.Errorf("expect no error, got %v", err)
+	}
+	if _, err := r.Next(context.Background()); err != io.EOF {
+		t.Errorf("expect EOF after end of stream, got %v", err)
+	}
+}
+
+func TestEventStreamReader_NextError(t *testing.T) {
+	r, stream := newTestEventStreamReader(1, 0, 2)
+
+	if _, err := r.Next(context.Background()); err != nil {
+		t.Fatalf("next: %v", err)
+	}
+	if _, err := r.Next(context.Background()); err == nil || err.Error() != "bad event" {
+		t.Errorf("expect bad event, got %v", err)
+	}
+	if _, err := r.Next(context.Background()); err == nil || err.Error() != "bad event" {
+		t.Errorf("expect error to stick, got %v", err)
+	}
+	if err := r.Err(); err == nil {
+		t.Error("expect Err to be set")
+	}
+	if !stream.closed {
+		t.Error("expect stream to be closed on error")
+	}
+}
+
+func TestEventStreamReader_NextCanceled(t *testing.T) {
+	r, _ := newTestEventStreamReader(1)
+
+	ctx, cancel := context.WithCancel(context.Background())
+	cancel()
+	if _, err := r.Next(ctx); !errors.Is(err, context.Canceled) {
+		t.Errorf("expect canceled, got %v", err)
+	}
+	if event, err := r.Next(context.Background()); err != nil || event.(*testEvent).n != 1 {
+		t.Errorf("expect event to still be read, got %v, %v", event, err)
+	}
+}
+
+func TestEventStreamReader_NextClosed(t *testing.T) {
+	r, _ := newTestEventStreamReader(1)
+
+	r.Close()
+	if _, err := r.Next(context.Background()); err != io.EOF {
+		t.Errorf("expect EOF, got %v", err)
+	}
+}
+
+func TestEventStreamReader_Events(t *testing.T) {
+	r, stream := newTestEventStreamReader(1, 2, 3)
+
+	var actual []int
+	for event := range r.Events() {
+		actual = append(actual, event.(*testEvent).n)
+	}
+
+	if len(actual) != 3 {
+		t.Errorf("expect 3 events, got %v", actual)
+	}
+	r.Close() // synchronizes with the read loop's Close
+	if !stream.closed {
+		t.Error("expect stream to be closed")
+	}
+	if _, err := r.Next(context.Background()); err == nil {
+		t.Error("expect Next to fail once Events is used")
+	}
+}
+
+func TestEventStreamReader_EventsAfterNext(t *testing.T) {
+	r, _ := newTestEventStreamReader(1, 2)
+
+	if _, err := r.Next(context.Background()); err != nil {
+		t.Fatalf("next: %v", err)
+	}
+	if _, ok := <-r.Events(); ok {
+		t.Error("expect closed channel once Next is used")
+	}
+	if event, err := r.Next(context.Background()); err != nil || event.(*testEvent).n != 2 {
+		t.Errorf("expect next event, got %v, %v", event, err)
+	}
+}
+
+func TestEventStreamReader_Buffer(t *testing.T) {
+	meter := &testMeter{}
+	stream := &testEventStream{Reader: bytes.NewReader([]byte{1, 2, 3})}
+	r := NewEventStreamReader(testEventProtocol{}, nil, nil, stream, func(o *EventStreamOptions) {
+		o.ReaderBuffer = 3
+		o.Meter = meter
+	})
+
+	ch := r.Events()
+	<-r.Closed() // the whole stream fits in the buffer
+	if r.Queued() != 3 {
+		t.Errorf("expect 3 queued events, got %d", r.Queued())
+	}
+	if n := meter.count("client.event_stream.reader.events_read"); n != 3 {
+		t.Errorf("expect 3 events counted, got %d", n)
+	}
+	// nothing was received while the stream was read, so the queue grows by one per event
+	if depth := meter.samples("client.event_stream.reader.queue_depth"); !slices.Equal(depth, []int64{1, 2, 3}) {
+		t.Errorf("expect queue depths [1 2 3], got %v", depth)
+	}
+
+	var actual []int
+	for event := range ch {
+		actual = append(actual, event.(*testEvent).n)
+	}
+	if len(actual) != 3 {
+		t.Errorf("expect 3 events, got %v", actual)
+	}
+}
+
+func TestEventStream_MetricProperties(t *testing.T) {
+	var props smithy.Properties
+	props.Set("rpc.method", "StreamEvents")
+	meter := &testMeter{}
+	withMetrics := func(o *EventStreamOptions) {
+		o.Meter = meter
+		o.MetricProperties = props
+	}
+
+	stream := &testEventStream{Reader: bytes.NewReader([]byte{1})}
+	r := NewEventStreamReader(testEventProtocol{}, nil, nil, stream, withMetrics)
+	if _, err := r.Next(context.Background()); err != nil {
+		t.Fatalf("next: %v", err)
+	}
+	w := NewEventStreamWriter(testEventProtocol{}, nil, discardStream{}, withMetrics)
+	if err := w.Send(context.Background(), nil, &testEvent{n: 1}); err != nil {
+		t.Fatalf("send: %v", err)
+	}
+	if err := w.Close(); err != nil {
+		t.Fatalf("close: %v", err)
+	}
+
+	for _, name := range []string{
+		"client.event_stream.reader.events_read",
+		"client.event_stream.writer.events_written",
+		"client.event_stream.writer.flushes",
+	} {
+		if v := meter.property(name, "rpc.method"); v != "StreamEvents" {
+			t.Errorf("%s: expect rpc.method StreamEvents, got %v", name, v)
+		}
+	}
+}
+
+func TestEventStreamWriter_Unbatched(t *testing.T) {
+	meter := &testMeter{}
+	stream := &testWriteStream{}
+	w := NewEventStreamWriter(testEventProtocol{}, nil, stream, func(o *EventStreamOptions) {
+		o.Meter = meter
+	})
+
+	for i := 1; i <= 3; i++ {
+		if err := w.Send(context.Background(), nil, &testEvent{n: i}); err != nil {
+			t.Fatalf("send: %v", err)
+		}
+	}
+	if err := w.Close(); err != nil {
+		t.Fatalf("close: %v", err)
+	}
+
+	if len(stream.writes) != 3 {
+		t.Errorf("expect 3 writes, got %v", stream.writes)
+	}
+	if n := meter.count("client.event_stream.writer.events_written"); n != 3 {
+		t.Errorf("expect 3 events counted, got %d", n)
+	}
+	if n := meter.count("client.event_stream.writer.flushes"); n != 3 {
+		t.Errorf("expect 3 flushes counted, got %d", n)
+	}
+}
+
+func TestEventStreamWriter_BatchSize(t *testing.T) {
+	meter := &testMeter{}
+	stream := &testWriteStream{}
+	w := NewEventStreamWriter(testEventProtocol{}, nil, stream, func(o *EventStreamOptions) {
+		o.WriterBatchSize = 2
+		o.WriterFlushInterval = time.Hour
+		o.Meter = meter
+	})
+
+	for i := 1; i <= 5; i++ {
+		if err := w.Send(context.Background(), nil, &testEvent{n: i}); err != nil {
+			t.Fatalf("send: %v", err)
+		}
+	}
+	if err := w.Close(); err != nil {
+		t.Fatalf("close: %v", err)
+	}
+
+	expect := [][]byte{{1, 2}, {3, 4}, {5}}
+	if len(stream.writes) != len(expect) {
+		t.Fatalf("expect %v, got %v", expect, stream.writes)
+	}
+	for i := range expect {
+		if !bytes.Equal(expect[i], stream.writes[i]) {
+			t.Errorf("expect %v, got %v", expect, stream.writes)
+		}
+	}
+	if !stream.closed {
+		t.Error("expect stream to be closed")
+	}
+	if n := meter.count("client.event_stream.writer.events_written"); n != 5 {
+		t.Errorf("expect 5 events counted, got %d", n)
+	}
+	if n := meter.count("client.event_stream.writer.flushes"); n != 3 {
+		t.Errorf("expect 3 flushes counted, got %d", n)
+	}
+}
+
+func TestEventStreamWriter_FlushInterval(t *testing.T) {
+	stream := &testWriteStream{}
+	w := NewEventStreamWriter(testEventProtocol{}, nil, stream, func(o *EventStreamOptions) {
+		o.WriterBatchSize = 100
+		o.WriterFlushInterval = time.Millisecond
+	})
+	defer w.Close()
+
+	if err := w.Send(context.Background(), nil, &testEvent{n: 1}); err != nil {
+		t.Fatalf("send: %v", err)
+	}
+
+	deadline := time.Now().Add(5 * time.Second)
+	for {
+		stream.mu.Lock()
+		n := len(stream.writes)
+		stream.mu.Unlock()
+		if n == 1 {
+			break
+		}
+		if time.Now().After(deadline) {
+			t.Fatal("expect batch to be flushed after the interval")
+		}
+		time.Sleep(time.Millisecond)
+	}
+}
+
+func TestEventStreamWriter_BatchSerializeError(t *testing.T) {
+	stream := &testWriteStream{}
+	w := NewEventStreamWriter(testEventProtocol{}, nil, stream, func(o *EventStreamOptions) {
+		o.WriterBatchSize = 10
+	})
+
+	if err := w.Send(context.Background(), nil, &testEvent{n: 1}); err != nil {
+		t.Fatalf("send: %v", err)
+	}
+	if err := w.Send(context.Background(), nil, &testEvent{n: 0}); err == nil {
+		t.Error("expect serialize error")
+	}
+	if err := w.Send(context.Background(), nil, &testEvent{n: 2}); err != nil {
+		t.Fatalf("send: %v", err)
+	}
+	if err := w.Close(); err != nil {
+		t.Fatalf("close: %v", err)
+	}
+
+	var actual []byte
+	for _, p := range stream.writes {
+		actual = append(actual, p...)
+	}
+	if !bytes.Equal([]byte{1, 2}, actual) {
+		t.Errorf("expect failed event to be dropped, got %v", actual)
+	}
+}
+
+func BenchmarkEventStreamReader(b *testing.B) {
+	const events = 1024
+	p := bytes.Repeat([]byte{1}, events)
+
+	b.Run("Events", func(b *testing.B) {
+		for b.Loop() {
+			r, _ := newTestEventStreamReader(p...)
+			for range r.Events() {
+			}
+		}
+		b.ReportMetric(float64(b.Elapsed().Nanoseconds())/float64(b.N)/events, "ns/event")
+	})
+	b.Run("Next", func(b *testing.B) {
+		ctx := context.Background()
+		for b.Loop() {
+			r, _ := newTestEventStreamReader(p...)
+			for {
+				if _, err := r.Next(ctx); err != nil {
+					break
+				}
+			}
+		}
+		b.ReportMetric(float64(b.Elapsed().Nanoseconds())/float64(b.N)/events, "ns/event")
+	})
+}
+
+func BenchmarkEventStreamWriter(b *testing.B) {
+	for _, size := range []int{1, 16} {
+		b.Run(fmt.Sprintf("BatchSize=%d", size), func(b *testing.B) {
+			w := NewEventStreamWriter(testEventProtocol{}, nil, discardStream{}, func(o *EventStreamOptions) {
+				o.WriterBatchSize = size
+				o.WriterFlushInterval = time.Millisecond
+			})
+			defer w.Close()
+
+			ctx := context.Background()
+			event := &testEvent{n: 1}
+			for b.Loop() {
+				if err := w.Send(ctx, nil, event); err != nil {
+					b.Fatal(err)
+				}
+			}
+		})
+	}
+}
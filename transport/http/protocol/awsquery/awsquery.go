@@ -170,11 +170,12 @@ func resolveError(types *smithy.TypeRegistry, code string) (smithy.Deserializabl
 	}
 
 	for _, entry := range types.Entries {
-		if entry.Schema == nil {
+		schema := entry.GetSchema()
+		if schema == nil {
 			continue
 		}
 
-		if t, ok := smithy.SchemaTrait[*traits.AWSQueryError](entry.Schema); ok {
+		if t, ok := smithy.SchemaTrait[*traits.AWSQueryError](schema); ok {
 			if t.ErrorCode == code {
 				v := entry.New()
 				if perr, ok := v.(smithy.DeserializableError); ok {
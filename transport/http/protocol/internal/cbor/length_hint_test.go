@@ -0,0 +1,73 @@
+package cbor
+
+import (
+	"testing"
+
+	"github.com/aws/smithy-go"
+)
+
+func TestLengthHint(t *testing.T) {
+	for name, tt := range map[string]struct {
+		payload []byte
+		open    func(*ShapeDeserializer) error
+		want    int
+	}{
+		"definite list": {
+			// [1, 2, 3]
+			payload: []byte{0x83, 0x01, 0x02, 0x03},
+			open:    func(d *ShapeDeserializer) error { return d.ReadList(nil) },
+			want:    3,
+		},
+		"indefinite list": {
+			// [_ 1, 2]
+			payload: []byte{0x9f, 0x01, 0x02, 0xff},
+			open:    func(d *ShapeDeserializer) error { return d.ReadList(nil) },
+			want:    -1,
+		},
+		"definite map": {
+			// {"a": 1}
+			payload: []byte{0xa1, 0x61, 'a', 0x01},
+			open:    func(d *ShapeDeserializer) error { return d.ReadMap(nil) },
+			want:    1,
+		},
+		"oversized header is clamped": {
+			// list(4294967295) followed by 2 bytes
+			payload: []byte{0x9a, 0xff, 0xff, 0xff, 0xff, 0x01, 0x02},
+			open:    func(d *ShapeDeserializer) error { return d.ReadList(nil) },
+			want:    2,
+		},
+	} {
+		t.Run(name, func(t *testing.T) {
+			d := NewShapeDeserializer(tt.payload)
+			if err := tt.open(d); err != nil {
+				t.Fatal(err)
+			}
+			if got := d.LengthHint(); got != tt.want {
+				t.Errorf("got %d, want %d", got, tt.want)
+			}
+		})
+	}
+}
+
+func TestReadSizedList(t *testing.T) {
+	// [1, 2, 3]
+	d := NewShapeDeserializer([]byte{0x83, 0x01, 0x02, 0x03})
+
+	var v []int32
+	err := smithy.ReadSizedList(d, nil, func(n int) {
+		v = make([]int32, 0, n)
+	}, func() error {
+		var n int32
+		if err := d.ReadInt32(nil, &n); err != nil {
+			return err
+		}
+		v = append(v, n)
+		return nil
+	})
+	if err != nil {
+		t.Fatal(err)
+	}
+	if len(v) != 3 || cap(v) != 3 {
+		t.Errorf("got len %d cap %d, want 3 / 3", len(v), cap(v))
+	}
+}
@@ -23,6 +23,10 @@ type ShapeDeserializer struct {
 	head serde.Stack[deserCtx]
 	opts ShapeDeserializerOptions
 
+	// element count of the most recently opened list or map, -1 if
+	// indefinite-length
+	lenHint int
+
 	arena serde.StringArena
 }
 
@@ -45,6 +49,7 @@ type deserCtx struct {
 type ShapeDeserializerOptions struct{}
 
 var _ smithy.ShapeDeserializer = (*ShapeDeserializer)(nil)
+var _ smithy.LengthHinter = (*ShapeDeserializer)(nil)
 
 // NewShapeDeserializer creates a new ShapeDeserializer.
 func NewShapeDeserializer(p []byte, opts ...func(*ShapeDeserializerOptions)) *ShapeDeserializer {
@@ -389,6 +394,7 @@ func (d *ShapeDeserializer) ReadList(s *smithy.Schema) error {
 	}
 	if d.peekMinor() == minorIndefinite {
 		d.off++
+		d.lenHint = -1
 		d.head.Push(deserCtx{kind: deserCtxList, remaining: -1})
 		return nil
 	}
@@ -396,6 +402,7 @@ func (d *ShapeDeserializer) ReadList(s *smithy.Schema) error {
 	if err != nil {
 		return err
 	}
+	d.lenHint = d.clampLen(count)
 	d.head.Push(deserCtx{kind: deserCtxList, remaining: int(count)})
 	return nil
 }
@@ -434,6 +441,7 @@ func (d *ShapeDeserializer) ReadMap(s *smithy.Schema) error {
 	}
 	if d.peekMinor() == minorIndefinite {
 		d.off++
+		d.lenHint = -1
 		d.head.Push(deserCtx{kind: deserCtxMap, remaining: -1})
 		return nil
 	}
@@ -441,6 +449,7 @@ func (d *ShapeDeserializer) ReadMap(s *smithy.Schema) error {
 	if err != nil {
 		return err
 	}
+	d.lenHint = d.clampLen(count)
 	d.head.Push(deserCtx{kind: deserCtxMap, remaining: int(count)})
 	return nil
 }
@@ -473,6 +482,22 @@ func (d *ShapeDeserializer) ReadMapKey(s *smithy.Schema) (string, bool, error) {
 	return key, true, nil
 }
 
+// LengthHint implements [smithy.LengthHinter]. Definite-length lists and maps
+// carry their element count in the header.
+func (d *ShapeDeserializer) LengthHint() int {
+	return d.lenHint
+}
+
+// clampLen bounds a decoded element count by the number of bytes left in the
+// payload, since every element takes at least one. This keeps a malicious
+// header from driving a huge up-front allocation.
+func (d *ShapeDeserializer) clampLen(count uint64) int {
+	if rem := uint64(len(d.p) - d.off); count > rem {
+		return int(rem)
+	}
+	return int(count)
+}
+
 // ReadStruct implements [smithy.ShapeDeserializer].
 func (d *ShapeDeserializer) ReadStruct(s *smithy.Schema) error {
 	if isNil, err := d.ReadNil(s); isNil || err != nil {
@@ -48,6 +48,7 @@ type ShapeDeserializer struct {
 }
 
 var _ smithy.ShapeDeserializer = (*ShapeDeserializer)(nil)
+var _ smithy.LengthHinter = (*ShapeDeserializer)(nil)
 
 // ShapeDeserializerOptions configures ShapeDeserializer.
 type ShapeDeserializerOptions struct{}
@@ -378,6 +379,22 @@ func (d *ShapeDeserializer) ReadMapKey(s *smithy.Schema) (string, bool, error) {
 	return key, true, nil
 }
 
+// LengthHint implements [smithy.LengthHinter]. Header lists and prefix
+// header maps are already split by the time they're opened, anything else is
+// deferred to the body deserializer.
+func (d *ShapeDeserializer) LengthHint() int {
+	if d.inHeaderList {
+		return len(d.headerListValues)
+	}
+	if d.inPrefixMap {
+		return len(d.prefixKeys)
+	}
+	if h, ok := d.body.(smithy.LengthHinter); ok {
+		return h.LengthHint()
+	}
+	return -1
+}
+
 // ReadNil implements [smithy.ShapeDeserializer].
 func (d *ShapeDeserializer) ReadNil(s *smithy.Schema) (bool, error) {
 	return d.body.ReadNil(s)
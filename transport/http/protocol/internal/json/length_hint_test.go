@@ -0,0 +1,194 @@
+package json
+
+import (
+	"fmt"
+	"strings"
+	"testing"
+
+	"github.com/aws/smithy-go"
+	"github.com/aws/smithy-go/prelude"
+)
+
+var (
+	testSchemaStringList = smithy.NewSchema(smithy.ShapeID{
+		Namespace: "com.test", Name: "StringList",
+	}, smithy.ShapeTypeList, 1)
+
+	testSchemaStringMap = smithy.NewSchema(smithy.ShapeID{
+		Namespace: "com.test", Name: "StringMap",
+	}, smithy.ShapeTypeMap, 2)
+)
+
+func init() {
+	testSchemaStringList.AddMember("member", prelude.String)
+	testSchemaStringMap.AddMember("key", prelude.String)
+	testSchemaStringMap.AddMember("value", prelude.String)
+}
+
+func TestCountElements(t *testing.T) {
+	for name, tt := range map[string]struct {
+		input string
+		want  int
+	}{
+		"empty array":       {`]`, 0},
+		"empty array ws":    {` 	 ]`, 0},
+		"empty object":      {`}`, 0},
+		"scalars":           {`1, 2, 3]`, 3},
+		"one scalar":        {`"a"]`, 1},
+		"nested":            {`[1, 2], {"a": 3}, 5]`, 3},
+		"deeply nested":     {`[1, 2], {"a": [3, 4]}, 5]`, -1},
+		"object":            {`"a": 1, "b": {"c": 2, "d": 3}}`, 2},
+		"nested object":     {`"a": 1, "b": {"c": {"d": 3}}}`, -1},
+		"delims in strings": {`"a,b", "]", "{["]`, 3},
+		"escaped quote":     {`"a\",b", "c"]`, 2},
+		"escaped backslash": {`"a\\", "b"]`, 2},
+		"truncated":         {`1, 2`, -1},
+	} {
+		t.Run(name, func(t *testing.T) {
+			if got := countElements([]byte(tt.input)); got != tt.want {
+				t.Errorf("got %d, want %d", got, tt.want)
+			}
+		})
+	}
+}
+
+func TestReadSizedList(t *testing.T) {
+	d := NewShapeDeserializer([]byte(`["a", "b", "c"]`))
+	defer d.Close()
+
+	var v []string
+	hint := -1
+	err := smithy.ReadSizedList(d, testSchemaStringList, func(n int) {
+		hint = n
+		v = make([]string, 0, n)
+	}, func() error {
+		var s string
+		if err := d.ReadString(testSchemaStringList.ListMember(), &s); err != nil {
+			return err
+		}
+		v = append(v, s)
+		return nil
+	})
+	if err != nil {
+		t.Fatal(err)
+	}
+	if hint != 3 {
+		t.Errorf("hint: got %d, want 3", hint)
+	}
+	if len(v) != 3 || cap(v) != 3 {
+		t.Errorf("got len %d cap %d, want 3 / 3", len(v), cap(v))
+	}
+}
+
+func TestReadSizedMap(t *testing.T) {
+	d := NewShapeDeserializer([]byte(`{"a": "1", "b": "2"}`))
+	defer d.Close()
+
+	var v map[string]string
+	hint := -1
+	err := smithy.ReadSizedMap(d, testSchemaStringMap, func(n int) {
+		hint = n
+		v = make(map[string]string, n)
+	}, func(k string) error {
+		var s string
+		if err := d.ReadString(testSchemaStringMap.MapValue(), &s); err != nil {
+			return err
+		}
+		v[k] = s
+		return nil
+	})
+	if err != nil {
+		t.Fatal(err)
+	}
+	if hint != 2 {
+		t.Errorf("hint: got %d, want 2", hint)
+	}
+	if v["a"] != "1" || v["b"] != "2" {
+		t.Errorf("unexpected map %v", v)
+	}
+}
+
+// nestedPayload returns lists nested depth levels deep, each of width
+// elements, with strings as leaves.
+func nestedPayload(depth, width int) []byte {
+	var b strings.Builder
+	var write func(depth int)
+	write = func(depth int) {
+		if depth == 0 {
+			b.WriteString(`"leaf"`)
+			return
+		}
+		b.WriteByte('[')
+		for i := range width {
+			if i > 0 {
+				b.WriteByte(',')
+			}
+			write(depth - 1)
+		}
+		b.WriteByte(']')
+	}
+	write(depth)
+	return []byte(b.String())
+}
+
+func nestedListSchema(depth int) *smithy.Schema {
+	if depth == 0 {
+		return prelude.String
+	}
+	s := smithy.NewSchema(smithy.ShapeID{
+		Namespace: "com.test", Name: fmt.Sprintf("NestedList%d", depth),
+	}, smithy.ShapeTypeList, 1)
+	s.AddMember("member", nestedListSchema(depth-1))
+	return s
+}
+
+func readNested(d *ShapeDeserializer, s *smithy.Schema, depth int, hint bool) (any, error) {
+	if depth == 0 {
+		var v string
+		err := d.ReadString(s, &v)
+		return v, err
+	}
+
+	var v []any
+	var sizeFn func(int)
+	if hint {
+		sizeFn = func(n int) { v = make([]any, 0, n) }
+	}
+	err := smithy.ReadSizedList(d, s, sizeFn, func() error {
+		e, err := readNested(d, s.ListMember(), depth-1, hint)
+		if err != nil {
+			return err
+		}
+		v = append(v, e)
+		return nil
+	})
+	return v, err
+}
+
+// BenchmarkLengthHint_Nested reads nested lists of 4096 leaves with and
+// without sizing them from the hint, at increasing depth.
+func BenchmarkLengthHint_Nested(b *testing.B) {
+	for _, bm := range []struct{ depth, width int }{
+		{2, 64},
+		{3, 16},
+		{4, 8},
+		{6, 4},
+		{12, 2},
+	} {
+		payload := nestedPayload(bm.depth, bm.width)
+		schema := nestedListSchema(bm.depth)
+		for _, hint := range []bool{false, true} {
+			b.Run(fmt.Sprintf("Depth=%d/Hint=%t", bm.depth, hint), func(b *testing.B) {
+				b.SetBytes(int64(len(payload)))
+				b.ReportAllocs()
+				for b.Loop() {
+					d := NewShapeDeserializer(payload)
+					if _, err := readNested(d, schema, bm.depth, hint); err != nil {
+						b.Fatal(err)
+					}
+					d.Close()
+				}
+			})
+		}
+	}
+}
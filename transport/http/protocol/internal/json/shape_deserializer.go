@@ -78,6 +78,7 @@ func (d *ShapeDeserializer) Close() {
 }
 
 var _ smithy.ShapeDeserializer = (*ShapeDeserializer)(nil)
+var _ smithy.LengthHinter = (*ShapeDeserializer)(nil)
 
 func (d *ShapeDeserializer) next() ([]byte, error) {
 	if d.peeked != nil {
@@ -431,6 +432,65 @@ func (d *ShapeDeserializer) ReadMapKey(s *smithy.Schema) (string, bool, error) {
 	return key, true, nil
 }
 
+// LengthHint implements [smithy.LengthHinter].
+//
+// The elements of the list or map that was just opened are counted by
+// scanning ahead to its closing delimiter without tokenizing. The input is
+// still validated when the elements are actually read.
+//
+// The scan gives up on elements which themselves contain aggregates, such
+// that each byte is scanned ahead by at most two enclosing lists or maps,
+// rather than by every one of them.
+func (d *ShapeDeserializer) LengthHint() int {
+	if d.peeked != nil {
+		return -1
+	}
+	return countElements(d.p.p[d.p.i:])
+}
+
+// countElements counts the top-level elements of an array or object whose
+// opening delimiter immediately precedes p. It returns -1 if p ends before the
+// closing delimiter, or if an element nests aggregates more than one level
+// deep.
+func countElements(p []byte) int {
+	depth, n := 0, 0
+	empty := true
+	for i := 0; i < len(p); i++ {
+		switch p[i] {
+		case ' ', '\t', '\n', '\r':
+		case '"':
+			for i++; i < len(p) && p[i] != '"'; i++ {
+				if p[i] == '\\' {
+					i++
+				}
+			}
+			empty = false
+		case '{', '[':
+			if depth == 1 {
+				return -1
+			}
+			depth++
+			empty = false
+		case '}', ']':
+			if depth > 0 {
+				depth--
+				continue
+			}
+			if empty {
+				return 0
+			}
+			return n + 1
+		case ',':
+			if depth == 0 {
+				n++
+			}
+		default:
+			empty = false
+		}
+	}
+	return -1
+}
+
 // ReadStruct implements [smithy.ShapeDeserializer].
 func (d *ShapeDeserializer) ReadStruct(s *smithy.Schema) error {
 	if isNil, err := d.ReadNil(s); isNil || err != nil {
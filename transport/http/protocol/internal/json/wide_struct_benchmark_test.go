@@ -0,0 +1,152 @@
+package json
+
+import (
+	"fmt"
+	"strings"
+	"testing"
+
+	"github.com/aws/smithy-go"
+	"github.com/aws/smithy-go/prelude"
+)
+
+// Benchmark comparing member dispatch by schema pointer (switch s { case
+// schemas.Foo_A: ... }) vs by member ordinal (switch s.MemberIndex() { case 0:
+// ... }) on a wide, 100-member output structure.
+//
+// A switch on schema pointers, which aren't constants, compiles to a sequence
+// of comparisons, mirrored here by a scan of the member schemas. A switch on
+// dense ordinals compiles to a jump table, mirrored by indexing the fields
+// with the ordinal. Even members are strings, odd members are longs.
+
+const wideMemberCount = 100
+
+type WideOutput struct {
+	Strings [wideMemberCount / 2]*string
+	Longs   [wideMemberCount / 2]*int64
+}
+
+var (
+	schemaWideOutput = smithy.NewSchema(smithy.ShapeID{Namespace: "com.example", Name: "WideOutput"}, smithy.ShapeTypeStructure, wideMemberCount)
+
+	schemaWideOutputMembers [wideMemberCount]*smithy.Schema
+)
+
+func init() {
+	for i := range schemaWideOutputMembers {
+		target := prelude.String
+		if i%2 == 1 {
+			target = prelude.Long
+		}
+		schemaWideOutputMembers[i] = schemaWideOutput.AddMemberAt(fmt.Sprintf("Member%03d", i), i, target)
+	}
+}
+
+var wideStructPayload = func() []byte {
+	var sb strings.Builder
+	sb.WriteString("{")
+	for i := 0; i < wideMemberCount; i++ {
+		if i > 0 {
+			sb.WriteString(",")
+		}
+		if i%2 == 0 {
+			fmt.Fprintf(&sb, `"Member%03d":"value-%d"`, i, i)
+		} else {
+			fmt.Fprintf(&sb, `"Member%03d":%d`, i, i*1000)
+		}
+	}
+	sb.WriteString("}")
+	return []byte(sb.String())
+}()
+
+func readWideMember(d smithy.ShapeDeserializer, v *WideOutput, i int) error {
+	if i%2 == 0 {
+		v.Strings[i/2] = new(string)
+		return d.ReadString(schemaWideOutputMembers[i], v.Strings[i/2])
+	}
+	v.Longs[i/2] = new(int64)
+	return d.ReadInt64(schemaWideOutputMembers[i], v.Longs[i/2])
+}
+
+func deserializeWideOutputByPointer(d smithy.ShapeDeserializer, v *WideOutput) error {
+	return smithy.ReadStruct(d, schemaWideOutput, func(s *smithy.Schema) error {
+		for i, m := range schemaWideOutputMembers {
+			if s == m {
+				return readWideMember(d, v, i)
+			}
+		}
+		return nil
+	})
+}
+
+func deserializeWideOutputByIndex(d smithy.ShapeDeserializer, v *WideOutput) error {
+	return smithy.ReadStruct(d, schemaWideOutput, func(s *smithy.Schema) error {
+		if i := s.MemberIndex(); i >= 0 && i < wideMemberCount {
+			return readWideMember(d, v, i)
+		}
+		return nil
+	})
+}
+
+func TestWideStructDispatch(t *testing.T) {
+	var byPointer, byIndex WideOutput
+
+	d := NewShapeDeserializer(wideStructPayload)
+	if err := deserializeWideOutputByPointer(d, &byPointer); err != nil {
+		t.Fatal(err)
+	}
+	d.Close()
+
+	d = NewShapeDeserializer(wideStructPayload)
+	if err := deserializeWideOutputByIndex(d, &byIndex); err != nil {
+		t.Fatal(err)
+	}
+	d.Close()
+
+	for i := range wideMemberCount / 2 {
+		if v := byIndex.Strings[i]; v == nil || *v != fmt.Sprintf("value-%d", 2*i) {
+			t.Errorf("Member%03d: got %v", 2*i, v)
+		}
+		if v := byIndex.Longs[i]; v == nil || *v != int64(2*i+1)*1000 {
+			t.Errorf("Member%03d: got %v", 2*i+1, v)
+		}
+		if byPointer.Strings[i] == nil || *byPointer.Strings[i] != *byIndex.Strings[i] ||
+			byPointer.Longs[i] == nil || *byPointer.Longs[i] != *byIndex.Longs[i] {
+			t.Errorf("pointer and index dispatch disagree on member %d or %d", 2*i, 2*i+1)
+		}
+	}
+
+	for name, m := range schemaWideOutput.Members() {
+		if want := fmt.Sprintf("Member%03d", m.MemberIndex()); name != want {
+			t.Errorf("member %s has index %d", name, m.MemberIndex())
+		}
+	}
+	if i := schemaWideOutput.MemberIndex(); i != -1 {
+		t.Errorf("non-member schema has index %d", i)
+	}
+}
+
+func BenchmarkWideStruct_PointerDispatch(b *testing.B) {
+	b.ReportAllocs()
+	b.SetBytes(int64(len(wideStructPayload)))
+	for b.Loop() {
+		d := NewShapeDeserializer(wideStructPayload)
+		var out WideOutput
+		if err := deserializeWideOutputByPointer(d, &out); err != nil {
+			b.Fatal(err)
+		}
+		d.Close()
+	}
+}
+
+func BenchmarkWideStruct_IndexDispatch(b *testing.B) {
+	b.ReportAllocs()
+	b.SetBytes(int64(len(wideStructPayload)))
+	for b.Loop() {
+		d := NewShapeDeserializer(wideStructPayload)
+		var out WideOutput
+		if err := deserializeWideOutputByIndex(d, &out); err != nil {
+			b.Fatal(err)
+		}
+		d.Close()
+	}
+}
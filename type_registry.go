@@ -10,6 +10,94 @@ import (
 // TypeRegistry) that holds all structure types for the service.
 type TypeRegistry struct {
 	Entries map[string]*TypeRegistryEntry
+
+	// Index, if set, is used for lookups instead of Entries. Generated
+	// clients compute it at codegen time.
+	Index *TypeRegistryIndex
+}
+
+// TypeRegistryIndex is a minimal perfect hash over the keys of a
+// TypeRegistry, both full shape IDs and short (name only) IDs, which resolves
+// either in constant time without allocating.
+//
+// Lookups hash the key into one of the Seeds buckets. A non-negative seed
+// rehashes the key into a slot in Keys, a negative seed s places it directly
+// at slot -s-1. The hash function is fixed, see typeRegistryHash, since the
+// table is computed ahead of time.
+type TypeRegistryIndex struct {
+	Seeds   []int32
+	Keys    []string
+	Entries []*TypeRegistryEntry
+}
+
+func (x *TypeRegistryIndex) lookup(id string) (*TypeRegistryEntry, bool) {
+	if len(x.Keys) == 0 {
+		return nil, false
+	}
+
+	seed := x.Seeds[typeRegistryHash(0, id)%uint32(len(x.Seeds))]
+	slot := uint32(-seed - 1)
+	if seed >= 0 {
+		slot = typeRegistryHash(uint32(seed), id) % uint32(len(x.Keys))
+	}
+	if x.Keys[slot] != id {
+		return nil, false
+	}
+	return x.Entries[slot], true
+}
+
+func (x *TypeRegistryIndex) lookupShapeID(id ShapeID) (*TypeRegistryEntry, bool) {
+	if len(x.Keys) == 0 {
+		return nil, false
+	}
+
+	seed := x.Seeds[typeRegistryHashID(0, id)%uint32(len(x.Seeds))]
+	slot := uint32(-seed - 1)
+	if seed >= 0 {
+		slot = typeRegistryHashID(uint32(seed), id) % uint32(len(x.Keys))
+	}
+	key := x.Keys[slot]
+	if len(key) != len(id.Namespace)+1+len(id.Name) ||
+		key[:len(id.Namespace)] != id.Namespace ||
+		key[len(id.Namespace)] != '#' ||
+		key[len(id.Namespace)+1:] != id.Name {
+		return nil, false
+	}
+	return x.Entries[slot], true
+}
+
+// typeRegistryHash is 32-bit FNV-1a with the seed folded into the offset
+// basis, followed by the murmur3 finalizer.
+//
+// This MUST match the hash used by the code generator to build
+// TypeRegistryIndex.
+func typeRegistryHash(seed uint32, s string) uint32 {
+	return fmix32(fnv1a(2166136261^seed, s))
+}
+
+// typeRegistryHashID is typeRegistryHash over the absolute shape ID
+// "namespace#name", without building it.
+func typeRegistryHashID(seed uint32, id ShapeID) uint32 {
+	h := fnv1a(2166136261^seed, id.Namespace)
+	h = (h ^ '#') * 16777619
+	return fmix32(fnv1a(h, id.Name))
+}
+
+func fnv1a(h uint32, s string) uint32 {
+	for i := 0; i < len(s); i++ {
+		h ^= uint32(s[i])
+		h *= 16777619
+	}
+	return h
+}
+
+func fmix32(h uint32) uint32 {
+	h ^= h >> 16
+	h *= 0x85ebca6b
+	h ^= h >> 13
+	h *= 0xc2b2ae35
+	h ^= h >> 16
+	return h
 }
 
 // RegistryEntry creates a type registry entry.
@@ -33,6 +121,10 @@ func (t *TypeRegistry) DeserializableError(id string) (DeserializableError, bool
 
 // LookupEntry returns the registry entry for the given shape ID.
 func (t *TypeRegistry) LookupEntry(id string) (*TypeRegistryEntry, bool) {
+	if t.Index != nil {
+		return t.Index.lookup(id)
+	}
+
 	entry, ok := t.Entries[id]
 	if !ok {
 		entry, ok = t.lookupShortName(id)
@@ -40,10 +132,34 @@ func (t *TypeRegistry) LookupEntry(id string) (*TypeRegistryEntry, bool) {
 	return entry, ok
 }
 
+// LookupShapeID returns the registry entry for the given absolute shape ID.
+//
+// This is equivalent to LookupEntry(id.String()), but doesn't allocate when
+// the registry has an Index.
+func (t *TypeRegistry) LookupShapeID(id ShapeID) (*TypeRegistryEntry, bool) {
+	if t.Index != nil {
+		return t.Index.lookupShapeID(id)
+	}
+	return t.LookupEntry(id.String())
+}
+
 // TypeRegistryEntry holds the schema and constructor for a registered shape.
 type TypeRegistryEntry struct {
 	Schema *Schema
 	New    func() any
+
+	// LoadSchema, if set, returns the schema for the entry. Generated clients
+	// set this instead of Schema so that registering a type doesn't force
+	// its schema to be built, see [SchemaTable].
+	LoadSchema func() *Schema
+}
+
+// GetSchema returns the schema for the entry, if any.
+func (e *TypeRegistryEntry) GetSchema() *Schema {
+	if e.Schema == nil && e.LoadSchema != nil {
+		return e.LoadSchema()
+	}
+	return e.Schema
 }
 
 func (t *TypeRegistry) lookupShortName(id string) (*TypeRegistryEntry, bool) {
@@ -56,10 +172,7 @@ func (t *TypeRegistry) lookupShortName(id string) (*TypeRegistryEntry, bool) {
 }
 
 func typeRegistryLookup[T any](t *TypeRegistry, id string) (T, bool) {
-	entry, ok := t.Entries[id]
-	if !ok {
-		entry, ok = t.lookupShortName(id)
-	}
+	entry, ok := t.LookupEntry(id)
 	if !ok {
 		var v T
 		return v, false
@@ -0,0 +1,217 @@
+package smithy
+
+import (
+	"fmt"
+	"sort"
+	"testing"
+)
+
+type testRegistryError struct{ name string }
+
+func (e *testRegistryError) Error() string { return e.name }
+
+func (e *testRegistryError) Deserialize(ShapeDeserializer) error { return nil }
+
+// buildTestTypeRegistryIndex mirrors the code generator's hash-and-displace
+// construction (PerfectHash.build).
+func buildTestTypeRegistryIndex(entries map[string]*TypeRegistryEntry) *TypeRegistryIndex {
+	var ids []string
+	for id := range entries {
+		ids = append(ids, id)
+	}
+	sort.Strings(ids)
+
+	byKey := map[string]*TypeRegistryEntry{}
+	var keys []string
+	for _, id := range ids {
+		byKey[id] = entries[id]
+		keys = append(keys, id)
+	}
+	for _, id := range ids {
+		name := stoid(id).Name
+		if _, ok := byKey[name]; !ok {
+			byKey[name] = entries[id]
+			keys = append(keys, name)
+		}
+	}
+
+	n := len(keys)
+	numBuckets := (n + 1) / 2
+	buckets := make([][]string, numBuckets)
+	for _, k := range keys {
+		b := typeRegistryHash(0, k) % uint32(numBuckets)
+		buckets[b] = append(buckets[b], k)
+	}
+	order := make([]int, numBuckets)
+	for i := range order {
+		order[i] = i
+	}
+	sort.SliceStable(order, func(i, j int) bool {
+		return len(buckets[order[i]]) > len(buckets[order[j]])
+	})
+
+	x := &TypeRegistryIndex{
+		Seeds:   make([]int32, numBuckets),
+		Keys:    make([]string, n),
+		Entries: make([]*TypeRegistryEntry, n),
+	}
+	taken := make([]bool, n)
+	free := 0
+	for _, b := range order {
+		bucket := buckets[b]
+		switch len(bucket) {
+		case 0:
+			continue
+		case 1:
+			for taken[free] {
+				free++
+			}
+			taken[free] = true
+			x.Keys[free], x.Entries[free] = bucket[0], byKey[bucket[0]]
+			x.Seeds[b] = int32(-free - 1)
+			continue
+		}
+
+	seeds:
+		for seed := uint32(1); ; seed++ {
+			slots := make([]uint32, len(bucket))
+			for i, k := range bucket {
+				slots[i] = typeRegistryHash(seed, k) % uint32(n)
+				if taken[slots[i]] {
+					continue seeds
+				}
+				for _, prev := range slots[:i] {
+					if prev == slots[i] {
+						continue seeds
+					}
+				}
+			}
+			for i, k := range bucket {
+				taken[slots[i]] = true
+				x.Keys[slots[i]], x.Entries[slots[i]] = k, byKey[k]
+			}
+			x.Seeds[b] = int32(seed)
+			break
+		}
+	}
+	return x
+}
+
+func newTestTypeRegistry(numErrors int, indexed bool) *TypeRegistry {
+	entries := map[string]*TypeRegistryEntry{}
+	for i := 0; i < numErrors; i++ {
+		name := fmt.Sprintf("Error%03d", i)
+		if i == numErrors/2 {
+			name = "ThrottlingException"
+		}
+		entries["com.example#"+name] = &TypeRegistryEntry{
+			New: func() any { return &testRegistryError{name} },
+		}
+	}
+
+	r := &TypeRegistry{Entries: entries}
+	if indexed {
+		r.Index = buildTestTypeRegistryIndex(entries)
+	}
+	return r
+}
+
+// shared with PerfectHashTest in the code generator
+func TestTypeRegistryHash(t *testing.T) {
+	cases := []struct {
+		seed   uint32
+		key    string
+		expect uint32
+	}{
+		{0, "", 2872998923},
+		{0, "ThrottlingException", 1624973493},
+		{1, "com.amazonaws.dynamodb#ThrottlingException", 458534882},
+		{7, "smithy.test#Foo", 3421574220},
+	}
+	for _, c := range cases {
+		if actual := typeRegistryHash(c.seed, c.key); c.expect != actual {
+			t.Errorf("hash(%d, %q): expect %d, got %d", c.seed, c.key, c.expect, actual)
+		}
+		if id := stoid(c.key); id.Namespace != "" {
+			if actual := typeRegistryHashID(c.seed, id); c.expect != actual {
+				t.Errorf("hashID(%d, %q): expect %d, got %d", c.seed, c.key, c.expect, actual)
+			}
+		}
+	}
+}
+
+func TestTypeRegistryIndex(t *testing.T) {
+	plain := newTestTypeRegistry(200, false)
+	indexed := newTestTypeRegistry(200, true)
+
+	for id := range plain.Entries {
+		for _, key := range []string{id, stoid(id).Name} {
+			pe, _ := plain.DeserializableError(key)
+			ie, ok := indexed.DeserializableError(key)
+			if !ok {
+				t.Fatalf("%s: expect entry", key)
+			}
+			if expect, actual := pe.Error(), ie.Error(); expect != actual {
+				t.Errorf("%s: expect %s, got %s", key, expect, actual)
+			}
+		}
+
+		entry, ok := indexed.LookupShapeID(stoid(id))
+		if !ok {
+			t.Fatalf("%s: expect entry for shape ID", id)
+		}
+		if expect, actual := stoid(id).Name, entry.New().(error).Error(); expect != actual {
+			t.Errorf("%s: expect %s, got %s", id, expect, actual)
+		}
+	}
+
+	for _, key := range []string{"", "Nope", "com.example#Nope", "com.other#Error000", "com.example"} {
+		if _, ok := indexed.LookupEntry(key); ok {
+			t.Errorf("%q: expect no entry", key)
+		}
+	}
+	if _, ok := indexed.LookupShapeID(ShapeID{Namespace: "com.example", Name: "Nope"}); ok {
+		t.Errorf("expect no entry for unknown shape ID")
+	}
+
+	if _, ok := (&TypeRegistry{Index: &TypeRegistryIndex{}}).LookupEntry("Foo"); ok {
+		t.Errorf("expect no entry in empty index")
+	}
+}
+
+func TestTypeRegistryIndex_LookupAllocs(t *testing.T) {
+	r := newTestTypeRegistry(200, true)
+	id := ShapeID{Namespace: "com.example", Name: "ThrottlingException"}
+	allocs := testing.AllocsPerRun(100, func() {
+		r.LookupEntry("ThrottlingException")
+		r.LookupEntry("com.example#ThrottlingException")
+		r.LookupShapeID(id)
+	})
+	if allocs != 0 {
+		t.Errorf("expect no allocations, got %v", allocs)
+	}
+}
+
+// Simulates a throttling storm: every response is the same modeled error,
+// identified by name only, in a service with many modeled errors.
+func BenchmarkTypeRegistry_ThrottlingStorm(b *testing.B) {
+	for _, indexed := range []bool{false, true} {
+		r := newTestTypeRegistry(500, indexed)
+		b.Run(fmt.Sprintf("ShortName/Indexed=%v", indexed), func(b *testing.B) {
+			b.ReportAllocs()
+			for b.Loop() {
+				if _, ok := r.LookupEntry("ThrottlingException"); !ok {
+					b.Fatal("expect entry")
+				}
+			}
+		})
+		b.Run(fmt.Sprintf("ShapeID/Indexed=%v", indexed), func(b *testing.B) {
+			b.ReportAllocs()
+			for b.Loop() {
+				if _, ok := r.LookupEntry("com.example#ThrottlingException"); !ok {
+					b.Fatal("expect entry")
+				}
+			}
+		})
+	}
+}
@@ -0,0 +1,167 @@
+package waiter
+
+import (
+	"context"
+	"fmt"
+	"sync"
+)
+
+// BatchFunc retrieves the state of a batch of distinct resources, and returns
+// a result for each of them, in the order of keys.
+type BatchFunc[K comparable, R any] func(ctx context.Context, keys []K) ([]R, error)
+
+// Batcher coalesces concurrent requests for the state of single resources
+// into batched requests, such that many waiters polling an API which accepts
+// a list of identifiers share its calls.
+//
+// Requests are queued while maxInFlight batches are being retrieved, and sent
+// as batches of up to maxSize distinct resources once one completes. Requests
+// are therefore only delayed while the API is already being called, and never
+// wait on a timer to fill a batch.
+//
+// A batch whose retrieval fails with an error that split reports as possibly
+// caused by a single resource, such as it not existing, is retried in halves
+// until each such error is returned for a single resource, such that it is
+// never returned for the others. Any other error, such as throttling, is
+// returned for every resource in the batch, leaving its retry to the callers'
+// backoff.
+//
+// Batcher is safe for concurrent use.
+type Batcher[K comparable, R any] struct {
+	fetch       BatchFunc[K, R]
+	split       func(error) bool
+	maxSize     int
+	maxInFlight int
+
+	mu       sync.Mutex
+	pending  []*batchCall[K, R]
+	inFlight int
+}
+
+type batchCall[K comparable, R any] struct {
+	ctx  context.Context
+	key  K
+	done chan struct{}
+
+	// set before done is closed
+	result R
+	err    error
+}
+
+// NewBatcher returns a Batcher that retrieves up to maxSize resources per
+// call to fetch, with at most maxInFlight calls at a time. Values less than 1
+// are treated as 1.
+//
+// split reports whether an error returned by fetch may be caused by a single
+// resource of the batch, in which case the batch is retried in halves. If
+// split is nil, failed batches are never split.
+func NewBatcher[K comparable, R any](fetch BatchFunc[K, R], maxSize, maxInFlight int, split func(error) bool) *Batcher[K, R] {
+	return &Batcher[K, R]{
+		fetch:       fetch,
+		split:       split,
+		maxSize:     max(maxSize, 1),
+		maxInFlight: max(maxInFlight, 1),
+	}
+}
+
+// Do returns the result for key from the next batch to be sent. Concurrent
+// requests for the same key share a result.
+//
+// Batches are retrieved with the values, but not the cancellation, of the
+// context passed to the first call in the batch, since they are shared with
+// other callers. If ctx is done before the result is available, Do returns
+// ctx.Err().
+func (b *Batcher[K, R]) Do(ctx context.Context, key K) (R, error) {
+	call := &batchCall[K, R]{ctx: ctx, key: key, done: make(chan struct{})}
+
+	b.mu.Lock()
+	b.pending = append(b.pending, call)
+	b.dispatchLocked()
+	b.mu.Unlock()
+
+	select {
+	case <-call.done:
+		return call.result, call.err
+	case <-ctx.Done():
+		b.mu.Lock()
+		for i, c := range b.pending {
+			if c == call {
+				b.pending = append(b.pending[:i], b.pending[i+1:]...)
+				break
+			}
+		}
+		b.mu.Unlock()
+
+		var zero R
+		return zero, ctx.Err()
+	}
+}
+
+func (b *Batcher[K, R]) dispatchLocked() {
+	for b.inFlight < b.maxInFlight && len(b.pending) > 0 {
+		// the batch is sent on behalf of its first call
+		ctx := context.WithoutCancel(b.pending[0].ctx)
+
+		var keys []K
+		calls := map[K][]*batchCall[K, R]{}
+
+		n := 0
+		for ; n < len(b.pending); n++ {
+			call := b.pending[n]
+			if _, ok := calls[call.key]; !ok {
+				if len(keys) == b.maxSize {
+					break
+				}
+				keys = append(keys, call.key)
+			}
+			calls[call.key] = append(calls[call.key], call)
+		}
+		b.pending = append(b.pending[:0:0], b.pending[n:]...)
+
+		b.inFlight++
+		go b.send(ctx, keys, calls)
+	}
+}
+
+func (b *Batcher[K, R]) send(ctx context.Context, keys []K, calls map[K][]*batchCall[K, R]) {
+	results := make([]R, len(keys))
+	errs := make([]error, len(keys))
+	b.fetchSplit(ctx, keys, results, errs)
+
+	for i, key := range keys {
+		for _, call := range calls[key] {
+			call.result, call.err = results[i], errs[i]
+			close(call.done)
+		}
+	}
+
+	b.mu.Lock()
+	b.inFlight--
+	b.dispatchLocked()
+	b.mu.Unlock()
+}
+
+// fetchSplit retrieves keys into results, splitting the batch in halves if it
+// fails with an error which may be caused by a single key, until each such
+// error is set for a single key.
+func (b *Batcher[K, R]) fetchSplit(ctx context.Context, keys []K, results []R, errs []error) {
+	batch, err := b.fetch(ctx, keys)
+	if err == nil && len(batch) != len(keys) {
+		err = fmt.Errorf("expect %d batch results, got %d", len(keys), len(batch))
+	}
+	if err == nil {
+		copy(results, batch)
+		return
+	}
+
+	if len(keys) == 1 || b.split == nil || !b.split(err) {
+		for i := range errs {
+			errs[i] = err
+		}
+		return
+	}
+
+	mid := len(keys) / 2
+	b.fetchSplit(ctx, keys[:mid], results[:mid], errs[:mid])
+	b.fetchSplit(ctx, keys[mid:], results[mid:], errs[mid:])
+}
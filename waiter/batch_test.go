@@ -0,0 +1,516 @@
+package waiter
+
+import (
+	"context"
+	"errors"
+	"fmt"
+	"sort"
+	"sync"
+	"sync/atomic"
+	"testing"
+	"time"
+)
+
+// fakeBatchAPI is an API which returns twice each requested key, blocking
+// calls until unblocked if gated.
+type fakeBatchAPI struct {
+	gate chan struct{}
+	err  error
+
+	// bad is a key for which calls fail, if non-zero
+	bad int
+
+	mu          sync.Mutex
+	batches     [][]int
+	inFlight    int
+	maxInFlight int
+}
+
+func (a *fakeBatchAPI) fetch(ctx context.Context, keys []int) ([]int, error) {
+	a.mu.Lock()
+	a.batches = append(a.batches, keys)
+	a.inFlight++
+	a.maxInFlight = max(a.maxInFlight, a.inFlight)
+	a.mu.Unlock()
+
+	defer func() {
+		a.mu.Lock()
+		a.inFlight--
+		a.mu.Unlock()
+	}()
+
+	if a.gate != nil {
+		<-a.gate
+	}
+	if a.err != nil {
+		return nil, a.err
+	}
+	for _, key := range keys {
+		if a.bad != 0 && key == a.bad {
+			return nil, &notFoundError{key: key}
+		}
+	}
+
+	results := make([]int, len(keys))
+	for i, key := range keys {
+		results[i] = key * 2
+	}
+	return results, nil
+}
+
+type notFoundError struct {
+	key int
+}
+
+func (e *notFoundError) Error() string {
+	return fmt.Sprintf("key %d not found", e.key)
+}
+
+func isNotFound(err error) bool {
+	var notFound *notFoundError
+	return errors.As(err, &notFound)
+}
+
+func (a *fakeBatchAPI) calls() int {
+	a.mu.Lock()
+	defer a.mu.Unlock()
+	return len(a.batches)
+}
+
+func waitForPending(t *testing.T, b *Batcher[int, int], n int) {
+	t.Helper()
+	for i := 0; ; i++ {
+		b.mu.Lock()
+		pending := len(b.pending)
+		b.mu.Unlock()
+		if pending == n {
+			return
+		}
+		if i == 1000 {
+			t.Fatalf("expect %d pending calls, got %d", n, pending)
+		}
+		time.Sleep(time.Millisecond)
+	}
+}
+
+func repeat(n, count int) []int {
+	s := make([]int, count)
+	for i := range s {
+		s[i] = n
+	}
+	return s
+}
+
+func TestBatcher(t *testing.T) {
+	cases := map[string]struct {
+		maxSize       int
+		expectBatches []int
+	}{
+		"split batches": {
+			maxSize:       100,
+			expectBatches: []int{1, 100, 100, 50},
+		},
+		"single batch": {
+			maxSize:       1000,
+			expectBatches: []int{1, 250},
+		},
+		"zero size": {
+			expectBatches: repeat(1, 251),
+		},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			api := &fakeBatchAPI{gate: make(chan struct{})}
+			b := NewBatcher(api.fetch, c.maxSize, 1, nil)
+
+			results := make([]int, 251)
+			errs := make([]error, 251)
+			var wg sync.WaitGroup
+			for i := range results {
+				wg.Add(1)
+				go func() {
+					defer wg.Done()
+					results[i], errs[i] = b.Do(context.Background(), i)
+				}()
+
+				// the first call is sent alone, and the others queued behind
+				// it until it returns
+				if i == 0 {
+					for api.calls() == 0 {
+						time.Sleep(time.Millisecond)
+					}
+				}
+			}
+			waitForPending(t, b, 250)
+			close(api.gate)
+			wg.Wait()
+
+			for i := range results {
+				if errs[i] != nil {
+					t.Fatalf("expect no error for %d, got %v", i, errs[i])
+				}
+				if expect, actual := i*2, results[i]; expect != actual {
+					t.Errorf("expect result %d for %d, got %d", expect, i, actual)
+				}
+			}
+
+			var actual []int
+			for _, batch := range api.batches {
+				actual = append(actual, len(batch))
+			}
+			if expect := c.expectBatches; fmt.Sprint(expect) != fmt.Sprint(actual) {
+				t.Errorf("expect batch sizes %v, got %v", expect, actual)
+			}
+		})
+	}
+}
+
+func TestBatcher_MaxInFlight(t *testing.T) {
+	api := &fakeBatchAPI{gate: make(chan struct{})}
+	b := NewBatcher(api.fetch, 1, 3, nil)
+
+	var wg sync.WaitGroup
+	for i := 0; i < 10; i++ {
+		wg.Add(1)
+		go func() {
+			defer wg.Done()
+			if _, err := b.Do(context.Background(), i); err != nil {
+				t.Errorf("expect no error, got %v", err)
+			}
+		}()
+	}
+	waitForPending(t, b, 7)
+	for api.calls() < 3 {
+		time.Sleep(time.Millisecond)
+	}
+
+	close(api.gate)
+	wg.Wait()
+	if expect, actual := 10, api.calls(); expect != actual {
+		t.Errorf("expect %d batches, got %d", expect, actual)
+	}
+	if limit, actual := 3, api.maxInFlight; actual > limit {
+		t.Errorf("expect at most %d batches in flight, got %d", limit, actual)
+	}
+}
+
+func TestBatcher_DuplicateKeys(t *testing.T) {
+	api := &fakeBatchAPI{gate: make(chan struct{})}
+	b := NewBatcher(api.fetch, 10, 1, nil)
+
+	var wg sync.WaitGroup
+	wg.Add(1)
+	go func() {
+		defer wg.Done()
+		b.Do(context.Background(), 0)
+	}()
+	for api.calls() == 0 {
+		time.Sleep(time.Millisecond)
+	}
+
+	results := make([]int, 4)
+	for i := range results {
+		wg.Add(1)
+		go func() {
+			defer wg.Done()
+			results[i], _ = b.Do(context.Background(), 7)
+		}()
+	}
+	waitForPending(t, b, 4)
+	close(api.gate)
+	wg.Wait()
+
+	if expect, actual := "[[0] [7]]", fmt.Sprint(api.batches); expect != actual {
+		t.Errorf("expect batches %v, got %v", expect, actual)
+	}
+	for i, result := range results {
+		if expect, actual := 14, result; expect != actual {
+			t.Errorf("expect result %d for call %d, got %d", expect, i, actual)
+		}
+	}
+}
+
+func TestBatcher_Error(t *testing.T) {
+	api := &fakeBatchAPI{err: fmt.Errorf("batch failed")}
+	b := NewBatcher(api.fetch, 10, 1, nil)
+
+	if _, err := b.Do(context.Background(), 1); !errors.Is(err, api.err) {
+		t.Errorf("expect batch error, got %v", err)
+	}
+}
+
+func TestBatcher_BadKey(t *testing.T) {
+	api := &fakeBatchAPI{gate: make(chan struct{}), bad: 5}
+	b := NewBatcher(api.fetch, 10, 1, isNotFound)
+
+	var wg sync.WaitGroup
+	wg.Add(1)
+	go func() {
+		defer wg.Done()
+		b.Do(context.Background(), 100)
+	}()
+	for api.calls() == 0 {
+		time.Sleep(time.Millisecond)
+	}
+
+	results := make([]int, 8)
+	errs := make([]error, 8)
+	for i := range results {
+		wg.Add(1)
+		go func() {
+			defer wg.Done()
+			results[i], errs[i] = b.Do(context.Background(), i+1)
+		}()
+	}
+	waitForPending(t, b, 8)
+	close(api.gate)
+	wg.Wait()
+
+	// the failed batch is split until the bad key is requested alone
+	var batches []int
+	for _, batch := range api.batches[1:] {
+		batches = append(batches, len(batch))
+	}
+	sort.Ints(batches)
+	if expect, actual := "[1 1 2 2 4 4 8]", fmt.Sprint(batches); expect != actual {
+		t.Errorf("expect batch sizes %v, got %v", expect, actual)
+	}
+
+	for i := range results {
+		key := i + 1
+		if key == api.bad {
+			var notFound *notFoundError
+			if !errors.As(errs[i], &notFound) || notFound.key != key {
+				t.Errorf("expect not found error for %d, got %v", key, errs[i])
+			}
+			continue
+		}
+		if errs[i] != nil {
+			t.Errorf("expect no error for %d, got %v", key, errs[i])
+		}
+		if expect, actual := key*2, results[i]; expect != actual {
+			t.Errorf("expect result %d for %d, got %d", expect, key, actual)
+		}
+	}
+}
+
+func TestBatcher_ErrorNotSplit(t *testing.T) {
+	cases := map[string]struct {
+		api   *fakeBatchAPI
+		split func(error) bool
+	}{
+		"unsplittable error": {
+			api:   &fakeBatchAPI{gate: make(chan struct{}), err: fmt.Errorf("throttled")},
+			split: isNotFound,
+		},
+		"nil split": {
+			api: &fakeBatchAPI{gate: make(chan struct{}), bad: 5},
+		},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			api := c.api
+			b := NewBatcher(api.fetch, 10, 1, c.split)
+
+			var wg sync.WaitGroup
+			wg.Add(1)
+			go func() {
+				defer wg.Done()
+				b.Do(context.Background(), 100)
+			}()
+			for api.calls() == 0 {
+				time.Sleep(time.Millisecond)
+			}
+
+			errs := make([]error, 8)
+			for i := range errs {
+				wg.Add(1)
+				go func() {
+					defer wg.Done()
+					_, errs[i] = b.Do(context.Background(), i+1)
+				}()
+			}
+			waitForPending(t, b, 8)
+			close(api.gate)
+			wg.Wait()
+
+			// the failed batch is neither split nor retried, and its error is
+			// returned for every key in it
+			if expect, actual := 2, api.calls(); expect != actual {
+				t.Errorf("expect %d batches, got %d", expect, actual)
+			}
+			for i, err := range errs {
+				if err == nil {
+					t.Errorf("expect batch error for %d", i+1)
+				}
+			}
+		})
+	}
+}
+
+func TestBatcher_ResultCountMismatch(t *testing.T) {
+	b := NewBatcher(func(ctx context.Context, keys []int) ([]int, error) {
+		return nil, nil
+	}, 10, 1, nil)
+
+	_, err := b.Do(context.Background(), 1)
+	if err == nil {
+		t.Fatalf("expect error")
+	}
+	if expect, actual := "expect 1 batch results, got 0", err.Error(); expect != actual {
+		t.Errorf("expect error %q, got %q", expect, actual)
+	}
+}
+
+func TestBatcher_ContextCanceled(t *testing.T) {
+	api := &fakeBatchAPI{gate: make(chan struct{})}
+	b := NewBatcher(api.fetch, 10, 1, nil)
+
+	var wg sync.WaitGroup
+	wg.Add(1)
+	go func() {
+		defer wg.Done()
+		b.Do(context.Background(), 0)
+	}()
+	for api.calls() == 0 {
+		time.Sleep(time.Millisecond)
+	}
+
+	// a call canceled while queued is never sent
+	ctx, cancel := context.WithCancel(context.Background())
+	errc := make(chan error, 1)
+	go func() {
+		_, err := b.Do(ctx, 1)
+		errc <- err
+	}()
+	waitForPending(t, b, 1)
+	cancel()
+	if err := <-errc; !errors.Is(err, context.Canceled) {
+		t.Fatalf("expect context canceled, got %v", err)
+	}
+	waitForPending(t, b, 0)
+
+	close(api.gate)
+	wg.Wait()
+	if expect, actual := 1, api.calls(); expect != actual {
+		t.Errorf("expect %d batches, got %d", expect, actual)
+	}
+}
+
+func TestBatcher_BatchContext(t *testing.T) {
+	type ctxKey struct{}
+
+	gate := make(chan struct{})
+	var mu sync.Mutex
+	var values []any
+	b := NewBatcher(func(ctx context.Context, keys []int) ([]int, error) {
+		mu.Lock()
+		values = append(values, ctx.Value(ctxKey{}))
+		mu.Unlock()
+		<-gate
+		return make([]int, len(keys)), nil
+	}, 1, 1, nil)
+
+	// each batch carries the values of the call it's sent for, not of the
+	// call that sent the previous one
+	var wg sync.WaitGroup
+	for i, value := range []string{"first", "second"} {
+		wg.Add(1)
+		go func() {
+			defer wg.Done()
+			b.Do(context.WithValue(context.Background(), ctxKey{}, value), i)
+		}()
+		if i == 0 {
+			for {
+				mu.Lock()
+				n := len(values)
+				mu.Unlock()
+				if n == 1 {
+					break
+				}
+				time.Sleep(time.Millisecond)
+			}
+		}
+	}
+	waitForPending(t, b, 1)
+	close(gate)
+	wg.Wait()
+
+	if expect, actual := "[first second]", fmt.Sprint(values); expect != actual {
+		t.Errorf("expect batch context values %v, got %v", expect, actual)
+	}
+}
+
+func TestBatcher_DetachedContext(t *testing.T) {
+	type ctxKey struct{}
+
+	var batchCtx context.Context
+	b := NewBatcher(func(ctx context.Context, keys []int) ([]int, error) {
+		batchCtx = ctx
+		return make([]int, len(keys)), nil
+	}, 10, 1, nil)
+
+	ctx, cancel := context.WithCancel(context.WithValue(context.Background(), ctxKey{}, "value"))
+	defer cancel()
+	if _, err := b.Do(ctx, 1); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+
+	cancel()
+	if err := batchCtx.Err(); err != nil {
+		t.Errorf("expect batch context not to be canceled, got %v", err)
+	}
+	if expect, actual := "value", batchCtx.Value(ctxKey{}); expect != actual {
+		t.Errorf("expect context value %v, got %v", expect, actual)
+	}
+}
+
+// BenchmarkBatcher waits on a fleet of resources, each polled a few times, and
+// reports the API calls made per resource.
+func BenchmarkBatcher(b *testing.B) {
+	const (
+		resources = 2000
+		polls     = 3
+		latency   = 100 * time.Microsecond
+	)
+
+	var calls atomic.Int64
+	fetch := func(ctx context.Context, keys []int) ([]int, error) {
+		calls.Add(1)
+		time.Sleep(latency)
+		return keys, nil
+	}
+
+	for _, batched := range []bool{false, true} {
+		b.Run(fmt.Sprintf("Batched=%t", batched), func(b *testing.B) {
+			do := func(ctx context.Context, key int) (int, error) {
+				results, err := fetch(ctx, []int{key})
+				return results[0], err
+			}
+			if batched {
+				do = NewBatcher(fetch, 100, 4, nil).Do
+			}
+
+			calls.Store(0)
+			for b.Loop() {
+				var wg sync.WaitGroup
+				for i := 0; i < resources; i++ {
+					wg.Add(1)
+					go func() {
+						defer wg.Done()
+						for range polls {
+							if _, err := do(context.Background(), i); err != nil {
+								b.Error(err)
+								return
+							}
+						}
+					}()
+				}
+				wg.Wait()
+			}
+			b.ReportMetric(float64(calls.Load())/float64(b.N*resources), "calls/resource")
+		})
+	}
+}